@@ -0,0 +1,386 @@
+package asgn1SoccerCompetition;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import asgn1Exceptions.LeagueException;
+import asgn1SportsUtils.MaxFlow;
+
+/**
+ * Works out which teams of a {@link SoccerLeague} are mathematically certain of, or have been ruled out
+ * of, the premiership (the top position) and the wooden spoon (the bottom position), given the points
+ * on offer from the fixtures that remain. The league is assumed to play a round robin in which every
+ * pair of teams meets a fixed number of times, twice (home and away) unless specified otherwise.
+ *
+ * Because a win is worth 3 points and a draw 1, deciding these questions exactly is NP-hard. The
+ * engine instead answers them with max-flow relaxations that never claim a result which is not
+ * certain, although a team may occasionally be reported as undecided when it is in fact decided.
+ * Ties on points are never assumed to be resolved in a team's favour.
+ *
+ * The engine follows the league's results as they are played. A decided status can never be undone
+ * by later results, so after each match only the undecided teams are examined again. The engines of
+ * several leagues can be brought up to date in parallel with {@link #updateAll(Collection)}. The engine's
+ * state is guarded by its league's lock, which the league already holds when it reports a match, so an 
+ * update reads the points of the teams and the remaining fixtures without a match being played part way 
+ * through, and without a second lock that could be taken in the opposite order.
+ *
+ * @author Matthew Holdsworth
+ * @version 1.0
+ *
+ */
+public class ClinchEngine implements LeagueListener{
+	// The points awarded for a win
+	private static final int WIN_POINTS = 3;
+	// The fewest points shared between two teams by a match, a draw
+	private static final int DRAW_TOTAL = 2;
+
+	private final SoccerLeague league;
+	private final int meetingsPerPair;
+	// The teams of the current season and their positions in the arrays below
+	private String[] names;
+	private HashMap<String, Integer> indexes = new HashMap<String, Integer>();
+	// The number of remaining meetings between each pair of teams, and for each team
+	private int[][] remaining;
+	private int[] remainingTotal;
+	// The statuses decided so far this season
+	private boolean[] clinchedPremiership;
+	private boolean[] eliminatedFromPremiership;
+	private boolean[] certainWoodenSpoon;
+	private boolean[] safeFromWoodenSpoon;
+	// Specifies if a match has been played since the statuses were last updated
+	private boolean dirty;
+	private MaxFlow network = new MaxFlow(2);
+
+	/**
+	 * Creates an engine for a league in which every pair of teams meets twice, home and away.
+	 *
+	 * @param league The league to follow.
+	 * @throws LeagueException if the league's season has already started.
+	 */
+	public ClinchEngine(SoccerLeague league) throws LeagueException{
+		this(league, 2);
+	}//end constructor
+
+	/**
+	 * Creates an engine for a league. The engine must be created in the off season so that it sees
+	 * every match of the next season.
+	 *
+	 * @param league The league to follow.
+	 * @param meetingsPerPair The number of times each pair of teams meets in a season.
+	 * @throws LeagueException if the league's season has already started.
+	 */
+	public ClinchEngine(SoccerLeague league, int meetingsPerPair) throws LeagueException{
+		if (!league.isOffSeason()) {
+			throw new LeagueException("A clinch engine must be created before the season starts!");
+		}//end if
+		this.league = league;
+		this.meetingsPerPair = meetingsPerPair;
+		league.addListener(this);
+	}//end constructor
+
+	/**
+	 * Brings the engines of several leagues up to date in parallel.
+	 *
+	 * @param engines The engines to update.
+	 */
+	public static void updateAll(Collection<ClinchEngine> engines){
+		engines.parallelStream().forEach(ClinchEngine::update);
+	}//end updateAll
+
+	/**
+	 * Re-examines every undecided team if a match has been played since the last update.
+	 */
+	public void update(){
+		synchronized (league) {
+			if (!dirty) {
+				return;
+			}//end if
+			int[] points = currentPoints();
+			for (int team = 0; team < names.length; team++) {
+				if (!clinchedPremiership[team] && !eliminatedFromPremiership[team]) {
+					clinchedPremiership[team] = clinchesPremiership(team, points);
+					eliminatedFromPremiership[team] = !clinchedPremiership[team] && eliminatedFromPremiership(team, points);
+				}//end if
+				if (!certainWoodenSpoon[team] && !safeFromWoodenSpoon[team]) {
+					certainWoodenSpoon[team] = certainOfWoodenSpoon(team, points);
+					safeFromWoodenSpoon[team] = !certainWoodenSpoon[team] && safeFromWoodenSpoon(team, points);
+				}//end if
+			}//end for
+			dirty = false;
+		}//end synchronized
+	}//end update
+
+	/**
+	 * Specifies if a team is certain to finish top of the league on points.
+	 *
+	 * @param officialName The official name of the team.
+	 * @return True if no other team can reach the team's points, false otherwise.
+	 * @throws LeagueException if the season has not started or the team is not in the league.
+	 */
+	public boolean hasClinchedPremiership(String officialName) throws LeagueException{
+		synchronized (league) {
+			int team = indexOf(officialName);
+			update();
+			return clinchedPremiership[team];
+		}//end synchronized
+	}//end hasClinchedPremiership
+
+	/**
+	 * Specifies if a team can no longer finish top of the league.
+	 *
+	 * @param officialName The official name of the team.
+	 * @return True if another team is certain to finish with more points, false otherwise.
+	 * @throws LeagueException if the season has not started or the team is not in the league.
+	 */
+	public boolean isEliminatedFromPremiership(String officialName) throws LeagueException{
+		synchronized (league) {
+			int team = indexOf(officialName);
+			update();
+			return eliminatedFromPremiership[team];
+		}//end synchronized
+	}//end isEliminatedFromPremiership
+
+	/**
+	 * Specifies if a team is certain to finish bottom of the league on points.
+	 *
+	 * @param officialName The official name of the team.
+	 * @return True if the team cannot reach the points of any other team, false otherwise.
+	 * @throws LeagueException if the season has not started or the team is not in the league.
+	 */
+	public boolean isCertainOfWoodenSpoon(String officialName) throws LeagueException{
+		synchronized (league) {
+			int team = indexOf(officialName);
+			update();
+			return certainWoodenSpoon[team];
+		}//end synchronized
+	}//end isCertainOfWoodenSpoon
+
+	/**
+	 * Specifies if a team can no longer finish bottom of the league.
+	 *
+	 * @param officialName The official name of the team.
+	 * @return True if the team is certain to finish with more points than another team, false otherwise.
+	 * @throws LeagueException if the season has not started or the team is not in the league.
+	 */
+	public boolean isSafeFromWoodenSpoon(String officialName) throws LeagueException{
+		synchronized (league) {
+			int team = indexOf(officialName);
+			update();
+			return safeFromWoodenSpoon[team];
+		}//end synchronized
+	}//end isSafeFromWoodenSpoon
+
+	/**
+	 * Returns the number of meetings left between two teams this season.
+	 *
+	 * @param firstTeam The official name of one team.
+	 * @param secondTeam The official name of the other team.
+	 * @return The number of remaining meetings.
+	 * @throws LeagueException if the season has not started or either team is not in the league.
+	 */
+	public int getRemainingMeetings(String firstTeam, String secondTeam) throws LeagueException{
+		synchronized (league) {
+			return remaining[indexOf(firstTeam)][indexOf(secondTeam)];
+		}//end synchronized
+	}//end getRemainingMeetings
+
+	/**
+	 * Resets the fixtures and statuses for the teams of the new season.
+	 *
+	 * @param league The league whose season started.
+	 */
+	public void seasonStarted(SoccerLeague league){
+		synchronized (league) {
+			List<SoccerTeam> teams = league.getTeams();
+			int numTeams = teams.size();
+			names = new String[numTeams];
+			indexes.clear();
+			for (int team = 0; team < numTeams; team++) {
+				names[team] = teams.get(team).getOfficialName();
+				indexes.put(names[team], team);
+			}//end for
+			remaining = new int[numTeams][numTeams];
+			remainingTotal = new int[numTeams];
+			for (int team = 0; team < numTeams; team++) {
+				for (int other = 0; other < numTeams; other++) {
+					remaining[team][other] = team == other ? 0 : meetingsPerPair;
+				}//end for
+				remainingTotal[team] = (numTeams - 1) * meetingsPerPair;
+			}//end for
+			clinchedPremiership = new boolean[numTeams];
+			eliminatedFromPremiership = new boolean[numTeams];
+			certainWoodenSpoon = new boolean[numTeams];
+			safeFromWoodenSpoon = new boolean[numTeams];
+			dirty = true;
+		}//end synchronized
+	}//end seasonStarted
+
+	/**
+	 * Removes a played meeting from the remaining fixtures. Meetings beyond the schedule are ignored.
+	 *
+	 * @param league The league the match was played in.
+	 * @param homeTeam The home team.
+	 * @param homeGoals The number of goals scored by the home team.
+	 * @param awayTeam The away team.
+	 * @param awayGoals The number of goals scored by the away team.
+	 */
+	public void matchPlayed(SoccerLeague league, SoccerTeam homeTeam, int homeGoals, SoccerTeam awayTeam, int awayGoals){
+		synchronized (league) {
+			Integer home = indexes.get(homeTeam.getOfficialName());
+			Integer away = indexes.get(awayTeam.getOfficialName());
+			if (home != null && away != null && remaining[home][away] > 0) {
+				remaining[home][away]--;
+				remaining[away][home]--;
+				remainingTotal[home]--;
+				remainingTotal[away]--;
+			}//end if
+			dirty = true;
+		}//end synchronized
+	}//end matchPlayed
+
+	/**
+	 * Forgets the statuses decided so far, as a corrected result may undo them. The remaining fixtures
+	 * are unchanged.
+	 *
+	 * @param league The league the match was played in.
+	 * @param homeTeam The home team.
+	 * @param homeGoals The corrected number of goals scored by the home team.
+	 * @param awayTeam The away team.
+	 * @param awayGoals The corrected number of goals scored by the away team.
+	 * @param oldHomeGoals The number of goals the home team was first recorded as scoring.
+	 * @param oldAwayGoals The number of goals the away team was first recorded as scoring.
+	 */
+	public void matchCorrected(SoccerLeague league, SoccerTeam homeTeam, int homeGoals, SoccerTeam awayTeam,
+			int awayGoals, int oldHomeGoals, int oldAwayGoals){
+		synchronized (league) {
+			if (names != null) {
+				Arrays.fill(clinchedPremiership, false);
+				Arrays.fill(eliminatedFromPremiership, false);
+				Arrays.fill(certainWoodenSpoon, false);
+				Arrays.fill(safeFromWoodenSpoon, false);
+			}//end if
+			dirty = true;
+		}//end synchronized
+	}//end matchCorrected
+
+	/* Looks up the position of a team */
+	private int indexOf(String officialName) throws LeagueException{
+		Integer team = names == null ? null : indexes.get(officialName);
+		if (team == null) {
+			throw new LeagueException("This team is not part of the current season!");
+		}//end if
+		return team;
+	}//end indexOf
+
+	/* Reads the current points of every team from the league */
+	private int[] currentPoints(){
+		int[] points = new int[names.length];
+		for (SoccerTeam team: league.getTeams()) {
+			Integer index = indexes.get(team.getOfficialName());
+			if (index != null) {
+				points[index] = team.getCompetitionPoints();
+			}//end if
+		}//end for
+		return points;
+	}//end currentPoints
+
+	/* The most points a team can finish with */
+	private int maxPoints(int team, int[] points){
+		return points[team] + WIN_POINTS * remainingTotal[team];
+	}//end maxPoints
+
+	/* A team has clinched if it already has more points than any other team can reach */
+	private boolean clinchesPremiership(int team, int[] points){
+		for (int other = 0; other < names.length; other++) {
+			if (other != team && maxPoints(other, points) >= points[team]) {
+				return false;
+			}//end if
+		}//end for
+		return true;
+	}//end clinchesPremiership
+
+	/* A team finishes bottom if every other team already has more points than it can reach */
+	private boolean certainOfWoodenSpoon(int team, int[] points){
+		for (int other = 0; other < names.length; other++) {
+			if (other != team && points[other] <= maxPoints(team, points)) {
+				return false;
+			}//end if
+		}//end for
+		return names.length > 1;
+	}//end certainOfWoodenSpoon
+
+	/*
+	 * Assumes the team wins every remaining match and checks whether the matches between the other teams
+	 * can be settled without any of them passing it. Every match gives out at least 2 points (a draw),
+	 * so a flow of 2 points per match is routed to the teams, each capped at the points it may gain.
+	 * If that flow cannot be routed no real set of results can keep every team level or below.
+	 */
+	private boolean eliminatedFromPremiership(int team, int[] points){
+		int best = maxPoints(team, points);
+		for (int other = 0; other < names.length; other++) {
+			if (other != team && points[other] > best) {
+				return true;
+			}//end if
+		}//end for
+		return !routesAllPoints(team, points, DRAW_TOTAL, best, true);
+	}//end eliminatedFromPremiership
+
+	/*
+	 * Assumes the team loses every remaining match and checks whether every other team can still reach
+	 * its points. A match gives out at most 3 points, to one team or split, so a flow of up to 3 points
+	 * per match is routed to meet the points each team still needs. If that flow cannot be routed no
+	 * real set of results can leave the team level with or below every other team.
+	 */
+	private boolean safeFromWoodenSpoon(int team, int[] points){
+		return !routesAllPoints(team, points, WIN_POINTS, points[team], false);
+	}//end safeFromWoodenSpoon
+
+	/*
+	 * Builds the network of the remaining matches between the teams other than one team and checks if
+	 * the points can be routed. With a ceiling every match must give out its points without any team
+	 * passing the target. Without one every team must be given enough points to reach the target.
+	 */
+	private boolean routesAllPoints(int team, int[] points, int pointsPerMatch, int target, boolean ceiling){
+		int numTeams = names.length;
+		int source = numTeams;
+		int sink = numTeams + 1;
+		int node = numTeams + 2;
+		int matchNodes = 0;
+		for (int first = 0; first < numTeams; first++) {
+			for (int second = first + 1; second < numTeams; second++) {
+				if (first != team && second != team && remaining[first][second] > 0) {
+					matchNodes++;
+				}//end if
+			}//end for
+		}//end for
+		network.clear(node + matchNodes);
+		long required = 0;
+		for (int first = 0; first < numTeams; first++) {
+			for (int second = first + 1; second < numTeams; second++) {
+				if (first != team && second != team && remaining[first][second] > 0) {
+					int available = pointsPerMatch * remaining[first][second];
+					network.addEdge(source, node, available);
+					network.addEdge(node, first, available);
+					network.addEdge(node, second, available);
+					if (ceiling) {
+						required += available;
+					}//end if
+					node++;
+				}//end if
+			}//end for
+		}//end for
+		for (int other = 0; other < numTeams; other++) {
+			if (other != team) {
+				if (ceiling) {
+					network.addEdge(other, sink, target - points[other]);
+				} else {
+					// The other team is assumed to have beaten this team in all of their remaining meetings
+					int needed = Math.max(0, target - points[other] - WIN_POINTS * remaining[team][other]);
+					network.addEdge(other, sink, needed);
+					required += needed;
+				}//end if-else
+			}//end if
+		}//end for
+		return network.maxFlow(source, sink) == required;
+	}//end routesAllPoints
+}//end ClinchEngine
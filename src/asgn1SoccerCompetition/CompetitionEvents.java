@@ -0,0 +1,112 @@
+package asgn1SoccerCompetition;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * The Java Flight Recorder events of the operations of a {@link SoccerLeague} and {@link SoccerCompetition}.
+ * An event is created and begun before an operation, and its fields are only set and the event only
+ * committed if it is enabled in a running recording, so an operation costs little more than two checks
+ * of a flag when nothing is recording. The events of matches and sorts, which occur once for every
+ * result, are disabled unless a recording enables them by name; the others are recorded by any recording.
+ * The league number of a league that is not in a competition is -1.
+ *
+ * @author Matthew Holdsworth
+ * @version 1.0
+ *
+ */
+final class CompetitionEvents {
+	static final String CATEGORY = "Soccer Competition";
+
+	private CompetitionEvents(){
+	}//end constructor
+
+	@Name("asgn1.MatchPlayed")
+	@Label("Match Played")
+	@Description("A match played in a league, with both teams updated")
+	@Category(CATEGORY)
+	@Enabled(false)
+	static final class MatchPlayed extends Event {
+		@Label("League")
+		int league;
+		@Label("Teams")
+		int teams;
+		@Label("Home Team")
+		String homeTeam;
+		@Label("Home Goals")
+		int homeGoals;
+		@Label("Away Team")
+		String awayTeam;
+		@Label("Away Goals")
+		int awayGoals;
+		@Label("Matches Played")
+		@Description("The number of matches played in the league this season, including this one")
+		int matches;
+	}//end MatchPlayed
+
+	@Name("asgn1.TeamsSorted")
+	@Label("Teams Sorted")
+	@Description("The teams of a league ranked")
+	@Category(CATEGORY)
+	@Enabled(false)
+	static final class TeamsSorted extends Event {
+		@Label("League")
+		int league;
+		@Label("Teams")
+		int teams;
+	}//end TeamsSorted
+
+	@Name("asgn1.SeasonStarted")
+	@Label("Season Started")
+	@Description("A new season started in a league, resetting the statistics of every team")
+	@Category(CATEGORY)
+	static final class SeasonStarted extends Event {
+		@Label("League")
+		int league;
+		@Label("Teams")
+		int teams;
+	}//end SeasonStarted
+
+	@Name("asgn1.SeasonEnded")
+	@Label("Season Ended")
+	@Description("The season of a league ended")
+	@Category(CATEGORY)
+	static final class SeasonEnded extends Event {
+		@Label("League")
+		int league;
+		@Label("Teams")
+		int teams;
+		@Label("Matches Played")
+		int matches;
+	}//end SeasonEnded
+
+	@Name("asgn1.CompetitionSeasonEnded")
+	@Label("Competition Season Ended")
+	@Description("The season of every league of a competition ended, with the promotion and relegation between them")
+	@Category(CATEGORY)
+	static final class CompetitionSeasonEnded extends Event {
+		@Label("Competition")
+		String competition;
+		@Label("Leagues")
+		int leagues;
+		@Label("Promotion Swaps")
+		int swaps;
+	}//end CompetitionSeasonEnded
+
+	@Name("asgn1.PromotionSwap")
+	@Label("Promotion Swap")
+	@Description("The top team of a league promoted in place of the bottom team of the league above")
+	@Category(CATEGORY)
+	static final class PromotionSwap extends Event {
+		@Label("League")
+		@Description("The league the promoted team leaves")
+		int league;
+		@Label("Promoted Team")
+		String promoted;
+		@Label("Relegated Team")
+		String relegated;
+	}//end PromotionSwap
+}//end CompetitionEvents
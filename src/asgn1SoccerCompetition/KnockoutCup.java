@@ -0,0 +1,378 @@
+package asgn1SoccerCompetition;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.stream.IntStream;
+import asgn1Exceptions.CompetitionException;
+
+/**
+ * A knockout cup played alongside the leagues of a {@link SoccerCompetition}. Teams enter the cup
+ * in the off season, either one at a time or every team of a league, and the same {@link SoccerTeam}s
+ * are used; cup matches do not change their league statistics. When a season starts the teams are drawn
+ * into a bracket in the order they entered, and the winner of each match goes through to the next round
+ * until one team, the champion, is left.
+ *
+ * The bracket is an implicit binary tree held in primitive arrays. The leaves are the entries, the
+ * children of match i are 2i and 2i + 1 and the final is match 1, so each round is a contiguous range
+ * of matches. If the number of teams is not a power of two, some teams of the first round have a bye
+ * and go through without playing. A whole round can be played in one call, in parallel for large rounds.
+ *
+ * @author Matthew Holdsworth
+ * @version 1.0
+ *
+ */
+public class KnockoutCup implements SportsCompetition{
+	// The most teams that can enter the cup
+	public static final int MAX_TEAMS = 1 << 20;
+	// Marks a winner slot that has not been decided, and an entry slot without a team
+	private static final int UNDECIDED = -1;
+	private static final int BYE = -2;
+	// The number of matches in a round above which the round is played in parallel
+	private static final int PARALLEL_MATCHES = 1 << 14;
+
+	private final String name;
+	// The teams that have entered, in the order they entered, and the position of each by official name
+	private final ArrayList<SoccerTeam> teams = new ArrayList<SoccerTeam>();
+	private final HashMap<String, Integer> entries = new HashMap<String, Integer>();
+	private boolean offSeason = true;
+	// The number of entry slots, a power of two, and the number of rounds
+	private int size;
+	private int numRounds;
+	// The team in each slot of the tree: entries in [size, 2 * size) and winners in [1, size)
+	private int[] winners;
+	// The goals of the first and second team of each match, -1 if it has not been played
+	private int[] firstGoals;
+	private int[] secondGoals;
+	// The slot each team has reached in the tree
+	private int[] reached;
+	// The first round in which a match has not been decided
+	private int currentRound;
+
+	/**
+	 * Creates a cup with no teams.
+	 *
+	 * @param name The name of the cup.
+	 */
+	public KnockoutCup(String name){
+		this.name = name;
+	}//end constructor
+
+	/**
+	 * Enters a team in the cup.
+	 *
+	 * @param team The team to enter.
+	 * @throws CompetitionException if the season has started, the cup is full or a team with the same
+	 * official name has already entered.
+	 */
+	public void registerTeam(SoccerTeam team) throws CompetitionException{
+		if (!offSeason) {
+			throw new CompetitionException("You cannot enter teams whilst a season is already in progress!");
+		} else if (teams.size() == MAX_TEAMS) {
+			throw new CompetitionException("The cup cannot take any more teams!");
+		} else if (entries.containsKey(team.getOfficialName())) {
+			throw new CompetitionException("This team has already entered the cup!");
+		}//end if-else
+		entries.put(team.getOfficialName(), teams.size());
+		teams.add(team);
+	}//end registerTeam
+
+	/**
+	 * Enters every team of a league in the cup, in the league's current order.
+	 *
+	 * @param league The league whose teams enter.
+	 * @throws CompetitionException if a team cannot enter, as described by {@link #registerTeam(SoccerTeam)}.
+	 * Teams before it have entered.
+	 */
+	public void registerLeague(SoccerLeague league) throws CompetitionException{
+		for (SoccerTeam team: league.getTeams()) {
+			registerTeam(team);
+		}//end for
+	}//end registerLeague
+
+	/**
+	 * Gets the number of teams that have entered the cup.
+	 *
+	 * @return The number of teams.
+	 */
+	public int getNumTeams(){
+		return teams.size();
+	}//end getNumTeams
+
+	/**
+	 * Specifies if the cup is in the off season (i.e. when matches are not played).
+	 *
+	 * @return True if the cup is in its off season, false otherwise.
+	 */
+	public boolean isOffSeason(){
+		return offSeason;
+	}//end isOffSeason
+
+	/**
+	 * Starts a new season by drawing every team that has entered into a new bracket. The first half of
+	 * the teams take the first place of each first round match in order and the rest the second places
+	 * in reverse order, so that the byes are given to the teams that entered first.
+	 */
+	public void startSeason(){
+		try {
+			if (!offSeason || teams.size() < 2) {
+				throw new CompetitionException("There is not enough teams in the cup to start a season, or the season has already started!");
+			}//end if
+		} catch (CompetitionException e) {
+			System.out.println(e.getMessage());
+			e.printStackTrace();
+			return;
+		}//end try-catch
+		size = Integer.highestOneBit(teams.size() - 1) << 1;
+		numRounds = Integer.numberOfTrailingZeros(size);
+		winners = new int[2 * size];
+		firstGoals = new int[size];
+		secondGoals = new int[size];
+		reached = new int[teams.size()];
+		Arrays.fill(winners, 1, size, UNDECIDED);
+		Arrays.fill(winners, size, 2 * size, BYE);
+		Arrays.fill(firstGoals, UNDECIDED);
+		Arrays.fill(secondGoals, UNDECIDED);
+		int half = size / 2;
+		for (int team = 0; team < teams.size(); team++) {
+			// The second places are filled from the last match backwards, leaving byes in the first matches
+			int slot = team < half ? size + 2 * team : size + 2 * (size - 1 - team) + 1;
+			winners[slot] = team;
+			reached[team] = slot;
+		}//end for
+		// Teams drawn against a bye go through to the second round
+		for (int match = half; match < size; match++) {
+			if (winners[2 * match + 1] == BYE) {
+				advance(match, winners[2 * match]);
+			}//end if
+		}//end for
+		currentRound = 0;
+		offSeason = false;
+		updateCurrentRound();
+	}//end startSeason
+
+	/**
+	 * Plays a cup match between two teams that have reached the same match. A cup match cannot be
+	 * drawn, so the score entered must include extra time and penalties.
+	 *
+	 * @param firstTeamName The name of one team.
+	 * @param firstTeamGoals The number of goals scored by that team.
+	 * @param secondTeamName The name of the other team.
+	 * @param secondTeamGoals The number of goals scored by the other team.
+	 * @throws CompetitionException if the season has not started, either team has not entered, the teams
+	 * are not drawn against each other in their next match, a score is negative or the match is drawn.
+	 */
+	public void playMatch(String firstTeamName, int firstTeamGoals, String secondTeamName, int secondTeamGoals)
+			throws CompetitionException{
+		if (offSeason) {
+			throw new CompetitionException("The season has not started yet!");
+		}//end if
+		int first = entryOf(firstTeamName);
+		int second = entryOf(secondTeamName);
+		int firstSlot = reached[first];
+		if (firstSlot == 1 || reached[second] != (firstSlot ^ 1)) {
+			throw new CompetitionException("These teams are not drawn against each other!");
+		}//end if
+		int match = firstSlot / 2;
+		boolean firstIsFirst = (firstSlot & 1) == 0;
+		play(match, firstIsFirst ? firstTeamGoals : secondTeamGoals, firstIsFirst ? secondTeamGoals : firstTeamGoals);
+		updateCurrentRound();
+	}//end playMatch
+
+	/**
+	 * Plays every undecided match of the current round in one batch. The scores are given by the
+	 * position of the match in the round, in the order of {@link #getRoundFixtures()}; the scores of
+	 * matches that have already been decided are ignored.
+	 *
+	 * @param roundFirstGoals The goals scored by the first team of each match of the round.
+	 * @param roundSecondGoals The goals scored by the second team of each match of the round.
+	 * @return The number of matches played.
+	 * @throws CompetitionException if the season has not started or finished, there is not a score for
+	 * every match of the round, or a score is negative or drawn, in which case no match is played.
+	 */
+	public int playRound(int[] roundFirstGoals, int[] roundSecondGoals) throws CompetitionException{
+		if (offSeason || currentRound == numRounds) {
+			throw new CompetitionException("There is no round to play!");
+		}//end if
+		int first = size >> (currentRound + 1);
+		int count = first;
+		if (roundFirstGoals.length != count || roundSecondGoals.length != count) {
+			throw new CompetitionException("There must be a score for every match of the round!");
+		}//end if
+		int played = 0;
+		for (int position = 0; position < count; position++) {
+			if (winners[first + position] == UNDECIDED) {
+				checkScore(roundFirstGoals[position], roundSecondGoals[position]);
+				played++;
+			}//end if
+		}//end for
+		IntStream positions = IntStream.range(0, count);
+		if (count > PARALLEL_MATCHES) {
+			positions = positions.parallel();
+		}//end if
+		// Each match only writes its own slots and the slot reached by its winner
+		positions.forEach(position -> {
+			if (winners[first + position] == UNDECIDED) {
+				record(first + position, roundFirstGoals[position], roundSecondGoals[position]);
+			}//end if
+		});
+		updateCurrentRound();
+		return played;
+	}//end playRound
+
+	/**
+	 * Gets the matches of the current round as pairs of official names, in order. A team whose
+	 * opponent has a bye is paired with null.
+	 *
+	 * @return The first and second team of each match, or an empty list if the cup is not being played.
+	 */
+	public List<String[]> getRoundFixtures(){
+		List<String[]> fixtures = new ArrayList<String[]>();
+		if (offSeason || currentRound == numRounds) {
+			return fixtures;
+		}//end if
+		for (int match = size >> (currentRound + 1); match < size >> currentRound; match++) {
+			fixtures.add(new String[] {nameOf(winners[2 * match]), nameOf(winners[2 * match + 1])});
+		}//end for
+		return fixtures;
+	}//end getRoundFixtures
+
+	/**
+	 * Gets the number of rounds of the current bracket.
+	 *
+	 * @return The number of rounds, or 0 if no season has been started.
+	 */
+	public int getNumRounds(){
+		return numRounds;
+	}//end getNumRounds
+
+	/**
+	 * Gets the round being played, which is the first round with a match that has not been decided.
+	 *
+	 * @return The round being played (indexed from 0), equal to the number of rounds once the final has been decided.
+	 */
+	public int getCurrentRound(){
+		return currentRound;
+	}//end getCurrentRound
+
+	/**
+	 * Gets the winner of the final.
+	 *
+	 * @return The champion.
+	 * @throws CompetitionException if no season has been started or the final has not been played.
+	 */
+	public SoccerTeam getChampion() throws CompetitionException{
+		if (winners == null || winners[1] < 0) {
+			throw new CompetitionException("The final has not been played!");
+		}//end if
+		return teams.get(winners[1]);
+	}//end getChampion
+
+	/**
+	 * Ends the season once the final has been played. The bracket is kept until the next season starts.
+	 */
+	public void endSeason(){
+		try {
+			if (offSeason || currentRound != numRounds) {
+				throw new CompetitionException("The season cannot end until the final has been played!");
+			}//end if
+			offSeason = true;
+		} catch (CompetitionException e) {
+			System.out.println(e.getMessage());
+			e.printStackTrace();
+		}//end try-catch
+	}//end endSeason
+
+	/**
+	 * Displays the matches of every round reached so far.
+	 */
+	public void displayCompetitionStandings(){
+		displayCompetitionStandings(System.out);
+	}//end displayCompetitionStandings
+
+	/**
+	 * Writes the matches of every round reached so far to a specific stream, one match per line with
+	 * the name and goals of each team and the winner. Matches not yet played show a score of -.
+	 *
+	 * @param out The stream to write the matches to.
+	 */
+	public void displayCompetitionStandings(PrintStream out){
+		out.println("+++++" + this.name + "+++++");
+		if (winners == null) {
+			return;
+		}//end if
+		for (int round = 0; round <= Math.min(currentRound, numRounds - 1); round++) {
+			out.println("---- Round" + (round + 1) + " ----");
+			out.println("Team" + '\t' + "Goals" + '\t' + "Team" + '\t' + "Goals" + '\t' + "Winner");
+			StringBuilder row = new StringBuilder();
+			for (int match = size >> (round + 1); match < size >> round; match++) {
+				row.setLength(0);
+				row.append(nameOf(winners[2 * match])).append('\t').append(goals(firstGoals[match])).append('\t');
+				row.append(nameOf(winners[2 * match + 1])).append('\t').append(goals(secondGoals[match])).append('\t');
+				row.append(winners[match] < 0 ? "-" : nameOf(winners[match]));
+				out.println(row);
+			}//end for
+		}//end for
+		if (winners[1] >= 0) {
+			out.println("The champions are the " + teams.get(winners[1]).getNickName());
+		}//end if
+	}//end displayCompetitionStandings
+
+	/* Plays a match whose teams are both known, checking the score first */
+	private void play(int match, int first, int second) throws CompetitionException{
+		if (winners[match] != UNDECIDED) {
+			throw new CompetitionException("These teams have already played each other!");
+		}//end if
+		checkScore(first, second);
+		record(match, first, second);
+	}//end play
+
+	/* Records the score of a match and puts its winner through */
+	private void record(int match, int first, int second){
+		firstGoals[match] = first;
+		secondGoals[match] = second;
+		advance(match, winners[first > second ? 2 * match : 2 * match + 1]);
+	}//end record
+
+	private void advance(int match, int team){
+		winners[match] = team;
+		reached[team] = match;
+	}//end advance
+
+	/* Moves the current round past every round whose matches have all been decided */
+	private void updateCurrentRound(){
+		while (currentRound < numRounds) {
+			for (int match = size >> (currentRound + 1); match < size >> currentRound; match++) {
+				if (winners[match] == UNDECIDED) {
+					return;
+				}//end if
+			}//end for
+			currentRound++;
+		}//end while
+	}//end updateCurrentRound
+
+	private static void checkScore(int first, int second) throws CompetitionException{
+		if (first < 0 || second < 0) {
+			throw new CompetitionException("The number of goals cannot be negative!");
+		} else if (first == second) {
+			throw new CompetitionException("A cup match cannot be drawn, enter the score after extra time and penalties!");
+		}//end if
+	}//end checkScore
+
+	private int entryOf(String officialName) throws CompetitionException{
+		Integer team = entries.get(officialName);
+		if (team == null) {
+			throw new CompetitionException("This team has not entered the cup!");
+		}//end if
+		return team;
+	}//end entryOf
+
+	private String nameOf(int team){
+		return team < 0 ? null : teams.get(team).getOfficialName();
+	}//end nameOf
+
+	private static String goals(int goals){
+		return goals < 0 ? "-" : Integer.toString(goals);
+	}//end goals
+}//end KnockoutCup
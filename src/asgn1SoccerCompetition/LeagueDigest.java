@@ -0,0 +1,281 @@
+package asgn1SoccerCompetition;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A Merkle style digest of the teams in a {@link SoccerLeague}, used to check that two copies of a
+ * league agree without comparing their tables. Every team is hashed from its names and statistics into
+ * one of a fixed number of buckets chosen by its official name, and the buckets are the leaves of a
+ * binary hash tree. Two leagues with the same teams and statistics have the same root, so comparing
+ * them takes constant time, and when the roots differ the buckets that differ are found by following
+ * the differing nodes down the tree, which takes logarithmic time for each difference.
+ *
+ * The league updates the digest as matches are played and teams are registered or removed, each in
+ * logarithmic time. A second tree holds the digest every team would have with its statistics reset,
+ * and nodes are stamped with the season they were last updated in, so a new season starts in constant
+ * time: until a node is updated again in the new season its value is taken from the reset tree.
+ *
+ * Node values are 64 bit hashes. They detect accidental differences, not deliberate tampering.
+ *
+ * @author Matthew Holdsworth
+ * @version 1.0
+ *
+ */
+public final class LeagueDigest {
+	private final int numBuckets;
+	// The nodes of both trees, stored as a heap from the root at 1 with the buckets from numBuckets
+	private long[] nodes;
+	private long[] resetNodes;
+	// The season each node of the first tree was last updated in, older nodes take the value of the reset tree
+	private int[] stamps;
+	private int season;
+	// The official names of the teams in each bucket
+	private ArrayList<ArrayList<String>> buckets;
+	// Specifies if the arrays are shared with the digest of a fork and must be copied before they are changed
+	private boolean shared;
+
+	/**
+	 * Creates the digest of a league with no teams.
+	 *
+	 * @param numTeams The number of teams the league holds, which decides the number of buckets.
+	 */
+	LeagueDigest(int numTeams){
+		int size = 1;
+		while (size < numTeams) {
+			size *= 2;
+		}//end while
+		numBuckets = size;
+		resetNodes = new long[2 * size];
+		stamps = new int[2 * size];
+		buckets = new ArrayList<ArrayList<String>>(Collections.nCopies(size, (ArrayList<String>) null));
+		for (int node = size - 1; node > 0; node--) {
+			resetNodes[node] = combine(resetNodes[2 * node], resetNodes[2 * node + 1]);
+		}//end for
+		nodes = resetNodes.clone();
+	}//end constructor
+
+	/**
+	 * Creates a digest that shares the state of another until either of them changes.
+	 *
+	 * @param other The digest to share.
+	 */
+	private LeagueDigest(LeagueDigest other){
+		numBuckets = other.numBuckets;
+		nodes = other.nodes;
+		resetNodes = other.resetNodes;
+		stamps = other.stamps;
+		season = other.season;
+		buckets = other.buckets;
+		shared = true;
+		other.shared = true;
+	}//end constructor
+
+	/**
+	 * Returns the root of the tree, which is equal for two leagues with the same teams and statistics.
+	 *
+	 * @return The digest of the whole league.
+	 */
+	public long getRoot(){
+		return getNode(1);
+	}//end getRoot
+
+	/**
+	 * Returns a node of the tree. The root is node 1, the children of node i are nodes 2i and 2i + 1, and
+	 * bucket b is node {@link #getNumBuckets()} + b.
+	 *
+	 * @param node The number of the node.
+	 * @return The digest of the teams below the node.
+	 */
+	public long getNode(int node){
+		return stamps[node] == season ? nodes[node] : resetNodes[node];
+	}//end getNode
+
+	/**
+	 * Returns the number of buckets the teams are hashed into.
+	 *
+	 * @return The number of leaves of the tree.
+	 */
+	public int getNumBuckets(){
+		return numBuckets;
+	}//end
+
+	/**
+	 * Returns the official names of the teams hashed into a bucket.
+	 *
+	 * @param bucket The bucket (indexed from 0).
+	 * @return A read-only list of the official names.
+	 */
+	public List<String> getTeamsInBucket(int bucket){
+		List<String> names = buckets.get(bucket);
+		return names == null ? Collections.<String>emptyList() : Collections.unmodifiableList(names);
+	}//end getTeamsInBucket
+
+	/**
+	 * Finds the buckets that differ between two digests by descending only into nodes that differ.
+	 *
+	 * @param other The digest of another copy of the league.
+	 * @return The buckets that differ, in order.
+	 * @throws IllegalArgumentException if the digests have a different number of buckets.
+	 */
+	public List<Integer> findDifferingBuckets(LeagueDigest other){
+		if (other.numBuckets != numBuckets) {
+			throw new IllegalArgumentException("Only digests of leagues of the same size can be compared");
+		}//end if
+		List<Integer> differences = new ArrayList<Integer>();
+		findDifferingBuckets(other, 1, differences);
+		return differences;
+	}//end findDifferingBuckets
+
+	/**
+	 * Finds the official names of the teams that may differ between two digests, which are the teams
+	 * of either league in the buckets that differ.
+	 *
+	 * @param other The digest of another copy of the league.
+	 * @return The official names, in bucket order.
+	 * @throws IllegalArgumentException if the digests have a different number of buckets.
+	 */
+	public List<String> findDifferingTeams(LeagueDigest other){
+		List<String> names = new ArrayList<String>();
+		for (int bucket: findDifferingBuckets(other)) {
+			names.addAll(getTeamsInBucket(bucket));
+			for (String name: other.getTeamsInBucket(bucket)) {
+				if (!names.contains(name)) {
+					names.add(name);
+				}//end if
+			}//end for
+		}//end for
+		return names;
+	}//end findDifferingTeams
+
+	/**
+	 * Returns the bucket a team is hashed into.
+	 *
+	 * @param officialName The official name of the team.
+	 * @param numBuckets The number of buckets, a power of two.
+	 * @return The bucket of the team.
+	 */
+	public static int bucketOf(String officialName, int numBuckets){
+		return (int) mix(officialName.hashCode()) & (numBuckets - 1);
+	}//end bucketOf
+
+	/* Returns a digest that shares this digest's state, for a fork of the league */
+	LeagueDigest share(){
+		return new LeagueDigest(this);
+	}//end share
+
+	/* Adds a registered team */
+	void teamAdded(SoccerTeam team){
+		int bucket = bucketOf(team.getOfficialName(), numBuckets);
+		own();
+		// The first tree is updated first, as a stale bucket takes its old value from the reset tree
+		update(bucket, 0, hash(team));
+		updateReset(bucket, 0, resetHash(team));
+		if (buckets.get(bucket) == null) {
+			buckets.set(bucket, new ArrayList<String>(1));
+		}//end if
+		buckets.get(bucket).add(team.getOfficialName());
+	}//end teamAdded
+
+	/* Removes a team that is no longer registered */
+	void teamRemoved(SoccerTeam team){
+		int bucket = bucketOf(team.getOfficialName(), numBuckets);
+		own();
+		update(bucket, hash(team), 0);
+		updateReset(bucket, resetHash(team), 0);
+		buckets.get(bucket).remove(team.getOfficialName());
+	}//end teamRemoved
+
+	/* Replaces the hash of a team after its statistics changed */
+	void teamChanged(SoccerTeam team, long oldHash){
+		own();
+		update(bucketOf(team.getOfficialName(), numBuckets), oldHash, hash(team));
+	}//end teamChanged
+
+	/* Treats every team as reset, in constant time */
+	void seasonStarted(){
+		own();
+		season++;
+	}//end seasonStarted
+
+	/* The hash of a team's names and statistics */
+	static long hash(SoccerTeam team){
+		return hash(team.getOfficialName(), team.getNickName(), team.getFormString(), team.getMatchesWon(), team.getMatchesLost(),
+				team.getMatchesDrawn(), team.getGoalsScoredSeason(), team.getGoalsConcededSeason(), team.getCompetitionPoints());
+	}//end hash
+
+	/* The hash the team would have with its statistics reset */
+	private static long resetHash(SoccerTeam team){
+		return hash(team.getOfficialName(), team.getNickName(), "-----", 0, 0, 0, 0, 0, 0);
+	}//end resetHash
+
+	private static long hash(String officialName, String nickName, String form, int won, int lost, int drawn,
+			int goalsScored, int goalsConceded, int points){
+		long hash = mix(officialName.hashCode());
+		hash = mix(hash + nickName.hashCode());
+		hash = mix(hash + form.hashCode());
+		hash = mix(hash + (((long) won << 32) | (lost & 0xffffffffL)));
+		hash = mix(hash + (((long) drawn << 32) | (points & 0xffffffffL)));
+		return mix(hash + (((long) goalsScored << 32) | (goalsConceded & 0xffffffffL)));
+	}//end hash
+
+	/* Combines the digests of two children, in an order sensitive way */
+	static long combine(long left, long right){
+		return mix(mix(left) + right);
+	}//end combine
+
+	/* The finaliser of the SplitMix64 generator, which spreads every input bit over the output */
+	private static long mix(long value){
+		value = (value ^ (value >>> 30)) * 0xbf58476d1ce4e5b9L;
+		value = (value ^ (value >>> 27)) * 0x94d049bb133111ebL;
+		return value ^ (value >>> 31);
+	}//end mix
+
+	/* Changes a bucket of the first tree and the nodes above it */
+	private void update(int bucket, long oldHash, long newHash){
+		// Teams in a bucket are summed so that their order does not matter
+		int node = numBuckets + bucket;
+		nodes[node] = getNode(node) - oldHash + newHash;
+		stamps[node] = season;
+		for (node /= 2; node > 0; node /= 2) {
+			nodes[node] = combine(getNode(2 * node), getNode(2 * node + 1));
+			stamps[node] = season;
+		}//end for
+	}//end update
+
+	/* Changes a bucket of the reset tree and the nodes above it */
+	private void updateReset(int bucket, long oldHash, long newHash){
+		int node = numBuckets + bucket;
+		resetNodes[node] += newHash - oldHash;
+		for (node /= 2; node > 0; node /= 2) {
+			resetNodes[node] = combine(resetNodes[2 * node], resetNodes[2 * node + 1]);
+		}//end for
+	}//end updateReset
+
+	/* Gives this digest its own copy of its state if it is shared with the digest of a fork */
+	private void own(){
+		if (shared) {
+			nodes = nodes.clone();
+			resetNodes = resetNodes.clone();
+			stamps = stamps.clone();
+			ArrayList<ArrayList<String>> copy = new ArrayList<ArrayList<String>>(numBuckets);
+			for (ArrayList<String> names: buckets) {
+				copy.add(names == null ? null : new ArrayList<String>(names));
+			}//end for
+			buckets = copy;
+			shared = false;
+		}//end if
+	}//end own
+
+	/* Adds the differing buckets below a node */
+	private void findDifferingBuckets(LeagueDigest other, int node, List<Integer> differences){
+		if (getNode(node) == other.getNode(node)) {
+			return;
+		} else if (node >= numBuckets) {
+			differences.add(node - numBuckets);
+		} else {
+			findDifferingBuckets(other, 2 * node, differences);
+			findDifferingBuckets(other, 2 * node + 1, differences);
+		}//end if-else
+	}//end findDifferingBuckets
+}//end LeagueDigest
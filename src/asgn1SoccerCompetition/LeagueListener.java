@@ -0,0 +1,48 @@
+package asgn1SoccerCompetition;
+
+/**
+ * Receives notifications of the changes made to a {@link SoccerLeague}, so that structures derived
+ * from the league can be maintained incrementally. Listeners are told about a change after the
+ * league has applied it.
+ * 
+ * @author Matthew Holdsworth
+ * @version 1.0
+ *
+ */
+interface LeagueListener {
+
+	/**
+	 * Called when a new season has started and the statistics of every team have been reset.
+	 * 
+	 * @param league The league whose season started.
+	 */
+	default void seasonStarted(SoccerLeague league){
+	}//end
+
+	/**
+	 * Called when a match has been played and both teams have been updated.
+	 * 
+	 * @param league The league the match was played in.
+	 * @param homeTeam The home team.
+	 * @param homeGoals The number of goals scored by the home team.
+	 * @param awayTeam The away team.
+	 * @param awayGoals The number of goals scored by the away team.
+	 */
+	default void matchPlayed(SoccerLeague league, SoccerTeam homeTeam, int homeGoals, SoccerTeam awayTeam, int awayGoals){
+	}//end
+	
+	/**
+	 * Called when the score of a match has been corrected and both teams have been updated.
+	 * 
+	 * @param league The league the match was played in.
+	 * @param homeTeam The home team.
+	 * @param homeGoals The corrected number of goals scored by the home team.
+	 * @param awayTeam The away team.
+	 * @param awayGoals The corrected number of goals scored by the away team.
+	 * @param oldHomeGoals The number of goals the home team was first recorded as scoring.
+	 * @param oldAwayGoals The number of goals the away team was first recorded as scoring.
+	 */
+	default void matchCorrected(SoccerLeague league, SoccerTeam homeTeam, int homeGoals, SoccerTeam awayTeam, int awayGoals,
+			int oldHomeGoals, int oldAwayGoals){
+	}//end
+}//end LeagueListener
@@ -0,0 +1,210 @@
+package asgn1SoccerCompetition;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import asgn1Exceptions.LeagueException;
+import asgn1Exceptions.TeamException;
+
+/**
+ * Hosts some of the leagues of a {@link ShardedCompetition} in its own process. The coordinator of the
+ * competition connects over a local socket and sends one command per line, with fields separated by
+ * tabs, and the server answers each command with a line starting with OK or ERROR:
+ *
+ * <pre>
+ * CREATE league teams                    creates a league that requires a number of teams, unless it exists
+ * REGISTER league official nick          registers a new team
+ * REMOVE league official                 removes a team
+ * REPLACE league official new nick       removes a team and registers a new team in its place, or neither
+ * START league / END league              starts or ends the season of a league
+ * PLAY league home goals away goals      plays a match
+ * TOP league / BOTTOM league             answers OK official nick of the top or bottom team
+ * TABLE league                           sorts the league and answers OK rows, followed by one line per team
+ * DIGEST league                          answers OK and the root of the league's digest in hexadecimal
+ * </pre>
+ *
+ * The server only listens on the loopback address. Every connection is served by its own thread and
+ * commands are applied one at a time.
+ *
+ * The main method starts a server in the foreground: LeagueShardServer [port], where port 0 or no port
+ * picks a free port. The port is written to the standard output once the server is listening.
+ *
+ * @author Matthew Holdsworth
+ * @version 1.0
+ *
+ */
+public class LeagueShardServer implements Runnable, AutoCloseable {
+	// The separator of the fields of a command
+	static final String SEPARATOR = "\t";
+	static final String OK = "OK";
+	static final String ERROR = "ERROR";
+
+	private final ServerSocket serverSocket;
+	// The leagues hosted by this server, by their number in the competition
+	private final HashMap<Integer, SoccerLeague> leagues = new HashMap<Integer, SoccerLeague>();
+
+	/**
+	 * Creates a server listening on the loopback address. The server accepts connections once it is run.
+	 *
+	 * @param port The port to listen on, or 0 for any free port.
+	 * @throws IOException if the port cannot be listened on.
+	 */
+	public LeagueShardServer(int port) throws IOException {
+		serverSocket = new ServerSocket(port, 50, InetAddress.getLoopbackAddress());
+	}//end constructor
+
+	/**
+	 * Returns the port the server is listening on.
+	 *
+	 * @return The port number.
+	 */
+	public int getPort(){
+		return serverSocket.getLocalPort();
+	}//end
+
+	/**
+	 * Accepts connections until the server is closed, serving each on its own thread.
+	 */
+	public void run(){
+		try {
+			while (true) {
+				Socket socket = serverSocket.accept();
+				Thread connection = new Thread(() -> serve(socket), "league-shard-" + socket.getPort());
+				connection.setDaemon(true);
+				connection.start();
+			}//end while
+		} catch (IOException e) {
+			// The server socket was closed
+		}//end try-catch
+	}//end run
+
+	/**
+	 * Stops accepting connections. Open connections end when the coordinator closes them.
+	 *
+	 * @throws IOException if the server socket cannot be closed.
+	 */
+	public void close() throws IOException {
+		serverSocket.close();
+	}//end close
+
+	/**
+	 * Starts a server from the command line.
+	 *
+	 * @param args The port to listen on, optionally.
+	 */
+	public static void main(String[] args) {
+		try (LeagueShardServer server = new LeagueShardServer(args.length > 0 ? Integer.parseInt(args[0]) : 0)) {
+			System.out.println("Listening on port " + server.getPort());
+			System.out.flush();
+			server.run();
+		} catch (Exception e) {
+			System.out.println(e.getMessage());
+			e.printStackTrace();
+		}//end try-catch
+	}//end main
+
+	/* Answers the commands sent over a connection until it is closed */
+	private void serve(Socket socket){
+		try (Socket connection = socket;
+				BufferedReader in = new BufferedReader(new InputStreamReader(connection.getInputStream(), StandardCharsets.UTF_8));
+				Writer out = new BufferedWriter(new OutputStreamWriter(connection.getOutputStream(), StandardCharsets.UTF_8))) {
+			String line = in.readLine();
+			while (line != null) {
+				String answer;
+				try {
+					answer = execute(line.split(SEPARATOR, -1));
+				} catch (LeagueException | TeamException | RuntimeException e) {
+					answer = ERROR + SEPARATOR + e.getMessage();
+				}//end try-catch
+				out.write(answer);
+				out.write('\n');
+				out.flush();
+				line = in.readLine();
+			}//end while
+		} catch (SocketException e) {
+			// The coordinator went away
+		} catch (IOException e) {
+			e.printStackTrace();
+		}//end try-catch
+	}//end serve
+
+	/* Applies a command and returns the answer, which may span several lines */
+	private synchronized String execute(String[] command) throws LeagueException, TeamException {
+		int leagueNum = Integer.parseInt(command[1]);
+		if (command[0].equals("CREATE")) {
+			if (leagues.containsKey(leagueNum)) {
+				throw new LeagueException("League " + leagueNum + " is already hosted by this shard!");
+			}//end if
+			leagues.put(leagueNum, new SoccerLeague(Integer.parseInt(command[2])));
+			return OK;
+		}//end if
+		SoccerLeague league = leagues.get(leagueNum);
+		if (league == null) {
+			throw new LeagueException("League " + leagueNum + " is not hosted by this shard!");
+		}//end if
+		switch (command[0]) {
+		case "REGISTER":
+			league.registerTeam(new SoccerTeam(command[2], command[3]));
+			return OK;
+		case "REMOVE":
+			league.removeTeam(league.getTeamByOfficalName(command[2]));
+			return OK;
+		case "REPLACE":
+			replace(league, league.getTeamByOfficalName(command[2]), new SoccerTeam(command[3], command[4]));
+			return OK;
+		case "START":
+			league.startNewSeason();
+			return OK;
+		case "END":
+			league.endSeason();
+			return OK;
+		case "PLAY":
+			league.playMatch(command[2], Integer.parseInt(command[3]), command[4], Integer.parseInt(command[5]));
+			return OK;
+		case "TOP":
+			return describe(league.getTopTeam());
+		case "BOTTOM":
+			return describe(league.getBottomTeam());
+		case "TABLE":
+			league.sortTeams();
+			StringBuilder table = new StringBuilder(OK + SEPARATOR + league.getRegisteredNumTeams());
+			for (SoccerTeam team: league.getTeams()) {
+				table.append('\n').append(team.getTeamDetails());
+			}//end for
+			return table.toString();
+		case "DIGEST":
+			return OK + SEPARATOR + Long.toHexString(league.getDigest().getRoot());
+		default:
+			throw new LeagueException("Unknown command " + command[0]);
+		}//end switch
+	}//end execute
+
+	/* Replaces a team of a league, checking the replacement can be registered before removing the team */
+	private static void replace(SoccerLeague league, SoccerTeam leavingTeam, SoccerTeam joiningTeam) throws LeagueException{
+		if (!league.isOffSeason()) {
+			throw new LeagueException("Teams cannot be replaced whilst a season is in progress!");
+		} else if (league.containsTeam(joiningTeam.getOfficialName())) {
+			throw new LeagueException("This team cannot be registered as its name is already in use!");
+		}//end if-else
+		league.removeTeam(leavingTeam);
+		try {
+			league.registerTeam(joiningTeam);
+		} catch (LeagueException e) {
+			league.registerTeam(leavingTeam);
+			throw e;
+		}//end try-catch
+	}//end replace
+
+	/* The answer naming a team */
+	private static String describe(SoccerTeam team){
+		return OK + SEPARATOR + team.getOfficialName() + SEPARATOR + team.getNickName();
+	}//end describe
+}//end LeagueShardServer
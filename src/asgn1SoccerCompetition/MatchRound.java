@@ -0,0 +1,107 @@
+package asgn1SoccerCompetition;
+import java.util.ArrayList;
+import java.util.Arrays;
+import asgn1Exceptions.LeagueException;
+
+/**
+ * The results of a round of a {@link SoccerLeague}, such as a matchday, staged so that they can be
+ * applied to the league together. Results are added in any order and nothing is checked or applied
+ * until the round is committed, when the whole round is validated and applied as a unit (see
+ * {@link SoccerLeague#commitRound(MatchRound)}). A round can only be committed once.
+ * 
+ * @author Matthew Holdsworth
+ * @version 1.0
+ *
+ */
+public final class MatchRound {
+	private final SoccerLeague league;
+	private final ArrayList<String> homeTeamNames = new ArrayList<String>();
+	private final ArrayList<String> awayTeamNames = new ArrayList<String>();
+	private int[] homeGoals = new int[16];
+	private int[] awayGoals = new int[16];
+	private boolean committed;
+
+	/**
+	 * Creates an empty round, see {@link SoccerLeague#beginRound()}.
+	 * 
+	 * @param league The league the round is for.
+	 */
+	MatchRound(SoccerLeague league){
+		this.league = league;
+	}//end constructor
+
+	/**
+	 * Adds the result of a match to the round.
+	 * 
+	 * @param homeTeamName The name of the home team.
+	 * @param homeTeamGoals The number of goals scored by the home team.
+	 * @param awayTeamName The name of the away team.
+	 * @param awayTeamGoals The number of goals scored by the away team.
+	 * @throws LeagueException If the round has already been committed.
+	 */
+	public void addResult(String homeTeamName, int homeTeamGoals, String awayTeamName, int awayTeamGoals) throws LeagueException{
+		if (committed) {
+			throw new LeagueException("This round has already been committed!");
+		}//end if
+		int result = homeTeamNames.size();
+		if (result == homeGoals.length) {
+			homeGoals = Arrays.copyOf(homeGoals, 2 * result);
+			awayGoals = Arrays.copyOf(awayGoals, 2 * result);
+		}//end if
+		homeTeamNames.add(homeTeamName);
+		awayTeamNames.add(awayTeamName);
+		homeGoals[result] = homeTeamGoals;
+		awayGoals[result] = awayTeamGoals;
+	}//end addResult
+
+	/**
+	 * Validates and applies every result of the round to its league, see {@link SoccerLeague#commitRound(MatchRound)}.
+	 * 
+	 * @throws LeagueException If the round has already been committed or any of its results is invalid.
+	 */
+	public void commit() throws LeagueException{
+		league.commitRound(this);
+	}//end commit
+
+	/**
+	 * Gets the number of results added to the round.
+	 * 
+	 * @return The number of results.
+	 */
+	public int getNumResults(){
+		return homeTeamNames.size();
+	}//end getNumResults
+
+	/**
+	 * Specifies if the round has been applied to its league.
+	 * 
+	 * @return True if the round has been committed, false otherwise.
+	 */
+	public boolean isCommitted(){
+		return committed;
+	}//end isCommitted
+
+	SoccerLeague getLeague(){
+		return league;
+	}//end getLeague
+
+	String getHomeTeamName(int result){
+		return homeTeamNames.get(result);
+	}//end getHomeTeamName
+
+	String getAwayTeamName(int result){
+		return awayTeamNames.get(result);
+	}//end getAwayTeamName
+
+	int getHomeGoals(int result){
+		return homeGoals[result];
+	}//end getHomeGoals
+
+	int getAwayGoals(int result){
+		return awayGoals[result];
+	}//end getAwayGoals
+
+	void setCommitted(){
+		committed = true;
+	}//end setCommitted
+}//end MatchRound
@@ -0,0 +1,561 @@
+package asgn1SoccerCompetition;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.charset.StandardCharsets;
+import asgn1Exceptions.LeagueException;
+import asgn1Exceptions.TeamException;
+import asgn1SportsUtils.WLD;
+
+/**
+ * A soccer league whose team records live outside the Java heap. Every team occupies a fixed-width
+ * record in a direct buffer that is allocated once, when the league is created, so the heap size and
+ * garbage collection time of a league do not grow with the number of teams registered to it.
+ *
+ * Name lookups go through an open addressing hash table and the ranking through a slot index, both
+ * of which are also held in direct buffers. Teams are handed out as lightweight
+ * {@link OffHeapSoccerTeam} views over their record. Matches follow the same rules as
+ * {@link SoccerLeague} and {@link SoccerTeam}, so both leagues produce the same tables.
+ *
+ * @author Matthew Holdsworth
+ * @version 1.0
+ *
+ */
+public class OffHeapSoccerLeague implements SportsLeague{
+	// The maximum number of UTF-8 bytes stored for an official name or a nick name
+	public static final int NAME_BYTES = 60;
+	// Offsets of the fields in a team record
+	static final int GOALS_SCORED = 0;
+	static final int GOALS_CONCEDED = 4;
+	static final int MATCHES_WON = 8;
+	static final int MATCHES_LOST = 12;
+	static final int MATCHES_DRAWN = 16;
+	static final int POINTS = 20;
+	static final int FORM = 24;
+	static final int NUM_GAMES = 28;
+	static final int OFFICIAL_LENGTH = 32;
+	static final int NICK_LENGTH = 34;
+	static final int OFFICIAL_NAME = 36;
+	static final int NICK_NAME = OFFICIAL_NAME + NAME_BYTES;
+	// The width of a single team record in bytes
+	static final int RECORD_BYTES = 160;
+	// The number of results kept in the form of a team and the bits used for each of them
+	private static final int FORM_LENGTH = 5;
+	private static final int FORM_BITS = 2;
+	private static final int FORM_MASK = (1 << (FORM_BITS * FORM_LENGTH)) - 1;
+	// The range of realistic goals, as used by SoccerTeam
+	private static final int UNREALISTIC_MIN = 0;
+	private static final int UNREALISTIC_MAX = 20;
+
+	// Specifies the number of teams required/limit of teams for the league
+	private int requiredTeams;
+	// Specifies is the league is in the off season
+	private boolean offSeason;
+	// The number of teams currently registered
+	private int numTeams;
+	// Holds a fixed-width record for every registration slot
+	private ByteBuffer records;
+	// Open addressing hash table of slot + 1 keyed on the official name, 0 marks an empty entry
+	private IntBuffer nameIndex;
+	private int nameMask;
+	// The slots of the registered teams in ranked order
+	private IntBuffer ranking;
+	// Scratch space used to encode names that are being looked up
+	private byte[] nameScratch = new byte[NAME_BYTES];
+
+	/**
+	 * Generates a model of an off-heap soccer league with the specified number of teams. All of the
+	 * memory required by the league is allocated up front.
+	 *
+	 * @param requiredTeams The number of teams required/limit for the league.
+	 * @throws LeagueException if the number of teams is negative or too large to be held in a single buffer.
+	 */
+	public OffHeapSoccerLeague(int requiredTeams) throws LeagueException{
+		if (requiredTeams < 0 || requiredTeams > Integer.MAX_VALUE / RECORD_BYTES) {
+			throw new LeagueException("An off-heap league cannot hold " + requiredTeams + " teams!");
+		}//end if
+		offSeason = true;
+		this.requiredTeams = requiredTeams;
+		records = ByteBuffer.allocateDirect(requiredTeams * RECORD_BYTES).order(ByteOrder.nativeOrder());
+		int tableSize = Integer.highestOneBit(Math.max(1, requiredTeams) * 2 - 1) << 1;
+		nameIndex = ByteBuffer.allocateDirect(tableSize * 4).order(ByteOrder.nativeOrder()).asIntBuffer();
+		nameMask = tableSize - 1;
+		ranking = ByteBuffer.allocateDirect(Math.max(1, requiredTeams) * 4).order(ByteOrder.nativeOrder()).asIntBuffer();
+	}//end constructor
+
+	/**
+	 * Registers a team to the league.
+	 *
+	 * @param officialName The official name of the team.
+	 * @param nickName The nick name of the team.
+	 * @return A view of the registered team.
+	 * @throws TeamException If either of the names are empty strings or longer than {@link #NAME_BYTES} bytes.
+	 * @throws LeagueException If the season has already started, if the maximum number of
+	 * teams allowed to register has already been reached or a team with the
+	 * same official name has already been registered.
+	 */
+	public OffHeapSoccerTeam registerTeam(String officialName, String nickName) throws LeagueException, TeamException{
+		byte[] official = officialName.getBytes(StandardCharsets.UTF_8);
+		byte[] nick = nickName.getBytes(StandardCharsets.UTF_8);
+		if (official.length == 0 || nick.length == 0) {
+			throw new TeamException("One of the names is missing!");
+		} else if (official.length > NAME_BYTES || nick.length > NAME_BYTES) {
+			throw new TeamException("One of the names is too long to be stored off-heap!");
+		} else if (!offSeason) {
+			throw new LeagueException("You cannot register teams whilst a season is already in progress!");
+		} else if (numTeams == requiredTeams) {
+			throw new LeagueException("You have reached the maximum number of teams in a single league!");
+		} else if (findSlot(official, official.length) >= 0) {
+			throw new LeagueException("This team cannot be registered as its name is already in use!");
+		}//end if-else
+		int slot = numTeams;
+		int base = slot * RECORD_BYTES;
+		clearStats(slot);
+		records.putShort(base + OFFICIAL_LENGTH, (short) official.length);
+		records.putShort(base + NICK_LENGTH, (short) nick.length);
+		records.put(base + OFFICIAL_NAME, official);
+		records.put(base + NICK_NAME, nick);
+		insertIndex(slot);
+		ranking.put(slot, slot);
+		numTeams++;
+		return new OffHeapSoccerTeam(this, slot);
+	}//end registerTeam
+
+	/**
+	 * Removes a team from the league. The ranking reverts to registration order until the teams are next sorted.
+	 *
+	 * @param officialName The official name of the team to remove.
+	 * @throws LeagueException if the season has not ended or if the team is not registered into the league.
+	 */
+	public void removeTeam(String officialName) throws LeagueException{
+		int slot = lookup(officialName);
+		if (!offSeason || slot < 0) {
+			throw new LeagueException("Cannot remove team because it is off-season or it does not exist");
+		}//end if
+		deleteIndex(slot);
+		int last = numTeams - 1;
+		if (slot != last) {
+			// Moves the last record into the gap so that the registered slots stay contiguous
+			deleteIndex(last);
+			for (int offset = 0; offset < RECORD_BYTES; offset += 4) {
+				records.putInt(slot * RECORD_BYTES + offset, records.getInt(last * RECORD_BYTES + offset));
+			}//end for
+			insertIndex(slot);
+		}//end if
+		numTeams--;
+		for (int position = 0; position < numTeams; position++) {
+			ranking.put(position, position);
+		}//end for
+	}//end removeTeam
+
+	/**
+	 * Gets the number of teams currently registered to the league
+	 *
+	 * @return the current number of teams registered
+	 */
+	public int getRegisteredNumTeams(){
+		return numTeams;
+	}//end
+
+	/**
+	 * Gets the number of teams required for the league to begin its
+	 * season which is also the maximum number of teams that can be registered
+	 * to a league.
+
+	 * @return The number of teams required by the league/maximum number of teams in the league
+	 */
+	public int getRequiredNumTeams(){
+		return requiredTeams;
+	}//end
+
+	/**
+	 * Starts a new season by reverting all statistics for each team to initial values.
+	 *
+	 * @throws LeagueException if the number of registered teams does not equal the required number of teams or if the season has already started
+	 */
+	public void startNewSeason() throws LeagueException{
+		if (numTeams != requiredTeams || !offSeason) {
+			throw new LeagueException("There is not enough teams registered in the league to start a season, or the season has already started!");
+		} else {
+			for (int slot = 0; slot < numTeams; slot++) {
+				clearStats(slot);
+			}//end for
+			offSeason = false;
+		}//end if-else
+	}//end startNewSeason
+
+	/**
+	 * Ends the season.
+	 *
+	 * @throws LeagueException if season has not started
+	 */
+	public void endSeason() throws LeagueException{
+		if (offSeason) {
+			throw new LeagueException("Season is already in progress");
+		} else {
+			offSeason = true;
+		}//end if-else
+	}//end endSeason
+
+	/**
+	 * Specifies if the league is in the off season (i.e. when matches are not played).
+	 * @return True If the league is in its off season, false otherwise.
+	 */
+	public boolean isOffSeason(){
+		return offSeason;
+	}//end
+
+	/**
+	 * Returns a view of the team with a specific name.
+	 *
+	 * @param name The official name of the team to search for.
+	 * @return A view of the team with the specified official name.
+	 * @throws LeagueException if no team has that official name.
+	 */
+	public OffHeapSoccerTeam getTeamByOfficalName(String name) throws LeagueException{
+		int slot = lookup(name);
+		if (slot < 0) {
+			throw new LeagueException("This team does not exist in this league!");
+		}//end if
+		return new OffHeapSoccerTeam(this, slot);
+	}//end
+
+	/**
+	 * Plays a match in a specified league between two teams with the respective goals.
+     *
+	 * @param homeTeamName The name of the home team.
+	 * @param homeTeamGoals The number of goals scored by the home team.
+	 * @param awayTeamName The name of the away team.
+	 * @param awayTeamGoals The number of goals scored by the away team.
+	 * @throws LeagueException If the season has not started, if both teams have the same official name,
+	 * if either team is not registered or if either score is unrealistic.
+	 */
+	public void playMatch(String homeTeamName, int homeTeamGoals, String awayTeamName, int awayTeamGoals) throws LeagueException{
+		if (offSeason) {
+			throw new LeagueException("The season has not started yet!");
+		} else if (homeTeamName.equals(awayTeamName)) {
+			throw new LeagueException("The same team cannot play each other!");
+		}//end if-else
+		int homeSlot = lookup(homeTeamName);
+		int awaySlot = lookup(awayTeamName);
+		if (homeSlot < 0 || awaySlot < 0) {
+			throw new LeagueException("This team does not exist in this league!");
+		}//end if
+		try {
+			playMatch(homeSlot, homeTeamGoals, awayTeamGoals);
+			playMatch(awaySlot, awayTeamGoals, homeTeamGoals);
+		} catch (TeamException e) {
+			throw new LeagueException(e.getMessage(), e);
+		}//end try-catch
+	}//end playMatch
+
+	/**
+	 * Displays a ranked list of the teams in the league to the screen.
+	 */
+	public void displayLeagueTable(){
+		for (int position = 0; position < numTeams; position++) {
+			System.out.println(teamDetails(ranking.get(position)));
+		}//end for
+	}//end displayLeagueTable
+
+	/**
+	 * Returns the team at a position of the ranking, as of the last time the teams were sorted.
+	 *
+	 * @param position The position in the ranking (indexed from 0).
+	 * @return A view of the team at that position.
+	 * @throws LeagueException if the position is not occupied by a team.
+	 */
+	public OffHeapSoccerTeam getTeamAtRank(int position) throws LeagueException{
+		if (position < 0 || position >= numTeams) {
+			throw new LeagueException("There is no team at that position!");
+		}//end if
+		return new OffHeapSoccerTeam(this, ranking.get(position));
+	}//end getTeamAtRank
+
+	/**
+	 * Returns the highest ranked team in the league.
+     *
+	 * @return The highest ranked team in the league.
+	 * @throws LeagueException if the number of teams is zero or less than the required number of teams.
+	 */
+	public OffHeapSoccerTeam getTopTeam() throws LeagueException{
+		if (numTeams == 0 || numTeams < requiredTeams) {
+			throw new LeagueException("There is insufficient teams in the league!");
+		}//end if
+		int top = 0;
+		for (int slot = 1; slot < numTeams; slot++) {
+			if (compareSlots(top, slot) > 0) {
+				top = slot;
+			}//end if
+		}//end for
+		return new OffHeapSoccerTeam(this, top);
+	}//end getTopTeam
+
+	/**
+	 * Returns the lowest ranked team in the league.
+     *
+	 * @return The lowest ranked team in the league.
+	 * @throws LeagueException if the number of teams is zero or less than the required number of teams.
+	 */
+	public OffHeapSoccerTeam getBottomTeam() throws LeagueException{
+		if (numTeams == 0 || numTeams < requiredTeams) {
+			throw new LeagueException("There is insufficient teams in the league!");
+		}//end if
+		int bottom = 0;
+		for (int slot = 1; slot < numTeams; slot++) {
+			if (compareSlots(bottom, slot) < 0) {
+				bottom = slot;
+			}//end if
+		}//end for
+		return new OffHeapSoccerTeam(this, bottom);
+	}//end getBottomTeam
+
+	/**
+	 * Sorts the teams in the league. An in-place heap sort is used over the ranking buffer so that
+	 * sorting never allocates, whatever the size of the league.
+	 */
+	public void sortTeams(){
+		for (int parent = numTeams / 2 - 1; parent >= 0; parent--) {
+			siftDown(parent, numTeams);
+		}//end for
+		for (int end = numTeams - 1; end > 0; end--) {
+			swapRanks(0, end);
+			siftDown(0, end);
+		}//end for
+	}//end sortTeams
+
+	/**
+     * Specifies if a team with the given official name is registered to the league.
+     *
+     * @param name The name of a team.
+     * @return True if the team is registered to the league, false otherwise.
+     */
+	public boolean containsTeam(String name){
+		return lookup(name) >= 0;
+	}//end containsTeam
+
+	/* Plays a match for the team in a slot, following the same rules as SoccerTeam.playMatch */
+	void playMatch(int slot, int goalsFor, int goalsAgainst) throws TeamException{
+		if (goalsFor < UNREALISTIC_MIN || goalsFor > UNREALISTIC_MAX) {
+			throw new TeamException("This is an unrealistic amount of goals scored!");
+		} else if (goalsAgainst < UNREALISTIC_MIN || goalsAgainst > UNREALISTIC_MAX) {
+			throw new TeamException("This is an unrealistic amount of goals conceded!");
+		}//end if-else
+		int base = slot * RECORD_BYTES;
+		records.putInt(base + GOALS_SCORED, goalsFor);
+		records.putInt(base + GOALS_CONCEDED, goalsAgainst);
+		WLD result;
+		if (goalsFor < goalsAgainst) {
+			increment(base + MATCHES_LOST, 1);
+			result = WLD.LOSS;
+		} else if (goalsFor > goalsAgainst) {
+			increment(base + MATCHES_WON, 1);
+			increment(base + POINTS, 3);
+			result = WLD.WIN;
+		} else {
+			increment(base + MATCHES_DRAWN, 1);
+			increment(base + POINTS, 1);
+			result = WLD.DRAW;
+		}//end if-else
+		int form = ((records.getInt(base + FORM) << FORM_BITS) | (result.ordinal() + 1)) & FORM_MASK;
+		records.putInt(base + FORM, form);
+		increment(base + NUM_GAMES, 1);
+	}//end playMatch
+
+	/* Reads an integer field of the record in a slot */
+	int getField(int slot, int field){
+		return records.getInt(slot * RECORD_BYTES + field);
+	}//end
+
+	/* Decodes the official name stored in a slot */
+	String getOfficialName(int slot){
+		return decodeName(slot, OFFICIAL_NAME, OFFICIAL_LENGTH);
+	}//end
+
+	/* Decodes the nick name stored in a slot */
+	String getNickName(int slot){
+		return decodeName(slot, NICK_NAME, NICK_LENGTH);
+	}//end
+
+	/* Builds the form string of the team in a slot, in the same layout as SportsTeamForm */
+	String getFormString(int slot){
+		int form = getField(slot, FORM);
+		int games = Math.min(getField(slot, NUM_GAMES), FORM_LENGTH);
+		char[] results = new char[FORM_LENGTH];
+		for (int position = 0; position < FORM_LENGTH; position++) {
+			if (position < games) {
+				results[position] = WLD.values()[((form >>> (position * FORM_BITS)) & 3) - 1].getChar();
+			} else {
+				results[position] = '-';
+			}//end if-else
+		}//end for
+		return new String(results);
+	}//end getFormString
+
+	/* Builds the row displayed for the team in a slot, in the same layout as SoccerTeam.displayTeamDetails */
+	String teamDetails(int slot){
+		int won = getField(slot, MATCHES_WON);
+		int lost = getField(slot, MATCHES_LOST);
+		int drawn = getField(slot, MATCHES_DRAWN);
+		int scored = getField(slot, GOALS_SCORED);
+		int conceded = getField(slot, GOALS_CONCEDED);
+		return getOfficialName(slot) + '\t' + getNickName(slot) + '\t' + getFormString(slot) + '\t' + (won + lost + drawn) + '\t' + won +
+				'\t' + lost + '\t' + drawn + '\t' + scored + '\t' + conceded + '\t' + (scored - conceded) + '\t' + getField(slot, POINTS);
+	}//end teamDetails
+
+	/* Resets the statistics of the team in a slot to their initial values */
+	void clearStats(int slot){
+		for (int field = GOALS_SCORED; field <= NUM_GAMES; field += 4) {
+			records.putInt(slot * RECORD_BYTES + field, 0);
+		}//end for
+	}//end clearStats
+
+	/*
+	 * Compares the teams in two slots using the ordering of SoccerTeam.compareTo: points, then goal
+	 * difference, then official name. Names are compared as unsigned UTF-8 bytes, which matches
+	 * String ordering for every name made of characters in the basic multilingual plane.
+	 */
+	int compareSlots(int first, int second){
+		int firstBase = first * RECORD_BYTES;
+		int secondBase = second * RECORD_BYTES;
+		int firstPoints = records.getInt(firstBase + POINTS);
+		int secondPoints = records.getInt(secondBase + POINTS);
+		if (firstPoints != secondPoints) {
+			return secondPoints - firstPoints;
+		}//end if
+		int firstDifference = records.getInt(firstBase + GOALS_SCORED) - records.getInt(firstBase + GOALS_CONCEDED);
+		int secondDifference = records.getInt(secondBase + GOALS_SCORED) - records.getInt(secondBase + GOALS_CONCEDED);
+		if (firstDifference != secondDifference) {
+			return secondDifference - firstDifference;
+		}//end if
+		int firstLength = records.getShort(firstBase + OFFICIAL_LENGTH);
+		int secondLength = records.getShort(secondBase + OFFICIAL_LENGTH);
+		for (int position = 0; position < Math.min(firstLength, secondLength); position++) {
+			int firstByte = records.get(firstBase + OFFICIAL_NAME + position) & 0xFF;
+			int secondByte = records.get(secondBase + OFFICIAL_NAME + position) & 0xFF;
+			if (firstByte != secondByte) {
+				return firstByte - secondByte;
+			}//end if
+		}//end for
+		return firstLength - secondLength;
+	}//end compareSlots
+
+	/* Adds an amount to an integer field of a record */
+	private void increment(int offset, int amount){
+		records.putInt(offset, records.getInt(offset) + amount);
+	}//end
+
+	/* Decodes a stored name */
+	private String decodeName(int slot, int nameOffset, int lengthOffset){
+		int base = slot * RECORD_BYTES;
+		byte[] name = new byte[records.getShort(base + lengthOffset)];
+		records.get(base + nameOffset, name);
+		return new String(name, StandardCharsets.UTF_8);
+	}//end decodeName
+
+	/* Returns the slot of the team with an official name, or -1 if there is no such team */
+	private int lookup(String name){
+		byte[] encoded = name.getBytes(StandardCharsets.UTF_8);
+		if (encoded.length == 0 || encoded.length > NAME_BYTES) {
+			return -1;
+		}//end if
+		return findSlot(encoded, encoded.length);
+	}//end lookup
+
+	/* Probes the name index for an encoded official name */
+	private int findSlot(byte[] name, int length){
+		int position = hash(name, length) & nameMask;
+		int entry = nameIndex.get(position);
+		while (entry != 0) {
+			if (nameEquals(entry - 1, name, length)) {
+				return entry - 1;
+			}//end if
+			position = (position + 1) & nameMask;
+			entry = nameIndex.get(position);
+		}//end while
+		return -1;
+	}//end findSlot
+
+	/* Adds the team in a slot to the name index */
+	private void insertIndex(int slot){
+		int position = hashSlot(slot) & nameMask;
+		while (nameIndex.get(position) != 0) {
+			position = (position + 1) & nameMask;
+		}//end while
+		nameIndex.put(position, slot + 1);
+	}//end insertIndex
+
+	/* Removes the team in a slot from the name index, shifting back any entries that probed past it */
+	private void deleteIndex(int slot){
+		int position = hashSlot(slot) & nameMask;
+		while (nameIndex.get(position) != slot + 1) {
+			position = (position + 1) & nameMask;
+		}//end while
+		int next = (position + 1) & nameMask;
+		while (nameIndex.get(next) != 0) {
+			int home = hashSlot(nameIndex.get(next) - 1) & nameMask;
+			// Moves the entry back if the gap lies between its home position and where it currently sits
+			if (((next - home) & nameMask) >= ((next - position) & nameMask)) {
+				nameIndex.put(position, nameIndex.get(next));
+				position = next;
+			}//end if
+			next = (next + 1) & nameMask;
+		}//end while
+		nameIndex.put(position, 0);
+	}//end deleteIndex
+
+	/* Hashes the official name stored in a slot */
+	private int hashSlot(int slot){
+		int base = slot * RECORD_BYTES;
+		int length = records.getShort(base + OFFICIAL_LENGTH);
+		records.get(base + OFFICIAL_NAME, nameScratch, 0, length);
+		return hash(nameScratch, length);
+	}//end hashSlot
+
+	/* Hashes an encoded name */
+	private static int hash(byte[] name, int length){
+		int hash = 0;
+		for (int position = 0; position < length; position++) {
+			hash = 31 * hash + name[position];
+		}//end for
+		return hash ^ (hash >>> 16);
+	}//end hash
+
+	/* Compares the official name in a slot with an encoded name */
+	private boolean nameEquals(int slot, byte[] name, int length){
+		int base = slot * RECORD_BYTES;
+		if (records.getShort(base + OFFICIAL_LENGTH) != length) {
+			return false;
+		}//end if
+		for (int position = 0; position < length; position++) {
+			if (records.get(base + OFFICIAL_NAME + position) != name[position]) {
+				return false;
+			}//end if
+		}//end for
+		return true;
+	}//end nameEquals
+
+	/* Restores the heap property below a position of the ranking */
+	private void siftDown(int position, int size){
+		int child = 2 * position + 1;
+		while (child < size) {
+			// Keeps the lowest ranked team at the root so that the sorted ranking ends up best first
+			if (child + 1 < size && compareSlots(ranking.get(child + 1), ranking.get(child)) > 0) {
+				child++;
+			}//end if
+			if (compareSlots(ranking.get(child), ranking.get(position)) <= 0) {
+				return;
+			}//end if
+			swapRanks(position, child);
+			position = child;
+			child = 2 * position + 1;
+		}//end while
+	}//end siftDown
+
+	/* Swaps two positions of the ranking */
+	private void swapRanks(int first, int second){
+		int slot = ranking.get(first);
+		ranking.put(first, ranking.get(second));
+		ranking.put(second, slot);
+	}//end swapRanks
+}//end OffHeapSoccerLeague
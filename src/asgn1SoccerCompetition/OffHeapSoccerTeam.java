@@ -0,0 +1,156 @@
+package asgn1SoccerCompetition;
+import asgn1Exceptions.TeamException;
+
+/**
+ * A lightweight view of a team whose statistics are stored in the record of an {@link OffHeapSoccerLeague}.
+ * The view holds no statistics itself, so any number of views can be created and discarded without
+ * the team's state ever being copied onto the heap. A view refers to a registration slot, so it should
+ * not be kept after its team, or any other team, has been removed from the league.
+ *
+ * @author Matthew Holdsworth
+ * @version 1.0
+ *
+ */
+public class OffHeapSoccerTeam implements SportsTeam{
+	private final OffHeapSoccerLeague league;
+	private final int slot;
+
+	/**
+	 * Creates a view of the team stored in a slot of a league.
+	 *
+	 * @param league The league that stores the team.
+	 * @param slot The registration slot of the team.
+	 */
+	OffHeapSoccerTeam(OffHeapSoccerLeague league, int slot){
+		this.league = league;
+		this.slot = slot;
+	}//end constructor
+
+	/**
+	 * Displays a String that provides details about the team, in the same format as
+	 * {@link SoccerTeam#displayTeamDetails()}.
+	 */
+	public void displayTeamDetails(){
+		System.out.println(league.teamDetails(slot));
+	}//end
+
+	/**
+	 * Returns the team's official name.
+	 * @return The team's official name.
+	 */
+	public String getOfficialName(){
+		return league.getOfficialName(slot);
+	}//end
+
+	/**
+	 * Returns the team's nick name.
+	 * @return The teams's nick name.
+	 */
+	public String getNickName(){
+		return league.getNickName(slot);
+	}//end
+
+	/**
+	 * Returns the goals scored by the team, as recorded by {@link SoccerTeam#getGoalsScoredSeason()}.
+	 * @return The goals scored this season.
+	 */
+	public int getGoalsScoredSeason(){
+		return league.getField(slot, OffHeapSoccerLeague.GOALS_SCORED);
+	}//end
+
+	/**
+	 * Returns the goals conceded by the team, as recorded by {@link SoccerTeam#getGoalsConcededSeason()}.
+	 * @return The goals conceded this season.
+	 */
+	public int getGoalsConcededSeason(){
+		return league.getField(slot, OffHeapSoccerLeague.GOALS_CONCEDED);
+	}//end
+
+	/**
+	 * Returns the number of matches won by the team so far this season.
+	 * @return The number of matches won by the team so far this season.
+	 */
+	public int getMatchesWon(){
+		return league.getField(slot, OffHeapSoccerLeague.MATCHES_WON);
+	}//end
+
+	/**
+	 * Returns the number of matches lost by the team so far this season.
+	 * @return The number of matches lost by the team so far this season.
+	 */
+	public int getMatchesLost(){
+		return league.getField(slot, OffHeapSoccerLeague.MATCHES_LOST);
+	}//end
+
+	/**
+	 * Returns the number of matches drawn by the team so far this season.
+	 * @return The number of matches drawn by the team so far this season.
+	 */
+	public int getMatchesDrawn(){
+		return league.getField(slot, OffHeapSoccerLeague.MATCHES_DRAWN);
+	}//end
+
+	/**
+	 * Returns the number competition points of the team so far this season.
+	 * @return The number competition points of the team so far this season.
+	 */
+	public int getCompetitionPoints(){
+		return league.getField(slot, OffHeapSoccerLeague.POINTS);
+	}//end
+
+	/**
+	 * Returns the goal difference (goals scored minus goals conceded) for the team.
+	 * @return The goal difference.
+	 */
+	public int getGoalDifference(){
+		return getGoalsScoredSeason() - getGoalsConcededSeason();
+	}//end
+
+	/**
+	 * Returns a string representing the recent results of the team.
+	 * @return A string representing the recent results of the team.
+	 */
+	public String getFormString(){
+		return league.getFormString(slot);
+	}//end
+
+	/**
+	 * Plays a match for a team
+	 *
+	 * @param goalsFor The number of goals scored by the team.
+	 * @param goalsAgainst The number of goals conceded by the team.
+	 * @throws TeamException If the number of goals scored or conceded is an unrealistic number (less than 0 or greater than 20).
+	 */
+	public void playMatch(int goalsFor, int goalsAgainst) throws TeamException{
+		league.playMatch(slot, goalsFor, goalsAgainst);
+	}//end playMatch
+
+	/**
+	 * Resets the teams values to their original values.
+	 */
+	public void resetStats(){
+		league.clearStats(slot);
+	}//end resetStats
+
+	/**
+	 * Two views are equal if they refer to the same slot of the same league.
+	 *
+	 * @param other The object to compare with.
+	 * @return True if the other object is a view of the same team, false otherwise.
+	 */
+	public boolean equals(Object other){
+		if (!(other instanceof OffHeapSoccerTeam)) {
+			return false;
+		}//end if
+		OffHeapSoccerTeam team = (OffHeapSoccerTeam) other;
+		return team.league == league && team.slot == slot;
+	}//end equals
+
+	/**
+	 * Returns a hash code consistent with {@link #equals(Object)}.
+	 * @return The hash code of the view.
+	 */
+	public int hashCode(){
+		return System.identityHashCode(league) * 31 + slot;
+	}//end hashCode
+}//end OffHeapSoccerTeam
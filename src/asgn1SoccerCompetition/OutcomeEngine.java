@@ -0,0 +1,384 @@
+package asgn1SoccerCompetition;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RecursiveTask;
+import asgn1Exceptions.LeagueException;
+
+/**
+ * Works out the exact probability of each team of a {@link SoccerLeague} finishing top (the premiership)
+ * and bottom (the wooden spoon) of the league on points, by enumerating every result of the fixtures
+ * that remain. Each fixture is a home win, a draw or an away win, with fixed probabilities that are
+ * equal unless specified otherwise. Teams level on points at the top or bottom share the probability
+ * equally, as the goal difference of matches not yet played is not enumerated.
+ *
+ * The enumeration is exponential in the number of fixtures remaining, so it is meant for small leagues
+ * in the last few rounds of a season. It is cut down in three ways:
+ * <ul>
+ * <li>A team that can no longer reach the top nor fall to the bottom cannot change either position,
+ * so its points are forgotten and a fixture between two such teams is not enumerated.</li>
+ * <li>The enumeration stops as soon as both positions are decided.</li>
+ * <li>Tables are memoised by the fixture reached and their points relative to the lowest team still
+ * of interest, so tables reached by different results are solved once.</li>
+ * </ul>
+ * The results of the first few fixtures are explored in parallel by fork/join tasks that share the memo.
+ *
+ * @author Matthew Holdsworth
+ * @version 1.0
+ *
+ */
+public class OutcomeEngine {
+	// The points awarded for a win and a draw
+	private static final int WIN_POINTS = 3;
+	private static final int DRAW_POINTS = 1;
+	// Marks the points of a team that cannot change the top or bottom position
+	private static final int IRRELEVANT = -1;
+	// The number of fixtures whose results are explored by separate tasks
+	private static final int PARALLEL_FIXTURES = 4;
+
+	private final SoccerLeague league;
+	private final double[] outcomeProbabilities;
+	// The teams of the last solution, their positions in the arrays below and their probabilities
+	private String[] names;
+	private HashMap<String, Integer> indexes;
+	private double[] premiership;
+	private double[] woodenSpoon;
+	private int numFixtures;
+	private int numStates;
+
+	/**
+	 * Creates an engine for a league in which a home win, a draw and an away win are equally likely.
+	 *
+	 * @param league The league to solve.
+	 */
+	public OutcomeEngine(SoccerLeague league){
+		this(league, 1.0 / 3, 1.0 / 3);
+	}//end constructor
+
+	/**
+	 * Creates an engine for a league with specific probabilities of each result.
+	 *
+	 * @param league The league to solve.
+	 * @param homeWin The probability of a home win.
+	 * @param draw The probability of a draw, the rest being the probability of an away win.
+	 */
+	public OutcomeEngine(SoccerLeague league, double homeWin, double draw){
+		if (homeWin < 0 || draw < 0 || homeWin + draw > 1) {
+			throw new IllegalArgumentException("The probabilities of a home win and a draw must be between 0 and 1 in total");
+		}//end if
+		this.league = league;
+		outcomeProbabilities = new double[] {homeWin, draw, Math.max(0, 1 - homeWin - draw)};
+	}//end constructor
+
+	/**
+	 * Solves the probabilities from the league's current results and the fixtures it has not played,
+	 * where every team plays every other team once at home and once away. The points and the fixtures 
+	 * are read together under the league's lock, and the enumeration runs after the lock is released.
+	 *
+	 * @throws LeagueException if the season has not started.
+	 */
+	public synchronized void solve() throws LeagueException{
+		int numTeams;
+		String[] teamNames;
+		HashMap<String, Integer> teamIndexes = new HashMap<String, Integer>();
+		int[] points;
+		List<int[]> fixtures = new ArrayList<int[]>();
+		// The points and the fixtures not played are read together, so no match is counted in both or neither
+		synchronized (league) {
+			if (league.isOffSeason()) {
+				throw new LeagueException("The season has not started yet!");
+			}//end if
+			List<SoccerTeam> teams = league.getTeams();
+			numTeams = teams.size();
+			teamNames = new String[numTeams];
+			points = new int[numTeams];
+			for (int team = 0; team < numTeams; team++) {
+				teamNames[team] = teams.get(team).getOfficialName();
+				teamIndexes.put(teamNames[team], team);
+				points[team] = teams.get(team).getCompetitionPoints();
+			}//end for
+			for (int home = 0; home < numTeams; home++) {
+				for (int away = 0; away < numTeams; away++) {
+					if (home != away && !league.hasPlayed(teamNames[home], teamNames[away])) {
+						fixtures.add(new int[] {home, away});
+					}//end if
+				}//end for
+			}//end for
+		}//end synchronized
+		// The enumeration runs without the league's lock, so matches can be played while it runs
+		Search search = new Search(numTeams, fixtures, outcomeProbabilities);
+		double[] result = new Explore(search, 0, search.canonical(0, points), 0).invoke();
+		names = teamNames;
+		indexes = teamIndexes;
+		premiership = Arrays.copyOfRange(result, 0, numTeams);
+		woodenSpoon = Arrays.copyOfRange(result, numTeams, 2 * numTeams);
+		numFixtures = fixtures.size();
+		numStates = search.memo.size();
+	}//end solve
+
+	/**
+	 * Gets the probability of a team finishing top of the league on points, solving the league first
+	 * if it has not been solved.
+	 *
+	 * @param officialName The official name of the team.
+	 * @return The probability of the premiership.
+	 * @throws LeagueException if the season has not started or the team is not in the league.
+	 */
+	public synchronized double getPremiershipProbability(String officialName) throws LeagueException{
+		int team = indexOf(officialName);
+		return premiership[team];
+	}//end getPremiershipProbability
+
+	/**
+	 * Gets the probability of a team finishing bottom of the league on points, solving the league first
+	 * if it has not been solved.
+	 *
+	 * @param officialName The official name of the team.
+	 * @return The probability of the wooden spoon.
+	 * @throws LeagueException if the season has not started or the team is not in the league.
+	 */
+	public synchronized double getWoodenSpoonProbability(String officialName) throws LeagueException{
+		int team = indexOf(officialName);
+		return woodenSpoon[team];
+	}//end getWoodenSpoonProbability
+
+	/**
+	 * Gets the number of fixtures that remained when the league was last solved.
+	 *
+	 * @return The number of fixtures enumerated.
+	 */
+	public synchronized int getNumFixtures(){
+		return numFixtures;
+	}//end getNumFixtures
+
+	/**
+	 * Gets the number of distinct tables that were memoised when the league was last solved.
+	 *
+	 * @return The number of tables solved.
+	 */
+	public synchronized int getNumStates(){
+		return numStates;
+	}//end getNumStates
+
+	/* Looks up the position of a team in the last solution, solving the league if it has not been solved */
+	private int indexOf(String officialName) throws LeagueException{
+		if (names == null) {
+			solve();
+		}//end if
+		Integer team = indexes.get(officialName);
+		if (team == null) {
+			throw new LeagueException("This team does not exist in this league!");
+		}//end if
+		return team;
+	}//end indexOf
+
+	/* The fixtures being enumerated and the tables solved so far */
+	private static final class Search {
+		final int numTeams;
+		final int[][] fixtures;
+		final double[] probabilities;
+		// The number of fixtures each team plays from each fixture onwards
+		final int[][] remaining;
+		final ConcurrentHashMap<State, double[]> memo = new ConcurrentHashMap<State, double[]>();
+
+		Search(int numTeams, List<int[]> fixtureList, double[] probabilities){
+			this.numTeams = numTeams;
+			this.fixtures = fixtureList.toArray(new int[0][]);
+			this.probabilities = probabilities;
+			remaining = new int[fixtures.length + 1][numTeams];
+			for (int fixture = fixtures.length - 1; fixture >= 0; fixture--) {
+				remaining[fixture] = remaining[fixture + 1].clone();
+				remaining[fixture][fixtures[fixture][0]]++;
+				remaining[fixture][fixtures[fixture][1]]++;
+			}//end for
+		}//end constructor
+
+		/* The most points a team can finish with from a fixture onwards */
+		int maxPoints(int fixture, int[] points, int team){
+			return points[team] + WIN_POINTS * remaining[fixture][team];
+		}//end maxPoints
+
+		/* Forgets the points of the teams that cannot reach the top nor fall to the bottom, and shifts the rest to start at 0 */
+		int[] canonical(int fixture, int[] points){
+			int top = Integer.MIN_VALUE;
+			int bottom = Integer.MAX_VALUE;
+			for (int team = 0; team < numTeams; team++) {
+				if (points[team] != IRRELEVANT) {
+					top = Math.max(top, points[team]);
+					bottom = Math.min(bottom, maxPoints(fixture, points, team));
+				}//end if
+			}//end for
+			int lowest = Integer.MAX_VALUE;
+			for (int team = 0; team < numTeams; team++) {
+				if (points[team] != IRRELEVANT) {
+					if (maxPoints(fixture, points, team) < top && points[team] > bottom) {
+						points[team] = IRRELEVANT;
+					} else {
+						lowest = Math.min(lowest, points[team]);
+					}//end if-else
+				}//end if
+			}//end for
+			for (int team = 0; team < numTeams; team++) {
+				if (points[team] != IRRELEVANT) {
+					points[team] -= lowest;
+				}//end if
+			}//end for
+			return points;
+		}//end canonical
+
+		/* The first fixture from a fixture onwards whose result can change the top or bottom position */
+		int nextFixture(int fixture, int[] points){
+			while (fixture < fixtures.length && points[fixtures[fixture][0]] == IRRELEVANT
+					&& points[fixtures[fixture][1]] == IRRELEVANT) {
+				fixture++;
+			}//end while
+			return fixture;
+		}//end nextFixture
+
+		/* The probabilities of a table that the remaining fixtures cannot change, or null if they can */
+		double[] decided(int fixture, int[] points){
+			int top = -1;
+			int bottom = -1;
+			boolean topDecided = true;
+			boolean bottomDecided = true;
+			for (int team = 0; team < numTeams; team++) {
+				if (points[team] != IRRELEVANT) {
+					if (top < 0 || points[team] > points[top]) {
+						top = team;
+					}//end if
+					if (bottom < 0 || maxPoints(fixture, points, team) < maxPoints(fixture, points, bottom)) {
+						bottom = team;
+					}//end if
+				}//end if
+			}//end for
+			for (int team = 0; team < numTeams; team++) {
+				if (points[team] != IRRELEVANT) {
+					topDecided &= team == top || maxPoints(fixture, points, team) < points[top];
+					bottomDecided &= team == bottom || points[team] > maxPoints(fixture, points, bottom);
+				}//end if
+			}//end for
+			if (fixture < fixtures.length && !(topDecided && bottomDecided)) {
+				return null;
+			}//end if
+			double[] result = new double[2 * numTeams];
+			share(result, 0, points, points[top]);
+			share(result, numTeams, points, points[bottom]);
+			return result;
+		}//end decided
+
+		/* Shares a position between the teams of interest level on a number of points */
+		private void share(double[] result, int offset, int[] points, int level){
+			int levelTeams = 0;
+			for (int team = 0; team < numTeams; team++) {
+				levelTeams += points[team] == level ? 1 : 0;
+			}//end for
+			for (int team = 0; team < numTeams; team++) {
+				if (points[team] == level) {
+					result[offset + team] = 1.0 / levelTeams;
+				}//end if
+			}//end for
+		}//end share
+
+		/* The table after a result of a fixture, 0 for a home win, 1 for a draw and 2 for an away win */
+		int[] play(int fixture, int[] points, int outcome){
+			int[] next = points.clone();
+			int home = fixtures[fixture][0];
+			int away = fixtures[fixture][1];
+			if (next[home] != IRRELEVANT) {
+				next[home] += outcome == 0 ? WIN_POINTS : outcome == 1 ? DRAW_POINTS : 0;
+			}//end if
+			if (next[away] != IRRELEVANT) {
+				next[away] += outcome == 2 ? WIN_POINTS : outcome == 1 ? DRAW_POINTS : 0;
+			}//end if
+			return canonical(fixture + 1, next);
+		}//end play
+
+		/* Solves a canonical table sequentially from a fixture onwards */
+		double[] explore(int fixture, int[] points){
+			fixture = nextFixture(fixture, points);
+			double[] result = decided(fixture, points);
+			if (result != null) {
+				return result;
+			}//end if
+			State state = new State(fixture, points);
+			result = memo.get(state);
+			if (result != null) {
+				return result;
+			}//end if
+			result = new double[2 * numTeams];
+			for (int outcome = 0; outcome < probabilities.length; outcome++) {
+				if (probabilities[outcome] > 0) {
+					add(result, probabilities[outcome], explore(fixture + 1, play(fixture, points, outcome)));
+				}//end if
+			}//end for
+			memo.put(state, result);
+			return result;
+		}//end explore
+
+		static void add(double[] result, double probability, double[] outcome){
+			for (int position = 0; position < result.length; position++) {
+				result[position] += probability * outcome[position];
+			}//end for
+		}//end add
+	}//end Search
+
+	/* Explores the results of a fixture in parallel, then solves the tables below a depth sequentially */
+	private static final class Explore extends RecursiveTask<double[]> {
+		private static final long serialVersionUID = 1L;
+		private final Search search;
+		private final int fixture;
+		private final int[] points;
+		private final int depth;
+
+		Explore(Search search, int fixture, int[] points, int depth){
+			this.search = search;
+			this.fixture = fixture;
+			this.points = points;
+			this.depth = depth;
+		}//end constructor
+
+		protected double[] compute(){
+			int next = search.nextFixture(fixture, points);
+			if (depth >= PARALLEL_FIXTURES || search.decided(next, points) != null) {
+				return search.explore(next, points);
+			}//end if
+			List<Explore> tasks = new ArrayList<Explore>();
+			List<Double> probabilities = new ArrayList<Double>();
+			for (int outcome = 0; outcome < search.probabilities.length; outcome++) {
+				if (search.probabilities[outcome] > 0) {
+					tasks.add(new Explore(search, next + 1, search.play(next, points, outcome), depth + 1));
+					probabilities.add(search.probabilities[outcome]);
+				}//end if
+			}//end for
+			invokeAll(tasks);
+			double[] result = new double[2 * search.numTeams];
+			for (int task = 0; task < tasks.size(); task++) {
+				Search.add(result, probabilities.get(task), tasks.get(task).join());
+			}//end for
+			return result;
+		}//end compute
+	}//end Explore
+
+	/* A canonical table reached at a fixture, the key of the memo */
+	private static final class State {
+		private final int fixture;
+		private final int[] points;
+		private final int hash;
+
+		State(int fixture, int[] points){
+			this.fixture = fixture;
+			this.points = points;
+			this.hash = 31 * fixture + Arrays.hashCode(points);
+		}//end constructor
+
+		public boolean equals(Object other){
+			return other instanceof State && ((State) other).fixture == fixture && Arrays.equals(((State) other).points, points);
+		}//end equals
+
+		public int hashCode(){
+			return hash;
+		}//end hashCode
+	}//end State
+}//end OutcomeEngine
@@ -0,0 +1,252 @@
+package asgn1SoccerCompetition;
+import java.util.Arrays;
+import java.util.HashMap;
+import asgn1Exceptions.LeagueException;
+
+/**
+ * Maintains an Elo style strength rating for every team of a {@link SoccerLeague}, for seeding and
+ * forecasting. After each match the home team's rating moves by
+ *
+ * <pre>
+ * K * G * (S - E)     where E = 1 / (1 + 10^((awayRating - homeRating - homeAdvantage) / 400))
+ * </pre>
+ *
+ * S is 1 for a home win, 0.5 for a draw and 0 for a loss, G grows with the margin of victory and the
+ * away team's rating moves by the same amount in the other direction. Ratings carry over from one
+ * season to the next.
+ *
+ * Ratings and the full result history are held in primitive arrays indexed by team. Each match is
+ * applied incrementally as it is played, and the whole history can be replayed in a single tight loop
+ * by {@link #computeRatings(int, int[], int[], int[], int[], int, double, double, double)}, for example
+ * after the rating parameters change.
+ *
+ * The engine's state is read and changed under the lock of the league it follows, which the league 
+ * already holds when it reports a match, so a rating is never read while a match is being applied and 
+ * a recompute never overwrites a match applied while it ran.
+ *
+ * @author Matthew Holdsworth
+ * @version 1.0
+ *
+ */
+public class RatingEngine implements LeagueListener{
+	// The default rating parameters
+	public static final double DEFAULT_K = 20;
+	public static final double DEFAULT_HOME_ADVANTAGE = 100;
+	public static final double DEFAULT_INITIAL_RATING = 1500;
+
+	private double k;
+	private double homeAdvantage;
+	private final double initialRating;
+	private final SoccerLeague league;
+	// The position of each team in the arrays below
+	private final HashMap<String, Integer> indexes = new HashMap<String, Integer>();
+	private double[] ratings = new double[16];
+	// Every match seen, in the order played
+	private int numMatches;
+	private int[] homeTeams = new int[64];
+	private int[] awayTeams = new int[64];
+	private int[] homeGoals = new int[64];
+	private int[] awayGoals = new int[64];
+
+	/**
+	 * Creates an engine with the default parameters that rates every match played in a league from now on.
+	 *
+	 * @param league The league to follow.
+	 */
+	public RatingEngine(SoccerLeague league){
+		this(league, DEFAULT_K, DEFAULT_HOME_ADVANTAGE, DEFAULT_INITIAL_RATING);
+	}//end constructor
+
+	/**
+	 * Creates an engine that rates every match played in a league from now on.
+	 *
+	 * @param league The league to follow.
+	 * @param k The largest change in rating from a match decided by one goal.
+	 * @param homeAdvantage The rating points added to the home team when the expected result is calculated.
+	 * @param initialRating The rating given to a team the first time it plays.
+	 */
+	public RatingEngine(SoccerLeague league, double k, double homeAdvantage, double initialRating){
+		this.k = k;
+		this.homeAdvantage = homeAdvantage;
+		this.initialRating = initialRating;
+		this.league = league;
+		league.addListener(this);
+	}//end constructor
+
+	/**
+	 * Returns the current rating of a team.
+	 *
+	 * @param officialName The official name of the team.
+	 * @return The team's rating, or the initial rating if the team has not played.
+	 */
+	public double getRating(String officialName){
+		synchronized (league) {
+			Integer team = indexes.get(officialName);
+			return team == null ? initialRating : ratings[team];
+		}//end synchronized
+	}//end getRating
+
+	/**
+	 * Returns the expected score of the home team in a match between two teams, from 0 (certain to lose)
+	 * to 1 (certain to win), where a draw counts as half a win.
+	 *
+	 * @param homeTeamName The official name of the home team.
+	 * @param awayTeamName The official name of the away team.
+	 * @return The home team's expected score.
+	 */
+	public double getExpectedScore(String homeTeamName, String awayTeamName){
+		synchronized (league) {
+			return expectedScore(getRating(homeTeamName), getRating(awayTeamName), homeAdvantage);
+		}//end synchronized
+	}//end getExpectedScore
+
+	/**
+	 * Returns the number of matches that have been rated.
+	 * @return The number of matches in the history.
+	 */
+	public int getNumMatches(){
+		synchronized (league) {
+			return numMatches;
+		}//end synchronized
+	}//end
+
+	/**
+	 * Changes the rating parameters and recomputes every rating from the full result history.
+	 *
+	 * @param k The largest change in rating from a match decided by one goal.
+	 * @param homeAdvantage The rating points added to the home team when the expected result is calculated.
+	 * @throws LeagueException if either parameter is negative.
+	 */
+	public void recompute(double k, double homeAdvantage) throws LeagueException{
+		synchronized (league) {
+			if (k < 0 || homeAdvantage < 0) {
+				throw new LeagueException("Rating parameters cannot be negative!");
+			}//end if
+			this.k = k;
+			this.homeAdvantage = homeAdvantage;
+			double[] recomputed = computeRatings(indexes.size(), homeTeams, awayTeams, homeGoals, awayGoals, numMatches,
+					k, homeAdvantage, initialRating);
+			System.arraycopy(recomputed, 0, ratings, 0, recomputed.length);
+		}//end synchronized
+	}//end recompute
+
+	/**
+	 * Computes ratings from a history of results in one pass over primitive arrays.
+	 *
+	 * @param numTeams The number of teams, which are numbered from 0.
+	 * @param homeTeams The home team of each match.
+	 * @param awayTeams The away team of each match.
+	 * @param homeGoals The goals scored by the home team in each match.
+	 * @param awayGoals The goals scored by the away team in each match.
+	 * @param numMatches The number of matches to use from the start of the arrays.
+	 * @param k The largest change in rating from a match decided by one goal.
+	 * @param homeAdvantage The rating points added to the home team when the expected result is calculated.
+	 * @param initialRating The rating every team starts with.
+	 * @return The rating of each team after every match has been applied.
+	 */
+	public static double[] computeRatings(int numTeams, int[] homeTeams, int[] awayTeams, int[] homeGoals, int[] awayGoals,
+			int numMatches, double k, double homeAdvantage, double initialRating){
+		double[] ratings = new double[numTeams];
+		Arrays.fill(ratings, initialRating);
+		for (int match = 0; match < numMatches; match++) {
+			int home = homeTeams[match];
+			int away = awayTeams[match];
+			double change = ratingChange(ratings[home], ratings[away], homeGoals[match], awayGoals[match], k, homeAdvantage);
+			ratings[home] += change;
+			ratings[away] -= change;
+		}//end for
+		return ratings;
+	}//end computeRatings
+
+	/**
+	 * Records and rates a match as it is played.
+	 *
+	 * @param league The league the match was played in.
+	 * @param homeTeam The home team.
+	 * @param homeTeamGoals The number of goals scored by the home team.
+	 * @param awayTeam The away team.
+	 * @param awayTeamGoals The number of goals scored by the away team.
+	 */
+	public void matchPlayed(SoccerLeague league, SoccerTeam homeTeam, int homeTeamGoals, SoccerTeam awayTeam, int awayTeamGoals){
+		synchronized (league) {
+			int home = indexOf(homeTeam.getOfficialName());
+			int away = indexOf(awayTeam.getOfficialName());
+			if (numMatches == homeTeams.length) {
+				int capacity = numMatches * 2;
+				homeTeams = Arrays.copyOf(homeTeams, capacity);
+				awayTeams = Arrays.copyOf(awayTeams, capacity);
+				homeGoals = Arrays.copyOf(homeGoals, capacity);
+				awayGoals = Arrays.copyOf(awayGoals, capacity);
+			}//end if
+			homeTeams[numMatches] = home;
+			awayTeams[numMatches] = away;
+			homeGoals[numMatches] = homeTeamGoals;
+			awayGoals[numMatches] = awayTeamGoals;
+			numMatches++;
+			double change = ratingChange(ratings[home], ratings[away], homeTeamGoals, awayTeamGoals, k, homeAdvantage);
+			ratings[home] += change;
+			ratings[away] -= change;
+		}//end synchronized
+	}//end matchPlayed
+
+	/**
+	 * Replaces the score of the last match between the two teams at the home team's ground and recomputes
+	 * every rating from the history, as the ratings after the match depend on its score.
+	 *
+	 * @param league The league the match was played in.
+	 * @param homeTeam The home team.
+	 * @param homeTeamGoals The corrected number of goals scored by the home team.
+	 * @param awayTeam The away team.
+	 * @param awayTeamGoals The corrected number of goals scored by the away team.
+	 * @param oldHomeGoals The number of goals the home team was first recorded as scoring.
+	 * @param oldAwayGoals The number of goals the away team was first recorded as scoring.
+	 */
+	public void matchCorrected(SoccerLeague league, SoccerTeam homeTeam, int homeTeamGoals, SoccerTeam awayTeam,
+			int awayTeamGoals, int oldHomeGoals, int oldAwayGoals){
+		synchronized (league) {
+			Integer home = indexes.get(homeTeam.getOfficialName());
+			Integer away = indexes.get(awayTeam.getOfficialName());
+			if (home == null || away == null) {
+				return;// The match was played before the engine followed the league
+			}//end if
+			for (int match = numMatches - 1; match >= 0; match--) {
+				if (homeTeams[match] == home && awayTeams[match] == away) {
+					homeGoals[match] = homeTeamGoals;
+					awayGoals[match] = awayTeamGoals;
+					double[] recomputed = computeRatings(indexes.size(), homeTeams, awayTeams, homeGoals, awayGoals, numMatches,
+							k, homeAdvantage, initialRating);
+					System.arraycopy(recomputed, 0, ratings, 0, recomputed.length);
+					return;
+				}//end if
+			}//end for
+		}//end synchronized
+	}//end matchCorrected
+
+	/* Returns the position of a team, giving it the initial rating the first time it is seen */
+	private int indexOf(String officialName){
+		Integer team = indexes.get(officialName);
+		if (team == null) {
+			team = indexes.size();
+			indexes.put(officialName, team);
+			if (team == ratings.length) {
+				ratings = Arrays.copyOf(ratings, team * 2);
+			}//end if
+			ratings[team] = initialRating;
+		}//end if
+		return team;
+	}//end indexOf
+
+	/* The home team's expected score */
+	private static double expectedScore(double homeRating, double awayRating, double homeAdvantage){
+		return 1 / (1 + Math.pow(10, (awayRating - homeRating - homeAdvantage) / 400));
+	}//end expectedScore
+
+	/* The change to the home team's rating after a match, the away team's rating changes by the opposite */
+	private static double ratingChange(double homeRating, double awayRating, int homeGoals, int awayGoals, double k, double homeAdvantage){
+		int margin = Math.abs(homeGoals - awayGoals);
+		double score = homeGoals > awayGoals ? 1 : homeGoals == awayGoals ? 0.5 : 0;
+		// Larger wins move the ratings further, as in the World Football Elo ratings
+		double weight = margin <= 1 ? 1 : margin == 2 ? 1.5 : (11.0 + margin) / 8;
+		return k * weight * (score - expectedScore(homeRating, awayRating, homeAdvantage));
+	}//end ratingChange
+}//end RatingEngine
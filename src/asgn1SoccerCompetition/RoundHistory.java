@@ -0,0 +1,321 @@
+package asgn1SoccerCompetition;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import asgn1Exceptions.LeagueException;
+import asgn1SportsUtils.WLD;
+
+/**
+ * Keeps the history of a season of a {@link SoccerLeague} by round, so that the standings as they were
+ * after any round can be rebuilt, for example the table "as of round 17". A round is a fixed number of
+ * matches in the order they are played, by default half the number of teams, which is one matchday of
+ * a round robin.
+ *
+ * The results are stored compactly, the teams as variable length indexes and the goals in a byte each,
+ * and the statistics of every team are checkpointed in primitive arrays every few rounds. The standings
+ * after a round are rebuilt by restoring the nearest checkpoint at or before the round and replaying the
+ * results since, which is at most the checkpoint interval of rounds. Memory grows with the number of
+ * matches and, divided by the interval, the number of teams times the number of rounds.
+ *
+ * The history follows the league from the start of the next season, and each new season starts a new
+ * history. Corrected results replace the original results and the checkpoints after them are rebuilt.
+ *
+ * @author Matthew Holdsworth
+ * @version 1.0
+ *
+ */
+public class RoundHistory implements LeagueListener{
+	// The default number of rounds between checkpoints
+	public static final int DEFAULT_CHECKPOINT_INTERVAL = 4;
+	// The statistics kept for each team, which match the rules of SoccerTeam.playMatch
+	private static final int WON = 0;
+	private static final int LOST = 1;
+	private static final int DRAWN = 2;
+	private static final int POINTS = 3;
+	private static final int GOALS_SCORED = 4;
+	private static final int GOALS_CONCEDED = 5;
+	// The last results, most recent in the lowest two bits, each result stored as its ordinal plus 1
+	private static final int FORM = 6;
+	private static final int FIELDS = 7;
+	private static final int FORM_LENGTH = 5;
+	private static final WLD[] results = WLD.values();
+
+	private final int checkpointInterval;
+	private final int matchesPerRound;
+	// The teams of the current season and their positions in the statistics
+	private String[] names;
+	private String[] nickNames;
+	private HashMap<String, Integer> indexes = new HashMap<String, Integer>();
+	// The statistics after every match played so far
+	private int[] stats;
+	// Every result of the season: home team, away team, home goals and away goals
+	private int numMatches;
+	private byte[] log = new byte[256];
+	private int logLength;
+	// The statistics after every checkpoint interval of rounds, and where the results after each begin in the log
+	private ArrayList<int[]> checkpoints = new ArrayList<int[]>();
+	private int[] checkpointOffsets = new int[16];
+
+	/**
+	 * Creates a history with the default checkpoint interval, in which a round is half the teams of the league.
+	 *
+	 * @param league The league to follow.
+	 * @throws LeagueException if the league's season has already started.
+	 */
+	public RoundHistory(SoccerLeague league) throws LeagueException{
+		this(league, DEFAULT_CHECKPOINT_INTERVAL, Math.max(1, league.getRequiredNumTeams() / 2));
+	}//end constructor
+
+	/**
+	 * Creates a history. The history must be created in the off season so that it sees every match of
+	 * the next season.
+	 *
+	 * @param league The league to follow.
+	 * @param checkpointInterval The number of rounds between checkpoints.
+	 * @param matchesPerRound The number of matches in a round.
+	 * @throws LeagueException if the league's season has already started or either number is less than 1.
+	 */
+	public RoundHistory(SoccerLeague league, int checkpointInterval, int matchesPerRound) throws LeagueException{
+		if (!league.isOffSeason()) {
+			throw new LeagueException("A round history must be created before the season starts!");
+		} else if (checkpointInterval < 1 || matchesPerRound < 1) {
+			throw new LeagueException("A round history needs at least one round between checkpoints and one match a round!");
+		}//end if
+		this.checkpointInterval = checkpointInterval;
+		this.matchesPerRound = matchesPerRound;
+		league.addListener(this);
+	}//end constructor
+
+	/**
+	 * Returns the number of rounds completed this season.
+	 *
+	 * @return The number of complete rounds.
+	 */
+	public synchronized int getNumRounds(){
+		return numMatches / matchesPerRound;
+	}//end getNumRounds
+
+	/**
+	 * Returns the number of matches played this season.
+	 *
+	 * @return The number of matches.
+	 */
+	public synchronized int getNumMatches(){
+		return numMatches;
+	}//end
+
+	/**
+	 * Rebuilds the standings of the league as they were after a round, ranked as the league ranks its teams.
+	 *
+	 * @param round The number of the round, from 0 for the start of the season to the number of complete rounds.
+	 * @return The standing of every team, highest ranked first.
+	 * @throws LeagueException if the season has not started or the round has not been completed.
+	 */
+	public synchronized List<TeamStanding> getStandings(int round) throws LeagueException{
+		if (names == null) {
+			throw new LeagueException("The season has not started yet!");
+		} else if (round < 0 || round > getNumRounds()) {
+			throw new LeagueException("Round " + round + " has not been completed!");
+		}//end if
+		int checkpoint = round / checkpointInterval;
+		int[] replayed = checkpoints.get(checkpoint).clone();
+		int offset = checkpointOffsets[checkpoint];
+		int[] match = new int[4];
+		for (int played = checkpoint * checkpointInterval * matchesPerRound; played < round * matchesPerRound; played++) {
+			offset = readMatch(offset, match);
+			apply(replayed, match);
+		}//end for
+		List<TeamStanding> standings = new ArrayList<TeamStanding>(names.length);
+		for (int team = 0; team < names.length; team++) {
+			int base = team * FIELDS;
+			standings.add(new TeamStanding(names[team], nickNames[team], formString(replayed[base + FORM]),
+					replayed[base + GOALS_SCORED], replayed[base + GOALS_CONCEDED], replayed[base + WON],
+					replayed[base + LOST], replayed[base + DRAWN], replayed[base + POINTS]));
+		}//end for
+		Collections.sort(standings);
+		return standings;
+	}//end getStandings
+
+	/**
+	 * Starts the history of the new season with the league's teams.
+	 *
+	 * @param league The league whose season started.
+	 */
+	public synchronized void seasonStarted(SoccerLeague league){
+		List<SoccerTeam> teams = league.getTeams();
+		int numTeams = teams.size();
+		names = new String[numTeams];
+		nickNames = new String[numTeams];
+		indexes.clear();
+		for (int team = 0; team < numTeams; team++) {
+			names[team] = teams.get(team).getOfficialName();
+			nickNames[team] = teams.get(team).getNickName();
+			indexes.put(names[team], team);
+		}//end for
+		stats = new int[numTeams * FIELDS];
+		numMatches = 0;
+		logLength = 0;
+		checkpoints.clear();
+		checkpoints.add(stats.clone());
+		checkpointOffsets[0] = 0;
+	}//end seasonStarted
+
+	/**
+	 * Adds a match to the history, taking a checkpoint if it completes the checkpoint interval.
+	 *
+	 * @param league The league the match was played in.
+	 * @param homeTeam The home team.
+	 * @param homeGoals The number of goals scored by the home team.
+	 * @param awayTeam The away team.
+	 * @param awayGoals The number of goals scored by the away team.
+	 */
+	public synchronized void matchPlayed(SoccerLeague league, SoccerTeam homeTeam, int homeGoals, SoccerTeam awayTeam, int awayGoals){
+		Integer home = indexes.get(homeTeam.getOfficialName());
+		Integer away = indexes.get(awayTeam.getOfficialName());
+		if (home == null || away == null) {
+			return;// The season started before the history followed the league
+		}//end if
+		writeVarint(home);
+		writeVarint(away);
+		writeByte(homeGoals);
+		writeByte(awayGoals);
+		apply(stats, new int[] {home, away, homeGoals, awayGoals});
+		numMatches++;
+		checkpointIfDue(logLength);
+	}//end matchPlayed
+
+	/**
+	 * Replaces the result of a match in the history and rebuilds the checkpoints that follow it.
+	 *
+	 * @param league The league the match was played in.
+	 * @param homeTeam The home team.
+	 * @param homeGoals The corrected number of goals scored by the home team.
+	 * @param awayTeam The away team.
+	 * @param awayGoals The corrected number of goals scored by the away team.
+	 * @param oldHomeGoals The number of goals the home team was first recorded as scoring.
+	 * @param oldAwayGoals The number of goals the away team was first recorded as scoring.
+	 */
+	public synchronized void matchCorrected(SoccerLeague league, SoccerTeam homeTeam, int homeGoals, SoccerTeam awayTeam,
+			int awayGoals, int oldHomeGoals, int oldAwayGoals){
+		Integer home = indexes.get(homeTeam.getOfficialName());
+		Integer away = indexes.get(awayTeam.getOfficialName());
+		if (home == null || away == null) {
+			return;
+		}//end if
+		// A fixture is played once a season, so the first match between the teams at this ground is the one corrected
+		int[] match = new int[4];
+		int offset = 0;
+		for (int played = 0; played < numMatches; played++) {
+			int next = readMatch(offset, match);
+			if (match[0] == home && match[1] == away) {
+				log[next - 2] = (byte) homeGoals;
+				log[next - 1] = (byte) awayGoals;
+				replayFrom(played / (checkpointInterval * matchesPerRound));
+				return;
+			}//end if
+			offset = next;
+		}//end for
+	}//end matchCorrected
+
+	/* Rebuilds the statistics and the checkpoints after a checkpoint from the log */
+	private void replayFrom(int checkpoint){
+		int matches = numMatches;
+		stats = checkpoints.get(checkpoint).clone();
+		numMatches = checkpoint * checkpointInterval * matchesPerRound;
+		int offset = checkpointOffsets[checkpoint];
+		while (checkpoints.size() > checkpoint + 1) {
+			checkpoints.remove(checkpoints.size() - 1);
+		}//end while
+		int[] match = new int[4];
+		while (numMatches < matches) {
+			offset = readMatch(offset, match);
+			apply(stats, match);
+			numMatches++;
+			checkpointIfDue(offset);
+		}//end while
+	}//end replayFrom
+
+	/* Takes a checkpoint of the statistics if the last match, ending at an offset of the log, completed the checkpoint interval */
+	private void checkpointIfDue(int offset){
+		if (numMatches % (checkpointInterval * matchesPerRound) == 0) {
+			if (checkpoints.size() == checkpointOffsets.length) {
+				checkpointOffsets = Arrays.copyOf(checkpointOffsets, checkpointOffsets.length * 2);
+			}//end if
+			checkpointOffsets[checkpoints.size()] = offset;
+			checkpoints.add(stats.clone());
+		}//end if
+	}//end checkpointIfDue
+
+	/* Applies a match of home team, away team, home goals and away goals to the statistics */
+	private static void apply(int[] stats, int[] match){
+		applyTeam(stats, match[0] * FIELDS, match[2], match[3]);
+		applyTeam(stats, match[1] * FIELDS, match[3], match[2]);
+	}//end apply
+
+	/* Applies the result of a match to one team, as SoccerTeam.playMatch does */
+	private static void applyTeam(int[] stats, int base, int goalsFor, int goalsAgainst){
+		stats[base + GOALS_SCORED] = goalsFor;
+		stats[base + GOALS_CONCEDED] = goalsAgainst;
+		WLD result;
+		if (goalsFor < goalsAgainst) {
+			stats[base + LOST]++;
+			result = WLD.LOSS;
+		} else if (goalsFor > goalsAgainst) {
+			stats[base + WON]++;
+			stats[base + POINTS] += 3;
+			result = WLD.WIN;
+		} else {
+			stats[base + DRAWN]++;
+			stats[base + POINTS] += 1;
+			result = WLD.DRAW;
+		}//end if-else
+		stats[base + FORM] = (stats[base + FORM] << 2 | result.ordinal() + 1) & ((1 << 2 * FORM_LENGTH) - 1);
+	}//end applyTeam
+
+	/* The form string of packed results, in the format of SportsTeamForm.toString() */
+	private static String formString(int form){
+		StringBuilder string = new StringBuilder(FORM_LENGTH);
+		for (int game = 0; game < FORM_LENGTH; game++) {
+			int result = (form >>> 2 * game) & 3;
+			string.append(result == 0 ? '-' : results[result - 1].getChar());
+		}//end for
+		return string.toString();
+	}//end formString
+
+	/* Reads the match at an offset of the log and returns the offset of the next match */
+	private int readMatch(int offset, int[] match){
+		for (int field = 0; field < 2; field++) {
+			int value = 0;
+			int shift = 0;
+			byte b;
+			do {
+				b = log[offset++];
+				value |= (b & 0x7F) << shift;
+				shift += 7;
+			} while ((b & 0x80) != 0);
+			match[field] = value;
+		}//end for
+		match[2] = log[offset++];
+		match[3] = log[offset++];
+		return offset;
+	}//end readMatch
+
+	/* Appends a team index to the log, seven bits a byte with the high bit set when more bytes follow */
+	private void writeVarint(int value){
+		while (value >= 0x80) {
+			writeByte((value & 0x7F) | 0x80);
+			value >>>= 7;
+		}//end while
+		writeByte(value);
+	}//end writeVarint
+
+	/* Appends a byte to the log */
+	private void writeByte(int value){
+		if (logLength == log.length) {
+			log = Arrays.copyOf(log, logLength * 2);
+		}//end if
+		log[logLength++] = (byte) value;
+	}//end writeByte
+}//end RoundHistory
@@ -0,0 +1,338 @@
+package asgn1SoccerCompetition;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.PrintStream;
+import java.io.Writer;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import asgn1Exceptions.CompetitionException;
+import asgn1Exceptions.LeagueException;
+
+/**
+ * A soccer competition whose leagues are hosted by {@link LeagueShardServer}s, usually running in other
+ * processes, so that a competition is not limited to the memory and cores of one process. League i is
+ * hosted by shard i modulo the number of shards. The competition acts as the coordinator: it routes
+ * registrations and results to the shard of their league, and drives the start and end of each season
+ * across the shards, including promotion and relegation between leagues on different shards.
+ *
+ * The behaviour matches {@link SoccerCompetition}, except that a team moved between leagues at the end
+ * of a season is registered to its new league with reset statistics, which are the statistics it has
+ * once the next season starts.
+ *
+ * @author Matthew Holdsworth
+ * @version 1.0
+ *
+ */
+public class ShardedCompetition implements SportsCompetition, AutoCloseable {
+	private final String name;
+	private final int numLeagues;
+	private final List<Connection> shards = new ArrayList<Connection>();
+
+	/**
+	 * Creates a competition with a specific name, number of leagues and number of teams in each league,
+	 * creating the leagues on the shards.
+	 *
+	 * @param name The name of the competition.
+	 * @param numLeagues The number of leagues in the competition.
+	 * @param numTeams The number of teams in each league.
+	 * @param shardAddresses The addresses of the shard servers.
+	 * @throws CompetitionException if there are no shards or a shard cannot be reached.
+	 */
+	public ShardedCompetition(String name, int numLeagues, int numTeams, List<InetSocketAddress> shardAddresses)
+			throws CompetitionException {
+		if (shardAddresses.isEmpty()) {
+			throw new CompetitionException("A sharded competition needs at least one shard!");
+		}//end if
+		this.name = name;
+		this.numLeagues = numLeagues;
+		try {
+			for (InetSocketAddress address: shardAddresses) {
+				shards.add(new Connection(address));
+			}//end for
+			for (int leagueNum = 0; leagueNum < numLeagues; leagueNum++) {
+				call(leagueNum, "CREATE", Integer.toString(numTeams));
+			}//end for
+		} catch (IOException | LeagueException e) {
+			close();
+			throw new CompetitionException("The shards could not be set up!", e);
+		} catch (CompetitionException e) {
+			close();
+			throw e;
+		}//end try-catch
+	}//end constructor
+
+	/**
+	 * Registers a team to a league.
+	 *
+	 * @param leagueNum The number of the league (indexed from 0).
+	 * @param officialName The official name of the team.
+	 * @param nickName The nick name of the team.
+	 * @throws CompetitionException if the league number is invalid or its shard cannot be reached.
+	 * @throws LeagueException if the league refuses the team, as described by {@link SoccerLeague#registerTeam(SoccerTeam)}.
+	 */
+	public void registerTeam(int leagueNum, String officialName, String nickName) throws CompetitionException, LeagueException {
+		checkName(officialName);
+		checkName(nickName);
+		call(leagueNum, "REGISTER", officialName, nickName);
+	}//end registerTeam
+
+	/**
+	 * Plays a match in a league.
+	 *
+	 * @param leagueNum The number of the league (indexed from 0).
+	 * @param homeTeamName The name of the home team.
+	 * @param homeTeamGoals The number of goals scored by the home team.
+	 * @param awayTeamName The name of the away team.
+	 * @param awayTeamGoals The number of goals scored by the away team.
+	 * @throws CompetitionException if the league number is invalid or its shard cannot be reached.
+	 * @throws LeagueException if the league refuses the match, as described by {@link SoccerLeague#playMatch(String, int, String, int)}.
+	 */
+	public void playMatch(int leagueNum, String homeTeamName, int homeTeamGoals, String awayTeamName, int awayTeamGoals)
+			throws CompetitionException, LeagueException {
+		checkName(homeTeamName);
+		checkName(awayTeamName);
+		if (homeTeamName.equals(awayTeamName)) {
+			throw new LeagueException("The same team cannot play each other!");
+		}//end if
+		call(leagueNum, "PLAY", homeTeamName, Integer.toString(homeTeamGoals), awayTeamName, Integer.toString(awayTeamGoals));
+	}//end playMatch
+
+	/**
+	 * Returns the official name of the highest ranked team in a league.
+	 *
+	 * @param leagueNum The number of the league (indexed from 0).
+	 * @return The official name of the top team.
+	 * @throws CompetitionException if the league number is invalid or its shard cannot be reached.
+	 * @throws LeagueException if the league does not have enough teams.
+	 */
+	public String getTopTeamName(int leagueNum) throws CompetitionException, LeagueException {
+		return call(leagueNum, "TOP")[1];
+	}//end getTopTeamName
+
+	/**
+	 * Returns the official name of the lowest ranked team in a league.
+	 *
+	 * @param leagueNum The number of the league (indexed from 0).
+	 * @return The official name of the bottom team.
+	 * @throws CompetitionException if the league number is invalid or its shard cannot be reached.
+	 * @throws LeagueException if the league does not have enough teams.
+	 */
+	public String getBottomTeamName(int leagueNum) throws CompetitionException, LeagueException {
+		return call(leagueNum, "BOTTOM")[1];
+	}//end getBottomTeamName
+
+	/**
+	 * Returns a digest of every league in the competition, which is equal to the digest of a
+	 * {@link SoccerCompetition} with the same leagues, see {@link SoccerCompetition#getDigest()}.
+	 *
+	 * @return The digest of the competition.
+	 * @throws CompetitionException if a shard cannot be reached.
+	 */
+	public long getDigest() throws CompetitionException {
+		long digest = numLeagues;
+		try {
+			for (int leagueNum = 0; leagueNum < numLeagues; leagueNum++) {
+				digest = LeagueDigest.combine(digest, Long.parseUnsignedLong(call(leagueNum, "DIGEST")[1], 16));
+			}//end for
+		} catch (LeagueException e) {
+			throw new CompetitionException(e);
+		}//end try-catch
+		return digest;
+	}//end getDigest
+
+	/**
+	 * Starts a new season in each league of the competition.
+	 */
+	public void startSeason() {
+		for (int leagueNum = 0; leagueNum < numLeagues; leagueNum++) {
+			try {
+				call(leagueNum, "START");
+			} catch (CompetitionException | LeagueException e) {
+				System.out.println(e.getMessage());
+				e.printStackTrace();
+			}// End Try-Catch
+		}// End for loop
+	}// End startSeason
+
+	/**
+	 * Ends the season of each of the leagues in the competition. If there is more than one league then
+	 * the top team of each league below the first is swapped with the bottom team of the league above,
+	 * across shards where necessary.
+	 * 
+	 * Every team to move is found before any team is moved. Each league then replaces its outgoing team 
+	 * with its incoming team in a single command, which its shard checks in full before changing the 
+	 * league. If a replacement fails, for example because a shard cannot be reached, the replacements 
+	 * already made are undone in reverse order, so that every team is left registered to exactly one 
+	 * league. A team moved back in this way has reset statistics.
+	 */
+	public void endSeason() {
+		String[][] topTeams = new String[numLeagues][];
+		String[][] bottomTeams = new String[numLeagues][];
+		try {
+			for (int leagueNum = 0; leagueNum < numLeagues; leagueNum++) {
+				call(leagueNum, "END");
+				topTeams[leagueNum] = call(leagueNum, "TOP");
+				bottomTeams[leagueNum] = call(leagueNum, "BOTTOM");
+			}//end for
+		} catch (CompetitionException | LeagueException e) {
+			System.out.println(e.getMessage());
+			e.printStackTrace();
+			return;
+		}//end try-catch
+		// Each replacement made so far, as the league followed by the team that left it and the team that joined it
+		List<String[]> replaced = new ArrayList<String[]>();
+		try {
+			for (int leagueNum = 1; leagueNum < numLeagues; leagueNum++) {
+				String[] promoteTeam = topTeams[leagueNum];
+				String[] demoteTeam = bottomTeams[leagueNum - 1];
+				replace(leagueNum, promoteTeam, demoteTeam, replaced);
+				replace(leagueNum - 1, demoteTeam, promoteTeam, replaced);
+			}//end for
+		} catch (CompetitionException | LeagueException e) {
+			System.out.println(e.getMessage());
+			e.printStackTrace();
+			for (int undo = replaced.size() - 1; undo >= 0; undo--) {
+				String[] replacement = replaced.get(undo);
+				try {
+					call(Integer.parseInt(replacement[0]), "REPLACE", replacement[3], replacement[1], replacement[2]);
+				} catch (CompetitionException | LeagueException rollback) {
+					System.out.println(rollback.getMessage());
+					rollback.printStackTrace();
+				}//end try-catch
+			}//end for
+		}//end try-catch
+	}//end endSeason
+
+	/**
+	 * For each league displays the competition standings.
+	 */
+	public void displayCompetitionStandings(){
+		displayCompetitionStandings(System.out);
+	}//end displayCompetitionStandings
+
+	/**
+	 * For each league writes the competition standings to a specific stream, in the format written by
+	 * {@link SoccerCompetition#displayCompetitionStandings(PrintStream)}.
+	 *
+	 * @param out The stream to write the standings to.
+	 */
+	public void displayCompetitionStandings(PrintStream out){
+		out.println("+++++" + this.name + "+++++");
+		for (int leagueNum = 0; leagueNum < numLeagues; leagueNum++) {
+			out.println("---- League" + (leagueNum +1) + " ----");
+			out.println("Official Name" +  '\t' +  "Nick Name" + '\t' + "Form" + '\t' +  "Played" + '\t' + "Won" + '\t' + "Lost" + '\t' + "Drawn" + '\t' + "For" + '\t' + "Against" + '\t' + "GlDiff" + '\t' + "Points");
+			try {
+				Connection shard = shardOf(leagueNum);
+				synchronized (shard) {
+					int rows = Integer.parseInt(shard.call(new String[] {"TABLE", Integer.toString(leagueNum)})[1]);
+					for (int row = 0; row < rows; row++) {
+						out.println(shard.readLine());
+					}//end for
+				}//end synchronized
+			} catch (CompetitionException | LeagueException e) {
+				System.out.println(e.getMessage());
+				e.printStackTrace();
+			}//end try-catch
+		}//end for
+	}//end displayCompetitionStandings
+
+	/**
+	 * Closes the connections to the shards. The leagues stay on the shards until they are stopped.
+	 */
+	public void close(){
+		for (Connection shard: shards) {
+			shard.close();
+		}//end for
+	}//end close
+
+	/* Sends a command about a league to its shard and returns the fields of the answer */
+	private String[] call(int leagueNum, String command, String... arguments) throws CompetitionException, LeagueException {
+		String[] fields = new String[arguments.length + 2];
+		fields[0] = command;
+		fields[1] = Integer.toString(leagueNum);
+		System.arraycopy(arguments, 0, fields, 2, arguments.length);
+		Connection shard = shardOf(leagueNum);
+		synchronized (shard) {
+			return shard.call(fields);
+		}//end synchronized
+	}//end call
+
+	/* Replaces a team of a league with another team, recording the replacement so that it can be undone */
+	private void replace(int leagueNum, String[] leavingTeam, String[] joiningTeam, List<String[]> replaced)
+			throws CompetitionException, LeagueException {
+		call(leagueNum, "REPLACE", leavingTeam[1], joiningTeam[1], joiningTeam[2]);
+		replaced.add(new String[] {Integer.toString(leagueNum), leavingTeam[1], leavingTeam[2], joiningTeam[1]});
+	}//end replace
+
+	/* Returns the connection to the shard hosting a league */
+	private Connection shardOf(int leagueNum) throws CompetitionException {
+		if (leagueNum < 0 || leagueNum >= numLeagues) {
+			throw new CompetitionException("The league number is invalid!");
+		}//end if
+		return shards.get(leagueNum % shards.size());
+	}//end shardOf
+
+	/* Rejects names that would break the line protocol */
+	private static void checkName(String name) throws LeagueException {
+		if (name.contains(LeagueShardServer.SEPARATOR) || name.contains("\n") || name.contains("\r")) {
+			throw new LeagueException("Team names cannot contain tabs or line breaks!");
+		}//end if
+	}//end checkName
+
+	/* A connection to a shard server, on which one command is answered at a time */
+	private static final class Connection {
+		private final Socket socket;
+		private final BufferedReader in;
+		private final Writer out;
+
+		Connection(InetSocketAddress address) throws IOException {
+			socket = new Socket(address.getAddress(), address.getPort());
+			socket.setTcpNoDelay(true);
+			in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+			out = new BufferedWriter(new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8));
+		}//end constructor
+
+		/* Sends a command and reads the first line of the answer, throwing the error a shard reports */
+		String[] call(String[] fields) throws CompetitionException, LeagueException {
+			try {
+				out.write(String.join(LeagueShardServer.SEPARATOR, fields));
+				out.write('\n');
+				out.flush();
+			} catch (IOException e) {
+				throw new CompetitionException("The shard could not be reached!", e);
+			}//end try-catch
+			String[] answer = readLine().split(LeagueShardServer.SEPARATOR, -1);
+			if (answer[0].equals(LeagueShardServer.ERROR)) {
+				throw new LeagueException(answer.length > 1 ? answer[1] : "The shard reported an error!");
+			}//end if
+			return answer;
+		}//end call
+
+		/* Reads a line of an answer */
+		String readLine() throws CompetitionException {
+			try {
+				String line = in.readLine();
+				if (line == null) {
+					throw new CompetitionException("The shard closed the connection!");
+				}//end if
+				return line;
+			} catch (IOException e) {
+				throw new CompetitionException("The shard could not be reached!", e);
+			}//end try-catch
+		}//end readLine
+
+		void close(){
+			try {
+				socket.close();
+			} catch (IOException e) {
+				// The connection is no longer needed
+			}//end try-catch
+		}//end close
+	}//end Connection
+}//end ShardedCompetition
@@ -4,6 +4,9 @@ import asgn1Exceptions.CompetitionException;
 import asgn1Exceptions.LeagueException;
 import java.util.LinkedList;
 import java.util.Iterator;
+import java.util.List;
+import java.io.PrintStream;
+import asgn1SportsUtils.OutputSink;
 
 /**
  * A class to model a soccer competition. The competition contains one or more number of leagues, 
@@ -27,6 +30,8 @@ public class SoccerCompetition implements SportsCompetition{
 	private SoccerTeam demoteTeam;
 	private int leagueNum;
 	private int numLeagues;
+	// Where the standings and errors are written, or null to write them to System.out
+	private OutputSink sink;
 
 	/**
 	 * Creates the model for a new soccer competition with a specific name,
@@ -43,9 +48,62 @@ public class SoccerCompetition implements SportsCompetition{
 		int position = 0;
 		for (position = 0; position < numLeagues; position++) {
 			soccerComp.add(new SoccerLeague(numTeams));
+			soccerComp.get(position).setLeagueNumber(position);
 		}// End for loop
 	}//end constructor
 	
+	/**
+	 * Creates a fork of a competition, see {@link #fork()}.
+	 * 
+	 * @param original The competition to fork.
+	 */
+	private SoccerCompetition(SoccerCompetition original){
+		soccerComp = new ArrayList<SoccerLeague>();
+		this.name = original.name;
+		this.numLeagues = original.numLeagues;
+		this.sink = original.sink;
+		for (SoccerLeague league: original.soccerComp) {
+			soccerComp.add(league.fork());
+		}//end for
+	}//end constructor
+	
+	/**
+	 * Creates a fork of the competition for what-if analysis, by forking each of its leagues with
+	 * {@link SoccerLeague#fork()}. Results, season transitions and promotions in the fork are not seen
+	 * by this competition, and the other way around. Only the teams that are changed are copied, but the 
+	 * first change to each league also copies the structures around its teams, as described by 
+	 * {@link SoccerLeague#fork()}.
+	 * 
+	 * @return A new competition that shares the current state of this competition.
+	 */
+	public SoccerCompetition fork(){
+		return new SoccerCompetition(this);
+	}//end fork
+	
+	/**
+	 * Returns a digest of every league in the competition, which is equal for two competitions whose 
+	 * leagues have equal digests (see {@link SoccerLeague#getDigest()}). The leagues that differ are found 
+	 * by comparing the digest of each league.
+	 * 
+	 * @return The digest of the competition.
+	 */
+	public long getDigest(){
+		long digest = numLeagues;
+		for (SoccerLeague league: soccerComp) {
+			digest = LeagueDigest.combine(digest, league.getDigest().getRoot());
+		}//end for
+		return digest;
+	}//end getDigest
+	
+	/**
+	 * Returns the number of leagues in the competition.
+	 * 
+	 * @return The number of leagues.
+	 */
+	public int getNumLeagues(){
+		return numLeagues;
+	}//end
+	
 	/**
 	 * Retrieves a league with a specific number (indexed from 0). Returns an exception if the 
 	 * league number is invalid.
@@ -63,6 +121,53 @@ public class SoccerCompetition implements SportsCompetition{
 		}//end if-else
 	}//end getLeague
 	
+	/**
+	 * Finds the teams with a nick name in every league, using the index of each league
+	 * (see {@link SoccerLeague#getTeamsByNickName(String)}).
+	 * 
+	 * @param nickName The nick name to look for.
+	 * @return The teams with the nick name, by league and in ranked order within each league.
+	 */
+	public List<SoccerTeam> getTeamsByNickName(String nickName){
+		List<SoccerTeam> teams = new ArrayList<SoccerTeam>();
+		for (SoccerLeague league: soccerComp) {
+			teams.addAll(league.getTeamsByNickName(nickName));
+		}//end for
+		return teams;
+	}//end getTeamsByNickName
+	
+	/**
+	 * Finds the teams whose competition points are within a range in every league, using the index of 
+	 * each league (see {@link SoccerLeague#getTeamsByPoints(int, int)}).
+	 * 
+	 * @param minPoints The fewest points, inclusive.
+	 * @param maxPoints The most points, inclusive.
+	 * @return The teams within the range, by league and in ranked order within each league.
+	 */
+	public List<SoccerTeam> getTeamsByPoints(int minPoints, int maxPoints){
+		List<SoccerTeam> teams = new ArrayList<SoccerTeam>();
+		for (SoccerLeague league: soccerComp) {
+			teams.addAll(league.getTeamsByPoints(minPoints, maxPoints));
+		}//end for
+		return teams;
+	}//end getTeamsByPoints
+	
+	/**
+	 * Finds the teams whose goal difference is within a range in every league, using the index of 
+	 * each league (see {@link SoccerLeague#getTeamsByGoalDifference(int, int)}).
+	 * 
+	 * @param minGoalDifference The lowest goal difference, inclusive.
+	 * @param maxGoalDifference The highest goal difference, inclusive.
+	 * @return The teams within the range, by league and in ranked order within each league.
+	 */
+	public List<SoccerTeam> getTeamsByGoalDifference(int minGoalDifference, int maxGoalDifference){
+		List<SoccerTeam> teams = new ArrayList<SoccerTeam>();
+		for (SoccerLeague league: soccerComp) {
+			teams.addAll(league.getTeamsByGoalDifference(minGoalDifference, maxGoalDifference));
+		}//end for
+		return teams;
+	}//end getTeamsByGoalDifference
+	
 	/**
 	 * Starts a new soccer season for each league in the competition.
 	 */
@@ -72,8 +177,7 @@ public class SoccerCompetition implements SportsCompetition{
 			try {
 				league.startNewSeason();
 			} catch (LeagueException e) {
-				System.out.println(e.getMessage());
-				e.printStackTrace();
+				report(e);
 			}// End Try-Catch
 		}// End for loop
 	}// End startSeason
@@ -85,6 +189,8 @@ public class SoccerCompetition implements SportsCompetition{
 	 * 
 	 */
 	public void endSeason()  {
+		CompetitionEvents.CompetitionSeasonEnded event = new CompetitionEvents.CompetitionSeasonEnded();
+		event.begin();
 		leagueIterator = soccerComp.iterator();
 		promotionTeams = new LinkedList<SoccerTeam>();
 		demotionTeams = new LinkedList<SoccerTeam>();
@@ -96,38 +202,136 @@ public class SoccerCompetition implements SportsCompetition{
 				demotionTeams.add(valueStore.getBottomTeam());
 			}//end while
 		} catch (LeagueException e) {
-			System.out.println(e.getMessage());
-			e.printStackTrace();
+			report(e);
 		}//end try-catch
 		promotionTeams.removeFirst();
 		demotionTeams.removeLast();
 		for (leagueNum = 1; leagueNum < soccerComp.size(); leagueNum++) {
 			promoteTeam = promotionTeams.removeFirst();
 			demoteTeam = demotionTeams.removeFirst();
+			CompetitionEvents.PromotionSwap swap = new CompetitionEvents.PromotionSwap();
+			swap.begin();
 			try {
 				soccerComp.get(leagueNum).removeTeam(promoteTeam);
 				soccerComp.get(leagueNum - 1).removeTeam(demoteTeam);
 				soccerComp.get(leagueNum - 1).registerTeam(promoteTeam);
 				soccerComp.get(leagueNum).registerTeam(demoteTeam);
+				if (swap.shouldCommit()) {
+					swap.league = leagueNum;
+					swap.promoted = promoteTeam.getOfficialName();
+					swap.relegated = demoteTeam.getOfficialName();
+					swap.commit();
+				}//end if
 			} catch (LeagueException e) {
-				System.out.println(e.getMessage());
-				e.printStackTrace();
+				report(e);
 			}//end try-catch
 		}//end for
+		if (event.shouldCommit()) {
+			event.competition = name;
+			event.leagues = numLeagues;
+			event.swaps = numLeagues - 1;
+			event.commit();
+		}//end if
 	}//end endSeason
 
+	/**
+	 * Marks the current standings of every league in the competition.
+	 * 
+	 * @return A marker for each league, in league order.
+	 */
+	public List<StandingsMarker> markStandings(){
+		List<StandingsMarker> markers = new ArrayList<StandingsMarker>();
+		for (SoccerLeague league: soccerComp) {
+			markers.add(league.markStandings());
+		}//end for
+		return markers;
+	}//end markStandings
+	
+	/**
+	 * Returns the changes to the standings of every league since the markers were taken.
+	 * 
+	 * @param markers The markers returned by {@link #markStandings()}.
+	 * @return The changes in each league, in league order.
+	 * @throws LeagueException if the markers are not those of this competition or if the standings 
+	 * of a league have been reset since they were taken.
+	 */
+	public List<StandingsDelta> standingsDeltaSince(List<StandingsMarker> markers) throws LeagueException{
+		if (markers.size() != soccerComp.size()) {
+			throw new LeagueException("The markers do not belong to this competition!");
+		}//end if
+		List<StandingsDelta> deltas = new ArrayList<StandingsDelta>();
+		for (int position = 0; position < soccerComp.size(); position++) {
+			deltas.add(soccerComp.get(position).standingsDeltaSince(markers.get(position)));
+		}//end for
+		return deltas;
+	}//end standingsDeltaSince
+
+	/**
+	 * Sets where the standings and errors are written by {@link #displayCompetitionStandings()} and the 
+	 * exception handlers of the competition and each of its leagues.
+	 * 
+	 * @param sink The sink to write to, or null to write straight to System.out.
+	 */
+	public void setOutputSink(OutputSink sink){
+		this.sink = sink;
+		for (SoccerLeague league: soccerComp) {
+			league.setOutputSink(sink);
+		}//end for
+	}//end setOutputSink
+	
 	/** 
-	 * For each league displays the competition standings.
+	 * For each league displays the competition standings, to the screen or to the competition's output
+	 * sink if one has been set.
 	 */
 	public void displayCompetitionStandings(){
+		if (sink == null) {
+			displayCompetitionStandings(System.out);
+		} else {
+			displayCompetitionStandings(sink);
+		}//end if-else
+	}//end displayCompetitionStandings
+	
+	/** 
+	 * For each league writes the competition standings to an output sink, as a single message.
+	 * 
+	 * @param out The sink to write the standings to.
+	 */
+	public void displayCompetitionStandings(OutputSink out){
+		out.print(getCompetitionStandings());
+	}//end displayCompetitionStandings
+	
+	/** 
+	 * For each league writes the competition standings to a specific stream.
+	 * 
+	 * @param out The stream to write the standings to.
+	 */
+	public void displayCompetitionStandings(PrintStream out){
+		out.print(getCompetitionStandings());
+	}//end displayCompetitionStandings
+	
+	/* The standings of every league, in the format written by displayCompetitionStandings */
+	private String getCompetitionStandings(){
 		for (SoccerLeague league: soccerComp) {
 			league.sortTeams();
 		}
-		System.out.println("+++++" + this.name + "+++++");
+		String separator = System.lineSeparator();
+		StringBuilder standings = new StringBuilder();
+		standings.append("+++++" + this.name + "+++++").append(separator);
 		for (int position = 0; position < numLeagues; position++) {
-			System.out.println("---- League" + (position +1) + " ----");
-			System.out.println("Official Name" +  '\t' +  "Nick Name" + '\t' + "Form" + '\t' +  "Played" + '\t' + "Won" + '\t' + "Lost" + '\t' + "Drawn" + '\t' + "For" + '\t' + "Against" + '\t' + "GlDiff" + '\t' + "Points");
-			soccerComp.get(position).displayLeagueTable();
+			standings.append("---- League" + (position +1) + " ----").append(separator);
+			standings.append("Official Name" +  '\t' +  "Nick Name" + '\t' + "Form" + '\t' +  "Played" + '\t' + "Won" + '\t' + "Lost" + '\t' + "Drawn" + '\t' + "For" + '\t' + "Against" + '\t' + "GlDiff" + '\t' + "Points").append(separator);
+			standings.append(soccerComp.get(position).getLeagueTable());
 		}//end for
-	}//end displayCompetitionStandings
+		return standings.toString();
+	}//end getCompetitionStandings
+	
+	/* Writes an exception caught by a handler, to the output sink if one has been set */
+	private void report(Exception e){
+		if (sink == null) {
+			System.out.println(e.getMessage());
+			e.printStackTrace();
+		} else {
+			sink.printException(e);
+		}//end if-else
+	}//end report
 }//end soccerCompetition
@@ -1,25 +1,105 @@
 package asgn1SoccerCompetition;
+import java.io.PrintStream;
+import java.lang.ref.WeakReference;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
 import asgn1Exceptions.LeagueException;
 import asgn1Exceptions.TeamException;
+import asgn1SportsUtils.FixtureSet;
+import asgn1SportsUtils.OutputSink;
+import asgn1SportsUtils.Venue;
 
 /**
  * A class to model a soccer league. Matches are played between teams and points awarded for a win,
  * loss or draw. After each match teams are ranked, first by points, then by goal difference and then
  * alphabetically. 
  * 
+ * Every method that reads or changes the teams, results, fixtures, indexes or ranking of the league holds 
+ * the league's lock, so a reader on another thread never sees part of a registration, a new season, a 
+ * match or a round committed with {@link #commitRound(MatchRound)}. The lock only covers the league 
+ * itself: the team objects and the live digest it returns keep changing as matches are played, so a 
+ * thread that reads them while another plays matches must hold the league's lock as it does so. 
+ * Listeners are told about each change whilst the lock is held. A league that is publishing snapshots 
+ * also publishes an immutable, ranked copy of its standings at each round committed and each season 
+ * started or ended, which readers get with {@link #getSnapshot()} without taking the lock, so they 
+ * neither block nor are blocked by the matches being played.
+ * 
  * @author Matthew Holdsworth
  * @version 1.0
  *
  */
 public class SoccerLeague implements SportsLeague{
+	// The number of entries in the match log for each match: home game, home goals, away game, away goals
+	private static final int MATCH_FIELDS = 4;
+	// The number of entries the change journal holds before the entries no live marker needs are dropped
+	private static final int JOURNAL_TRIM = 64;
 	// Specifies the number of teams required/limit of teams for the league
 	private int requiredTeams;
 	// Specifies is the league is in the off season
 	private boolean offSeason;
 	// Holds the SoccerTeams in a league
 	private ArrayList<SoccerTeam> leagueTeams;
+	// Specifies if every team is owned by this league, otherwise teams are reset as a season starts rather than when next used
+	private boolean allTeamsOwned = true;
+	// Finds each team in leagueTeams by its official name
+	private HashMap<String, SoccerTeam> teamsByName;
+	// Specifies if leagueTeams and teamsByName are shared with a fork and must be copied before they are changed
+	private boolean teamsShared;
+	// Specifies if teams have been copied into teamsByName since leagueTeams was last brought up to date
+	private boolean teamsReplaced;
+	// Identifies the teams this league may change in place, any other team is copied first
+	private Owner owner = new Owner();
+	// The teams that have played since the oldest live marker was taken, and their standings before they played
+	private ArrayList<SoccerTeam> changedTeams;
+	private ArrayList<TeamStanding> changedFrom;
+	// The markers taken since the journal was last reset, held weakly so that dropped markers stop the journal growing
+	private ArrayList<WeakReference<StandingsMarker>> markers = new ArrayList<WeakReference<StandingsMarker>>();
+	// The position of the first entry kept in the journal, and the size at which it is next trimmed
+	private int journalStart;
+	private int journalTrimAt = JOURNAL_TRIM;
+	// The teams changed through the league since the teams were last ranked, only kept while the others are still ranked
+	private ArrayList<String> unrankedTeams = new ArrayList<String>();
+	private boolean ranked = true;
+	// Incremented whenever the change journal is reset, which invalidates existing markers
+	private int journalGeneration;
+	// The matches played this season, with the number of the match in each team's season and the score
+	private int numMatches;
+	private int[] matchLog = new int[64];
+	// The number of the last match between a home and away team, keyed by their official names
+	private HashMap<String, Integer> lastMatches = new HashMap<String, Integer>();
+	// The fixtures played this season, created when the first match is played, and the position of each team in them
+	private FixtureSet fixtures;
+	private HashMap<String, Integer> fixtureTeams = new HashMap<String, Integer>();
+	// Specifies if the match log and fixtures are shared with a fork and must be copied before they are changed
+	private boolean matchesShared;
+	// Specifies if the season ends by itself once every fixture has been played
+	private boolean autoFinish;
+	// The digest of the teams and their statistics
+	private LeagueDigest digest;
+	// The secondary indexes of the teams, and if they are shared with a fork and must be copied before they are changed
+	private TeamIndex index = new TeamIndex();
+	private boolean indexShared;
+	// The rendered row of each team, removed when the team changes
+	private IdentityHashMap<SoccerTeam, String> renderedRows = new IdentityHashMap<SoccerTeam, String>();
+	// The rendered league table, null when a team or the order of the teams may have changed
+	private String renderedTable;
+	// The number of the league in its competition, or -1 if it is not in one, for the flight recorder events
+	private int leagueNumber = -1;
+	// Where the league table and errors are written, or null to write them to System.out
+	private OutputSink sink;
+	// Structures maintained from the changes made to the league
+	private ArrayList<LeagueListener> listeners = new ArrayList<LeagueListener>();
+	// Specifies if a snapshot of the standings is published at each commit boundary, the last one published and its number
+	private boolean publishingSnapshots;
+	private volatile StandingsSnapshot snapshot;
+	private long snapshotVersion;
 
 	/**
 	 * Generates a model of a soccer team with the specified number of teams. 
@@ -34,6 +114,10 @@ public class SoccerLeague implements SportsLeague{
 		offSeason = true;
 		this.requiredTeams = requiredTeams;
 		leagueTeams = new ArrayList<SoccerTeam>();
+		teamsByName = new HashMap<String, SoccerTeam>();
+		digest = new LeagueDigest(requiredTeams);
+		changedTeams = new ArrayList<SoccerTeam>();
+		changedFrom = new ArrayList<TeamStanding>();
 	}//end
 
 	/**
@@ -44,19 +128,31 @@ public class SoccerLeague implements SportsLeague{
 	 * teams allowed to register has already been reached or a team with the 
 	 * same official name has already been registered.
 	 */
-	public void registerTeam(SoccerTeam team) throws LeagueException {
+	public synchronized void registerTeam(SoccerTeam team) throws LeagueException {
 		if(!offSeason){
 			throw new LeagueException("You cannot register teams whilst a season is already in progress!");
 		} else if(requiredTeams == leagueTeams.size()){
 			throw new LeagueException("You have reached the maximum number of teams in a single league!");
+		} else if (teamsByName.containsKey(team.getOfficialName())){
+			throw new LeagueException("This team cannot be registered as its name is already in use!");
 		} else {
-			for(SoccerTeam thisTeam: leagueTeams){
-				// Compares the official name of the team to be added with the teams in the league
-				if (thisTeam.getOfficialName().equals(team.getOfficialName())){
-					throw new LeagueException("This team cannot be registered as its name is already in use!");
-				}//end if
-			}//end for
+			ownTeams();
+			// A team that is still shared with a fork is copied when it is first changed instead
+			if (team.owner == null || !team.owner.forked) {
+				// A reset still pending from the team's previous league is applied before the team changes season
+				team.refresh();
+				team.owner = owner;
+				team.season = owner.season;
+			} else {
+				allTeamsOwned = false;
+			}//end if-else
 			leagueTeams.add(team);
+			teamsByName.put(team.getOfficialName(), team);
+			unrank(team.getOfficialName());
+			digest.teamAdded(team);
+			ownIndex().teamAdded(team);
+			renderedTable = null;
+			resetJournal();
 		}//end if-else
 	}//end registerTeam
 	
@@ -66,12 +162,20 @@ public class SoccerLeague implements SportsLeague{
 	 * @param team The team to remove
 	 * @throws LeagueException if the season has not ended or if the team is not registered into the league.
 	 */
-	public void removeTeam(SoccerTeam team) throws LeagueException{
+	public synchronized void removeTeam(SoccerTeam team) throws LeagueException{
 		// Determines if the league contains the team and if the season has already started
-		if (!offSeason||!leagueTeams.contains(team)) {
+		if (!offSeason||teamsByName.get(team.getOfficialName()) != team) {
 			throw new LeagueException("Cannot remove team because it is off-season or it does not exist");
 		} else {
+			ownTeams();
+			syncTeams();
 			leagueTeams.remove(team);
+			teamsByName.remove(team.getOfficialName());
+			digest.teamRemoved(team);
+			ownIndex().teamRemoved(team);
+			renderedRows.remove(team);
+			renderedTable = null;
+			resetJournal();
 		}//end if-else
 	}//end removeTeam
 	
@@ -80,7 +184,7 @@ public class SoccerLeague implements SportsLeague{
 	 * 
 	 * @return the current number of teams registered
 	 */
-	public int getRegisteredNumTeams(){
+	public synchronized int getRegisteredNumTeams(){
 		return leagueTeams.size();
 	}//end
 	
@@ -98,17 +202,49 @@ public class SoccerLeague implements SportsLeague{
 	/** 
 	 * Starts a new season by reverting all statistics for each team to initial values.
 	 * 
+	 * The statistics of a team are reset when the team is next used rather than straight away, so starting
+	 * a season takes constant time. Only a league whose teams may still be shared with a fork resets every
+	 * team as the season starts.
+	 * 
 	 * @throws LeagueException if the number of registered teams does not equal the required number of teams or if the season has already started
 	 */
-	public void startNewSeason() throws LeagueException{
+	public synchronized void startNewSeason() throws LeagueException{
 		// Determines if the required teams have been met and if the season has already started
 		if (leagueTeams.size() != requiredTeams||(!offSeason)){
 			throw new LeagueException("There is not enough teams registered in the league to start a season, or the season has already started!");
 		} else {
-			for (SoccerTeam team: leagueTeams){
-				team.resetStats();
-				offSeason = false;// Season started
-			}//end for loop
+			CompetitionEvents.SeasonStarted event = new CompetitionEvents.SeasonStarted();
+			event.begin();
+			if (allTeamsOwned) {
+				owner.season++;
+			} else {
+				for (SoccerTeam team: leagueTeams){
+					ownTeam(team).resetStats();
+				}//end for loop
+				syncTeams();
+				allTeamsOwned = true;
+			}//end if-else
+			offSeason = false;// Season started
+			ranked = false;
+			digest.seasonStarted();
+			ownIndex().seasonStarted();
+			numMatches = 0;
+			lastMatches = new HashMap<String, Integer>();
+			fixtures = null;
+			fixtureTeams = new HashMap<String, Integer>();
+			matchesShared = false;
+			renderedRows = new IdentityHashMap<SoccerTeam, String>();
+			renderedTable = null;
+			resetJournal();
+			for (LeagueListener listener: listeners) {
+				listener.seasonStarted(this);
+			}//end for
+			if (event.shouldCommit()) {
+				event.league = leagueNumber;
+				event.teams = leagueTeams.size();
+				event.commit();
+			}//end if
+			publish();
 		}//end if-else
 	}//end startNewSeason
 	
@@ -117,11 +253,20 @@ public class SoccerLeague implements SportsLeague{
 	 * 
 	 * @throws LeagueException if season has not started
 	 */
-	public void endSeason() throws LeagueException{
+	public synchronized void endSeason() throws LeagueException{
 		if (offSeason) {
 			throw new LeagueException("Season is already in progress");
 		} else {
+			CompetitionEvents.SeasonEnded event = new CompetitionEvents.SeasonEnded();
+			event.begin();
 			offSeason = true;
+			publish();
+			if (event.shouldCommit()) {
+				event.league = leagueNumber;
+				event.teams = leagueTeams.size();
+				event.matches = numMatches;
+				event.commit();
+			}//end if
 		}//end if-else
 	}//end endSeason
 	
@@ -129,7 +274,7 @@ public class SoccerLeague implements SportsLeague{
 	 * Specifies if the league is in the off season (i.e. when matches are not played).
 	 * @return True If the league is in its off season, false otherwise.
 	 */
-	public boolean isOffSeason(){
+	public synchronized boolean isOffSeason(){
 		return this.offSeason;
 	}//end
 	
@@ -140,13 +285,12 @@ public class SoccerLeague implements SportsLeague{
 	 * @return The team object with the specified official name.
 	 * @throws LeagueException if no team has that official name.
 	 */
-	public SoccerTeam getTeamByOfficalName(String name) throws LeagueException{
-		for(SoccerTeam team: leagueTeams){
-			if(name.equals(team.getOfficialName())){
-				return team;
-			}//end if
-		}//end for
-		throw new LeagueException("This team does not exist in this league!");
+	public synchronized SoccerTeam getTeamByOfficalName(String name) throws LeagueException{
+		SoccerTeam team = teamsByName.get(name);
+		if (team == null) {
+			throw new LeagueException("This team does not exist in this league!");
+		}//end if
+		return team;
 	}//end
 		
 	/**
@@ -157,43 +301,438 @@ public class SoccerLeague implements SportsLeague{
 	 * @param homeTeamGoals The number of goals scored by the home team.
 	 * @param awayTeamName The name of the away team.
 	 * @param awayTeamGoals The number of goals scored by the away team.
-	 * @throws LeagueException If the season has not started or if both teams have the same official name. 
+	 * @throws LeagueException If the season has not started, if both teams have the same official name or if 
+	 * the home team has already played the away team at home this season. 
 	 */
-	public void playMatch(String homeTeamName, int homeTeamGoals, String awayTeamName, int awayTeamGoals) throws LeagueException{
+	public synchronized void playMatch(String homeTeamName, int homeTeamGoals, String awayTeamName, int awayTeamGoals) throws LeagueException{
 		if(offSeason){
 			throw new LeagueException("The season has not started yet!");
-		} else if (homeTeamName == awayTeamName) {
+		} else if (homeTeamName.equals(awayTeamName)) {
 			throw new LeagueException("The same team cannot play each other!");
-		} else {
-			SoccerTeam homeTeam = getTeamByOfficalName(homeTeamName);
-			SoccerTeam awayTeam = getTeamByOfficalName(awayTeamName);
-			try {
-				homeTeam.playMatch(homeTeamGoals, awayTeamGoals);
-				awayTeam.playMatch(awayTeamGoals, homeTeamGoals);
-			} catch (TeamException e) {
-				// Auto-generated catch block
-				e.printStackTrace();
-			}//end try-catch
+		} else if (hasPlayed(homeTeamName, awayTeamName)) {
+			throw new LeagueException("These teams have already played each other at this ground this season!");
+		} else if (applyMatch(homeTeamName, homeTeamGoals, awayTeamName, awayTeamGoals) && autoFinish && isSeasonComplete()) {
+			endSeason();
 		}//end if-else
 	}//end playMatch
 	
 	/**
-	 * Displays a ranked list of the teams in the league  to the screen.
+	 * Starts a round of results that are applied to the league together, see {@link #commitRound(MatchRound)}.
+	 * 
+	 * @return An empty round for this league.
 	 */
-	public void displayLeagueTable(){
-		// For each team in array teams, display team details
+	public MatchRound beginRound(){
+		return new MatchRound(this);
+	}//end beginRound
+	
+	/**
+	 * Applies every result of a round as a unit. The results are first validated together, as described 
+	 * by {@link #playMatch(String, int, String, int)}, and a round with an invalid result, including a 
+	 * fixture that appears twice or a score outside 0 to 20, is rejected without applying any of it. The 
+	 * results are then applied in the order they were added and the teams are resorted once, all whilst 
+	 * holding the league's lock, so readers of the ranking on other threads see either none or all of 
+	 * the round.
+	 * 
+	 * @param round The round to apply, begun by {@link #beginRound()} on this league.
+	 * @throws LeagueException If the round belongs to another league or has already been committed, or if
+	 * any of its results is invalid.
+	 */
+	public synchronized void commitRound(MatchRound round) throws LeagueException{
+		if (round.getLeague() != this) {
+			throw new LeagueException("This round belongs to another league!");
+		} else if (round.isCommitted()) {
+			throw new LeagueException("This round has already been committed!");
+		} else if (offSeason) {
+			throw new LeagueException("The season has not started yet!");
+		}//end if-else
+		HashMap<String, Integer> staged = new HashMap<String, Integer>();
+		for (int result = 0; result < round.getNumResults(); result++) {
+			String homeTeamName = round.getHomeTeamName(result);
+			String awayTeamName = round.getAwayTeamName(result);
+			if (homeTeamName.equals(awayTeamName)) {
+				throw new LeagueException("The same team cannot play each other!");
+			} else if (hasPlayed(homeTeamName, awayTeamName) || staged.put(homeTeamName + '\t' + awayTeamName, result) != null) {
+				throw new LeagueException("These teams have already played each other at this ground this season!");
+			} else if (!getTeamByOfficalName(homeTeamName).isRealistic(round.getHomeGoals(result))
+					|| !getTeamByOfficalName(awayTeamName).isRealistic(round.getAwayGoals(result))) {
+				throw new LeagueException("This is an unrealistic amount of goals!");
+			}//end if-else
+		}//end for
+		for (int result = 0; result < round.getNumResults(); result++) {
+			applyMatch(round.getHomeTeamName(result), round.getHomeGoals(result), round.getAwayTeamName(result),
+					round.getAwayGoals(result));
+		}//end for
+		round.setCommitted();
+		rankChangedTeams();
+		if (autoFinish && isSeasonComplete()) {
+			endSeason();
+		} else {
+			publish();
+		}//end if-else
+	}//end commitRound
+	
+	/* Applies a match that has been validated, returning false if a team refused the score */
+	private boolean applyMatch(String homeTeamName, int homeTeamGoals, String awayTeamName, int awayTeamGoals) throws LeagueException{
+		CompetitionEvents.MatchPlayed event = new CompetitionEvents.MatchPlayed();
+		event.begin();
+		SoccerTeam homeTeam = ownTeam(getTeamByOfficalName(homeTeamName));
+		SoccerTeam awayTeam = ownTeam(getTeamByOfficalName(awayTeamName));
+		recordChange(homeTeam);
+		recordChange(awayTeam);
+		long homeHash = LeagueDigest.hash(homeTeam);
+		long awayHash = LeagueDigest.hash(awayTeam);
+		int homeGame = homeTeam.getNumGames();
+		int awayGame = awayTeam.getNumGames();
+		try {
+			homeTeam.playMatch(homeTeamGoals, awayTeamGoals, Venue.HOME);
+			awayTeam.playMatch(awayTeamGoals, homeTeamGoals, Venue.AWAY);
+			logMatch(homeTeamName, homeGame, homeTeamGoals, awayTeamName, awayGame, awayTeamGoals);
+			digest.teamChanged(homeTeam, homeHash);
+			digest.teamChanged(awayTeam, awayHash);
+			ownIndex().teamChanged(homeTeam);
+			index.teamChanged(awayTeam);
+			renderedRows.remove(homeTeam);
+			renderedRows.remove(awayTeam);
+			renderedTable = null;
+			unrank(homeTeamName);
+			unrank(awayTeamName);
+			for (LeagueListener listener: listeners) {
+				listener.matchPlayed(this, homeTeam, homeTeamGoals, awayTeam, awayTeamGoals);
+			}//end for
+			if (event.shouldCommit()) {
+				event.league = leagueNumber;
+				event.teams = leagueTeams.size();
+				event.homeTeam = homeTeamName;
+				event.homeGoals = homeTeamGoals;
+				event.awayTeam = awayTeamName;
+				event.awayGoals = awayTeamGoals;
+				event.matches = numMatches;
+				event.commit();
+			}//end if
+			return true;
+		} catch (TeamException e) {
+			if (sink == null) {
+				e.printStackTrace();
+			} else {
+				sink.printException(e);
+			}//end if-else
+			return false;
+		}//end try-catch
+	}//end applyMatch
+	
+	/**
+	 * Corrects the score of the last match played this season between a home team and an away team. The
+	 * original result is reversed and the corrected result applied to both teams' statistics and form,
+	 * as if the corrected score had been played. The teams are not resorted.
+	 * 
+	 * @param homeTeamName The name of the home team.
+	 * @param homeTeamGoals The corrected number of goals scored by the home team.
+	 * @param awayTeamName The name of the away team.
+	 * @param awayTeamGoals The corrected number of goals scored by the away team.
+	 * @throws LeagueException If the season has not started, the teams have not played each other at the home 
+	 * team's ground this season or the number of goals is unrealistic.
+	 */
+	public synchronized void correctMatch(String homeTeamName, int homeTeamGoals, String awayTeamName, int awayTeamGoals) throws LeagueException{
+		Integer match = lastMatches.get(homeTeamName + '\t' + awayTeamName);
+		if (offSeason) {
+			throw new LeagueException("The season has not started yet!");
+		} else if (match == null) {
+			throw new LeagueException("These teams have not played each other at this ground this season!");
+		}//end if
+		SoccerTeam homeTeam = ownTeam(getTeamByOfficalName(homeTeamName));
+		SoccerTeam awayTeam = ownTeam(getTeamByOfficalName(awayTeamName));
+		int entry = match * MATCH_FIELDS;
+		int oldHomeGoals = matchLog[entry + 1];
+		int oldAwayGoals = matchLog[entry + 3];
+		recordChange(homeTeam);
+		recordChange(awayTeam);
+		long homeHash = LeagueDigest.hash(homeTeam);
+		long awayHash = LeagueDigest.hash(awayTeam);
+		try {
+			// The home team checks both scores, so the away team cannot fail once the home team has changed
+			homeTeam.correctMatch(matchLog[entry], homeTeamGoals, awayTeamGoals);
+			awayTeam.correctMatch(matchLog[entry + 2], awayTeamGoals, homeTeamGoals);
+		} catch (TeamException e) {
+			throw new LeagueException(e.getMessage());
+		}//end try-catch
+		ownMatches();
+		matchLog[entry + 1] = homeTeamGoals;
+		matchLog[entry + 3] = awayTeamGoals;
+		digest.teamChanged(homeTeam, homeHash);
+		digest.teamChanged(awayTeam, awayHash);
+		ownIndex().teamChanged(homeTeam);
+		index.teamChanged(awayTeam);
+		renderedRows.remove(homeTeam);
+		renderedRows.remove(awayTeam);
+		renderedTable = null;
+		unrank(homeTeamName);
+		unrank(awayTeamName);
+		for (LeagueListener listener: listeners) {
+			listener.matchCorrected(this, homeTeam, homeTeamGoals, awayTeam, awayTeamGoals, oldHomeGoals, oldAwayGoals);
+		}//end for
+	}//end correctMatch
+	
+	/**
+	 * Captures the current statistics of every team in the league, without reordering the teams.
+	 * 
+	 * @return The standing of every team, highest ranked first.
+	 */
+	public synchronized List<TeamStanding> getStandings(){
+		syncTeams();
+		List<TeamStanding> standings = new ArrayList<TeamStanding>(leagueTeams.size());
 		for (SoccerTeam team: leagueTeams) {
-			team.displayTeamDetails();
+			standings.add(new TeamStanding(team));
 		}//end for
+		Collections.sort(standings);
+		return standings;
+	}//end getStandings
+	
+	/**
+	 * Finds the teams with a nick name, using an index kept up to date as teams are registered and removed.
+	 * 
+	 * @param nickName The nick name to look for.
+	 * @return The teams with the nick name, in ranked order.
+	 */
+	public synchronized List<SoccerTeam> getTeamsByNickName(String nickName){
+		return rankedTeams(index.findByNickName(nickName));
+	}//end getTeamsByNickName
+	
+	/**
+	 * Finds the teams whose competition points are within a range, using an ordered index kept up to date
+	 * as matches are played. A range that includes 0 also checks the teams that have not played this season.
+	 * 
+	 * @param minPoints The fewest points, inclusive.
+	 * @param maxPoints The most points, inclusive.
+	 * @return The teams within the range, in ranked order.
+	 */
+	public synchronized List<SoccerTeam> getTeamsByPoints(int minPoints, int maxPoints){
+		return rankedTeams(index.findByPoints(minPoints, maxPoints, teamsByName.keySet()));
+	}//end getTeamsByPoints
+	
+	/**
+	 * Finds the teams whose goal difference is within a range, using an ordered index kept up to date
+	 * as matches are played. A range that includes 0 also checks the teams that have not played this season.
+	 * 
+	 * @param minGoalDifference The lowest goal difference, inclusive.
+	 * @param maxGoalDifference The highest goal difference, inclusive.
+	 * @return The teams within the range, in ranked order.
+	 */
+	public synchronized List<SoccerTeam> getTeamsByGoalDifference(int minGoalDifference, int maxGoalDifference){
+		return rankedTeams(index.findByGoalDifference(minGoalDifference, maxGoalDifference, teamsByName.keySet()));
+	}//end getTeamsByGoalDifference
+	
+	/**
+	 * Specifies if the home team has played the away team at home this season.
+	 * 
+	 * @param homeTeamName The name of the home team.
+	 * @param awayTeamName The name of the away team.
+	 * @return True if the fixture has been played, false otherwise.
+	 */
+	public synchronized boolean hasPlayed(String homeTeamName, String awayTeamName){
+		Integer home = fixtureTeams.get(homeTeamName);
+		Integer away = fixtureTeams.get(awayTeamName);
+		return home != null && away != null && !home.equals(away) && fixtures.contains(home, away);
+	}//end hasPlayed
+	
+	/**
+	 * Gets the number of fixtures left to play this season, where every team plays every other team once
+	 * at home and once away.
+	 * 
+	 * @return The number of fixtures remaining.
+	 */
+	public synchronized long getFixturesRemaining(){
+		return fixtures == null ? (long) requiredTeams * (requiredTeams - 1) : fixtures.getNumRemaining();
+	}//end getFixturesRemaining
+	
+	/**
+	 * Gets the number of fixtures a team has left to play this season, at home or away.
+	 * 
+	 * @param officialName The official name of the team.
+	 * @return The number of the team's fixtures remaining.
+	 * @throws LeagueException If the team is not registered to the league.
+	 */
+	public synchronized int getFixturesRemaining(String officialName) throws LeagueException{
+		getTeamByOfficalName(officialName);
+		Integer team = fixtureTeams.get(officialName);
+		return team == null ? 2 * (requiredTeams - 1) : fixtures.getNumRemaining(team);
+	}//end getFixturesRemaining
+	
+	/**
+	 * Specifies if every fixture of the season has been played.
+	 * 
+	 * @return True if no fixtures remain, false otherwise.
+	 */
+	public synchronized boolean isSeasonComplete(){
+		return getFixturesRemaining() == 0;
+	}//end isSeasonComplete
+	
+	/**
+	 * Sets whether the season ends by itself once the last fixture has been played, as if {@link #endSeason()}
+	 * had been called. This is off unless it is set.
+	 * 
+	 * @param autoFinish True to end the season once every fixture has been played.
+	 */
+	public synchronized void setAutoFinish(boolean autoFinish){
+		this.autoFinish = autoFinish;
+	}//end setAutoFinish
+	
+	/**
+	 * Specifies if the season ends by itself once the last fixture has been played.
+	 * 
+	 * @return True if the season ends by itself, false otherwise.
+	 */
+	public synchronized boolean isAutoFinish(){
+		return autoFinish;
+	}//end
+	
+	/**
+	 * Sets whether the league publishes an immutable, ranked snapshot of its standings and league table 
+	 * at each commit boundary: when a season starts or ends, when a round is committed with 
+	 * {@link #commitRound(MatchRound)} and when {@link #publishSnapshot()} is called. Matches played or 
+	 * corrected one at a time and teams registered or removed are seen by the next snapshot published. 
+	 * Each snapshot is published through a single volatile reference, so a reader on any thread sees a 
+	 * whole snapshot without locking. This is off unless it is set, and a snapshot is published straight 
+	 * away when it is turned on.
+	 * 
+	 * Publishing a snapshot of N teams, K of which have changed since the teams were last ranked, ranks the 
+	 * changed teams into place in O(K log N) comparisons and O(N) moves, copies the standing of every team 
+	 * in O(N) and renders the K changed rows of the league table before joining all N rows in O(N). 
+	 * 
+	 * @param publishing True to publish a snapshot at each commit boundary.
+	 */
+	public synchronized void setPublishingSnapshots(boolean publishing){
+		publishingSnapshots = publishing;
+		if (publishing) {
+			publish();
+		} else {
+			snapshot = null;
+		}//end if-else
+	}//end setPublishingSnapshots
+	
+	/**
+	 * Publishes a snapshot of the standings as they are now, for a caller that plays matches one at a time 
+	 * and decides itself where the commit boundaries fall. This has the cost described by 
+	 * {@link #setPublishingSnapshots(boolean)}.
+	 * 
+	 * @throws LeagueException If the league is not publishing snapshots.
+	 */
+	public synchronized void publishSnapshot() throws LeagueException{
+		if (!publishingSnapshots) {
+			throw new LeagueException("The league is not publishing snapshots of its standings!");
+		}//end if
+		publish();
+	}//end publishSnapshot
+	
+	/**
+	 * Specifies if the league publishes a snapshot of its standings at each commit boundary.
+	 * 
+	 * @return True if the league is publishing snapshots, false otherwise.
+	 */
+	public synchronized boolean isPublishingSnapshots(){
+		return publishingSnapshots;
+	}//end isPublishingSnapshots
+	
+	/**
+	 * Gets the last snapshot of the standings published by the league. This never waits for the league's 
+	 * lock, so it can be called from any number of threads while matches are being played.
+	 * 
+	 * @return The last snapshot published.
+	 * @throws LeagueException If the league is not publishing snapshots.
+	 */
+	public StandingsSnapshot getSnapshot() throws LeagueException{
+		StandingsSnapshot published = snapshot;
+		if (published == null) {
+			throw new LeagueException("The league is not publishing snapshots of its standings!");
+		}//end if
+		return published;
+	}//end getSnapshot
+	
+	/**
+	 * Sets where the league table and errors are written by {@link #displayLeagueTable()} and the league's
+	 * exception handlers, so that a slow terminal does not hold up the matches being played.
+	 * 
+	 * @param sink The sink to write to, or null to write straight to System.out.
+	 */
+	public synchronized void setOutputSink(OutputSink sink){
+		this.sink = sink;
+	}//end setOutputSink
+	
+	/**
+	 * Gets where the league table and errors are written.
+	 * 
+	 * @return The sink written to, or null if they are written straight to System.out.
+	 */
+	public synchronized OutputSink getOutputSink(){
+		return sink;
+	}//end getOutputSink
+	
+	/**
+	 * Displays a ranked list of the teams in the league  to the screen, or to the league's output sink if 
+	 * one has been set.
+	 */
+	public void displayLeagueTable(){
+		// The table is written without holding the lock, so that a slow terminal does not hold up matches
+		OutputSink out = getOutputSink();
+		if (out == null) {
+			displayLeagueTable(System.out);
+		} else {
+			displayLeagueTable(out);
+		}//end if-else
+	}//end displayLeagueTable
+	
+	/**
+	 * Displays a ranked list of the teams in the league to an output sink, as a single message.
+	 * 
+	 * @param out The sink to write the table to.
+	 */
+	public void displayLeagueTable(OutputSink out){
+		out.print(getLeagueTable());
+	}//end displayLeagueTable
+	
+	/**
+	 * Displays a ranked list of the teams in the league to a specific stream.
+	 * 
+	 * @param out The stream to write the table to.
+	 */
+	public void displayLeagueTable(PrintStream out){
+		out.print(getLeagueTable());
 	}//end displayLeagueTable
 	
+	/**
+	 * Returns the league table in the format written by {@link #displayLeagueTable()}, with one line per team.
+	 * 
+	 * The table is rendered from a cache that is only invalidated by matches played, teams registered or 
+	 * removed, new seasons and sorts that change the order of the teams, and only the rows of the teams 
+	 * that changed are rendered again. Teams that are changed directly rather than through the league are 
+	 * not seen by the cache.
+	 * 
+	 * @return The rendered league table.
+	 */
+	public synchronized String getLeagueTable(){
+		if (renderedTable == null) {
+			syncTeams();
+			StringBuilder table = new StringBuilder();
+			for (SoccerTeam team: leagueTeams) {
+				String row = renderedRows.get(team);
+				if (row == null) {
+					row = team.getTeamDetails();
+					renderedRows.put(team, row);
+				}//end if
+				table.append(row).append(System.lineSeparator());
+			}//end for
+			renderedTable = table.toString();
+		}//end if
+		return renderedTable;
+	}//end getLeagueTable
+	
 	/**
 	 * Returns the highest ranked team in the league.
      *
 	 * @return The highest ranked team in the league. 
 	 * @throws LeagueException if the number of teams is zero or less than the required number of teams.
 	 */
-	public SoccerTeam getTopTeam() throws LeagueException {
+	public synchronized SoccerTeam getTopTeam() throws LeagueException {
+		syncTeams();
 		SoccerTeam topTeam = leagueTeams.get(0);
 		if (leagueTeams.size() < requiredTeams){
 			throw new LeagueException("There is insufficient teams in the league!");
@@ -213,7 +752,8 @@ public class SoccerLeague implements SportsLeague{
 	 * @return The lowest ranked team in the league. 
 	 * @throws LeagueException if the number of teams is zero or less than the required number of teams.
 	 */
-	public SoccerTeam getBottomTeam() throws LeagueException {
+	public synchronized SoccerTeam getBottomTeam() throws LeagueException {
+		syncTeams();
 		SoccerTeam bottomTeam = leagueTeams.get(0);
 		if (leagueTeams.size() < requiredTeams){
 			throw new LeagueException("There is insufficient teams in the league!");
@@ -229,8 +769,26 @@ public class SoccerLeague implements SportsLeague{
 	/** 
 	 * Sorts the teams in the league.
 	 */
-    public void sortTeams(){		
-    	Collections.sort(leagueTeams);
+    public synchronized void sortTeams(){		
+    	CompetitionEvents.TeamsSorted event = new CompetitionEvents.TeamsSorted();
+    	event.begin();
+    	ownTeams();
+    	syncTeams();
+    	for (int team = 1; team < leagueTeams.size(); team++) {
+    		// The cached table is only rendered again if the order of the teams changes
+    		if (leagueTeams.get(team - 1).compareTo(leagueTeams.get(team)) > 0) {
+    			Collections.sort(leagueTeams);
+    			renderedTable = null;
+    			break;
+    		}//end if
+    	}//end for
+    	unrankedTeams.clear();
+    	ranked = true;
+    	if (event.shouldCommit()) {
+    		event.league = leagueNumber;
+    		event.teams = leagueTeams.size();
+    		event.commit();
+    	}//end if
     }//end
     
     /**
@@ -239,14 +797,330 @@ public class SoccerLeague implements SportsLeague{
      * @param name The name of a team.
      * @return True if the team is registered to the league, false otherwise. 
      */
-    public boolean containsTeam(String name){
-    	boolean containsTeam = false;
-    	for(SoccerTeam thisTeam: leagueTeams){
-    		// Determines if the official names of the compared teams match
-    		if(thisTeam.getOfficialName().equals(name)){
-    			containsTeam = true;
-    		}//end if
-    	}//end for
-    	return containsTeam;
+    public synchronized boolean containsTeam(String name){
+    	return teamsByName.containsKey(name);
     }//end containsTeam
+    
+    /**
+     * Marks the current standings so that the changes made after this point can be retrieved with
+     * {@link #standingsDeltaSince(StandingsMarker)}. Taking a marker does not copy any team. The standing 
+     * of each team before a match is only journalled while a marker that may need it is still held, and 
+     * the entries older than every held marker are dropped as more matches are played.
+     * 
+     * @return A marker of the current standings.
+     */
+    public synchronized StandingsMarker markStandings(){
+    	trimJournal();
+    	StandingsMarker marker = new StandingsMarker(this, journalGeneration, journalStart + changedTeams.size());
+    	markers.add(new WeakReference<StandingsMarker>(marker));
+    	return marker;
+    }//end markStandings
+    
+    /**
+     * Returns the changes to the standings since a marker was taken. The teams are ranked as a side effect,
+     * which only compares the teams that have played since they were last ranked.
+     * 
+     * @param marker A marker returned by {@link #markStandings()} on this league.
+     * @return The rank, statistic and zone changes since the marker.
+     * @throws LeagueException if the marker belongs to another league, or if a season has started or 
+     * a team has been registered or removed since it was taken.
+     */
+    public synchronized StandingsDelta standingsDeltaSince(StandingsMarker marker) throws LeagueException{
+    	if (marker.getLeague() != this || marker.getGeneration() != journalGeneration) {
+    		throw new LeagueException("The standings have been reset since the marker was taken!");
+    	}//end if
+    	// Keeps the earliest recorded standing of each team, which is its standing at the marker
+    	Map<SoccerTeam, TeamStanding> before = new IdentityHashMap<SoccerTeam, TeamStanding>();
+    	for (int position = marker.getPosition() - journalStart; position < changedTeams.size(); position++) {
+    		// Teams copied by a fork since they were recorded are found again by name
+    		SoccerTeam team = getTeamByOfficalName(changedTeams.get(position).getOfficialName());
+    		before.putIfAbsent(team, changedFrom.get(position));
+    	}//end for
+    	rankChangedTeams();
+    	return new StandingsDelta(leagueTeams, before);
+    }//end standingsDeltaSince
+    
+    /**
+     * Returns the digest of the teams and their statistics, which is kept up to date as matches are played,
+     * teams are registered or removed and seasons start. Two leagues that have played the same matches have
+     * equal digests, and the teams they disagree on can be found with 
+     * {@link LeagueDigest#findDifferingTeams(LeagueDigest)}. Teams that are changed directly rather than 
+     * through the league are not seen by the digest.
+     * 
+     * @return The live digest of the league.
+     */
+    public synchronized LeagueDigest getDigest(){
+    	return digest;
+    }//end getDigest
+    
+    /**
+     * Creates a fork of the league for what-if analysis. The fork starts with the same teams, statistics
+     * and season state as this league, after which matches played in either league are not seen by the other.
+     * 
+     * Forking takes constant time. The two leagues share their teams until one of them changes a team,
+     * at which point that league replaces the team with its own copy, so only the teams that are changed 
+     * are ever copied. The structures around the teams are also shared, but each is copied whole by the 
+     * first change a league makes to it after the fork: the team list and the map of names take time 
+     * proportional to the number of teams N, as do the secondary indexes, and the match log takes time 
+     * proportional to the matches played this season. The fixtures played share their rows, so copying 
+     * them takes time proportional to N, and each row of N bits is copied when its home team next plays. 
+     * The first match played in a fork therefore costs O(N + matches) rather than O(N x N / 8) bytes, and 
+     * a fork that has played M matches holds O(N + M x N / 8) bytes of its own. Because either league may 
+     * replace a team, team objects obtained before the fork should be looked up again with
+     * {@link #getTeamByOfficalName(String)} to see later changes.
+     * 
+     * @return A new league that shares the current state of this league.
+     */
+    public synchronized SoccerLeague fork(){
+    	syncTeams();
+    	SoccerLeague fork = new SoccerLeague(requiredTeams);
+    	fork.offSeason = offSeason;
+    	fork.leagueTeams = leagueTeams;
+    	fork.teamsByName = teamsByName;
+    	fork.digest = digest.share();
+    	fork.index = index;
+    	fork.indexShared = true;
+    	indexShared = true;
+    	fork.numMatches = numMatches;
+    	fork.matchLog = matchLog;
+    	fork.lastMatches = lastMatches;
+    	fork.fixtures = fixtures;
+    	fork.fixtureTeams = fixtureTeams;
+    	fork.autoFinish = autoFinish;
+    	fork.sink = sink;
+    	fork.leagueNumber = leagueNumber;
+    	fork.ranked = ranked;
+    	fork.unrankedTeams = new ArrayList<String>(unrankedTeams);
+    	fork.publishingSnapshots = publishingSnapshots;
+    	fork.snapshot = snapshot;
+    	fork.snapshotVersion = snapshotVersion;
+    	fork.matchesShared = true;
+    	matchesShared = true;
+    	fork.teamsShared = true;
+    	teamsShared = true;
+    	// Neither league may change the shared teams in place from now on
+    	owner.forked = true;
+    	owner = new Owner();
+    	allTeamsOwned = false;
+    	fork.allTeamsOwned = false;
+    	return fork;
+    }//end fork
+    
+    /* Sets the number of the league in its competition, reported by the flight recorder events */
+    synchronized void setLeagueNumber(int leagueNumber){
+    	this.leagueNumber = leagueNumber;
+    }//end setLeagueNumber
+    
+    /* Adds a listener that is told about every later change to the league, forks do not inherit listeners */
+    synchronized void addListener(LeagueListener listener){
+    	listeners.add(listener);
+    }//end addListener
+    
+    /* Ranks the teams and publishes a snapshot of their standings if the league is publishing them */
+    private synchronized void publish(){
+    	if (publishingSnapshots) {
+    		rankChangedTeams();
+    		List<TeamStanding> standings = new ArrayList<TeamStanding>(leagueTeams.size());
+    		for (SoccerTeam team: leagueTeams) {
+    			standings.add(new TeamStanding(team));
+    		}//end for
+    		snapshot = new StandingsSnapshot(standings, getLeagueTable(), numMatches, offSeason, ++snapshotVersion);
+    	}//end if
+    }//end publish
+    
+    /* Returns a read-only copy of the teams in their current order, which later changes to the league do not alter */
+    synchronized List<SoccerTeam> getTeams(){
+    	syncTeams();
+    	return Collections.unmodifiableList(new ArrayList<SoccerTeam>(leagueTeams));
+    }//end getTeams
+    
+    /* Gives this league its own copy of the team list if it is shared with a fork */
+    private void ownTeams(){
+    	if (teamsShared) {
+    		leagueTeams = new ArrayList<SoccerTeam>(leagueTeams);
+    		teamsByName = new HashMap<String, SoccerTeam>(teamsByName);
+    		teamsShared = false;
+    	}//end if
+    }//end ownTeams
+    
+    /* Adds a match to the match log */
+    private void logMatch(String homeTeamName, int homeGame, int homeGoals, String awayTeamName, int awayGame, int awayGoals){
+    	ownMatches();
+    	int entry = numMatches * MATCH_FIELDS;
+    	if (entry == matchLog.length) {
+    		matchLog = Arrays.copyOf(matchLog, entry * 2);
+    	}//end if
+    	matchLog[entry] = homeGame;
+    	matchLog[entry + 1] = homeGoals;
+    	matchLog[entry + 2] = awayGame;
+    	matchLog[entry + 3] = awayGoals;
+    	lastMatches.put(homeTeamName + '\t' + awayTeamName, numMatches);
+    	numMatches++;
+    	if (fixtures == null) {
+    		fixtures = new FixtureSet(requiredTeams);
+    	}//end if
+    	fixtures.add(fixtureTeam(homeTeamName), fixtureTeam(awayTeamName));
+    }//end logMatch
+    
+    /* Looks up teams by official name and ranks them */
+    private List<SoccerTeam> rankedTeams(List<String> names){
+    	List<SoccerTeam> teams = new ArrayList<SoccerTeam>(names.size());
+    	for (String name: names) {
+    		teams.add(teamsByName.get(name));
+    	}//end for
+    	Collections.sort(teams);
+    	return teams;
+    }//end rankedTeams
+    
+    /* Returns the indexes, first giving this league its own copy if they are shared with a fork */
+    private TeamIndex ownIndex(){
+    	if (indexShared) {
+    		index = new TeamIndex(index);
+    		indexShared = false;
+    	}//end if
+    	return index;
+    }//end ownIndex
+    
+    /* Returns the position of a team in the fixtures, giving it the next position the first time it plays this season */
+    private int fixtureTeam(String officialName){
+    	Integer team = fixtureTeams.get(officialName);
+    	if (team == null) {
+    		team = fixtureTeams.size();
+    		fixtureTeams.put(officialName, team);
+    	}//end if
+    	return team;
+    }//end fixtureTeam
+    
+    /* Gives this league its own copy of the match log if it is shared with a fork */
+    private void ownMatches(){
+    	if (matchesShared) {
+    		matchLog = matchLog.clone();
+    		lastMatches = new HashMap<String, Integer>(lastMatches);
+    		fixtures = fixtures == null ? null : new FixtureSet(fixtures);
+    		fixtureTeams = new HashMap<String, Integer>(fixtureTeams);
+    		matchesShared = false;
+    	}//end if
+    }//end ownMatches
+    
+    /* Replaces the teams in leagueTeams that have been copied since it was last brought up to date */
+    private void syncTeams(){
+    	if (teamsReplaced) {
+    		for (int position = 0; position < leagueTeams.size(); position++) {
+    			leagueTeams.set(position, teamsByName.get(leagueTeams.get(position).getOfficialName()));
+    		}//end for
+    		teamsReplaced = false;
+    	}//end if
+    }//end syncTeams
+    
+    /* Returns a team this league may change, copying it first if it is shared with a fork */
+    private SoccerTeam ownTeam(SoccerTeam team){
+    	if (team.owner == owner) {
+    		return team;
+    	}//end if
+    	ownTeams();
+    	SoccerTeam copy = new SoccerTeam(team);
+    	copy.owner = owner;
+    	copy.season = owner.season;
+    	renderedRows.remove(team);
+    	// The list is brought up to date when it is next read, so copying a team takes constant time
+    	teamsByName.put(copy.getOfficialName(), copy);
+    	teamsReplaced = true;
+    	return copy;
+    }//end ownTeam
+    
+    /* Identifies the teams a league may change in place, until the league is forked */
+    static final class Owner {
+    	boolean forked;
+    	// Incremented when the league starts a season, which resets the statistics of its teams when they are next used
+    	int season;
+    }//end Owner
+    
+    /* Records the standing of a team before it is changed by a match, if a marker may still need it */
+    private void recordChange(SoccerTeam team){
+    	if (!markers.isEmpty() && changedTeams.size() >= journalTrimAt) {
+    		trimJournal();
+    	}//end if
+    	if (!markers.isEmpty()) {
+    		changedTeams.add(team);
+    		changedFrom.add(new TeamStanding(team));
+    	}//end if
+    }//end recordChange
+    
+    /* Drops the markers that are no longer held and the journal entries that no remaining marker needs */
+    private void trimJournal(){
+    	int oldest = journalStart + changedTeams.size();
+    	for (Iterator<WeakReference<StandingsMarker>> live = markers.iterator(); live.hasNext();) {
+    		StandingsMarker marker = live.next().get();
+    		if (marker == null) {
+    			live.remove();
+    		} else {
+    			oldest = Math.min(oldest, marker.getPosition());
+    		}//end if-else
+    	}//end for
+    	changedTeams.subList(0, oldest - journalStart).clear();
+    	changedFrom.subList(0, oldest - journalStart).clear();
+    	journalStart = oldest;
+    	journalTrimAt = Math.max(JOURNAL_TRIM, 2 * changedTeams.size());
+    }//end trimJournal
+    
+    /* Discards the change journal, invalidating any existing markers */
+    private void resetJournal(){
+    	changedTeams = new ArrayList<SoccerTeam>();
+    	changedFrom = new ArrayList<TeamStanding>();
+    	markers.clear();
+    	journalStart = 0;
+    	journalTrimAt = JOURNAL_TRIM;
+    	journalGeneration++;
+    }//end resetJournal
+    
+    /* Notes that a team changed through the league, giving up on tracking once most of the teams have changed */
+    private void unrank(String officialName){
+    	if (ranked && unrankedTeams.size() < leagueTeams.size() / 2) {
+    		unrankedTeams.add(officialName);
+    	} else {
+    		ranked = false;
+    		unrankedTeams.clear();
+    	}//end if-else
+    }//end unrank
+    
+    /* 
+     * Ranks the teams after changes made through the league. While the teams that did not change are still in
+     * ranked order only the changed teams are compared, each placed with a binary search, and the rest are 
+     * moved across in blocks. Otherwise every team is sorted.
+     */
+    private void rankChangedTeams(){
+    	if (!ranked) {
+    		sortTeams();
+    		return;
+    	} else if (unrankedTeams.isEmpty()) {
+    		return;
+    	}//end if-else
+    	CompetitionEvents.TeamsSorted event = new CompetitionEvents.TeamsSorted();
+    	event.begin();
+    	ownTeams();
+    	syncTeams();
+    	HashSet<String> names = new HashSet<String>(unrankedTeams);
+    	ArrayList<SoccerTeam> changed = new ArrayList<SoccerTeam>(names.size());
+    	ArrayList<SoccerTeam> unchanged = new ArrayList<SoccerTeam>(leagueTeams.size());
+    	for (SoccerTeam team: leagueTeams) {
+    		(names.contains(team.getOfficialName()) ? changed : unchanged).add(team);
+    	}//end for
+    	Collections.sort(changed);
+    	leagueTeams.clear();
+    	int from = 0;
+    	for (SoccerTeam team: changed) {
+    		int to = -Collections.binarySearch(unchanged, team) - 1;
+    		leagueTeams.addAll(unchanged.subList(from, to));
+    		leagueTeams.add(team);
+    		from = to;
+    	}//end for
+    	leagueTeams.addAll(unchanged.subList(from, unchanged.size()));
+    	unrankedTeams.clear();
+    	renderedTable = null;
+    	if (event.shouldCommit()) {
+    		event.league = leagueNumber;
+    		event.teams = leagueTeams.size();
+    		event.commit();
+    	}//end if
+    }//end rankChangedTeams
 }//end SoccerLeague
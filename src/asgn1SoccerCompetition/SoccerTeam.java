@@ -1,5 +1,7 @@
 package asgn1SoccerCompetition;
+import java.io.PrintStream;
 import asgn1Exceptions.TeamException;
+import asgn1SportsUtils.Venue;
 import asgn1SportsUtils.WLD;
 
 /**
@@ -22,6 +24,10 @@ public class SoccerTeam implements SportsTeam, Comparable<SoccerTeam>{
 	private SportsTeamForm form;
 	private int unrealisticMin = 0;
 	private int unrealisticMax = 20;
+	// The league that may change this team in place, other leagues copy it before changing it
+	SoccerLeague.Owner owner;
+	// The season of the owner the statistics belong to, they are reset when first used in a later season
+	int season;
 		
 	/**
 	 * Creates a Soccer Team with the specified official name and nick name.
@@ -47,6 +53,25 @@ public class SoccerTeam implements SportsTeam, Comparable<SoccerTeam>{
 		}//end if-else
 	}//end constructor
 	
+	/**
+	 * Creates a copy of another team, including its statistics and form.
+	 * 
+	 * @param other The team to copy.
+	 */
+	SoccerTeam(SoccerTeam other){
+		other.refresh();
+		this.season = other.season;
+		this.officialName = other.officialName;
+		this.nickName = other.nickName;
+		this.goalsScoredSeason = other.goalsScoredSeason;
+		this.goalsConcededSeason = other.goalsConcededSeason;
+		this.matchesWon = other.matchesWon;
+		this.matchesLost = other.matchesLost;
+		this.matchesDrawn = other.matchesDrawn;
+		this.competitionPoints = other.competitionPoints;
+		this.form = new SportsTeamForm(other.form);
+	}//end constructor
+	
 	/**
 	 * Displays a String that provides details about the team. The format of the string is as follows
 	 * (where - indicates a tab) :
@@ -55,10 +80,29 @@ public class SoccerTeam implements SportsTeam, Comparable<SoccerTeam>{
 	 * 
 	 */
 	public void displayTeamDetails(){
-		System.out.println(officialName  + '\t' + nickName + '\t' + form + '\t' + (+ matchesWon + matchesLost + matchesDrawn) + '\t' + matchesWon +
-				'\t' + matchesLost + '\t' + matchesDrawn +'\t' + goalsScoredSeason + '\t' + goalsConcededSeason + '\t' + this.getGoalDifference() + '\t' + competitionPoints);
+		displayTeamDetails(System.out);
+	}//end
+	
+	/**
+	 * Displays the details about the team, as described by {@link #displayTeamDetails()}, to a specific stream.
+	 * 
+	 * @param out The stream to write the details to.
+	 */
+	public void displayTeamDetails(PrintStream out){
+		out.println(getTeamDetails());
 	}//end
 	
+	/**
+	 * Returns the details about the team in the format described by {@link #displayTeamDetails()}.
+	 * 
+	 * @return The details about the team as a single line without a line separator.
+	 */
+	public String getTeamDetails(){
+		refresh();
+		return officialName  + '\t' + nickName + '\t' + form + '\t' + (+ matchesWon + matchesLost + matchesDrawn) + '\t' + matchesWon +
+				'\t' + matchesLost + '\t' + matchesDrawn +'\t' + goalsScoredSeason + '\t' + goalsConcededSeason + '\t' + this.getGoalDifference() + '\t' + competitionPoints;
+	}//end getTeamDetails
+	
 	/**
 	 * Returns the team's official name.
 	 * @return The team's official name.
@@ -80,6 +124,7 @@ public class SoccerTeam implements SportsTeam, Comparable<SoccerTeam>{
 	 * @return The goals scored this season.
 	 */
 	public int getGoalsScoredSeason(){
+		refresh();
 		return goalsScoredSeason;
 	}//end
 
@@ -88,6 +133,7 @@ public class SoccerTeam implements SportsTeam, Comparable<SoccerTeam>{
 	 * @return The goals conceded this season.
 	 */
 	public int getGoalsConcededSeason(){
+		refresh();
 		return goalsConcededSeason;
 	}//end
 
@@ -96,6 +142,7 @@ public class SoccerTeam implements SportsTeam, Comparable<SoccerTeam>{
 	 * @return The number of matches won by the team so far this season.
 	 */
 	public int getMatchesWon(){
+		refresh();
 		return matchesWon;
 	}//end
 
@@ -104,6 +151,7 @@ public class SoccerTeam implements SportsTeam, Comparable<SoccerTeam>{
 	 * @return The number of matches lost by the team so far this season.
 	 */
 	public int getMatchesLost(){
+		refresh();
 		return matchesLost;
 	}//end
 
@@ -112,6 +160,7 @@ public class SoccerTeam implements SportsTeam, Comparable<SoccerTeam>{
 	 * @return The number of matches drawn by the team so far this season.
 	 */
 	public int getMatchesDrawn(){
+		refresh();
 		return matchesDrawn;
 	}//end
 	
@@ -120,6 +169,7 @@ public class SoccerTeam implements SportsTeam, Comparable<SoccerTeam>{
 	 * @return The number competition points of the team so far this season.
 	 */
 	public int getCompetitionPoints(){
+		refresh();
 		return competitionPoints;
 	}//end
 		
@@ -129,6 +179,7 @@ public class SoccerTeam implements SportsTeam, Comparable<SoccerTeam>{
 	 * @return The goal difference.
 	 */
 	public int getGoalDifference(){
+		refresh();
 		return (goalsScoredSeason-goalsConcededSeason);
 	}//end
 	
@@ -138,9 +189,57 @@ public class SoccerTeam implements SportsTeam, Comparable<SoccerTeam>{
 	 * @return A string representing the recent results of the team.
 	 */
 	public String getFormString(){
+		refresh();
 		return form.toString();
 	}//end
 	
+	/**
+	 * Returns a string representing the results of the team's last matches at a venue.
+	 * 
+	 * @param window The number of matches, SportsTeamForm.SHORT_WINDOW or SportsTeamForm.LONG_WINDOW.
+	 * @param venue The venue of the matches.
+	 * @return A string representing the recent results of the team.
+	 */
+	public String getFormString(int window, Venue venue){
+		refresh();
+		return form.toString(window, venue);
+	}//end
+	
+	/**
+	 * Returns the number of times the team had a result in its last matches at a venue.
+	 * 
+	 * @param result The result to count.
+	 * @param window The number of matches, SportsTeamForm.SHORT_WINDOW, SportsTeamForm.LONG_WINDOW or SportsTeamForm.SEASON.
+	 * @param venue The venue of the matches.
+	 * @return The number of times the result occurred.
+	 */
+	public int getFormCount(WLD result, int window, Venue venue){
+		refresh();
+		return form.getResultCount(result, window, venue);
+	}//end
+	
+	/**
+	 * Returns the number of matches the team has won in a row at a venue.
+	 * 
+	 * @param venue The venue of the matches.
+	 * @return The length of the current winning streak.
+	 */
+	public int getWinStreak(Venue venue){
+		refresh();
+		return form.getWinStreak(venue);
+	}//end
+	
+	/**
+	 * Returns the number of matches the team has played in a row without a loss at a venue.
+	 * 
+	 * @param venue The venue of the matches.
+	 * @return The length of the current unbeaten streak.
+	 */
+	public int getUnbeatenStreak(Venue venue){
+		refresh();
+		return form.getUnbeatenStreak(venue);
+	}//end
+	
 	
 	/**
 	 * Plays a match for a team
@@ -150,6 +249,19 @@ public class SoccerTeam implements SportsTeam, Comparable<SoccerTeam>{
 	 * @throws TeamException If the number of goals scored or conceded is an unrealistic number (less than 0 or greater than 20).
 	 */
 	public void playMatch(int goalsFor, int goalsAgainst) throws TeamException{
+		playMatch(goalsFor, goalsAgainst, Venue.ALL);
+	}//end playMatch
+	
+	/**
+	 * Plays a match for a team at a venue, which is also added to the team's home or away form.
+	 * 
+	 * @param goalsFor The number of goals scored by the team.
+	 * @param goalsAgainst The number of goals conceded by the team.
+	 * @param venue Where the match was played, or ALL if that is not known.
+	 * @throws TeamException If the number of goals scored or conceded is an unrealistic number (less than 0 or greater than 20).
+	 */
+	public void playMatch(int goalsFor, int goalsAgainst, Venue venue) throws TeamException{
+		refresh();
 		goalsScoredSeason = goalsFor;
 		goalsConcededSeason = goalsAgainst;
 		if(goalsFor < unrealisticMin || goalsFor > unrealisticMax){
@@ -158,18 +270,62 @@ public class SoccerTeam implements SportsTeam, Comparable<SoccerTeam>{
 			throw new TeamException("This is an unrealistic amount of goals conceded!");
 		} else if (goalsScoredSeason < goalsConcededSeason) {
 			matchesLost += 1;
-			form.addResultToForm(WLD.LOSS);
+			form.addResultToForm(WLD.LOSS, venue);
 		} else if (goalsScoredSeason > goalsConcededSeason) {
 			matchesWon += 1;
 			competitionPoints += 3;
-			form.addResultToForm(WLD.WIN);
+			form.addResultToForm(WLD.WIN, venue);
 		} else {
 			matchesDrawn += 1;
 			competitionPoints += 1;
-			form.addResultToForm(WLD.DRAW);
+			form.addResultToForm(WLD.DRAW, venue);
 		}//end if-else
 	}//end playMatch
 	
+	/**
+	 * Replaces the score of a match the team has played this season, adjusting its statistics and form.
+	 * The goals scored and conceded are replaced if the match is the team's last match.
+	 * 
+	 * @param game The number of the match in the team's season (indexed from 0).
+	 * @param goalsFor The corrected number of goals scored by the team.
+	 * @param goalsAgainst The corrected number of goals conceded by the team.
+	 * @throws TeamException If the number of goals scored or conceded is an unrealistic number (less than 0 or greater than 20).
+	 */
+	void correctMatch(int game, int goalsFor, int goalsAgainst) throws TeamException{
+		refresh();
+		if(goalsFor < unrealisticMin || goalsFor > unrealisticMax){
+			throw new TeamException("This is an unrealistic amount of goals scored!");
+		} else if(goalsAgainst < unrealisticMin || goalsAgainst > unrealisticMax){
+			throw new TeamException("This is an unrealistic amount of goals conceded!");
+		}//end if
+		WLD oldResult = form.getResult(game);
+		WLD result = goalsFor < goalsAgainst ? WLD.LOSS : goalsFor > goalsAgainst ? WLD.WIN : WLD.DRAW;
+		matchesWon -= oldResult == WLD.WIN ? 1 : 0;
+		matchesLost -= oldResult == WLD.LOSS ? 1 : 0;
+		matchesDrawn -= oldResult == WLD.DRAW ? 1 : 0;
+		competitionPoints -= oldResult == WLD.WIN ? 3 : oldResult == WLD.DRAW ? 1 : 0;
+		matchesWon += result == WLD.WIN ? 1 : 0;
+		matchesLost += result == WLD.LOSS ? 1 : 0;
+		matchesDrawn += result == WLD.DRAW ? 1 : 0;
+		competitionPoints += result == WLD.WIN ? 3 : result == WLD.DRAW ? 1 : 0;
+		if (game == form.getNumGames() - 1) {
+			goalsScoredSeason = goalsFor;
+			goalsConcededSeason = goalsAgainst;
+		}//end if
+		form.correctResult(game, result);
+	}//end correctMatch
+	
+	/* Specifies if a number of goals would be accepted by playMatch */
+	boolean isRealistic(int goals){
+		return goals >= unrealisticMin && goals <= unrealisticMax;
+	}//end isRealistic
+	
+	/* Returns the number of matches the team has played this season */
+	int getNumGames(){
+		refresh();
+		return form.getNumGames();
+	}//end getNumGames
+	
 	/**
 	 * Compares one team to another team.
 	 * 
@@ -187,6 +343,8 @@ public class SoccerTeam implements SportsTeam, Comparable<SoccerTeam>{
 	 * @return a number that is positive, negative or 0 as described above. 
 	 */
 	public int compareTo(SoccerTeam other){
+		refresh();
+		other.refresh();
 		if(other.competitionPoints == this.competitionPoints){
 			if((other.getGoalDifference()) == (this.getGoalDifference())){ 
 				return this.officialName.compareTo(other.officialName);
@@ -205,5 +363,15 @@ public class SoccerTeam implements SportsTeam, Comparable<SoccerTeam>{
 		this.matchesDrawn = 0;
 		this.competitionPoints = 0;	
 		form.resetForm();
+		if (owner != null) {
+			season = owner.season;
+		}//end if
 	}//end resetStats
+	
+	/* Resets the statistics if the owner has started a new season since they were last used */
+	void refresh(){
+		if (owner != null && season != owner.season) {
+			resetStats();
+		}//end if
+	}//end refresh
 }//end SoccerTeam
@@ -1,5 +1,6 @@
 package asgn1SoccerCompetition;
-import java.util.LinkedList;
+import java.util.Arrays;
+import asgn1SportsUtils.Venue;
 import asgn1SportsUtils.WLD;
 
 /**
@@ -10,20 +11,42 @@ import asgn1SportsUtils.WLD;
  * will 'push' the least recent result from the back of the data structure and 
  * will then be added to the front. 
  * 
- *  
- * @author Matthew Holdsworth
+ * The form is also kept over the last 10 matches and the whole season, for all matches and separately
+ * for home and away matches, along with the current winning and unbeaten streaks. Results are held in
+ * primitive ring buffers and the number of each result in every window is kept up to date as results
+ * are added, so adding a result and every query take constant time without allocating.
  *
+ * Every result of the season is also kept, packed into an int with its venue, so that a result can
+ * later be corrected and the form rebuilt from the results it depends on.
+ * 
+ * @author Matthew Holdsworth
+ * 
  */
 public class SportsTeamForm {
+	// The windows the form is kept over
+	public static final int SHORT_WINDOW = 5;
+	public static final int LONG_WINDOW = 10;
+	public static final int SEASON = Integer.MAX_VALUE;
 	// The number of recent games to show in the recent form of the team
-	private static final int maxLength = 5;
-	// Creates the data structure to hold the W,L,D match results
-	private LinkedList<WLD> matchResult = new LinkedList<WLD>();
+	private static final int maxLength = SHORT_WINDOW;
+	// The windows in the order of the counts below
+	private static final int[] windows = {SHORT_WINDOW, LONG_WINDOW, SEASON};
+	private static final WLD[] results = WLD.values();
+	private static final int numVenues = Venue.values().length;
+	// The last results at each venue, indexed by the venue ordinal, stored at the number of the game modulo LONG_WINDOW
+	private byte[] matchResult = new byte[numVenues * LONG_WINDOW];
+	// The number of games at each venue
+	private int[] venueGames = new int[numVenues];
+	// The number of each result in each window at each venue, indexed by venue, window and result
+	private int[] resultCounts = new int[numVenues * windows.length * results.length];
+	// The current streaks at each venue
+	private int[] winStreak = new int[numVenues];
+	private int[] unbeatenStreak = new int[numVenues];
+	// Every result of the season in order, holding the result, the venue and the number of the game at the venue
+	private int[] history = new int[16];
 	// Declares no match symbol '-' to be used when no match is played
 	private String noMatch = "-";
-	// Variable to store the number of games
-	private int numGames;
-	
+
 	/**
 	 * Constructs the data structure that holds the match results (win, loss, draw) for recent matches.
 	 * For simplicity the results for the last 5 matches will be stored.
@@ -31,7 +54,21 @@ public class SportsTeamForm {
 	 */
 	public SportsTeamForm() {
 	}//end constructor
-	
+
+	/**
+	 * Constructs a copy of the recent results of another form.
+	 * 
+	 * @param other The form to copy.
+	 */
+	SportsTeamForm(SportsTeamForm other) {
+		matchResult = other.matchResult.clone();
+		venueGames = other.venueGames.clone();
+		resultCounts = other.resultCounts.clone();
+		winStreak = other.winStreak.clone();
+		unbeatenStreak = other.unbeatenStreak.clone();
+		history = other.history.clone();
+	}//end constructor
+
 	/**
 	 * Adds a new result to the data structure. If the number of games played is less than 5 then the 
 	 * result will be added to the the front of the data structure - with all teams shifting down one 
@@ -39,24 +76,35 @@ public class SportsTeamForm {
 	 * recent game is removed, the 2nd - 5th most recent games are shifted down a position and the 
 	 * most recent game is added to the front of the data structure. 
 	 * 
+	 * The result is not counted as a home or away result.
+	 * 
 	 * @param result The result of the latest match
-	 *
+	 * 
 	 */
 	public void addResultToForm(WLD result){
-		// Increments the number of games played even if it is more than the maximum value
-		numGames += 1;
-		// If there is less than 5 games played
-		if (matchResult.size() < maxLength) {
-			// Adds new result to matchResult at the front of the list
-			matchResult.addFirst(result);
-		} else {
-			// Destroys the last element in the list
-			matchResult.removeLast();
-			// Adds the new result to the front of the list
-			matchResult.addFirst(result);
-		}// end if-else
+		addResultToForm(result, Venue.ALL);
 	}// end addResultToForm
-	
+
+	/**
+	 * Adds a new result to the data structure, as described by {@link #addResultToForm(WLD)}, and to
+	 * the form at the venue the match was played.
+	 * 
+	 * @param result The result of the latest match
+	 * @param venue Where the match was played, or ALL if that is not known.
+	 */
+	public void addResultToForm(WLD result, Venue venue){
+		int game = getNumGames();
+		if (game == history.length) {
+			history = Arrays.copyOf(history, game * 2);
+		}//end if
+		history[game] = result.ordinal() | venue.ordinal() << 2 | getNumGames(venue) << 4;
+		// Every result counts towards the form at any venue
+		record(Venue.ALL.ordinal(), result.ordinal());
+		if (venue != Venue.ALL) {
+			record(venue.ordinal(), result.ordinal());
+		}//end if
+	}// end addResultToForm
+
 	/**
 	 * Returns a string that represents the results of the last few matches that a team has played. 
 	 * The length of the string returned will be equal to the maximum number of matches. 
@@ -69,42 +117,178 @@ public class SportsTeamForm {
 	 * @return A string representing the results of recent matches.
 	 */
 	public String toString(){
-		// Declares an empty string to store the results
-		String results = "";
-		// Declares the size of the empty string variable
-		int stringSize;
-		// For each result in linked list matchResult, the result is added to the string
-		for (WLD result: matchResult) {
-			results += result.toString().charAt(0);
-		}// End for loop
-		
-		// If the linked list size is less than the maximum length
-		if(matchResult.size() < maxLength) {
-			// While the stringSize is less than the linked list size, a no match symbol ("-") is added to result
-			for(stringSize = matchResult.size(); stringSize < maxLength; stringSize++) {
-				results += noMatch;
-			}// End for loop
-		}// End if
-		return results;
+		return toString(maxLength, Venue.ALL);
 	}// end toString
-	
+
+	/**
+	 * Returns a string that represents the results of the last matches at a venue, in the format
+	 * described by {@link #toString()}.
+	 * 
+	 * @param window The number of matches to show, SHORT_WINDOW or LONG_WINDOW.
+	 * @param venue The venue of the matches.
+	 * @return A string representing the results of recent matches.
+	 */
+	public String toString(int window, Venue venue){
+		if (checkWindow(window) == SEASON) {
+			throw new IllegalArgumentException("The form string is only kept over the last " + LONG_WINDOW + " matches");
+		}//end if
+		int venueNum = venue.ordinal();
+		StringBuilder form = new StringBuilder(window);
+		for (int game = 1; game <= window; game++) {
+			if (game <= venueGames[venueNum]) {
+				form.append(results[matchResult[slot(venueNum, venueGames[venueNum] - game)]].toString().charAt(0));
+			} else {
+				form.append(noMatch);
+			}//end if-else
+		}//end for
+		return form.toString();
+	}//end toString
+
+	/**
+	 * Returns the number of times a result occurred in the last matches at a venue.
+	 * 
+	 * @param result The result to count.
+	 * @param window The number of matches to count over, SHORT_WINDOW, LONG_WINDOW or SEASON.
+	 * @param venue The venue of the matches.
+	 * @return The number of times the result occurred.
+	 */
+	public int getResultCount(WLD result, int window, Venue venue){
+		return resultCounts[count(venue.ordinal(), checkWindow(window) == SEASON ? 2 : window == LONG_WINDOW ? 1 : 0, result.ordinal())];
+	}//end getResultCount
+
+	/**
+	 * Returns the number of consecutive wins up to and including the last match at a venue.
+	 * 
+	 * @param venue The venue of the matches.
+	 * @return The length of the current winning streak.
+	 */
+	public int getWinStreak(Venue venue){
+		return winStreak[venue.ordinal()];
+	}//end
+
+	/**
+	 * Returns the number of consecutive matches without a loss up to and including the last match at a venue.
+	 * 
+	 * @param venue The venue of the matches.
+	 * @return The length of the current unbeaten streak.
+	 */
+	public int getUnbeatenStreak(Venue venue){
+		return unbeatenStreak[venue.ordinal()];
+	}//end
+
 	/**
 	 * Returns the number of games played  
      *
 	 * @return The number of games played. 
 	 */
 	public int getNumGames(){
-		return numGames;
+		return venueGames[Venue.ALL.ordinal()];
 	}//end
-	
+
+	/**
+	 * Returns the number of games played at a venue.
+	 * 
+	 * @param venue The venue of the matches.
+	 * @return The number of games played. 
+	 */
+	public int getNumGames(Venue venue){
+		return venueGames[venue.ordinal()];
+	}//end
+
 	/**
 	 * Resets the data structure to its initial values.
 	 */
 	public void resetForm() {
-		// Clears the linked list of previous data
-		matchResult.clear();
-		// Resets the number of games played
-		numGames = 0;
+		// Clears the previous data
+		Arrays.fill(venueGames, 0);
+		Arrays.fill(resultCounts, 0);
+		Arrays.fill(winStreak, 0);
+		Arrays.fill(unbeatenStreak, 0);
 	}//end
+
+	/* Returns the result of a game of the season (indexed from 0) */
+	WLD getResult(int game){
+		return results[history[game] & 3];
+	}//end getResult
+	
+	/* Replaces the result of a game of the season, adjusting the counts, ring buffers and streaks it is part of */
+	void correctResult(int game, WLD result){
+		int entry = history[game];
+		int oldResult = entry & 3;
+		if (oldResult == result.ordinal()) {
+			return;
+		}//end if
+		history[game] = (entry & ~3) | result.ordinal();
+		correct(Venue.ALL.ordinal(), game, oldResult, result.ordinal());
+		int venueNum = (entry >>> 2) & 3;
+		if (venueNum != Venue.ALL.ordinal()) {
+			correct(venueNum, entry >>> 4, oldResult, result.ordinal());
+		}//end if
+	}//end correctResult
 	
+	/* Replaces a result in the counts, ring buffer and streaks of a venue */
+	private void correct(int venueNum, int game, int oldResult, int result){
+		int games = venueGames[venueNum];
+		for (int window = 0; window < windows.length; window++) {
+			if (windows[window] == SEASON || game >= games - windows[window]) {
+				resultCounts[count(venueNum, window, oldResult)]--;
+				resultCounts[count(venueNum, window, result)]++;
+			}//end if
+		}//end for
+		if (game >= games - LONG_WINDOW) {
+			matchResult[slot(venueNum, game)] = (byte) result;
+		}//end if
+		// The streaks are counted again from the last game, stopping where each one was broken
+		boolean winning = true;
+		boolean unbeaten = true;
+		winStreak[venueNum] = 0;
+		unbeatenStreak[venueNum] = 0;
+		for (int position = getNumGames() - 1; position >= 0 && (winning || unbeaten); position--) {
+			int entry = history[position];
+			if (venueNum == Venue.ALL.ordinal() || ((entry >>> 2) & 3) == venueNum) {
+				winning &= (entry & 3) == WLD.WIN.ordinal();
+				unbeaten &= (entry & 3) != WLD.LOSS.ordinal();
+				winStreak[venueNum] += winning ? 1 : 0;
+				unbeatenStreak[venueNum] += unbeaten ? 1 : 0;
+			}//end if
+		}//end for
+	}//end correct
+
+	/* Adds a result to the ring buffer, counts and streaks of a venue */
+	private void record(int venueNum, int result){
+		int games = venueGames[venueNum];
+		// Results that drop out of a window are read before the ring buffer slot is reused
+		for (int window = 0; window < windows.length - 1; window++) {
+			if (games >= windows[window]) {
+				resultCounts[count(venueNum, window, matchResult[slot(venueNum, games - windows[window])])]--;
+			}//end if
+		}//end for
+		for (int window = 0; window < windows.length; window++) {
+			resultCounts[count(venueNum, window, result)]++;
+		}//end for
+		matchResult[slot(venueNum, games)] = (byte) result;
+		venueGames[venueNum] = games + 1;
+		winStreak[venueNum] = result == WLD.WIN.ordinal() ? winStreak[venueNum] + 1 : 0;
+		unbeatenStreak[venueNum] = result == WLD.LOSS.ordinal() ? 0 : unbeatenStreak[venueNum] + 1;
+	}//end record
+
+	/* The position in the ring buffers of a game at a venue */
+	private static int slot(int venueNum, int game){
+		return venueNum * LONG_WINDOW + game % LONG_WINDOW;
+	}//end slot
+
+	/* The position in the counts of a result in a window at a venue */
+	private static int count(int venueNum, int window, int result){
+		return (venueNum * windows.length + window) * results.length + result;
+	}//end count
+
+	/* Returns the window if the form is kept over it */
+	private static int checkWindow(int window){
+		if (window != SHORT_WINDOW && window != LONG_WINDOW && window != SEASON) {
+			throw new IllegalArgumentException("Form is only kept over the last " + SHORT_WINDOW + " or "
+					+ LONG_WINDOW + " matches or the whole season");
+		}//end if
+		return window;
+	}//end checkWindow
+
 }//end SportsTeamForm
@@ -0,0 +1,249 @@
+package asgn1SoccerCompetition;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The difference between the standings of a {@link SoccerLeague} at a {@link StandingsMarker} and its
+ * current standings. A delta lists the teams whose statistics changed, every team whose rank changed
+ * (including teams that were only overtaken) and the teams that entered or left the promotion zone
+ * (the top ranked team) or the relegation zone (the bottom ranked team). Ranks are indexed from 0.
+ *
+ * The delta is built from the teams that played since the marker. Only the region of the table
+ * between the old and new positions of those teams is examined, so the cost depends on how much of
+ * the table moved rather than on the size of the league.
+ *
+ * @author Matthew Holdsworth
+ * @version 1.0
+ *
+ */
+public final class StandingsDelta {
+	// The number of places at each end of the table that make up the promotion and relegation zones
+	public static final int ZONE_SIZE = 1;
+	private final List<StatChange> statChanges = new ArrayList<StatChange>();
+	private final List<RankChange> rankChanges = new ArrayList<RankChange>();
+	private final List<String> promotionEntries = new ArrayList<String>();
+	private final List<String> promotionExits = new ArrayList<String>();
+	private final List<String> relegationEntries = new ArrayList<String>();
+	private final List<String> relegationExits = new ArrayList<String>();
+
+	/**
+	 * Computes a delta.
+	 *
+	 * @param ranked The teams of the league in their current ranked order.
+	 * @param before The standing of every team that played since the marker, as it was at the marker.
+	 */
+	StandingsDelta(List<SoccerTeam> ranked, Map<SoccerTeam, TeamStanding> before){
+		int numTeams = ranked.size();
+		Map<SoccerTeam, Integer> newRanks = new IdentityHashMap<SoccerTeam, Integer>();
+		List<int[]> regions = new ArrayList<int[]>();
+		for (Map.Entry<SoccerTeam, TeamStanding> entry: before.entrySet()) {
+			SoccerTeam team = entry.getKey();
+			TeamStanding current = new TeamStanding(team);
+			if (!current.equals(entry.getValue())) {
+				statChanges.add(new StatChange(entry.getValue(), current));
+			}//end if
+			int newRank = Collections.binarySearch(ranked, team);
+			newRanks.put(team, newRank);
+			int oldPosition = countAhead(ranked, entry.getValue());
+			regions.add(new int[] {Math.min(newRank, oldPosition), Math.min(Math.max(newRank, oldPosition), numTeams - 1)});
+		}//end for
+
+		// Teams that played since the marker
+		for (Map.Entry<SoccerTeam, TeamStanding> entry: before.entrySet()) {
+			TeamStanding standing = entry.getValue();
+			int oldRank = countAhead(ranked, standing);
+			for (Map.Entry<SoccerTeam, TeamStanding> other: before.entrySet()) {
+				if (standing.compareTo(other.getKey()) > 0) {
+					oldRank--;
+				}//end if
+				if (other.getKey() != entry.getKey() && standing.compareTo(other.getValue()) > 0) {
+					oldRank++;
+				}//end if
+			}//end for
+			addRankChange(standing.getOfficialName(), oldRank, newRanks.get(entry.getKey()), numTeams);
+		}//end for
+
+		// Teams that did not play but were overtaken, or moved ahead of a team that dropped
+		Collections.sort(regions, (first, second) -> first[0] - second[0]);
+		int next = 0;
+		for (int[] region: regions) {
+			for (int position = Math.max(next, region[0]); position <= region[1]; position++) {
+				SoccerTeam team = ranked.get(position);
+				if (!before.containsKey(team)) {
+					int oldRank = position;
+					for (Map.Entry<SoccerTeam, TeamStanding> other: before.entrySet()) {
+						if (newRanks.get(other.getKey()) < position) {
+							oldRank--;
+						}//end if
+						if (other.getValue().compareTo(team) < 0) {
+							oldRank++;
+						}//end if
+					}//end for
+					addRankChange(team.getOfficialName(), oldRank, position, numTeams);
+				}//end if
+			}//end for
+			next = Math.max(next, region[1] + 1);
+		}//end for
+	}//end constructor
+
+	/**
+	 * Returns the teams whose statistics changed, with their statistics at the marker and now.
+	 * @return The statistic changes.
+	 */
+	public List<StatChange> getStatChanges(){
+		return Collections.unmodifiableList(statChanges);
+	}//end
+
+	/**
+	 * Returns the teams whose rank changed, with their rank at the marker and now.
+	 * @return The rank changes.
+	 */
+	public List<RankChange> getRankChanges(){
+		return Collections.unmodifiableList(rankChanges);
+	}//end
+
+	/**
+	 * Returns the official names of the teams that moved into the promotion zone.
+	 * @return The teams that entered the promotion zone.
+	 */
+	public List<String> getPromotionEntries(){
+		return Collections.unmodifiableList(promotionEntries);
+	}//end
+
+	/**
+	 * Returns the official names of the teams that moved out of the promotion zone.
+	 * @return The teams that left the promotion zone.
+	 */
+	public List<String> getPromotionExits(){
+		return Collections.unmodifiableList(promotionExits);
+	}//end
+
+	/**
+	 * Returns the official names of the teams that moved into the relegation zone.
+	 * @return The teams that entered the relegation zone.
+	 */
+	public List<String> getRelegationEntries(){
+		return Collections.unmodifiableList(relegationEntries);
+	}//end
+
+	/**
+	 * Returns the official names of the teams that moved out of the relegation zone.
+	 * @return The teams that left the relegation zone.
+	 */
+	public List<String> getRelegationExits(){
+		return Collections.unmodifiableList(relegationExits);
+	}//end
+
+	/**
+	 * Specifies if nothing changed since the marker.
+	 * @return True if no statistic or rank changed, false otherwise.
+	 */
+	public boolean isEmpty(){
+		return statChanges.isEmpty() && rankChanges.isEmpty();
+	}//end
+
+	/* Counts the teams in the ranked list that currently rank ahead of a standing */
+	private static int countAhead(List<SoccerTeam> ranked, TeamStanding standing){
+		int low = 0;
+		int high = ranked.size();
+		while (low < high) {
+			int middle = (low + high) >>> 1;
+			if (standing.compareTo(ranked.get(middle)) > 0) {
+				low = middle + 1;
+			} else {
+				high = middle;
+			}//end if-else
+		}//end while
+		return low;
+	}//end countAhead
+
+	/* Records a rank change and any zone it crossed */
+	private void addRankChange(String officialName, int oldRank, int newRank, int numTeams){
+		if (oldRank == newRank) {
+			return;
+		}//end if
+		rankChanges.add(new RankChange(officialName, oldRank, newRank));
+		if (oldRank >= ZONE_SIZE && newRank < ZONE_SIZE) {
+			promotionEntries.add(officialName);
+		} else if (oldRank < ZONE_SIZE && newRank >= ZONE_SIZE) {
+			promotionExits.add(officialName);
+		}//end if-else
+		int relegationStart = numTeams - ZONE_SIZE;
+		if (oldRank < relegationStart && newRank >= relegationStart) {
+			relegationEntries.add(officialName);
+		} else if (oldRank >= relegationStart && newRank < relegationStart) {
+			relegationExits.add(officialName);
+		}//end if-else
+	}//end addRankChange
+
+	/**
+	 * A change in the rank of a team.
+	 */
+	public static final class RankChange {
+		private final String officialName;
+		private final int oldRank;
+		private final int newRank;
+
+		RankChange(String officialName, int oldRank, int newRank){
+			this.officialName = officialName;
+			this.oldRank = oldRank;
+			this.newRank = newRank;
+		}//end constructor
+
+		/**
+		 * Returns the official name of the team.
+		 * @return The team's official name.
+		 */
+		public String getOfficialName(){
+			return officialName;
+		}//end
+
+		/**
+		 * Returns the rank of the team at the marker.
+		 * @return The old rank.
+		 */
+		public int getOldRank(){
+			return oldRank;
+		}//end
+
+		/**
+		 * Returns the current rank of the team.
+		 * @return The new rank.
+		 */
+		public int getNewRank(){
+			return newRank;
+		}//end
+	}//end RankChange
+
+	/**
+	 * A change in the statistics of a team.
+	 */
+	public static final class StatChange {
+		private final TeamStanding before;
+		private final TeamStanding after;
+
+		StatChange(TeamStanding before, TeamStanding after){
+			this.before = before;
+			this.after = after;
+		}//end constructor
+
+		/**
+		 * Returns the statistics of the team at the marker.
+		 * @return The old statistics.
+		 */
+		public TeamStanding getBefore(){
+			return before;
+		}//end
+
+		/**
+		 * Returns the current statistics of the team.
+		 * @return The new statistics.
+		 */
+		public TeamStanding getAfter(){
+			return after;
+		}//end
+	}//end StatChange
+}//end StandingsDelta
@@ -0,0 +1,47 @@
+package asgn1SoccerCompetition;
+
+/**
+ * A lightweight marker of the standings of a {@link SoccerLeague} at a point in time. A marker only
+ * records a position in the league's change journal, so taking one costs nothing regardless of the
+ * size of the league. The changes made since the marker was taken are obtained with
+ * {@link SoccerLeague#standingsDeltaSince(StandingsMarker)}.
+ *
+ * A marker is no longer valid once a new season starts or a team is registered or removed.
+ *
+ * @author Matthew Holdsworth
+ * @version 1.0
+ *
+ */
+public final class StandingsMarker {
+	private final SoccerLeague league;
+	private final int generation;
+	private final int position;
+
+	/**
+	 * Creates a marker of a position in the change journal of a league.
+	 *
+	 * @param league The league that was marked.
+	 * @param generation The generation of the league's journal when it was marked.
+	 * @param position The number of journal entries when it was marked.
+	 */
+	StandingsMarker(SoccerLeague league, int generation, int position){
+		this.league = league;
+		this.generation = generation;
+		this.position = position;
+	}//end constructor
+
+	/* Returns the league that was marked */
+	SoccerLeague getLeague(){
+		return league;
+	}//end
+
+	/* Returns the generation of the league's journal when it was marked */
+	int getGeneration(){
+		return generation;
+	}//end
+
+	/* Returns the number of journal entries when it was marked */
+	int getPosition(){
+		return position;
+	}//end
+}//end StandingsMarker
@@ -0,0 +1,114 @@
+package asgn1SoccerCompetition;
+import java.io.PrintStream;
+import java.util.Collections;
+import java.util.List;
+import asgn1Exceptions.LeagueException;
+
+/**
+ * An immutable, ranked copy of the standings and league table of a {@link SoccerLeague}, published by
+ * the league at each round committed and each season started or ended whilst it is publishing snapshots
+ * (see {@link SoccerLeague#setPublishingSnapshots(boolean)}). A snapshot never changes once it is published,
+ * so any number of threads can read it without locking while the league moves on to the next one.
+ *
+ * @author Matthew Holdsworth
+ * @version 1.0
+ *
+ */
+public final class StandingsSnapshot {
+	private final List<TeamStanding> standings;
+	private final String leagueTable;
+	private final int numMatches;
+	private final boolean offSeason;
+	private final long version;
+
+	/**
+	 * Creates a snapshot from standings and a table that are already ranked.
+	 */
+	StandingsSnapshot(List<TeamStanding> standings, String leagueTable, int numMatches, boolean offSeason, long version){
+		this.standings = Collections.unmodifiableList(standings);
+		this.leagueTable = leagueTable;
+		this.numMatches = numMatches;
+		this.offSeason = offSeason;
+		this.version = version;
+	}//end constructor
+
+	/**
+	 * Gets the standing of every team.
+	 *
+	 * @return A read-only list of the standings, highest ranked first.
+	 */
+	public List<TeamStanding> getStandings(){
+		return standings;
+	}//end getStandings
+
+	/**
+	 * Returns the league table in the format written by {@link SoccerLeague#displayLeagueTable()}.
+	 *
+	 * @return The rendered league table.
+	 */
+	public String getLeagueTable(){
+		return leagueTable;
+	}//end getLeagueTable
+
+	/**
+	 * Displays the league table to a specific stream.
+	 *
+	 * @param out The stream to write the table to.
+	 */
+	public void displayLeagueTable(PrintStream out){
+		out.print(leagueTable);
+	}//end displayLeagueTable
+
+	/**
+	 * Returns the standing of the highest ranked team.
+	 *
+	 * @return The standing of the highest ranked team.
+	 * @throws LeagueException If no teams were registered when the snapshot was taken.
+	 */
+	public TeamStanding getTopTeam() throws LeagueException{
+		if (standings.isEmpty()) {
+			throw new LeagueException("There is insufficient teams in the league!");
+		}//end if
+		return standings.get(0);
+	}//end getTopTeam
+
+	/**
+	 * Returns the standing of the lowest ranked team.
+	 *
+	 * @return The standing of the lowest ranked team.
+	 * @throws LeagueException If no teams were registered when the snapshot was taken.
+	 */
+	public TeamStanding getBottomTeam() throws LeagueException{
+		if (standings.isEmpty()) {
+			throw new LeagueException("There is insufficient teams in the league!");
+		}//end if
+		return standings.get(standings.size() - 1);
+	}//end getBottomTeam
+
+	/**
+	 * Gets the number of matches played this season when the snapshot was taken.
+	 *
+	 * @return The number of matches played.
+	 */
+	public int getNumMatches(){
+		return numMatches;
+	}//end getNumMatches
+
+	/**
+	 * Specifies if the league was in its off season when the snapshot was taken.
+	 *
+	 * @return True if the league was in its off season, false otherwise.
+	 */
+	public boolean isOffSeason(){
+		return offSeason;
+	}//end isOffSeason
+
+	/**
+	 * Gets the number of the snapshot, which increases by one with each snapshot the league publishes.
+	 *
+	 * @return The number of the snapshot.
+	 */
+	public long getVersion(){
+		return version;
+	}//end getVersion
+}//end StandingsSnapshot
@@ -0,0 +1,154 @@
+package asgn1SoccerCompetition;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * The secondary indexes of the teams of a {@link SoccerLeague}: a hash index of official names by nick
+ * name, and ordered indexes of official names by competition points and by goal difference. Teams are
+ * held by official name so that the indexes stay valid when the league replaces a team with a copy.
+ *
+ * The ordered indexes only hold teams with points or a goal difference, so a new season clears them in
+ * constant time and registering a team with reset statistics does not touch them. A team missing from
+ * them has 0 points and a goal difference of 0.
+ *
+ * @author Matthew Holdsworth
+ * @version 1.0
+ *
+ */
+final class TeamIndex {
+	private HashMap<String, HashSet<String>> byNickName = new HashMap<String, HashSet<String>>();
+	private TreeMap<Integer, HashSet<String>> byPoints = new TreeMap<Integer, HashSet<String>>();
+	private TreeMap<Integer, HashSet<String>> byGoalDifference = new TreeMap<Integer, HashSet<String>>();
+	// The points and goal difference each team is held under in the ordered indexes
+	private HashMap<String, int[]> keys = new HashMap<String, int[]>();
+
+	/**
+	 * Creates empty indexes.
+	 */
+	TeamIndex(){
+	}//end constructor
+
+	/**
+	 * Creates a copy of another set of indexes.
+	 *
+	 * @param other The indexes to copy.
+	 */
+	TeamIndex(TeamIndex other){
+		byNickName = copy(other.byNickName);
+		byPoints = new TreeMap<Integer, HashSet<String>>(copy(other.byPoints));
+		byGoalDifference = new TreeMap<Integer, HashSet<String>>(copy(other.byGoalDifference));
+		for (Map.Entry<String, int[]> entry: other.keys.entrySet()) {
+			keys.put(entry.getKey(), entry.getValue().clone());
+		}//end for
+	}//end constructor
+
+	/* Adds a registered team, which keeps its statistics until the next season starts */
+	void teamAdded(SoccerTeam team){
+		add(byNickName, team.getNickName(), team.getOfficialName());
+		teamChanged(team);
+	}//end teamAdded
+
+	/* Removes a team that is no longer registered */
+	void teamRemoved(SoccerTeam team){
+		remove(byNickName, team.getNickName(), team.getOfficialName());
+		removeKeys(team.getOfficialName());
+	}//end teamRemoved
+
+	/* Moves a team whose statistics changed to its new points and goal difference */
+	void teamChanged(SoccerTeam team){
+		String name = team.getOfficialName();
+		int points = team.getCompetitionPoints();
+		int goalDifference = team.getGoalDifference();
+		int[] key = keys.get(name);
+		if (key != null && key[0] == points && key[1] == goalDifference) {
+			return;
+		}//end if
+		removeKeys(name);
+		if (points == 0 && goalDifference == 0) {
+			return;// Held as a team with reset statistics
+		}//end if
+		key = new int[] {points, goalDifference};
+		keys.put(name, key);
+		add(byPoints, key[0], name);
+		add(byGoalDifference, key[1], name);
+	}//end teamChanged
+
+	/* Treats every team as reset */
+	void seasonStarted(){
+		byPoints = new TreeMap<Integer, HashSet<String>>();
+		byGoalDifference = new TreeMap<Integer, HashSet<String>>();
+		keys = new HashMap<String, int[]>();
+	}//end seasonStarted
+
+	/* The official names of the teams with a nick name */
+	List<String> findByNickName(String nickName){
+		HashSet<String> names = byNickName.get(nickName);
+		return names == null ? new ArrayList<String>() : new ArrayList<String>(names);
+	}//end findByNickName
+
+	/* The official names of the teams with points in a range, given every registered team */
+	List<String> findByPoints(int min, int max, Iterable<String> allNames){
+		return findInRange(byPoints, min, max, allNames);
+	}//end findByPoints
+
+	/* The official names of the teams with a goal difference in a range, given every registered team */
+	List<String> findByGoalDifference(int min, int max, Iterable<String> allNames){
+		return findInRange(byGoalDifference, min, max, allNames);
+	}//end findByGoalDifference
+
+	/* Looks up a range of an ordered index, adding the teams held with reset statistics if the range includes 0 */
+	private List<String> findInRange(TreeMap<Integer, HashSet<String>> index, int min, int max, Iterable<String> allNames){
+		List<String> names = new ArrayList<String>();
+		if (min > max) {
+			return names;
+		}//end if
+		for (HashSet<String> atKey: index.subMap(min, true, max, true).values()) {
+			names.addAll(atKey);
+		}//end for
+		if (min <= 0 && max >= 0) {
+			for (String name: allNames) {
+				if (!keys.containsKey(name)) {
+					names.add(name);
+				}//end if
+			}//end for
+		}//end if
+		return names;
+	}//end findInRange
+
+	/* Removes a team from the ordered indexes */
+	private void removeKeys(String name){
+		int[] key = keys.remove(name);
+		if (key != null) {
+			remove(byPoints, key[0], name);
+			remove(byGoalDifference, key[1], name);
+		}//end if
+	}//end removeKeys
+
+	private static <K> void add(Map<K, HashSet<String>> index, K key, String name){
+		HashSet<String> names = index.get(key);
+		if (names == null) {
+			names = new HashSet<String>();
+			index.put(key, names);
+		}//end if
+		names.add(name);
+	}//end add
+
+	private static <K> void remove(Map<K, HashSet<String>> index, K key, String name){
+		HashSet<String> names = index.get(key);
+		if (names != null && names.remove(name) && names.isEmpty()) {
+			index.remove(key);
+		}//end if
+	}//end remove
+
+	private static <K> HashMap<K, HashSet<String>> copy(Map<K, HashSet<String>> index){
+		HashMap<K, HashSet<String>> copy = new HashMap<K, HashSet<String>>();
+		for (Map.Entry<K, HashSet<String>> entry: index.entrySet()) {
+			copy.put(entry.getKey(), new HashSet<String>(entry.getValue()));
+		}//end for
+		return copy;
+	}//end copy
+}//end TeamIndex
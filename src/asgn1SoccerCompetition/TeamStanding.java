@@ -0,0 +1,210 @@
+package asgn1SoccerCompetition;
+
+/**
+ * An immutable copy of the statistics of a team at a point in time. Standings are ranked with the
+ * same rules as {@link SoccerTeam#compareTo(SoccerTeam)}: first by points, then by goal difference
+ * and then alphabetically by official name.
+ *
+ * @author Matthew Holdsworth
+ * @version 1.0
+ *
+ */
+public final class TeamStanding implements Comparable<TeamStanding>{
+	private final String officialName;
+	private final String nickName;
+	private final String form;
+	private final int goalsScored;
+	private final int goalsConceded;
+	private final int matchesWon;
+	private final int matchesLost;
+	private final int matchesDrawn;
+	private final int competitionPoints;
+
+	/**
+	 * Captures the current statistics of a team.
+	 *
+	 * @param team The team to capture.
+	 */
+	public TeamStanding(SoccerTeam team){
+		this.officialName = team.getOfficialName();
+		this.nickName = team.getNickName();
+		this.form = team.getFormString();
+		this.goalsScored = team.getGoalsScoredSeason();
+		this.goalsConceded = team.getGoalsConcededSeason();
+		this.matchesWon = team.getMatchesWon();
+		this.matchesLost = team.getMatchesLost();
+		this.matchesDrawn = team.getMatchesDrawn();
+		this.competitionPoints = team.getCompetitionPoints();
+	}//end constructor
+
+	/**
+	 * Creates a standing from statistics kept elsewhere, such as a replayed history of the season.
+	 */
+	TeamStanding(String officialName, String nickName, String form, int goalsScored, int goalsConceded,
+			int matchesWon, int matchesLost, int matchesDrawn, int competitionPoints){
+		this.officialName = officialName;
+		this.nickName = nickName;
+		this.form = form;
+		this.goalsScored = goalsScored;
+		this.goalsConceded = goalsConceded;
+		this.matchesWon = matchesWon;
+		this.matchesLost = matchesLost;
+		this.matchesDrawn = matchesDrawn;
+		this.competitionPoints = competitionPoints;
+	}//end constructor
+
+	/**
+	 * Returns the team's official name.
+	 * @return The team's official name.
+	 */
+	public String getOfficialName(){
+		return officialName;
+	}//end
+
+	/**
+	 * Returns the team's nick name.
+	 * @return The teams's nick name.
+	 */
+	public String getNickName(){
+		return nickName;
+	}//end
+
+	/**
+	 * Returns a string representing the recent results of the team.
+	 * @return A string representing the recent results of the team.
+	 */
+	public String getFormString(){
+		return form;
+	}//end
+
+	/**
+	 * Returns the goals scored by the team.
+	 * @return The goals scored this season.
+	 */
+	public int getGoalsScoredSeason(){
+		return goalsScored;
+	}//end
+
+	/**
+	 * Returns the goals conceded by the team.
+	 * @return The goals conceded this season.
+	 */
+	public int getGoalsConcededSeason(){
+		return goalsConceded;
+	}//end
+
+	/**
+	 * Returns the number of matches won by the team.
+	 * @return The number of matches won.
+	 */
+	public int getMatchesWon(){
+		return matchesWon;
+	}//end
+
+	/**
+	 * Returns the number of matches lost by the team.
+	 * @return The number of matches lost.
+	 */
+	public int getMatchesLost(){
+		return matchesLost;
+	}//end
+
+	/**
+	 * Returns the number of matches drawn by the team.
+	 * @return The number of matches drawn.
+	 */
+	public int getMatchesDrawn(){
+		return matchesDrawn;
+	}//end
+
+	/**
+	 * Returns the number of matches played by the team.
+	 * @return The number of matches played.
+	 */
+	public int getMatchesPlayed(){
+		return matchesWon + matchesLost + matchesDrawn;
+	}//end
+
+	/**
+	 * Returns the number competition points of the team.
+	 * @return The number competition points.
+	 */
+	public int getCompetitionPoints(){
+		return competitionPoints;
+	}//end
+
+	/**
+	 * Returns the goal difference (goals scored minus goals conceded) for the team.
+	 * @return The goal difference.
+	 */
+	public int getGoalDifference(){
+		return goalsScored - goalsConceded;
+	}//end
+
+	/**
+	 * Ranks this standing against another, as described by {@link SoccerTeam#compareTo(SoccerTeam)}.
+	 *
+	 * @param other The other standing.
+	 * @return a number that is negative if this standing ranks higher, positive if it ranks lower and 0 if they are equal.
+	 */
+	public int compareTo(TeamStanding other){
+		return compare(competitionPoints, getGoalDifference(), officialName,
+				other.competitionPoints, other.getGoalDifference(), other.officialName);
+	}//end compareTo
+
+	/**
+	 * Ranks this standing against the current statistics of a team.
+	 *
+	 * @param team The team to compare with.
+	 * @return a number that is negative if this standing ranks higher, positive if it ranks lower and 0 if they are equal.
+	 */
+	public int compareTo(SoccerTeam team){
+		return compare(competitionPoints, getGoalDifference(), officialName,
+				team.getCompetitionPoints(), team.getGoalDifference(), team.getOfficialName());
+	}//end compareTo
+
+	/**
+	 * Two standings are equal if every statistic, the names and the form are equal.
+	 *
+	 * @param other The object to compare with.
+	 * @return True if the other object is an equal standing, false otherwise.
+	 */
+	public boolean equals(Object other){
+		if (!(other instanceof TeamStanding)) {
+			return false;
+		}//end if
+		TeamStanding standing = (TeamStanding) other;
+		return officialName.equals(standing.officialName) && nickName.equals(standing.nickName) && form.equals(standing.form)
+				&& goalsScored == standing.goalsScored && goalsConceded == standing.goalsConceded
+				&& matchesWon == standing.matchesWon && matchesLost == standing.matchesLost
+				&& matchesDrawn == standing.matchesDrawn && competitionPoints == standing.competitionPoints;
+	}//end equals
+
+	/**
+	 * Returns a hash code consistent with {@link #equals(Object)}.
+	 * @return The hash code of the standing.
+	 */
+	public int hashCode(){
+		return ((officialName.hashCode() * 31 + competitionPoints) * 31 + getGoalDifference()) * 31 + getMatchesPlayed();
+	}//end hashCode
+
+	/**
+	 * Returns the standing in the tab separated layout of {@link SoccerTeam#displayTeamDetails()}.
+	 * @return The standing as a table row.
+	 */
+	public String toString(){
+		return officialName + '\t' + nickName + '\t' + form + '\t' + getMatchesPlayed() + '\t' + matchesWon +
+				'\t' + matchesLost + '\t' + matchesDrawn + '\t' + goalsScored + '\t' + goalsConceded + '\t' + getGoalDifference() + '\t' + competitionPoints;
+	}//end toString
+
+	/* Ranks two sets of statistics by points, then goal difference, then official name */
+	static int compare(int points, int goalDifference, String name, int otherPoints, int otherGoalDifference, String otherName){
+		if (points != otherPoints) {
+			return otherPoints - points;
+		} else if (goalDifference != otherGoalDifference) {
+			return otherGoalDifference - goalDifference;
+		} else {
+			return name.compareTo(otherName);
+		}//end if-else
+	}//end compare
+}//end TeamStanding
@@ -0,0 +1,173 @@
+package asgn1SportsUtils;
+
+import java.util.HashSet;
+
+/**
+ * The set of fixtures played in a season between teams numbered from 0, where a fixture is an ordered
+ * pair of a home and an away team. A season is complete once every team has played every other team
+ * at home and away, which is N(N - 1) fixtures for N teams.
+ *
+ * The played fixtures are held as a bitset of N x N bits, one row of whole words per home team, so
+ * adding a fixture and checking if it has been played take constant time. A row is only allocated once
+ * its home team has played, and a copy shares the rows of the set it was copied from, so copying takes
+ * time proportional to N and each of the two sets copies a row the first time it adds a fixture to it. The number of fixtures played
+ * overall and by each team are counted as fixtures are added, which are the population counts of the
+ * bitset and its rows and columns, so the fixtures remaining are also answered in constant time. For
+ * more than {@link #MAX_DENSE_TEAMS} teams the bitset would not fit in memory and the played fixtures
+ * are held in a hash set instead, which is slower but still takes constant time.
+ * @author Alan
+ *
+ */
+public final class FixtureSet {
+
+	// The most teams for which the fixtures are held as a bitset, 8 MB of bits
+	public static final int MAX_DENSE_TEAMS = 1 << 13;
+
+	private final int numTeams;
+	private final int wordsPerRow;
+	// The bitset of played fixtures by home team, with null rows for teams that have not played at home,
+	// or null if the hash set is used
+	private long[][] played;
+	// Specifies which rows this set may change in place, the others are shared with a copy
+	private boolean[] ownedRows;
+	// The played fixtures as home * numTeams + away, used for large numbers of teams
+	private HashSet<Long> playedSparse;
+	// The number of fixtures played overall and by each team, at home or away
+	private int numPlayed;
+	private int[] teamPlayed;
+
+	/**
+	 * Creates the set of a season in which no fixtures have been played.
+	 *
+	 * @param numTeams The number of teams.
+	 */
+	public FixtureSet(int numTeams) {
+		this.numTeams = numTeams;
+		wordsPerRow = (numTeams + 63) >>> 6;
+		if (numTeams <= MAX_DENSE_TEAMS) {
+			played = new long[numTeams][];
+			ownedRows = new boolean[numTeams];
+		} else {
+			playedSparse = new HashSet<Long>();
+		}
+		teamPlayed = new int[numTeams];
+	}
+
+	/**
+	 * Creates a copy of another set. The rows of the bitset are shared between the two sets until either
+	 * of them adds a fixture to a row.
+	 *
+	 * @param other The set to copy.
+	 */
+	public FixtureSet(FixtureSet other) {
+		numTeams = other.numTeams;
+		wordsPerRow = other.wordsPerRow;
+		if (other.played != null) {
+			played = other.played.clone();
+			ownedRows = new boolean[numTeams];
+			other.ownedRows = new boolean[numTeams];
+		}
+		playedSparse = other.playedSparse == null ? null : new HashSet<Long>(other.playedSparse);
+		numPlayed = other.numPlayed;
+		teamPlayed = other.teamPlayed.clone();
+	}
+
+	/**
+	 * Specifies if a fixture has been played.
+	 *
+	 * @param home The home team.
+	 * @param away The away team.
+	 * @return True if the fixture has been played, false otherwise.
+	 */
+	public boolean contains(int home, int away) {
+		checkFixture(home, away);
+		if (played == null) {
+			return playedSparse.contains((long) home * numTeams + away);
+		}
+		long[] row = played[home];
+		return row != null && (row[away >>> 6] & 1L << away) != 0;
+	}
+
+	/**
+	 * Marks a fixture as played.
+	 *
+	 * @param home The home team.
+	 * @param away The away team.
+	 * @return True if the fixture had not been played before, false if it is a duplicate and was not added.
+	 */
+	public boolean add(int home, int away) {
+		checkFixture(home, away);
+		if (played == null) {
+			if (!playedSparse.add((long) home * numTeams + away)) {
+				return false;
+			}
+		} else {
+			long[] row = played[home];
+			long bit = 1L << away;
+			if (row != null && (row[away >>> 6] & bit) != 0) {
+				return false;
+			} else if (!ownedRows[home]) {
+				row = row == null ? new long[wordsPerRow] : row.clone();
+				played[home] = row;
+				ownedRows[home] = true;
+			}
+			row[away >>> 6] |= bit;
+		}
+		numPlayed++;
+		teamPlayed[home]++;
+		teamPlayed[away]++;
+		return true;
+	}
+
+	/**
+	 * Returns the number of teams.
+	 *
+	 * @return The number of teams.
+	 */
+	public int getNumTeams() {
+		return numTeams;
+	}
+
+	/**
+	 * Returns the number of fixtures played.
+	 *
+	 * @return The number of fixtures played.
+	 */
+	public int getNumPlayed() {
+		return numPlayed;
+	}
+
+	/**
+	 * Returns the number of fixtures not yet played.
+	 *
+	 * @return The number of fixtures remaining.
+	 */
+	public long getNumRemaining() {
+		return (long) numTeams * (numTeams - 1) - numPlayed;
+	}
+
+	/**
+	 * Returns the number of fixtures a team has not yet played, at home or away.
+	 *
+	 * @param team The team.
+	 * @return The number of the team's fixtures remaining.
+	 */
+	public int getNumRemaining(int team) {
+		return 2 * (numTeams - 1) - teamPlayed[team];
+	}
+
+	/**
+	 * Specifies if every fixture has been played.
+	 *
+	 * @return True if the season is complete, false otherwise.
+	 */
+	public boolean isComplete() {
+		return getNumRemaining() == 0;
+	}
+
+	private void checkFixture(int home, int away) {
+		if (home < 0 || home >= numTeams || away < 0 || away >= numTeams || home == away) {
+			throw new IllegalArgumentException("Not a fixture between two of " + numTeams + " teams: " + home + ", " + away);
+		}
+	}
+}
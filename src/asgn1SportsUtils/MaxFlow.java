@@ -0,0 +1,141 @@
+package asgn1SportsUtils;
+
+import java.util.Arrays;
+
+/**
+ * A flow network that computes maximum flows with Dinic's algorithm. Nodes are numbered from 0 and
+ * edges are added with integer capacities. The network can be cleared and reused so that repeated
+ * computations on networks of a similar size do not allocate.
+ * @author Alan
+ *
+ */
+public final class MaxFlow {
+
+	private int numNodes;
+	private int numEdges;
+	// Adjacency lists stored as linked lists of edge indexes
+	private int[] firstEdge;
+	private int[] nextEdge;
+	private int[] edgeTarget;
+	private int[] edgeCapacity;
+	// Working space for the level graph and the blocking flow search
+	private int[] level;
+	private int[] currentEdge;
+	private int[] queue;
+
+	/**
+	 * Creates an empty network.
+	 *
+	 * @param numNodes The number of nodes in the network.
+	 */
+	public MaxFlow(int numNodes) {
+		edgeTarget = new int[16];
+		edgeCapacity = new int[16];
+		nextEdge = new int[16];
+		clear(numNodes);
+	}
+
+	/**
+	 * Removes every edge and resizes the network.
+	 *
+	 * @param numNodes The number of nodes in the network.
+	 */
+	public void clear(int numNodes) {
+		this.numNodes = numNodes;
+		numEdges = 0;
+		if (firstEdge == null || firstEdge.length < numNodes) {
+			firstEdge = new int[numNodes];
+			level = new int[numNodes];
+			currentEdge = new int[numNodes];
+			queue = new int[numNodes];
+		}
+		Arrays.fill(firstEdge, 0, numNodes, -1);
+	}
+
+	/**
+	 * Adds a directed edge.
+	 *
+	 * @param from The node the edge leaves.
+	 * @param to The node the edge enters.
+	 * @param capacity The capacity of the edge.
+	 */
+	public void addEdge(int from, int to, int capacity) {
+		if (numEdges + 2 > edgeTarget.length) {
+			edgeTarget = Arrays.copyOf(edgeTarget, edgeTarget.length * 2);
+			edgeCapacity = Arrays.copyOf(edgeCapacity, edgeCapacity.length * 2);
+			nextEdge = Arrays.copyOf(nextEdge, nextEdge.length * 2);
+		}
+		link(from, to, capacity);
+		// The reverse edge carries the residual capacity
+		link(to, from, 0);
+	}
+
+	/**
+	 * Computes the maximum flow between two nodes. The residual capacities are left in the network,
+	 * so it must be cleared and rebuilt before it is used again.
+	 *
+	 * @param source The node the flow leaves.
+	 * @param sink The node the flow enters.
+	 * @return The value of the maximum flow.
+	 */
+	public long maxFlow(int source, int sink) {
+		long flow = 0;
+		while (buildLevels(source, sink)) {
+			System.arraycopy(firstEdge, 0, currentEdge, 0, numNodes);
+			int pushed = push(source, sink, Integer.MAX_VALUE);
+			while (pushed > 0) {
+				flow += pushed;
+				pushed = push(source, sink, Integer.MAX_VALUE);
+			}
+		}
+		return flow;
+	}
+
+	/* Adds a single edge to the adjacency list of a node */
+	private void link(int from, int to, int capacity) {
+		edgeTarget[numEdges] = to;
+		edgeCapacity[numEdges] = capacity;
+		nextEdge[numEdges] = firstEdge[from];
+		firstEdge[from] = numEdges++;
+	}
+
+	/* Labels every node with its distance from the source in the residual graph */
+	private boolean buildLevels(int source, int sink) {
+		Arrays.fill(level, 0, numNodes, -1);
+		level[source] = 0;
+		int head = 0;
+		int tail = 0;
+		queue[tail++] = source;
+		while (head < tail) {
+			int node = queue[head++];
+			for (int edge = firstEdge[node]; edge >= 0; edge = nextEdge[edge]) {
+				int target = edgeTarget[edge];
+				if (edgeCapacity[edge] > 0 && level[target] < 0) {
+					level[target] = level[node] + 1;
+					queue[tail++] = target;
+				}
+			}
+		}
+		return level[sink] >= 0;
+	}
+
+	/* Pushes flow along a path of increasing levels */
+	private int push(int node, int sink, int limit) {
+		if (node == sink) {
+			return limit;
+		}
+		for (; currentEdge[node] >= 0; currentEdge[node] = nextEdge[currentEdge[node]]) {
+			int edge = currentEdge[node];
+			int target = edgeTarget[edge];
+			if (edgeCapacity[edge] > 0 && level[target] == level[node] + 1) {
+				int pushed = push(target, sink, Math.min(limit, edgeCapacity[edge]));
+				if (pushed > 0) {
+					edgeCapacity[edge] -= pushed;
+					edgeCapacity[edge ^ 1] += pushed;
+					return pushed;
+				}
+			}
+		}
+		return 0;
+	}
+}
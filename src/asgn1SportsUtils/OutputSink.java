@@ -0,0 +1,263 @@
+package asgn1SportsUtils;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Writes text to a stream from a background thread, so that a slow terminal or pipe does not hold up
+ * the thread producing the output. Messages are put in a preallocated ring buffer and a drain thread
+ * takes them off in order, writing every message waiting in the ring before flushing the stream once.
+ *
+ * The ring has a single producer: messages from several threads are serialised by a lock that only
+ * producers take, never the drain thread. When the ring is full the producer either waits for space
+ * ({@link WhenFull#BLOCK}), discards the message ({@link WhenFull#DROP}), or keeps one in every sample interval
+ * of the messages that find it full, waiting for space for that one ({@link WhenFull#SAMPLE}).
+ *
+ * The drain thread is a daemon, so messages still in the ring when the program exits are lost unless
+ * the sink is flushed or closed first. If the stream fails, later messages are discarded and the
+ * failure is thrown from {@link #flush()} and {@link #close()}.
+ * @author Alan
+ *
+ */
+public final class OutputSink implements Closeable {
+
+	/**
+	 * What a producer does with a message when the ring is full.
+	 */
+	public enum WhenFull {
+		/** Wait for the drain thread to make space. */
+		BLOCK,
+		/** Discard the message. */
+		DROP,
+		/** Keep one in every sample interval of the messages that find the ring full, waiting for space for it, and discard the others. */
+		SAMPLE
+	}
+
+	// How long a waiting producer or idle drain thread parks before checking the ring again
+	private static final long PARK_NANOS = 1_000_000L;
+
+	private final String[] ring;
+	private final int mask;
+	private final Writer out;
+	private final WhenFull whenFull;
+	private final int sampleInterval;
+	private final Thread drainer;
+	// The position of the next message to be put in the ring, written only by producers
+	private volatile long head;
+	// The position of the next message to be taken from the ring, written only by the drain thread
+	private volatile long tail;
+	// The position up to which messages have been written and the stream flushed
+	private volatile long flushed;
+	private volatile boolean waiting;
+	private volatile boolean closed;
+	private volatile IOException failure;
+	private volatile long dropped;
+	// The number of messages that found the ring full, for sampling
+	private long overflowed;
+
+	/**
+	 * Creates a sink that blocks when full, with room for 1024 messages.
+	 *
+	 * @param stream The stream to write to, in the default charset.
+	 */
+	public OutputSink(OutputStream stream) {
+		this(stream, 1024, WhenFull.BLOCK, 1);
+	}
+
+	/**
+	 * Creates a sink and starts its drain thread.
+	 *
+	 * @param stream The stream to write to, in the default charset.
+	 * @param capacity The number of messages the ring holds, rounded up to a power of two.
+	 * @param whenFull What a producer does with a message when the ring is full.
+	 * @param sampleInterval For {@link WhenFull#SAMPLE}, one in this many messages that find the ring full is kept.
+	 */
+	public OutputSink(OutputStream stream, int capacity, WhenFull whenFull, int sampleInterval) {
+		if (capacity < 1 || capacity > 1 << 30) {
+			throw new IllegalArgumentException("The capacity must be between 1 and 2^30: " + capacity);
+		}
+		if (sampleInterval < 1) {
+			throw new IllegalArgumentException("The sample interval must be positive: " + sampleInterval);
+		}
+		int size = Integer.highestOneBit(capacity) == capacity ? capacity : Integer.highestOneBit(capacity) << 1;
+		ring = new String[size];
+		mask = size - 1;
+		out = new BufferedWriter(new OutputStreamWriter(stream, Charset.defaultCharset()), 1 << 16);
+		this.whenFull = whenFull;
+		this.sampleInterval = sampleInterval;
+		drainer = new Thread(this::drain, "OutputSink");
+		drainer.setDaemon(true);
+		drainer.start();
+	}
+
+	/**
+	 * Writes text.
+	 *
+	 * @param text The text to write.
+	 */
+	public void print(String text) {
+		offer(text);
+	}
+
+	/**
+	 * Writes a line of text followed by the line separator.
+	 *
+	 * @param line The line to write.
+	 */
+	public void println(String line) {
+		offer(line + System.lineSeparator());
+	}
+
+	/**
+	 * Writes the message of an exception on a line followed by its stack trace, as printed by a handler
+	 * calling println(e.getMessage()) and e.printStackTrace(). The trace is formatted by the caller.
+	 *
+	 * @param e The exception to write.
+	 */
+	public void printException(Throwable e) {
+		StringWriter trace = new StringWriter();
+		trace.append(String.valueOf(e.getMessage())).append(System.lineSeparator());
+		e.printStackTrace(new PrintWriter(trace));
+		offer(trace.toString());
+	}
+
+	/**
+	 * Returns the number of messages discarded because the ring was full.
+	 *
+	 * @return The number of messages dropped.
+	 */
+	public long getNumDropped() {
+		return dropped;
+	}
+
+	/**
+	 * Returns the number of messages the ring holds.
+	 *
+	 * @return The capacity of the ring.
+	 */
+	public int getCapacity() {
+		return ring.length;
+	}
+
+	/**
+	 * Waits until every message written so far has been written to the stream and the stream flushed.
+	 *
+	 * @throws IOException if the stream has failed.
+	 */
+	public void flush() throws IOException {
+		long target = head;
+		while (flushed < target && failure == null && drainer.isAlive()) {
+			LockSupport.unpark(drainer);
+			LockSupport.parkNanos(PARK_NANOS);
+		}
+		if (failure != null) {
+			throw failure;
+		}
+	}
+
+	/**
+	 * Writes every message still in the ring, flushes the stream and stops the drain thread. The
+	 * stream is not closed. Messages cannot be written once the sink is closed.
+	 *
+	 * @throws IOException if the stream has failed.
+	 */
+	public void close() throws IOException {
+		synchronized (this) {
+			closed = true;
+		}
+		LockSupport.unpark(drainer);
+		boolean interrupted = false;
+		while (drainer.isAlive()) {
+			try {
+				drainer.join();
+			} catch (InterruptedException e) {
+				interrupted = true;
+			}
+		}
+		if (interrupted) {
+			Thread.currentThread().interrupt();
+		}
+		if (failure != null) {
+			throw failure;
+		}
+	}
+
+	/* Puts a message in the ring, holding the producer lock */
+	private synchronized void offer(String message) {
+		if (closed) {
+			throw new IllegalStateException("The output sink is closed");
+		}
+		long position = head;
+		if (position - tail == ring.length) {
+			if (whenFull == WhenFull.DROP || (whenFull == WhenFull.SAMPLE && ++overflowed % sampleInterval != 0)) {
+				dropped++;
+				return;
+			}
+			while (position - tail == ring.length) {
+				LockSupport.unpark(drainer);
+				LockSupport.parkNanos(PARK_NANOS);
+			}
+		}
+		ring[(int) position & mask] = message;
+		// Publishes the message to the drain thread
+		head = position + 1;
+		if (waiting) {
+			LockSupport.unpark(drainer);
+		}
+	}
+
+	/* The drain thread: writes every waiting message as a batch, then flushes once the ring is empty */
+	private void drain() {
+		long position = tail;
+		while (true) {
+			boolean done = closed;
+			long available = head;
+			if (position == available) {
+				if (flushed < position) {
+					write(null);
+					flushed = position;
+				}
+				if (done) {
+					return;
+				}
+				waiting = true;
+				if (head == position && !closed) {
+					LockSupport.parkNanos(PARK_NANOS * 100);
+				}
+				waiting = false;
+				continue;
+			}
+			for (; position < available; position++) {
+				int slot = (int) position & mask;
+				String message = ring[slot];
+				ring[slot] = null;
+				write(message);
+				tail = position + 1;
+			}
+		}
+	}
+
+	/* Writes a message, or flushes the stream when there is none, discarding output once the stream has failed */
+	private void write(String message) {
+		if (failure != null) {
+			return;
+		}
+		try {
+			if (message == null) {
+				out.flush();
+			} else {
+				out.write(message);
+			}
+		} catch (IOException e) {
+			failure = e;
+		}
+	}
+}
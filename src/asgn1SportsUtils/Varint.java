@@ -0,0 +1,108 @@
+package asgn1SportsUtils;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Reads and writes variable length encoded integers. Each byte holds seven bits of the value, least
+ * significant first, and the high bit of a byte is set when more bytes follow. Values below 128
+ * therefore take a single byte.
+ * @author Alan
+ *
+ */
+public final class Varint {
+
+	private Varint() {
+	}
+
+	/**
+	 * Writes a non-negative integer.
+	 * 
+	 * @param out The stream to write to.
+	 * @param value The value to write.
+	 * @throws IOException if the stream cannot be written to.
+	 */
+	public static void write(OutputStream out, int value) throws IOException {
+		if (value < 0) {
+			throw new IllegalArgumentException("Varints must not be negative: " + value);
+		}
+		while (value >= 0x80) {
+			out.write((value & 0x7F) | 0x80);
+			value >>>= 7;
+		}
+		out.write(value);
+	}
+
+	/**
+	 * Reads a non-negative integer.
+	 * 
+	 * @param in The stream to read from.
+	 * @return The value read, or -1 if the stream ended before the first byte of the value.
+	 * @throws IOException if the stream cannot be read, ends part way through a value or holds a value
+	 * that does not fit in a non-negative integer.
+	 */
+	public static int read(InputStream in) throws IOException {
+		int b = in.read();
+		if (b < 0) {
+			return -1;
+		}
+		int value = b & 0x7F;
+		int shift = 7;
+		while ((b & 0x80) != 0) {
+			if (shift >= 35) {
+				throw new IOException("A varint is longer than five bytes");
+			}
+			b = in.read();
+			if (b < 0) {
+				throw new EOFException("The stream ended part way through a varint");
+			}
+			// The fifth byte only holds the top four bits, and a non-negative value leaves the highest clear
+			if (shift == 28 && (b & 0x7F) > 0x07) {
+				throw new IOException("A varint does not fit in a non-negative integer");
+			}
+			value |= (b & 0x7F) << shift;
+			shift += 7;
+		}
+		return value;
+	}
+
+	/**
+	 * Writes a string as its varint encoded UTF-8 length followed by its UTF-8 bytes.
+	 * 
+	 * @param out The stream to write to.
+	 * @param value The string to write.
+	 * @throws IOException if the stream cannot be written to.
+	 */
+	public static void writeString(OutputStream out, String value) throws IOException {
+		byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+		write(out, bytes.length);
+		out.write(bytes);
+	}
+
+	/**
+	 * Reads a string written by {@link #writeString(OutputStream, String)}.
+	 * 
+	 * @param in The stream to read from.
+	 * @return The string read.
+	 * @throws IOException if the stream cannot be read or ends part way through the string.
+	 */
+	public static String readString(InputStream in) throws IOException {
+		int length = read(in);
+		if (length < 0) {
+			throw new EOFException("The stream ended before a string");
+		}
+		byte[] bytes = new byte[length];
+		int read = 0;
+		while (read < length) {
+			int count = in.read(bytes, read, length - read);
+			if (count < 0) {
+				throw new EOFException("The stream ended part way through a string");
+			}
+			read += count;
+		}
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+}
@@ -0,0 +1,15 @@
+package asgn1SportsUtils;
+
+/**
+ * A Enum that represents where a match was played from the point of view of a team.
+ * ALL stands for matches at any ground, and is used when the ground of a match is not known.
+ * @author Alan
+ *
+ */
+public enum Venue{
+
+	ALL,
+	HOME,
+	AWAY;
+	
+}
@@ -0,0 +1,135 @@
+package asgn1Tests;
+import static org.junit.Assert.*;
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.StringReader;
+import org.junit.Test;
+import asgn1SoccerCompetition.SoccerCompetition;
+import asgn1SportsUtils.Varint;
+import asgn1Wizards.BinaryResultsReader;
+import asgn1Wizards.BinaryResultsWriter;
+import asgn1Wizards.SoccerCompetitionWizard;
+
+/**
+ * A set of JUnit tests for the asgn1Wizards.BinaryResultsWriter and asgn1Wizards.BinaryResultsReader classes
+ *
+ * @author Oswald Doring
+ *
+ */
+public class BinaryResultsFormatTests {
+
+	/* A small two league competition in the comma separated format */
+	static final String CSV = "Test Competition,2,2\n"
+			+ "0,Gotham City, Dark Knights\n"
+			+ "0,Metropolis, Men of Steel\n"
+			+ "1,Central City, Speedsters\n"
+			+ "1,Paradise Island, Wicked Wonders\n"
+			+ "0,Gotham City,1,Metropolis,0\n"
+			+ "1,Paradise Island,4,Central City,3\n"
+			+ "0,Metropolis,2,Gotham City,2\n"
+			+ "1,Central City,3,Paradise Island,3\n";
+
+	/* Converts the comma separated competition to the binary format */
+	private byte[] convert() throws IOException{
+		ByteArrayOutputStream binary = new ByteArrayOutputStream();
+		assertEquals(4, BinaryResultsWriter.convert(new BufferedReader(new StringReader(CSV)), binary));
+		return binary.toByteArray();
+	}
+
+	@Test(expected = IOException.class)
+	/* Testing if an exception is thrown when a comma separated file is read as a binary file */
+	public void testReadCsvException() throws IOException{
+		new BinaryResultsReader(new ByteArrayInputStream(CSV.getBytes()));
+	}
+
+	@Test(expected = IOException.class)
+	/* Testing if an exception is thrown when a match refers to a team that was never written */
+	public void testUnknownTeamException() throws IOException{
+		BinaryResultsWriter writer = new BinaryResultsWriter(new ByteArrayOutputStream(), "Test", 1, 2);
+		writer.writeTeam(0, "Gotham City", "Dark Knights");
+		writer.writeTeam(0, "Metropolis", "Men of Steel");
+		writer.writeMatch(0, "Gotham City", 1, "Central City", 0);
+	}
+
+	@Test(expected = IOException.class)
+	/* Testing if an exception is thrown when a match has a negative number of goals */
+	public void testNegativeGoalsException() throws IOException{
+		BinaryResultsWriter writer = new BinaryResultsWriter(new ByteArrayOutputStream(), "Test", 1, 2);
+		writer.writeTeam(0, "Gotham City", "Dark Knights");
+		writer.writeTeam(0, "Metropolis", "Men of Steel");
+		writer.writeMatch(0, "Gotham City", -1, "Metropolis", 0);
+	}
+
+	@Test(expected = IOException.class)
+	/* Testing if an exception is thrown when a match has more goals than a team can score */
+	public void testTooManyGoalsException() throws IOException{
+		BinaryResultsWriter writer = new BinaryResultsWriter(new ByteArrayOutputStream(), "Test", 1, 2);
+		writer.writeTeam(0, "Gotham City", "Dark Knights");
+		writer.writeTeam(0, "Metropolis", "Men of Steel");
+		writer.writeMatch(0, "Gotham City", 1, "Metropolis", 21);
+	}
+
+	@Test(expected = IOException.class)
+	/* Testing if an exception is thrown when a team is written to a league outside the competition */
+	public void testNegativeLeagueException() throws IOException{
+		BinaryResultsWriter writer = new BinaryResultsWriter(new ByteArrayOutputStream(), "Test", 1, 2);
+		writer.writeTeam(-1, "Gotham City", "Dark Knights");
+	}
+
+	@Test(expected = IOException.class)
+	/* Testing if an exception is thrown when a comma separated file has a score that is not a number */
+	public void testMalformedCsvException() throws IOException{
+		BinaryResultsWriter.convert(new BufferedReader(new StringReader(CSV.replace("1,Metropolis,0", "one,Metropolis,0"))),
+				new ByteArrayOutputStream());
+	}
+
+	@Test
+	/* Testing the largest integer is read back from five bytes */
+	public void testVarintLargest() throws IOException{
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		Varint.write(bytes, Integer.MAX_VALUE);
+		assertEquals(5, bytes.size());
+		assertEquals(Integer.MAX_VALUE, Varint.read(new ByteArrayInputStream(bytes.toByteArray())));
+	}
+
+	@Test(expected = IOException.class)
+	/* Testing if an exception is thrown for a varint with more than five bytes */
+	public void testVarintTooLongException() throws IOException{
+		byte[] corrupt = {(byte) 0x80, (byte) 0x80, (byte) 0x80, (byte) 0x80, (byte) 0x80, 0x01};
+		Varint.read(new ByteArrayInputStream(corrupt));
+	}
+
+	@Test(expected = IOException.class)
+	/* Testing if an exception is thrown for a five byte varint that does not fit in a non-negative integer */
+	public void testVarintOverflowException() throws IOException{
+		byte[] corrupt = {(byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x0F};
+		Varint.read(new ByteArrayInputStream(corrupt));
+	}
+
+	@Test
+	/* Testing the binary file is smaller than the comma separated file */
+	public void testBinaryIsSmaller() throws IOException{
+		assertTrue(convert().length < CSV.length());
+	}
+
+	@Test
+	/* Testing a competition replayed from the binary file has the same standings as one read from the comma separated file */
+	public void testReplayMatchesCsv() throws Exception{
+		ByteArrayOutputStream fromCsv = new ByteArrayOutputStream();
+		SoccerCompetitionWizard.runCompetition(new BufferedReader(new StringReader(CSV)), new PrintStream(fromCsv));
+
+		BinaryResultsReader reader = new BinaryResultsReader(new ByteArrayInputStream(convert()));
+		SoccerCompetition competition = reader.createCompetition();
+		competition.startSeason();
+		assertEquals(4, reader.playResults(competition));
+		ByteArrayOutputStream fromBinary = new ByteArrayOutputStream();
+		competition.displayCompetitionStandings(new PrintStream(fromBinary));
+
+		String csvStandings = fromCsv.toString();
+		int start = csvStandings.indexOf("+++++", csvStandings.indexOf("Final Standings"));
+		assertEquals(csvStandings.substring(start, start + fromBinary.size()), fromBinary.toString());
+	}
+}
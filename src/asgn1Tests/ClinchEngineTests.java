@@ -0,0 +1,190 @@
+package asgn1Tests;
+import static org.junit.Assert.*;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import org.junit.Before;
+import org.junit.Test;
+import asgn1Exceptions.LeagueException;
+import asgn1Exceptions.TeamException;
+import asgn1SoccerCompetition.ClinchEngine;
+import asgn1SoccerCompetition.SoccerLeague;
+import asgn1SoccerCompetition.SoccerTeam;
+
+/**
+ * A set of JUnit tests for the asgn1SoccerCompetition.ClinchEngine class
+ *
+ * @author Oswald Doring
+ *
+ */
+public class ClinchEngineTests {
+
+	static final String[] NAMES = {"Central City", "Gotham City", "Metropolis", "Paradise Island"};
+	SoccerLeague testLeague;
+	ClinchEngine testEngine;
+
+	@Before /* Sets up a league of four teams with an engine and starts the season */
+	public void setup() throws LeagueException, TeamException{
+		testLeague = new SoccerLeague(4);
+		for (String name: NAMES) {
+			testLeague.registerTeam(new SoccerTeam(name, "Nick"));
+		}
+		testEngine = new ClinchEngine(testLeague);
+		testLeague.startNewSeason();
+	}
+
+	@Test(expected = LeagueException.class)
+	/* Testing if an exception is thrown when an engine is created mid season */
+	public void testCreateMidSeasonException() throws LeagueException{
+		new ClinchEngine(testLeague);
+	}
+
+	@Test(expected = LeagueException.class)
+	/* Testing if an exception is thrown when a team outside the league is queried */
+	public void testUnknownTeamException() throws LeagueException{
+		testEngine.hasClinchedPremiership("Smallville");
+	}
+
+	@Test
+	/* Testing nothing is decided at the start of a season */
+	public void testNothingDecidedAtStart() throws LeagueException{
+		for (String name: NAMES) {
+			assertFalse(testEngine.hasClinchedPremiership(name));
+			assertFalse(testEngine.isEliminatedFromPremiership(name));
+			assertFalse(testEngine.isCertainOfWoodenSpoon(name));
+			assertFalse(testEngine.isSafeFromWoodenSpoon(name));
+		}
+	}
+
+	@Test
+	/* Testing a team that wins all of its matches clinches before the season ends */
+	public void testClinchBeforeSeasonEnds() throws LeagueException{
+		testLeague.playMatch("Gotham City", 2, "Metropolis", 0);
+		testLeague.playMatch("Gotham City", 2, "Central City", 0);
+		testLeague.playMatch("Gotham City", 2, "Paradise Island", 0);
+		testLeague.playMatch("Metropolis", 0, "Gotham City", 2);
+		testLeague.playMatch("Central City", 0, "Gotham City", 2);
+		testLeague.playMatch("Central City", 1, "Metropolis", 1);
+		testLeague.playMatch("Paradise Island", 1, "Metropolis", 1);
+		assertEquals(1, testEngine.getRemainingMeetings("Gotham City", "Paradise Island"));
+		assertTrue(testEngine.hasClinchedPremiership("Gotham City"));
+		assertTrue(testEngine.isEliminatedFromPremiership("Metropolis"));
+		assertTrue(testEngine.isSafeFromWoodenSpoon("Gotham City"));
+	}
+
+	@Test
+	/* Testing every decided status against an exhaustive search of the remaining results */
+	public void testStatusesAreCertain() throws LeagueException{
+		Random random = new Random(302);
+		List<int[]> fixtures = new ArrayList<int[]>();
+		for (int home = 0; home < NAMES.length; home++) {
+			for (int away = 0; away < NAMES.length; away++) {
+				if (home != away) {
+					fixtures.add(new int[] {home, away});
+				}
+			}
+		}
+		java.util.Collections.shuffle(fixtures, random);
+		for (int played = 0; played < fixtures.size(); played++) {
+			int[] fixture = fixtures.get(played);
+			testLeague.playMatch(NAMES[fixture[0]], random.nextInt(4), NAMES[fixture[1]], random.nextInt(4));
+			int[] points = new int[NAMES.length];
+			for (int team = 0; team < NAMES.length; team++) {
+				points[team] = testLeague.getTeamByOfficalName(NAMES[team]).getCompetitionPoints();
+			}
+			List<int[]> rest = fixtures.subList(played + 1, fixtures.size());
+			for (int team = 0; team < NAMES.length; team++) {
+				boolean[] possible = possibleFinishes(team, points, rest);
+				if (testEngine.hasClinchedPremiership(NAMES[team])) {
+					assertFalse(possible[1]);
+				}
+				if (testEngine.isEliminatedFromPremiership(NAMES[team])) {
+					assertFalse(possible[0]);
+				}
+				if (testEngine.isCertainOfWoodenSpoon(NAMES[team])) {
+					assertFalse(possible[2]);
+				}
+				if (testEngine.isSafeFromWoodenSpoon(NAMES[team])) {
+					assertFalse(possible[3]);
+				}
+			}
+		}
+	}
+
+
+	@Test
+	/* Testing the engines can be updated on other threads while matches are played */
+	public void testUpdateDuringMatches() throws LeagueException, TeamException, InterruptedException{
+		SoccerLeague bigLeague = new SoccerLeague(20);
+		for (int team = 0; team < 20; team++) {
+			bigLeague.registerTeam(new SoccerTeam("Team " + team, "Nick " + team));
+		}
+		ClinchEngine bigEngine = new ClinchEngine(bigLeague);
+		bigLeague.startNewSeason();
+		List<ClinchEngine> engines = Arrays.asList(bigEngine, testEngine);
+		Thread updater = new Thread(() -> {
+			while (!bigLeague.isOffSeason()) {
+				ClinchEngine.updateAll(engines);
+			}
+		});
+		bigLeague.setAutoFinish(true);
+		updater.start();
+		for (int home = 0; home < 20; home++) {
+			for (int away = 0; away < 20; away++) {
+				if (home != away) {
+					bigLeague.playMatch("Team " + home, home % 3, "Team " + away, away % 2);
+				}
+			}
+		}
+		updater.join();
+		int best = 0;
+		for (int team = 0; team < 20; team++) {
+			best = Math.max(best, bigLeague.getTeamByOfficalName("Team " + team).getCompetitionPoints());
+		}
+		for (int team = 0; team < 20; team++) {
+			boolean behind = bigLeague.getTeamByOfficalName("Team " + team).getCompetitionPoints() < best;
+			assertEquals(behind, bigEngine.isEliminatedFromPremiership("Team " + team));
+		}
+	}
+	/*
+	 * Enumerates every result of the remaining fixtures and records whether a team can finish level or
+	 * above every other team, strictly below another team, level or above another team, and level or
+	 * below every other team.
+	 */
+	private boolean[] possibleFinishes(int team, int[] points, List<int[]> rest){
+		boolean[] possible = new boolean[4];
+		int outcomes = 1;
+		for (int i = 0; i < rest.size(); i++) {
+			outcomes *= 3;
+		}
+		for (int outcome = 0; outcome < outcomes; outcome++) {
+			int[] finals = Arrays.copyOf(points, points.length);
+			int code = outcome;
+			for (int[] fixture: rest) {
+				if (code % 3 == 0) {
+					finals[fixture[0]] += 3;
+				} else if (code % 3 == 1) {
+					finals[fixture[1]] += 3;
+				} else {
+					finals[fixture[0]]++;
+					finals[fixture[1]]++;
+				}
+				code /= 3;
+			}
+			boolean top = true;
+			boolean bottom = true;
+			for (int other = 0; other < finals.length; other++) {
+				if (other != team) {
+					top &= finals[team] >= finals[other];
+					bottom &= finals[team] <= finals[other];
+					possible[1] |= finals[other] >= finals[team];
+					possible[2] |= finals[team] >= finals[other];
+				}
+			}
+			possible[0] |= top;
+			possible[3] |= bottom;
+		}
+		return possible;
+	}
+}
@@ -0,0 +1,148 @@
+package asgn1Tests;
+import static org.junit.Assert.*;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.Map;
+import org.junit.Before;
+import org.junit.Test;
+import asgn1Exceptions.CompetitionException;
+import asgn1Exceptions.LeagueException;
+import asgn1Exceptions.TeamException;
+import asgn1SoccerCompetition.SoccerCompetition;
+import asgn1SoccerCompetition.SoccerLeague;
+import asgn1SoccerCompetition.SoccerTeam;
+import asgn1Wizards.ColumnarStatsReader;
+import asgn1Wizards.ColumnarStatsWriter;
+
+/**
+ * A set of JUnit tests for the asgn1Wizards.ColumnarStatsWriter and asgn1Wizards.ColumnarStatsReader classes
+ *
+ * @author Oswald Doring
+ *
+ */
+public class ColumnarStatsTests {
+
+	SoccerCompetition testCompetition;
+	ColumnarStatsWriter testWriter;
+	File testFile;
+
+	/* Plays every fixture of a league */
+	private void playSeason(SoccerLeague league, String[] names, int seed) throws LeagueException{
+		for (int home = 0; home < names.length; home++) {
+			for (int away = 0; away < names.length; away++) {
+				if (home != away) {
+					league.playMatch(names[home], (home * 7 + away * 3 + seed) % 4, names[away], (home + away * 5 + seed) % 3);
+				}
+			}
+		}
+	}
+
+	@Before /* Sets up a competition of two leagues, plays two seasons and exports both */
+	public void setup() throws CompetitionException, LeagueException, TeamException, IOException{
+		testCompetition = new SoccerCompetition("Test", 2, 3);
+		String[][] names = {{"Central City", "Gotham City", "Metropolis"}, {"Paradise Island", "Star City", "Coast City"}};
+		for (int leagueNum = 0; leagueNum < 2; leagueNum++) {
+			for (String name: names[leagueNum]) {
+				testCompetition.getLeague(leagueNum).registerTeam(new SoccerTeam(name, "Nick"));
+			}
+		}
+		testWriter = new ColumnarStatsWriter();
+		for (int season = 1; season <= 2; season++) {
+			testCompetition.startSeason();
+			for (int leagueNum = 0; leagueNum < 2; leagueNum++) {
+				SoccerLeague league = testCompetition.getLeague(leagueNum);
+				String[] current = new String[3];
+				for (int team = 0; team < 3; team++) {
+					current[team] = league.getStandings().get(team).getOfficialName();
+				}
+				playSeason(league, current, season);
+			}
+			testWriter.addSeason(season, testCompetition);
+			testCompetition.endSeason();
+		}
+		testFile = File.createTempFile("stats", ".scs");
+		testFile.deleteOnExit();
+		testWriter.write(testFile);
+	}
+
+	@Test
+	/* Testing every team of every season is read back as written */
+	public void testRoundTrip() throws IOException{
+		ColumnarStatsReader reader = new ColumnarStatsReader(testFile);
+		assertEquals(12, reader.getNumRows());
+		assertEquals(10, reader.getColumnNames().size());
+		for (int row = 0; row < reader.getNumRows(); row++) {
+			int played = reader.getInt("won", row) + reader.getInt("drawn", row) + reader.getInt("lost", row);
+			assertEquals(4, played);
+			assertEquals(3 * reader.getInt("won", row) + reader.getInt("drawn", row), reader.getInt("points", row));
+			assertEquals(5, reader.getString("form", row).length());
+		}
+		assertEquals(1, reader.getInt("season", 0));
+		assertEquals(1, reader.getInt("division", 11));
+	}
+
+	@Test
+	/* Testing the rows of a league follow the league's ranking */
+	public void testRankedRows() throws IOException{
+		ColumnarStatsReader reader = new ColumnarStatsReader(testFile);
+		for (int row = 1; row < 3; row++) {
+			assertTrue(reader.getInt("points", row - 1) >= reader.getInt("points", row));
+		}
+	}
+
+	@Test
+	/* Testing the parallel sums agree with a sum of every row */
+	public void testAggregates() throws IOException{
+		ColumnarStatsReader reader = new ColumnarStatsReader(testFile);
+		long points = 0;
+		for (int row = 0; row < reader.getNumRows(); row++) {
+			points += reader.getInt("points", row);
+		}
+		assertEquals(points, reader.sum("points"));
+		Map<Integer, Long> bySeason = reader.sumBy("season", "points");
+		assertEquals(2, bySeason.size());
+		assertEquals(points, bySeason.get(1) + bySeason.get(2));
+		Map<String, Long> byTeam = reader.sumByString("team", "points");
+		assertEquals(6, byTeam.size());
+		long total = 0;
+		for (long teamPoints: byTeam.values()) {
+			total += teamPoints;
+		}
+		assertEquals(points, total);
+	}
+
+	@Test
+	/* Testing sums over more rows than one chunk agree with a sum of every row */
+	public void testManyRows() throws CompetitionException, IOException{
+		SoccerLeague league = testCompetition.getLeague(0);
+		for (int season = 3; season < 30000; season++) {
+			testWriter.addSeason(season, 0, league);
+		}
+		testWriter.write(testFile);
+		ColumnarStatsReader reader = new ColumnarStatsReader(testFile);
+		assertEquals(12 + 3 * 29997, reader.getNumRows());
+		long goals = 0;
+		for (int row = 0; row < reader.getNumRows(); row++) {
+			goals += reader.getInt("goalsFor", row);
+		}
+		assertEquals(goals, reader.sum("goalsFor"));
+		assertEquals(29999, reader.sumBy("season", "goalsFor").size());
+		assertEquals(6, reader.sumByString("team", "goalsFor").size());
+	}
+
+	@Test(expected = IOException.class)
+	/* Testing if an exception is thrown for a file that is not a columnar statistics file */
+	public void testNotColumnarException() throws IOException{
+		try (FileOutputStream out = new FileOutputStream(testFile)) {
+			out.write("Test,1,4\n0,Gotham City,Dark Knights\n".getBytes());
+		}
+		new ColumnarStatsReader(testFile);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	/* Testing if an exception is thrown for a column that does not exist */
+	public void testUnknownColumnException() throws IOException{
+		new ColumnarStatsReader(testFile).sum("yellowCards");
+	}
+}
@@ -0,0 +1,139 @@
+package asgn1Tests;
+import static org.junit.Assert.*;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Test;
+import asgn1SoccerCompetition.SoccerLeague;
+import asgn1SoccerCompetition.SoccerTeam;
+import asgn1Wizards.SoccerCompetitionWizard;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+/**
+ * A set of JUnit tests for the flight recorder events of the competition operations
+ *
+ * @author Oswald Doring
+ *
+ */
+public class CompetitionEventsTests {
+
+	static final String[] EVENTS = {"asgn1.MatchPlayed", "asgn1.TeamsSorted", "asgn1.SeasonStarted", "asgn1.SeasonEnded",
+			"asgn1.CompetitionSeasonEnded", "asgn1.PromotionSwap", "asgn1.FileIngested"};
+
+	/* Runs an action in a recording with every competition event enabled and returns the events recorded */
+	private List<RecordedEvent> record(Runnable action) throws IOException{
+		Path dump = File.createTempFile("events", ".jfr").toPath();
+		dump.toFile().deleteOnExit();
+		try (Recording recording = new Recording()) {
+			for (String event: EVENTS) {
+				recording.enable(event);
+			}
+			recording.start();
+			action.run();
+			recording.stop();
+			recording.dump(dump);
+		}
+		return RecordingFile.readAllEvents(dump);
+	}
+
+	/* The events of one type */
+	private List<RecordedEvent> named(List<RecordedEvent> events, String name){
+		List<RecordedEvent> named = new ArrayList<RecordedEvent>();
+		for (RecordedEvent event: events) {
+			if (event.getEventType().getName().equals(name)) {
+				named.add(event);
+			}
+		}
+		return named;
+	}
+
+	@Test
+	/* Testing a competition file run by the wizard records its ingestion, seasons, matches and promotions */
+	public void testWizardEvents() throws IOException{
+		File file = File.createTempFile("competition", ".txt");
+		file.deleteOnExit();
+		try (FileWriter out = new FileWriter(file)) {
+			out.write(BinaryResultsFormatTests.CSV);
+		}
+		List<RecordedEvent> events = record(() -> {
+			try {
+				SoccerCompetitionWizard.runCompetition(file, new PrintStream(OutputStream.nullOutputStream()));
+			} catch (Exception e) {
+				throw new AssertionError(e);
+			}
+		});
+		List<RecordedEvent> ingested = named(events, "asgn1.FileIngested");
+		assertEquals(1, ingested.size());
+		assertEquals("text", ingested.get(0).getString("format"));
+		assertEquals(4, ingested.get(0).getInt("matches"));
+		assertEquals(2, ingested.get(0).getInt("leagues"));
+		assertEquals(file.length(), ingested.get(0).getLong("bytes"));
+
+		assertEquals(4, named(events, "asgn1.MatchPlayed").size());
+		assertEquals(4, named(events, "asgn1.SeasonStarted").size());
+		assertEquals(2, named(events, "asgn1.SeasonEnded").size());
+		assertEquals(1, named(events, "asgn1.CompetitionSeasonEnded").size());
+		assertFalse(named(events, "asgn1.TeamsSorted").isEmpty());
+
+		List<RecordedEvent> swaps = named(events, "asgn1.PromotionSwap");
+		assertEquals(1, swaps.size());
+		assertEquals(1, swaps.get(0).getInt("league"));
+		assertEquals("Paradise Island", swaps.get(0).getString("promoted"));
+		assertEquals("Metropolis", swaps.get(0).getString("relegated"));
+	}
+
+	@Test
+	/* Testing a match records its teams, score and league, with -1 for a league outside a competition */
+	public void testMatchEvent() throws Exception{
+		SoccerLeague league = new SoccerLeague(2);
+		league.registerTeam(new SoccerTeam("Gotham City", "Dark Knights"));
+		league.registerTeam(new SoccerTeam("Metropolis", "Men of Steel"));
+		league.startNewSeason();
+		List<RecordedEvent> events = record(() -> {
+			try {
+				league.playMatch("Gotham City", 3, "Metropolis", 1);
+			} catch (Exception e) {
+				throw new AssertionError(e);
+			}
+		});
+		List<RecordedEvent> matches = named(events, "asgn1.MatchPlayed");
+		assertEquals(1, matches.size());
+		RecordedEvent match = matches.get(0);
+		assertEquals(-1, match.getInt("league"));
+		assertEquals(2, match.getInt("teams"));
+		assertEquals("Gotham City", match.getString("homeTeam"));
+		assertEquals(3, match.getInt("homeGoals"));
+		assertEquals("Metropolis", match.getString("awayTeam"));
+		assertEquals(1, match.getInt("awayGoals"));
+		assertEquals(1, match.getInt("matches"));
+	}
+
+	@Test
+	/* Testing matches are only recorded when enabled, while seasons are recorded by any recording */
+	public void testMatchesDisabledByDefault() throws Exception{
+		SoccerLeague league = new SoccerLeague(2);
+		league.registerTeam(new SoccerTeam("Gotham City", "Dark Knights"));
+		league.registerTeam(new SoccerTeam("Metropolis", "Men of Steel"));
+		Path dump = File.createTempFile("events", ".jfr").toPath();
+		dump.toFile().deleteOnExit();
+		try (Recording recording = new Recording()) {
+			recording.start();
+			league.startNewSeason();
+			league.playMatch("Gotham City", 3, "Metropolis", 1);
+			league.sortTeams();
+			recording.stop();
+			recording.dump(dump);
+		}
+		List<RecordedEvent> events = RecordingFile.readAllEvents(dump);
+		assertEquals(1, named(events, "asgn1.SeasonStarted").size());
+		assertTrue(named(events, "asgn1.MatchPlayed").isEmpty());
+		assertTrue(named(events, "asgn1.TeamsSorted").isEmpty());
+	}
+}
@@ -0,0 +1,142 @@
+package asgn1Tests;
+import static org.junit.Assert.*;
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.HashSet;
+import java.util.Set;
+import org.junit.Test;
+import asgn1Exceptions.CompetitionException;
+import asgn1SoccerCompetition.SoccerLeague;
+import asgn1SoccerCompetition.SoccerTeam;
+import asgn1Wizards.CompetitionGenerator;
+import asgn1Wizards.SoccerCompetitionWizard;
+
+/**
+ * A set of JUnit tests for the asgn1Wizards.CompetitionGenerator class
+ *
+ * @author Oswald Doring
+ *
+ */
+public class CompetitionGeneratorTests {
+
+	/* Generates a competition file */
+	private String generate(CompetitionGenerator generator) throws Exception{
+		StringWriter out = new StringWriter();
+		generator.write(out);
+		return out.toString();
+	}
+
+	@Test(expected = CompetitionException.class)
+	/* Testing if an exception is thrown when a league has a single team */
+	public void testSingleTeamException() throws CompetitionException{
+		new CompetitionGenerator("Test", 1, 1, 1);
+	}
+
+	@Test(expected = CompetitionException.class)
+	/* Testing if an exception is thrown when the completeness is above one */
+	public void testCompletenessException() throws CompetitionException{
+		new CompetitionGenerator("Test", 1, 4, 1).setCompleteness(1.5);
+	}
+
+	@Test
+	/* Testing every ordered pair of teams meets exactly once in a complete season with an odd number of teams */
+	public void testCompleteSeason() throws Exception{
+		CompetitionGenerator generator = new CompetitionGenerator("Test", 2, 5, 1);
+		String[] lines = generate(generator).split("\n");
+		assertEquals("Test,2,5", lines[0]);
+		assertEquals(1 + 2 * 5 + 2 * 5 * 4, lines.length);
+		Set<String> fixtures = new HashSet<String>();
+		for (int line = 11; line < lines.length; line++) {
+			String[] match = lines[line].split(",");
+			assertNotEquals(match[1], match[3]);
+			assertTrue(fixtures.add(match[0] + "," + match[1] + "," + match[3]));
+		}
+	}
+
+	@Test
+	/* Testing no team plays twice in a round */
+	public void testOneMatchPerRound() throws Exception{
+		String[] lines = generate(new CompetitionGenerator("Test", 1, 6, 1)).split("\n");
+		for (int round = 0; round < 10; round++) {
+			Set<String> teams = new HashSet<String>();
+			for (int line = 7 + round * 3; line < 10 + round * 3; line++) {
+				String[] match = lines[line].split(",");
+				assertTrue(teams.add(match[1]));
+				assertTrue(teams.add(match[3]));
+			}
+		}
+	}
+
+	@Test
+	/* Testing the same seed produces the same file and another seed a different one */
+	public void testDeterministic() throws Exception{
+		CompetitionGenerator generator = new CompetitionGenerator("Test", 2, 8, 302);
+		generator.setCompleteness(0.5);
+		CompetitionGenerator same = new CompetitionGenerator("Test", 2, 8, 302);
+		same.setCompleteness(0.5);
+		CompetitionGenerator other = new CompetitionGenerator("Test", 2, 8, 303);
+		other.setCompleteness(0.5);
+		assertEquals(generate(generator), generate(same));
+		assertNotEquals(generate(generator), generate(other));
+	}
+
+	@Test
+	/* Testing no matches are written when the completeness is zero */
+	public void testNoFixtures() throws Exception{
+		CompetitionGenerator generator = new CompetitionGenerator("Test", 3, 4, 1);
+		generator.setCompleteness(0);
+		assertEquals(0, generator.write(new StringWriter()));
+	}
+
+	@Test
+	/* Testing the goal means shape the scores */
+	public void testGoalMeans() throws Exception{
+		CompetitionGenerator generator = new CompetitionGenerator("Test", 1, 20, 1);
+		generator.setGoalMeans(3, 0);
+		String[] lines = generate(generator).split("\n");
+		long homeGoals = 0;
+		for (int line = 21; line < lines.length; line++) {
+			String[] match = lines[line].split(",");
+			homeGoals += Integer.parseInt(match[2]);
+			assertEquals("0", match[4]);
+		}
+		assertEquals(3.0, (double) homeGoals / (lines.length - 21), 0.3);
+	}
+
+	@Test
+	/* Testing the goals generated never exceed 20, so every match of a high scoring file is replayed */
+	public void testGoalsAtMostTwenty() throws Exception{
+		CompetitionGenerator generator = new CompetitionGenerator("Test", 1, 30, 1);
+		generator.setGoalMeans(20, 20);
+		String[] lines = generate(generator).split("\n");
+		SoccerLeague league = new SoccerLeague(30);
+		for (int line = 1; line <= 30; line++) {
+			String[] team = lines[line].split(",");
+			league.registerTeam(new SoccerTeam(team[1], team[2]));
+		}
+		league.startNewSeason();
+		int most = 0;
+		for (int line = 31; line < lines.length; line++) {
+			String[] match = lines[line].split(",");
+			int homeGoals = Integer.parseInt(match[2]);
+			int awayGoals = Integer.parseInt(match[4]);
+			assertTrue(homeGoals <= CompetitionGenerator.MAX_GOALS && awayGoals <= CompetitionGenerator.MAX_GOALS);
+			most = Math.max(most, Math.max(homeGoals, awayGoals));
+			league.playMatch(match[1], homeGoals, match[3], awayGoals);
+		}
+		assertEquals(CompetitionGenerator.MAX_GOALS, most);
+		assertEquals(0, league.getFixturesRemaining());
+	}
+
+	@Test
+	/* Testing the wizard can run a generated competition */
+	public void testWizardRunsGeneratedFile() throws Exception{
+		String file = generate(new CompetitionGenerator("Generated Competition", 3, 6, 1));
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		SoccerCompetitionWizard.runCompetition(new BufferedReader(new StringReader(file)), new PrintStream(bytes, true));
+		assertTrue(bytes.toString().contains("Initial Standings - Season 2"));
+	}
+}
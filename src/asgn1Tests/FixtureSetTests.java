@@ -0,0 +1,87 @@
+package asgn1Tests;
+import static org.junit.Assert.*;
+import org.junit.Test;
+import asgn1SportsUtils.FixtureSet;
+
+/**
+ * A set of JUnit tests for the asgn1SportsUtils.FixtureSet class
+ *
+ * @author Oswald Doring
+ *
+ */
+public class FixtureSetTests {
+
+	@Test
+	/* Testing duplicate fixtures are rejected and the reverse fixture is separate */
+	public void testDuplicates() {
+		FixtureSet fixtures = new FixtureSet(100);
+		assertTrue(fixtures.add(3, 70));
+		assertFalse(fixtures.add(3, 70));
+		assertTrue(fixtures.contains(3, 70));
+		assertFalse(fixtures.contains(70, 3));
+		assertEquals(1, fixtures.getNumPlayed());
+	}
+
+	@Test
+	/* Testing a complete season of fixtures is detected */
+	public void testComplete() {
+		FixtureSet fixtures = new FixtureSet(65);
+		assertEquals(65 * 64, fixtures.getNumRemaining());
+		for (int home = 0; home < 65; home++) {
+			for (int away = 0; away < 65; away++) {
+				if (home != away) {
+					assertFalse(fixtures.isComplete());
+					fixtures.add(home, away);
+				}
+			}
+			assertEquals(2 * 64 - 64 - home, fixtures.getNumRemaining(home));
+		}
+		assertTrue(fixtures.isComplete());
+		assertEquals(0, fixtures.getNumRemaining(64));
+	}
+
+	@Test
+	/* Testing a large number of teams is held without a bitset of every fixture */
+	public void testManyTeams() {
+		FixtureSet fixtures = new FixtureSet(FixtureSet.MAX_DENSE_TEAMS * 64);
+		assertTrue(fixtures.add(0, FixtureSet.MAX_DENSE_TEAMS * 64 - 1));
+		assertFalse(fixtures.add(0, FixtureSet.MAX_DENSE_TEAMS * 64 - 1));
+		assertEquals(2L * (FixtureSet.MAX_DENSE_TEAMS * 64 - 1) - 1, fixtures.getNumRemaining(0));
+	}
+
+	@Test
+	/* Testing a copy is not changed by the set it was copied from */
+	public void testCopy() {
+		FixtureSet fixtures = new FixtureSet(4);
+		fixtures.add(0, 1);
+		FixtureSet copy = new FixtureSet(fixtures);
+		fixtures.add(1, 0);
+		assertTrue(copy.contains(0, 1));
+		assertFalse(copy.contains(1, 0));
+		assertEquals(1, copy.getNumPlayed());
+	}
+
+	@Test
+	/* Testing copies that share rows do not see each other's fixtures in those rows */
+	public void testSharedRows() {
+		FixtureSet fixtures = new FixtureSet(200);
+		fixtures.add(5, 150);
+		FixtureSet copy = new FixtureSet(fixtures);
+		FixtureSet copyOfCopy = new FixtureSet(copy);
+		fixtures.add(5, 151);
+		copy.add(5, 152);
+		copyOfCopy.add(5, 153);
+		assertTrue(fixtures.contains(5, 151) && !fixtures.contains(5, 152) && !fixtures.contains(5, 153));
+		assertTrue(copy.contains(5, 152) && !copy.contains(5, 151) && !copy.contains(5, 153));
+		assertTrue(copyOfCopy.contains(5, 153) && !copyOfCopy.contains(5, 151) && !copyOfCopy.contains(5, 152));
+		assertTrue(fixtures.contains(5, 150) && copy.contains(5, 150) && copyOfCopy.contains(5, 150));
+		assertFalse(copy.add(5, 150));
+		assertEquals(2, copyOfCopy.getNumPlayed());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	/* Testing if an exception is thrown when a team plays itself */
+	public void testSameTeamException() {
+		new FixtureSet(4).add(2, 2);
+	}
+}
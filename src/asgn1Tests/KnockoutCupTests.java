@@ -0,0 +1,189 @@
+package asgn1Tests;
+import static org.junit.Assert.*;
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.Before;
+import org.junit.Test;
+import asgn1Exceptions.CompetitionException;
+import asgn1Exceptions.LeagueException;
+import asgn1Exceptions.TeamException;
+import asgn1SoccerCompetition.KnockoutCup;
+import asgn1SoccerCompetition.SoccerCompetition;
+import asgn1SoccerCompetition.SoccerTeam;
+
+/**
+ * A set of JUnit tests for the asgn1SoccerCompetition.KnockoutCup class
+ *
+ * @author Oswald Doring
+ *
+ */
+public class KnockoutCupTests {
+
+	KnockoutCup testCup;
+
+	/* Enters a number of teams named Team 0, Team 1 and so on */
+	private void enter(int numTeams) throws TeamException, CompetitionException{
+		for (int team = 0; team < numTeams; team++) {
+			testCup.registerTeam(new SoccerTeam("Team " + team, "Nick " + team));
+		}
+	}
+
+	/* Plays the current round, with the first team of each match winning */
+	private int playFirstWins() throws CompetitionException{
+		int matches = testCup.getRoundFixtures().size();
+		int[] first = new int[matches];
+		int[] second = new int[matches];
+		Arrays.fill(first, 1);
+		return testCup.playRound(first, second);
+	}
+
+	@Before /* Sets up an empty cup */
+	public void setup(){
+		testCup = new KnockoutCup("Test Cup");
+	}
+
+	@Test
+	/* Testing eight teams play three rounds to a champion */
+	public void testFullBracket() throws TeamException, CompetitionException{
+		enter(8);
+		testCup.startSeason();
+		assertEquals(3, testCup.getNumRounds());
+		List<String[]> fixtures = testCup.getRoundFixtures();
+		assertEquals(4, fixtures.size());
+		assertArrayEquals(new String[] {"Team 0", "Team 7"}, fixtures.get(0));
+		testCup.playMatch("Team 7", 2, "Team 0", 1);
+		assertEquals(3, playFirstWins());
+		assertEquals(1, testCup.getCurrentRound());
+		assertArrayEquals(new String[] {"Team 7", "Team 1"}, testCup.getRoundFixtures().get(0));
+		playFirstWins();
+		playFirstWins();
+		assertEquals(3, testCup.getCurrentRound());
+		assertEquals("Team 7", testCup.getChampion().getOfficialName());
+		testCup.endSeason();
+		assertTrue(testCup.isOffSeason());
+	}
+
+	@Test
+	/* Testing the teams that entered first get the byes */
+	public void testByes() throws TeamException, CompetitionException{
+		enter(5);
+		testCup.startSeason();
+		List<String[]> fixtures = testCup.getRoundFixtures();
+		assertArrayEquals(new String[] {"Team 0", null}, fixtures.get(0));
+		assertArrayEquals(new String[] {"Team 3", "Team 4"}, fixtures.get(3));
+		assertEquals(1, playFirstWins());
+		assertArrayEquals(new String[] {"Team 0", "Team 1"}, testCup.getRoundFixtures().get(0));
+		assertArrayEquals(new String[] {"Team 2", "Team 3"}, testCup.getRoundFixtures().get(1));
+	}
+
+	@Test
+	/* Testing the teams of a league enter as the same team objects, without changing their statistics */
+	public void testRegisterLeague() throws CompetitionException, LeagueException, TeamException{
+		SoccerCompetition competition = new SoccerCompetition("Test", 1, 2);
+		SoccerTeam gotham = new SoccerTeam("Gotham City", "Dark Knights");
+		competition.getLeague(0).registerTeam(gotham);
+		competition.getLeague(0).registerTeam(new SoccerTeam("Metropolis", "Men of Steel"));
+		testCup.registerLeague(competition.getLeague(0));
+		testCup.startSeason();
+		testCup.playMatch("Gotham City", 3, "Metropolis", 2);
+		assertSame(gotham, testCup.getChampion());
+		assertEquals(0, gotham.getCompetitionPoints());
+	}
+
+	@Test
+	/* Testing the standings show every round reached and the champion */
+	public void testDisplay() throws TeamException, CompetitionException{
+		enter(4);
+		testCup.startSeason();
+		playFirstWins();
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		testCup.displayCompetitionStandings(new PrintStream(out));
+		String[] lines = out.toString().split(System.lineSeparator());
+		assertEquals("+++++Test Cup+++++", lines[0]);
+		assertEquals("Team 0\t1\tTeam 3\t0\tTeam 0", lines[3]);
+		assertEquals("Team 0\t-\tTeam 1\t-\t-", lines[7]);
+		playFirstWins();
+		out.reset();
+		testCup.displayCompetitionStandings(new PrintStream(out));
+		assertTrue(out.toString().endsWith("The champions are the Nick 0" + System.lineSeparator()));
+	}
+
+	@Test
+	/* Testing a large open cup is played to a champion in batches */
+	public void testLargeCup() throws TeamException, CompetitionException{
+		enter(100000);
+		testCup.startSeason();
+		assertEquals(17, testCup.getNumRounds());
+		int rounds = 0;
+		while (testCup.getCurrentRound() < testCup.getNumRounds()) {
+			playFirstWins();
+			rounds++;
+		}
+		assertEquals(17, rounds);
+		assertEquals("Team 0", testCup.getChampion().getOfficialName());
+	}
+
+	@Test
+	/* Testing a round with an invalid score plays none of its matches */
+	public void testInvalidRoundPlaysNothing() throws TeamException, CompetitionException{
+		enter(4);
+		testCup.startSeason();
+		try {
+			testCup.playRound(new int[] {1, 2}, new int[] {0, 2});
+			fail();
+		} catch (CompetitionException e) {
+			assertEquals(2, testCup.getRoundFixtures().size());
+			assertEquals(0, testCup.getCurrentRound());
+		}
+	}
+
+	@Test(expected = CompetitionException.class)
+	/* Testing if an exception is thrown for a drawn match */
+	public void testDrawException() throws TeamException, CompetitionException{
+		enter(2);
+		testCup.startSeason();
+		testCup.playMatch("Team 0", 1, "Team 1", 1);
+	}
+
+	@Test(expected = CompetitionException.class)
+	/* Testing if an exception is thrown for teams that are not drawn against each other */
+	public void testNotDrawnException() throws TeamException, CompetitionException{
+		enter(4);
+		testCup.startSeason();
+		testCup.playMatch("Team 0", 1, "Team 1", 0);
+	}
+
+	@Test(expected = CompetitionException.class)
+	/* Testing if an exception is thrown for a team that has been knocked out */
+	public void testKnockedOutException() throws TeamException, CompetitionException{
+		enter(4);
+		testCup.startSeason();
+		playFirstWins();
+		testCup.playMatch("Team 3", 1, "Team 1", 0);
+	}
+
+	@Test(expected = CompetitionException.class)
+	/* Testing if an exception is thrown for a team entering twice */
+	public void testDuplicateException() throws TeamException, CompetitionException{
+		enter(2);
+		testCup.registerTeam(new SoccerTeam("Team 1", "Another"));
+	}
+
+	@Test(expected = CompetitionException.class)
+	/* Testing if an exception is thrown for a team entering once the season has started */
+	public void testEnterInSeasonException() throws TeamException, CompetitionException{
+		enter(2);
+		testCup.startSeason();
+		enter(3);
+	}
+
+	@Test(expected = CompetitionException.class)
+	/* Testing if an exception is thrown for a champion before the final */
+	public void testNoChampionException() throws TeamException, CompetitionException{
+		enter(2);
+		testCup.startSeason();
+		testCup.getChampion();
+	}
+}
@@ -0,0 +1,119 @@
+package asgn1Tests;
+import static org.junit.Assert.*;
+import java.util.Arrays;
+import org.junit.Before;
+import org.junit.Test;
+import asgn1Exceptions.CompetitionException;
+import asgn1Exceptions.LeagueException;
+import asgn1Exceptions.TeamException;
+import asgn1SoccerCompetition.SoccerCompetition;
+import asgn1SoccerCompetition.SoccerLeague;
+import asgn1SoccerCompetition.SoccerTeam;
+
+/**
+ * A set of JUnit tests for SoccerLeague.getDigest, SoccerCompetition.getDigest and the 
+ * asgn1SoccerCompetition.LeagueDigest class
+ *
+ * @author Oswald Doring
+ *
+ */
+public class LeagueDigestTests {
+
+	static final String[] NAMES = {"Central City", "Gotham City", "Metropolis", "Paradise Island", "Asgard City",
+			"Canadian", "Smallville", "Star City"};
+	SoccerLeague firstLeague, secondLeague;
+
+	@Before /* Sets up two copies of a league of eight teams */
+	public void setup() throws LeagueException, TeamException{
+		firstLeague = createLeague();
+		secondLeague = createLeague();
+	}
+
+	private SoccerLeague createLeague() throws LeagueException, TeamException{
+		SoccerLeague league = new SoccerLeague(NAMES.length);
+		for (String name: NAMES) {
+			league.registerTeam(new SoccerTeam(name, "Nick"));
+		}
+		league.startNewSeason();
+		return league;
+	}
+
+	@Test
+	/* Testing leagues that play the same matches have the same digest */
+	public void testSameMatchesAgree() throws LeagueException{
+		for (SoccerLeague league: Arrays.asList(firstLeague, secondLeague)) {
+			league.playMatch("Gotham City", 2, "Metropolis", 1);
+			league.playMatch("Smallville", 0, "Star City", 0);
+		}
+		assertEquals(firstLeague.getDigest().getRoot(), secondLeague.getDigest().getRoot());
+		assertTrue(firstLeague.getDigest().findDifferingTeams(secondLeague.getDigest()).isEmpty());
+	}
+
+	@Test
+	/* Testing the teams of a differing result are located */
+	public void testDifferentResultLocated() throws LeagueException{
+		firstLeague.playMatch("Smallville", 0, "Star City", 0);
+		secondLeague.playMatch("Smallville", 0, "Star City", 0);
+		firstLeague.playMatch("Gotham City", 2, "Metropolis", 1);
+		secondLeague.playMatch("Gotham City", 2, "Metropolis", 2);
+		assertNotEquals(firstLeague.getDigest().getRoot(), secondLeague.getDigest().getRoot());
+		assertTrue(firstLeague.getDigest().findDifferingTeams(secondLeague.getDigest())
+				.containsAll(Arrays.asList("Gotham City", "Metropolis")));
+		assertFalse(firstLeague.getDigest().findDifferingTeams(secondLeague.getDigest()).contains("Smallville"));
+	}
+
+	@Test
+	/* Testing a new season returns the digest to that of a league that has not played */
+	public void testNewSeasonResetsDigest() throws LeagueException{
+		firstLeague.playMatch("Gotham City", 2, "Metropolis", 1);
+		firstLeague.endSeason();
+		firstLeague.startNewSeason();
+		assertEquals(secondLeague.getDigest().getRoot(), firstLeague.getDigest().getRoot());
+		firstLeague.playMatch("Canadian", 1, "Asgard City", 0);
+		secondLeague.playMatch("Canadian", 1, "Asgard City", 0);
+		assertEquals(secondLeague.getDigest().getRoot(), firstLeague.getDigest().getRoot());
+	}
+
+	@Test
+	/* Testing a digest does not depend on the order teams were registered in */
+	public void testRegistrationOrder() throws LeagueException, TeamException{
+		SoccerLeague reversed = new SoccerLeague(NAMES.length);
+		for (int team = NAMES.length - 1; team >= 0; team--) {
+			reversed.registerTeam(new SoccerTeam(NAMES[team], "Nick"));
+		}
+		reversed.startNewSeason();
+		assertEquals(firstLeague.getDigest().getRoot(), reversed.getDigest().getRoot());
+	}
+
+	@Test
+	/* Testing a match played in a fork does not change the digest of the original league */
+	public void testForkDigest() throws LeagueException{
+		long before = firstLeague.getDigest().getRoot();
+		SoccerLeague fork = firstLeague.fork();
+		fork.playMatch("Gotham City", 2, "Metropolis", 1);
+		assertEquals(before, firstLeague.getDigest().getRoot());
+		secondLeague.playMatch("Gotham City", 2, "Metropolis", 1);
+		assertEquals(secondLeague.getDigest().getRoot(), fork.getDigest().getRoot());
+	}
+
+	@Test
+	/* Testing competitions agree until one of their leagues differs */
+	public void testCompetitionDigest() throws CompetitionException, LeagueException, TeamException{
+		SoccerCompetition first = new SoccerCompetition("Test", 2, 2);
+		SoccerCompetition second = new SoccerCompetition("Test", 2, 2);
+		for (SoccerCompetition competition: Arrays.asList(first, second)) {
+			for (int team = 0; team < 4; team++) {
+				competition.getLeague(team / 2).registerTeam(new SoccerTeam(NAMES[team], "Nick"));
+			}
+			competition.startSeason();
+			competition.getLeague(0).playMatch(NAMES[0], 1, NAMES[1], 0);
+		}
+		assertEquals(first.getDigest(), second.getDigest());
+		first.getLeague(1).playMatch(NAMES[2], 1, NAMES[3], 0);
+		assertNotEquals(first.getDigest(), second.getDigest());
+		first.endSeason();
+		second.getLeague(1).playMatch(NAMES[2], 1, NAMES[3], 0);
+		second.endSeason();
+		assertEquals(first.getDigest(), second.getDigest());
+	}
+}
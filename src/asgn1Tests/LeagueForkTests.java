@@ -0,0 +1,97 @@
+package asgn1Tests;
+import static org.junit.Assert.*;
+import org.junit.Before;
+import org.junit.Test;
+import asgn1Exceptions.CompetitionException;
+import asgn1Exceptions.LeagueException;
+import asgn1Exceptions.TeamException;
+import asgn1SoccerCompetition.SoccerCompetition;
+import asgn1SoccerCompetition.SoccerLeague;
+import asgn1SoccerCompetition.SoccerTeam;
+
+/**
+ * A set of JUnit tests for SoccerLeague.fork and SoccerCompetition.fork
+ *
+ * @author Oswald Doring
+ *
+ */
+public class LeagueForkTests {
+
+	SoccerLeague testLeague;
+
+	@Before /* Sets up a league of four teams and plays a match */
+	public void setup() throws LeagueException, TeamException{
+		testLeague = new SoccerLeague(4);
+		testLeague.registerTeam(new SoccerTeam("Central City", "Speedsters"));
+		testLeague.registerTeam(new SoccerTeam("Gotham City", "Dark Knights"));
+		testLeague.registerTeam(new SoccerTeam("Metropolis", "Men of Steel"));
+		testLeague.registerTeam(new SoccerTeam("Paradise Island", "Wicked Wonders"));
+		testLeague.startNewSeason();
+		testLeague.playMatch("Gotham City", 2, "Metropolis", 1);
+	}
+
+	@Test
+	/* Testing a fork starts with the state of the league it was forked from */
+	public void testForkSharesState() throws LeagueException{
+		SoccerLeague fork = testLeague.fork();
+		assertFalse(fork.isOffSeason());
+		assertEquals(4, fork.getRegisteredNumTeams());
+		assertEquals(3, fork.getTeamByOfficalName("Gotham City").getCompetitionPoints());
+		assertSame(testLeague.getTeamByOfficalName("Central City"), fork.getTeamByOfficalName("Central City"));
+	}
+
+	@Test
+	/* Testing a match played in a fork is not seen by the original league */
+	public void testForkMatchIsolated() throws LeagueException{
+		SoccerLeague fork = testLeague.fork();
+		fork.playMatch("Metropolis", 3, "Gotham City", 0);
+		assertEquals(3, fork.getTeamByOfficalName("Metropolis").getCompetitionPoints());
+		assertEquals(0, testLeague.getTeamByOfficalName("Metropolis").getCompetitionPoints());
+		assertEquals("LW---", fork.getTeamByOfficalName("Gotham City").getFormString());
+		assertEquals("W----", testLeague.getTeamByOfficalName("Gotham City").getFormString());
+		// Teams that did not play are still shared
+		assertSame(testLeague.getTeamByOfficalName("Central City"), fork.getTeamByOfficalName("Central City"));
+	}
+
+	@Test
+	/* Testing a match played in the original league is not seen by a fork */
+	public void testOriginalMatchIsolated() throws LeagueException{
+		SoccerLeague fork = testLeague.fork();
+		testLeague.playMatch("Central City", 1, "Paradise Island", 0);
+		assertEquals(3, testLeague.getTeamByOfficalName("Central City").getCompetitionPoints());
+		assertEquals(0, fork.getTeamByOfficalName("Central City").getCompetitionPoints());
+	}
+
+	@Test
+	/* Testing forks of forks stay independent of each other */
+	public void testNestedForks() throws LeagueException{
+		SoccerLeague first = testLeague.fork();
+		SoccerLeague second = first.fork();
+		first.playMatch("Central City", 1, "Paradise Island", 0);
+		second.playMatch("Central City", 0, "Paradise Island", 1);
+		assertEquals(3, first.getTeamByOfficalName("Central City").getCompetitionPoints());
+		assertEquals(0, second.getTeamByOfficalName("Central City").getCompetitionPoints());
+		assertEquals(3, second.getTeamByOfficalName("Paradise Island").getCompetitionPoints());
+		assertEquals(0, testLeague.getTeamByOfficalName("Paradise Island").getCompetitionPoints());
+	}
+
+	@Test
+	/* Testing promotion and relegation in a forked competition leaves the original competition untouched */
+	public void testCompetitionFork() throws LeagueException, TeamException, CompetitionException{
+		SoccerCompetition competition = new SoccerCompetition("Test", 2, 2);
+		competition.getLeague(0).registerTeam(new SoccerTeam("Central City", "Speedsters"));
+		competition.getLeague(0).registerTeam(new SoccerTeam("Gotham City", "Dark Knights"));
+		competition.getLeague(1).registerTeam(new SoccerTeam("Metropolis", "Men of Steel"));
+		competition.getLeague(1).registerTeam(new SoccerTeam("Paradise Island", "Wicked Wonders"));
+		competition.startSeason();
+		competition.getLeague(1).playMatch("Paradise Island", 2, "Metropolis", 0);
+		SoccerCompetition fork = competition.fork();
+		fork.getLeague(0).playMatch("Gotham City", 2, "Central City", 0);
+		fork.endSeason();
+		assertTrue(fork.getLeague(0).containsTeam("Paradise Island"));
+		assertTrue(fork.getLeague(1).containsTeam("Central City"));
+		assertTrue(competition.getLeague(0).containsTeam("Central City"));
+		assertTrue(competition.getLeague(1).containsTeam("Paradise Island"));
+		assertEquals(0, competition.getLeague(0).getTeamByOfficalName("Gotham City").getCompetitionPoints());
+	}
+}
@@ -0,0 +1,138 @@
+package asgn1Tests;
+import static org.junit.Assert.*;
+import org.junit.Before;
+import org.junit.Test;
+import asgn1Exceptions.LeagueException;
+import asgn1Exceptions.TeamException;
+import asgn1SoccerCompetition.RatingEngine;
+import asgn1SoccerCompetition.SoccerLeague;
+import asgn1SoccerCompetition.SoccerTeam;
+import asgn1SportsUtils.Venue;
+import asgn1SportsUtils.WLD;
+
+/**
+ * A set of JUnit tests for SoccerLeague.correctMatch
+ *
+ * @author Oswald Doring
+ *
+ */
+public class MatchCorrectionTests {
+
+	SoccerLeague testLeague;
+	SoccerLeague expectedLeague;
+
+	/* Creates a league of four teams with its season started */
+	private SoccerLeague createLeague() throws LeagueException, TeamException{
+		SoccerLeague league = new SoccerLeague(4);
+		league.registerTeam(new SoccerTeam("Central City", "Speedsters"));
+		league.registerTeam(new SoccerTeam("Gotham City", "Dark Knights"));
+		league.registerTeam(new SoccerTeam("Metropolis", "Men of Steel"));
+		league.registerTeam(new SoccerTeam("Paradise Island", "Wicked Wonders"));
+		league.startNewSeason();
+		return league;
+	}
+
+	/* Plays the same matches in both leagues, except for one score */
+	private void playMatches(SoccerLeague league, int gothamGoals, int metropolisGoals) throws LeagueException{
+		league.playMatch("Gotham City", 1, "Central City", 0);
+		league.playMatch("Gotham City", gothamGoals, "Metropolis", metropolisGoals);
+		league.playMatch("Paradise Island", 2, "Central City", 2);
+		league.playMatch("Metropolis", 0, "Gotham City", 3);
+		league.playMatch("Central City", 1, "Gotham City", 0);
+	}
+
+	@Before /* Sets up a league with a wrong score and a league with the right score */
+	public void setup() throws LeagueException, TeamException{
+		testLeague = createLeague();
+		playMatches(testLeague, 0, 2);
+		expectedLeague = createLeague();
+		playMatches(expectedLeague, 4, 1);
+	}
+
+	@Test
+	/* Testing a corrected league matches a league that played the right score */
+	public void testCorrectionMatchesReplay() throws LeagueException{
+		testLeague.correctMatch("Gotham City", 4, "Metropolis", 1);
+		for (String name: new String[] {"Central City", "Gotham City", "Metropolis", "Paradise Island"}) {
+			assertEquals(expectedLeague.getTeamByOfficalName(name).getTeamDetails(), testLeague.getTeamByOfficalName(name).getTeamDetails());
+		}
+		assertEquals(expectedLeague.getDigest().getRoot(), testLeague.getDigest().getRoot());
+		assertEquals(expectedLeague.getLeagueTable(), testLeague.getLeagueTable());
+	}
+
+	@Test
+	/* Testing the form over every window and venue is rebuilt */
+	public void testFormRebuilt() throws LeagueException{
+		testLeague.correctMatch("Gotham City", 4, "Metropolis", 1);
+		SoccerTeam gotham = testLeague.getTeamByOfficalName("Gotham City");
+		SoccerTeam expected = expectedLeague.getTeamByOfficalName("Gotham City");
+		for (Venue venue: Venue.values()) {
+			assertEquals(expected.getFormString(10, venue), gotham.getFormString(10, venue));
+			assertEquals(expected.getWinStreak(venue), gotham.getWinStreak(venue));
+			assertEquals(expected.getUnbeatenStreak(venue), gotham.getUnbeatenStreak(venue));
+			assertEquals(expected.getFormCount(WLD.WIN, Integer.MAX_VALUE, venue), gotham.getFormCount(WLD.WIN, Integer.MAX_VALUE, venue));
+		}
+	}
+
+	@Test
+	/* Testing a correction of the last match replaces the last goals */
+	public void testCorrectLastMatch() throws LeagueException{
+		testLeague.correctMatch("Central City", 3, "Gotham City", 3);
+		assertEquals(3, testLeague.getTeamByOfficalName("Central City").getGoalsScoredSeason());
+		assertEquals(3, testLeague.getTeamByOfficalName("Gotham City").getGoalsConcededSeason());
+		assertEquals(1, testLeague.getTeamByOfficalName("Gotham City").getMatchesDrawn());
+	}
+
+	@Test
+	/* Testing a correction can be corrected again and back to the original score */
+	public void testCorrectTwice() throws LeagueException{
+		long original = testLeague.getDigest().getRoot();
+		testLeague.correctMatch("Gotham City", 4, "Metropolis", 1);
+		testLeague.correctMatch("Gotham City", 0, "Metropolis", 2);
+		assertEquals(original, testLeague.getDigest().getRoot());
+	}
+
+	@Test
+	/* Testing a correction in a fork does not change the league it was forked from */
+	public void testCorrectionInFork() throws LeagueException{
+		long original = testLeague.getDigest().getRoot();
+		SoccerLeague fork = testLeague.fork();
+		fork.correctMatch("Gotham City", 4, "Metropolis", 1);
+		assertEquals(original, testLeague.getDigest().getRoot());
+		assertEquals(expectedLeague.getDigest().getRoot(), fork.getDigest().getRoot());
+	}
+
+	@Test
+	/* Testing ratings are recomputed with the corrected score */
+	public void testRatingsRecomputed() throws LeagueException, TeamException{
+		SoccerLeague league = createLeague();
+		RatingEngine ratings = new RatingEngine(league);
+		playMatches(league, 0, 2);
+		SoccerLeague expected = createLeague();
+		RatingEngine expectedRatings = new RatingEngine(expected);
+		playMatches(expected, 4, 1);
+		league.correctMatch("Gotham City", 4, "Metropolis", 1);
+		assertEquals(expectedRatings.getRating("Gotham City"), ratings.getRating("Gotham City"), 1e-9);
+		assertEquals(expectedRatings.getRating("Metropolis"), ratings.getRating("Metropolis"), 1e-9);
+	}
+
+	@Test(expected = LeagueException.class)
+	/* Testing if an exception is thrown when the teams have not met at the home ground */
+	public void testUnknownMatchException() throws LeagueException{
+		testLeague.correctMatch("Central City", 1, "Metropolis", 0);
+	}
+
+	@Test(expected = LeagueException.class)
+	/* Testing if an exception is thrown when the corrected score is unrealistic */
+	public void testUnrealisticScoreException() throws LeagueException{
+		testLeague.correctMatch("Gotham City", 21, "Metropolis", 1);
+	}
+
+	@Test(expected = LeagueException.class)
+	/* Testing if an exception is thrown when correcting a match of the last season */
+	public void testNewSeasonForgetsMatches() throws LeagueException{
+		testLeague.endSeason();
+		testLeague.startNewSeason();
+		testLeague.correctMatch("Gotham City", 4, "Metropolis", 1);
+	}
+}
@@ -0,0 +1,211 @@
+package asgn1Tests;
+import static org.junit.Assert.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.Before;
+import org.junit.Test;
+import asgn1Exceptions.LeagueException;
+import asgn1Exceptions.TeamException;
+import asgn1SoccerCompetition.MatchRound;
+import asgn1SoccerCompetition.SoccerLeague;
+import asgn1SoccerCompetition.SoccerTeam;
+import asgn1SoccerCompetition.TeamStanding;
+
+/**
+ * A set of JUnit tests for the asgn1SoccerCompetition.MatchRound class and SoccerLeague.commitRound
+ *
+ * @author Oswald Doring
+ *
+ */
+public class MatchRoundTests {
+
+	static final int NUM_TEAMS = 8;
+	SoccerLeague testLeague;
+	String[] names = new String[NUM_TEAMS];
+
+	@Before /* Sets up a league of eight teams with a season started */
+	public void setup() throws LeagueException, TeamException{
+		testLeague = new SoccerLeague(NUM_TEAMS);
+		for (int team = 0; team < NUM_TEAMS; team++) {
+			names[team] = "Team " + team;
+			testLeague.registerTeam(new SoccerTeam(names[team], "Nick " + team));
+		}
+		testLeague.startNewSeason();
+	}
+
+	/* Stages a round of the double round robin by the circle method, in which every team plays once */
+	private MatchRound round(int round){
+		MatchRound matchday = testLeague.beginRound();
+		for (int pair = 0; pair < NUM_TEAMS / 2; pair++) {
+			int first = pair == 0 ? 0 : 1 + (round + pair - 1) % (NUM_TEAMS - 1);
+			int second = 1 + (round + NUM_TEAMS - 2 - pair) % (NUM_TEAMS - 1);
+			boolean swap = round >= NUM_TEAMS - 1;
+			try {
+				matchday.addResult(names[swap ? second : first], (round + pair) % 3, names[swap ? first : second], pair % 2);
+			} catch (LeagueException e) {
+				throw new AssertionError(e);
+			}
+		}
+		return matchday;
+	}
+
+	@Test
+	/* Testing a committed round applies every result and ranks the teams */
+	public void testCommit() throws LeagueException{
+		MatchRound matchday = testLeague.beginRound();
+		matchday.addResult("Team 3", 2, "Team 4", 0);
+		matchday.addResult("Team 5", 1, "Team 6", 1);
+		assertEquals(2, matchday.getNumResults());
+		matchday.commit();
+		assertTrue(matchday.isCommitted());
+		assertEquals("Team 3", testLeague.getTopTeam().getOfficialName());
+		assertEquals("Team 3", testLeague.getStandings().get(0).getOfficialName());
+		assertEquals(1, testLeague.getTeamByOfficalName("Team 6").getCompetitionPoints());
+		assertTrue(testLeague.hasPlayed("Team 5", "Team 6"));
+	}
+
+	@Test
+	/* Testing a round with an invalid result applies none of its results */
+	public void testInvalidRoundAppliesNothing() throws LeagueException{
+		long digest = testLeague.getDigest().getRoot();
+		MatchRound matchday = testLeague.beginRound();
+		matchday.addResult("Team 0", 2, "Team 1", 0);
+		matchday.addResult("Team 2", 21, "Team 3", 0);
+		try {
+			matchday.commit();
+			fail();
+		} catch (LeagueException e) {
+			assertFalse(matchday.isCommitted());
+		}
+		assertEquals(digest, testLeague.getDigest().getRoot());
+		assertFalse(testLeague.hasPlayed("Team 0", "Team 1"));
+		assertEquals(0, testLeague.getTeamByOfficalName("Team 0").getCompetitionPoints());
+	}
+
+	@Test(expected = LeagueException.class)
+	/* Testing if an exception is thrown for a fixture that appears twice in a round */
+	public void testDuplicateFixtureException() throws LeagueException{
+		MatchRound matchday = testLeague.beginRound();
+		matchday.addResult("Team 0", 2, "Team 1", 0);
+		matchday.addResult("Team 0", 1, "Team 1", 1);
+		matchday.commit();
+	}
+
+	@Test(expected = LeagueException.class)
+	/* Testing if an exception is thrown for a fixture that has already been played */
+	public void testPlayedFixtureException() throws LeagueException{
+		testLeague.playMatch("Team 0", 2, "Team 1", 0);
+		MatchRound matchday = testLeague.beginRound();
+		matchday.addResult("Team 0", 1, "Team 1", 1);
+		matchday.commit();
+	}
+
+	@Test(expected = LeagueException.class)
+	/* Testing if an exception is thrown for a team that is not in the league */
+	public void testUnknownTeamException() throws LeagueException{
+		MatchRound matchday = testLeague.beginRound();
+		matchday.addResult("Team 0", 1, "Gotham City", 1);
+		matchday.commit();
+	}
+
+	@Test(expected = LeagueException.class)
+	/* Testing if an exception is thrown for a round committed twice */
+	public void testCommittedTwiceException() throws LeagueException{
+		MatchRound matchday = round(0);
+		matchday.commit();
+		matchday.commit();
+	}
+
+	@Test(expected = LeagueException.class)
+	/* Testing if an exception is thrown for a round of another league */
+	public void testOtherLeagueException() throws LeagueException{
+		new SoccerLeague(NUM_TEAMS).commitRound(round(0));
+	}
+
+	@Test
+	/* Testing the season ends once after the last round when the league finishes by itself */
+	public void testAutoFinish() throws LeagueException{
+		testLeague.setAutoFinish(true);
+		for (int round = 0; round < 2 * (NUM_TEAMS - 1); round++) {
+			round(round).commit();
+		}
+		assertTrue(testLeague.isOffSeason());
+	}
+
+	@Test
+	/* Testing a reader on another thread only sees whole rounds */
+	public void testReadersSeeWholeRounds() throws InterruptedException{
+		AtomicReference<String> failure = new AtomicReference<String>();
+		AtomicBoolean done = new AtomicBoolean();
+		Thread reader = new Thread(() -> {
+			// Keeps reading through every season change until the writer is done
+			while (!done.get() && failure.get() == null) {
+				int played = -1;
+				for (TeamStanding standing: testLeague.getStandings()) {
+					int teamPlayed = standing.getMatchesWon() + standing.getMatchesDrawn() + standing.getMatchesLost();
+					if (played >= 0 && teamPlayed != played) {
+						failure.set("Saw part of a round: " + played + " and " + teamPlayed);
+					}
+					played = teamPlayed;
+				}
+			}
+		});
+		testLeague.setAutoFinish(true);
+		reader.start();
+		try {
+			for (int season = 0; season < 50; season++) {
+				for (int round = 0; round < 2 * (NUM_TEAMS - 1); round++) {
+					round(round).commit();
+				}
+				testLeague.startNewSeason();
+			}
+		} catch (LeagueException e) {
+			failure.set(e.getMessage());
+		}
+		done.set(true);
+		reader.join();
+		assertNull(failure.get());
+	}
+
+	@Test
+	/* Testing the secondary indexes and fixtures can be read whilst rounds and new seasons are applied */
+	public void testIndexReadersDuringRounds() throws InterruptedException{
+		AtomicReference<String> failure = new AtomicReference<String>();
+		AtomicBoolean done = new AtomicBoolean();
+		Thread reader = new Thread(() -> {
+			try {
+				while (!done.get() && failure.get() == null) {
+					int found = testLeague.getTeamsByPoints(0, Integer.MAX_VALUE).size();
+					if (found != NUM_TEAMS) {
+						failure.set("Found " + found + " teams by points");
+					}
+					if (testLeague.getTeamsByGoalDifference(Integer.MIN_VALUE, Integer.MAX_VALUE).size() != NUM_TEAMS
+							|| testLeague.getTeamsByNickName("Nick 3").size() != 1) {
+						failure.set("An index lost a team");
+					}
+					if (testLeague.getFixturesRemaining(names[0]) > testLeague.getFixturesRemaining()) {
+						failure.set("A team has more fixtures left than the league");
+					}
+					testLeague.hasPlayed(names[1], names[2]);
+				}
+			} catch (LeagueException | RuntimeException e) {
+				failure.set(e.toString());
+			}
+		});
+		testLeague.setAutoFinish(true);
+		reader.start();
+		try {
+			for (int season = 0; season < 50; season++) {
+				for (int round = 0; round < 2 * (NUM_TEAMS - 1); round++) {
+					round(round).commit();
+				}
+				testLeague.startNewSeason();
+			}
+		} catch (LeagueException e) {
+			failure.set(e.getMessage());
+		}
+		done.set(true);
+		reader.join();
+		assertNull(failure.get());
+	}
+}
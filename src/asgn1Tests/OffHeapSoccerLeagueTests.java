@@ -0,0 +1,122 @@
+package asgn1Tests;
+import static org.junit.Assert.*;
+import org.junit.Before;
+import org.junit.Test;
+import asgn1Exceptions.LeagueException;
+import asgn1Exceptions.TeamException;
+import asgn1SoccerCompetition.OffHeapSoccerLeague;
+import asgn1SoccerCompetition.OffHeapSoccerTeam;
+import asgn1SoccerCompetition.SoccerLeague;
+import asgn1SoccerCompetition.SoccerTeam;
+
+/**
+ * A set of JUnit tests for the asgn1SoccerCompetition.OffHeapSoccerLeague class
+ *
+ * @author Oswald Doring
+ *
+ */
+public class OffHeapSoccerLeagueTests {
+
+	/* Creates an off-heap league and the equivalent heap league for comparison */
+	OffHeapSoccerLeague testLeague;
+	SoccerLeague heapLeague;
+
+	@Before /* Registers the same four teams into both leagues */
+	public void setup() throws LeagueException, TeamException{
+		testLeague = new OffHeapSoccerLeague(4);
+		heapLeague = new SoccerLeague(4);
+		String[][] names = {{"Manchester United", "Man"}, {"Central City", "Speedsters"},
+				{"Gotham City", "Dark Knights"}, {"Metropolis", "Men of Steel"}};
+		for (String[] name: names) {
+			testLeague.registerTeam(name[0], name[1]);
+			heapLeague.registerTeam(new SoccerTeam(name[0], name[1]));
+		}
+	}
+
+	/* Testing the exceptions of asgn1SoccerCompetition.OffHeapSoccerLeague */
+
+	@Test(expected = LeagueException.class)
+	/* Testing if an exception is thrown when the same team is registered twice */
+	public void testRegisterDuplicateException() throws LeagueException, TeamException{
+		testLeague.removeTeam("Metropolis");
+		testLeague.registerTeam("Gotham City", "Imposters");
+	}
+
+	@Test(expected = LeagueException.class)
+	/* Testing if an exception is thrown when more teams are registered than allowed */
+	public void testRegisterFullException() throws LeagueException, TeamException{
+		testLeague.registerTeam("Paradise Island", "Wicked Wonders");
+	}
+
+	@Test(expected = TeamException.class)
+	/* Testing if an exception is thrown when a name does not fit in a record */
+	public void testRegisterLongNameException() throws LeagueException, TeamException{
+		testLeague.removeTeam("Metropolis");
+		testLeague.registerTeam("Llanfairpwllgwyngyllgogerychwyrndrobwllllantysiliogogogoch Town", "Long");
+	}
+
+	@Test(expected = LeagueException.class)
+	/* Testing if an exception is thrown when an unrealistic score is played */
+	public void testPlayMatchUnrealisticException() throws LeagueException{
+		testLeague.startNewSeason();
+		testLeague.playMatch("Gotham City", 21, "Metropolis", 0);
+	}
+
+	/* Testing the functionality of asgn1SoccerCompetition.OffHeapSoccerLeague */
+
+	@Test
+	/* Testing a team can be found by name after another team has been removed */
+	public void testRemoveTeam() throws LeagueException{
+		testLeague.removeTeam("Manchester United");
+		assertEquals(3, testLeague.getRegisteredNumTeams());
+		assertFalse(testLeague.containsTeam("Manchester United"));
+		assertTrue(testLeague.containsTeam("Metropolis"));
+		assertEquals("Men of Steel", testLeague.getTeamByOfficalName("Metropolis").getNickName());
+	}
+
+	@Test
+	/* Testing the statistics of a team after a few matches */
+	public void testTeamStatistics() throws LeagueException{
+		testLeague.startNewSeason();
+		testLeague.playMatch("Gotham City", 2, "Metropolis", 1);
+		testLeague.playMatch("Central City", 3, "Gotham City", 3);
+		testLeague.playMatch("Manchester United", 4, "Gotham City", 0);
+		OffHeapSoccerTeam gotham = testLeague.getTeamByOfficalName("Gotham City");
+		assertEquals(1, gotham.getMatchesWon());
+		assertEquals(1, gotham.getMatchesDrawn());
+		assertEquals(1, gotham.getMatchesLost());
+		assertEquals(4, gotham.getCompetitionPoints());
+		assertEquals("LDW--", gotham.getFormString());
+	}
+
+	@Test
+	/* Testing the ranking matches the ranking of a heap league after the same results */
+	public void testRankingMatchesHeapLeague() throws LeagueException{
+		testLeague.startNewSeason();
+		heapLeague.startNewSeason();
+		String[][] results = {{"Manchester United", "0", "Central City", "4"}, {"Gotham City", "1", "Metropolis", "3"},
+				{"Metropolis", "1", "Central City", "1"}, {"Manchester United", "2", "Gotham City", "2"}};
+		for (String[] result: results) {
+			testLeague.playMatch(result[0], Integer.parseInt(result[1]), result[2], Integer.parseInt(result[3]));
+			heapLeague.playMatch(result[0], Integer.parseInt(result[1]), result[2], Integer.parseInt(result[3]));
+		}
+		testLeague.sortTeams();
+		heapLeague.sortTeams();
+		assertEquals(heapLeague.getTopTeam().getOfficialName(), testLeague.getTopTeam().getOfficialName());
+		assertEquals(heapLeague.getBottomTeam().getOfficialName(), testLeague.getBottomTeam().getOfficialName());
+		assertEquals(heapLeague.getTopTeam().getOfficialName(), testLeague.getTeamAtRank(0).getOfficialName());
+		assertEquals(heapLeague.getBottomTeam().getOfficialName(), testLeague.getTeamAtRank(3).getOfficialName());
+	}
+
+	@Test
+	/* Testing a new season resets the statistics of every team */
+	public void testStartSeasonResetsStats() throws LeagueException{
+		testLeague.startNewSeason();
+		testLeague.playMatch("Gotham City", 2, "Metropolis", 1);
+		testLeague.endSeason();
+		testLeague.startNewSeason();
+		OffHeapSoccerTeam gotham = testLeague.getTeamByOfficalName("Gotham City");
+		assertEquals(0, gotham.getCompetitionPoints());
+		assertEquals("-----", gotham.getFormString());
+	}
+}
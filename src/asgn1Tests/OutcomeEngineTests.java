@@ -0,0 +1,205 @@
+package asgn1Tests;
+import static org.junit.Assert.*;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import org.junit.Before;
+import org.junit.Test;
+import asgn1Exceptions.LeagueException;
+import asgn1Exceptions.TeamException;
+import asgn1SoccerCompetition.ClinchEngine;
+import asgn1SoccerCompetition.OutcomeEngine;
+import asgn1SoccerCompetition.SoccerLeague;
+import asgn1SoccerCompetition.SoccerTeam;
+
+/**
+ * A set of JUnit tests for the asgn1SoccerCompetition.OutcomeEngine class
+ *
+ * @author Oswald Doring
+ *
+ */
+public class OutcomeEngineTests {
+
+	static final double DELTA = 1e-9;
+	SoccerLeague testLeague;
+	String[] names;
+
+	/* Creates a league and plays every fixture but the last few, in a random order */
+	private void playAllBut(int numTeams, int remaining, long seed) throws LeagueException, TeamException{
+		testLeague = new SoccerLeague(numTeams);
+		names = new String[numTeams];
+		for (int team = 0; team < numTeams; team++) {
+			names[team] = "Team " + team;
+			testLeague.registerTeam(new SoccerTeam(names[team], "Nick " + team));
+		}
+		testLeague.startNewSeason();
+		List<int[]> fixtures = new ArrayList<int[]>();
+		for (int home = 0; home < numTeams; home++) {
+			for (int away = 0; away < numTeams; away++) {
+				if (home != away) {
+					fixtures.add(new int[] {home, away});
+				}
+			}
+		}
+		Random random = new Random(seed);
+		Collections.shuffle(fixtures, random);
+		for (int fixture = 0; fixture < fixtures.size() - remaining; fixture++) {
+			testLeague.playMatch(names[fixtures.get(fixture)[0]], random.nextInt(4), names[fixtures.get(fixture)[1]], random.nextInt(4));
+		}
+	}
+
+	/* Enumerates every result of the remaining fixtures without pruning, returning the premiership then wooden spoon probabilities */
+	private double[] bruteForce(double homeWin, double draw) throws LeagueException{
+		int numTeams = names.length;
+		int[] points = new int[numTeams];
+		List<int[]> fixtures = new ArrayList<int[]>();
+		for (int home = 0; home < numTeams; home++) {
+			points[home] = testLeague.getTeamByOfficalName(names[home]).getCompetitionPoints();
+			for (int away = 0; away < numTeams; away++) {
+				if (home != away && !testLeague.hasPlayed(names[home], names[away])) {
+					fixtures.add(new int[] {home, away});
+				}
+			}
+		}
+		double[] outcomes = {homeWin, draw, 1 - homeWin - draw};
+		double[] result = new double[2 * numTeams];
+		int combinations = (int) Math.pow(3, fixtures.size());
+		for (int combination = 0; combination < combinations; combination++) {
+			int[] table = points.clone();
+			double probability = 1;
+			int code = combination;
+			for (int[] fixture: fixtures) {
+				int outcome = code % 3;
+				code /= 3;
+				probability *= outcomes[outcome];
+				table[fixture[0]] += outcome == 0 ? 3 : outcome == 1 ? 1 : 0;
+				table[fixture[1]] += outcome == 2 ? 3 : outcome == 1 ? 1 : 0;
+			}
+			int top = Integer.MIN_VALUE;
+			int bottom = Integer.MAX_VALUE;
+			for (int teamPoints: table) {
+				top = Math.max(top, teamPoints);
+				bottom = Math.min(bottom, teamPoints);
+			}
+			int atTop = 0;
+			int atBottom = 0;
+			for (int team = 0; team < numTeams; team++) {
+				atTop += table[team] == top ? 1 : 0;
+				atBottom += table[team] == bottom ? 1 : 0;
+			}
+			for (int team = 0; team < numTeams; team++) {
+				result[team] += table[team] == top ? probability / atTop : 0;
+				result[numTeams + team] += table[team] == bottom ? probability / atBottom : 0;
+			}
+		}
+		return result;
+	}
+
+	/* Checks the engine agrees with the brute force enumeration for every team */
+	private void assertAgrees(OutcomeEngine engine, double homeWin, double draw) throws LeagueException{
+		double[] expected = bruteForce(homeWin, draw);
+		for (int team = 0; team < names.length; team++) {
+			assertEquals(names[team], expected[team], engine.getPremiershipProbability(names[team]), DELTA);
+			assertEquals(names[team], expected[names.length + team], engine.getWoodenSpoonProbability(names[team]), DELTA);
+		}
+	}
+
+	@Before /* Sets up a league of six teams with ten fixtures remaining */
+	public void setup() throws LeagueException, TeamException{
+		playAllBut(6, 10, 302);
+	}
+
+	@Test
+	/* Testing the probabilities agree with an enumeration of every result */
+	public void testAgreesWithBruteForce() throws LeagueException, TeamException{
+		for (long seed = 0; seed < 5; seed++) {
+			playAllBut(6, 10, seed);
+			OutcomeEngine engine = new OutcomeEngine(testLeague);
+			engine.solve();
+			assertEquals(10, engine.getNumFixtures());
+			assertAgrees(engine, 1.0 / 3, 1.0 / 3);
+		}
+	}
+
+	@Test
+	/* Testing the probabilities agree with an enumeration when home wins are more likely */
+	public void testHomeAdvantage() throws LeagueException{
+		OutcomeEngine engine = new OutcomeEngine(testLeague, 0.5, 0.25);
+		assertAgrees(engine, 0.5, 0.25);
+	}
+
+	@Test
+	/* Testing the probabilities of each position add up to one */
+	public void testProbabilitiesSum() throws LeagueException{
+		OutcomeEngine engine = new OutcomeEngine(testLeague);
+		double premiership = 0;
+		double woodenSpoon = 0;
+		for (String name: names) {
+			premiership += engine.getPremiershipProbability(name);
+			woodenSpoon += engine.getWoodenSpoonProbability(name);
+		}
+		assertEquals(1, premiership, DELTA);
+		assertEquals(1, woodenSpoon, DELTA);
+	}
+
+	@Test
+	/* Testing equivalent tables are solved once rather than once for every combination of results */
+	public void testMemoised() throws LeagueException{
+		OutcomeEngine engine = new OutcomeEngine(testLeague);
+		engine.solve();
+		assertTrue(engine.getNumStates() < Math.pow(3, 10) / 10);
+	}
+
+	@Test
+	/* Testing a team that has clinched the premiership is certain of it */
+	public void testClinched() throws LeagueException, TeamException{
+		SoccerLeague league = new SoccerLeague(4);
+		ClinchEngine clinch = new ClinchEngine(league);
+		for (int team = 0; team < 4; team++) {
+			league.registerTeam(new SoccerTeam("Team " + team, "Nick " + team));
+		}
+		league.startNewSeason();
+		for (int away = 1; away < 4; away++) {
+			league.playMatch("Team 0", 2, "Team " + away, 0);
+			league.playMatch("Team " + away, 0, "Team 0", 2);
+		}
+		clinch.update();
+		assertTrue(clinch.hasClinchedPremiership("Team 0"));
+		OutcomeEngine engine = new OutcomeEngine(league);
+		assertEquals(1, engine.getPremiershipProbability("Team 0"), 0);
+		assertEquals(0, engine.getWoodenSpoonProbability("Team 0"), 0);
+	}
+
+	@Test
+	/* Testing the last three rounds of a ten team league are solved */
+	public void testLastRounds() throws LeagueException, TeamException{
+		playAllBut(10, 15, 302);
+		OutcomeEngine engine = new OutcomeEngine(testLeague);
+		engine.solve();
+		double premiership = 0;
+		for (String name: names) {
+			premiership += engine.getPremiershipProbability(name);
+		}
+		assertEquals(1, premiership, DELTA);
+	}
+
+	@Test(expected = LeagueException.class)
+	/* Testing if an exception is thrown for a team that is not in the league */
+	public void testUnknownTeamException() throws LeagueException{
+		new OutcomeEngine(testLeague).getPremiershipProbability("Gotham City");
+	}
+
+	@Test(expected = LeagueException.class)
+	/* Testing if an exception is thrown when the season has not started */
+	public void testOffSeasonException() throws LeagueException{
+		testLeague.endSeason();
+		new OutcomeEngine(testLeague).solve();
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	/* Testing if an exception is thrown for probabilities that add up to more than one */
+	public void testProbabilityException(){
+		new OutcomeEngine(testLeague, 0.75, 0.5);
+	}
+}
@@ -0,0 +1,170 @@
+package asgn1Tests;
+import static org.junit.Assert.*;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.concurrent.CountDownLatch;
+import org.junit.Test;
+import asgn1Exceptions.CompetitionException;
+import asgn1Exceptions.LeagueException;
+import asgn1Exceptions.TeamException;
+import asgn1SoccerCompetition.SoccerCompetition;
+import asgn1SoccerCompetition.SoccerTeam;
+import asgn1SportsUtils.OutputSink;
+import asgn1SportsUtils.OutputSink.WhenFull;
+
+/**
+ * A set of JUnit tests for the asgn1SportsUtils.OutputSink class
+ *
+ * @author Oswald Doring
+ *
+ */
+public class OutputSinkTests {
+
+	/* A stream that holds every write until it is released */
+	private static class StalledStream extends OutputStream {
+		final CountDownLatch release = new CountDownLatch(1);
+		final ByteArrayOutputStream written = new ByteArrayOutputStream();
+
+		public void write(int b) throws IOException {
+			write(new byte[] {(byte) b}, 0, 1);
+		}
+
+		public void write(byte[] bytes, int offset, int length) throws IOException {
+			try {
+				release.await();
+			} catch (InterruptedException e) {
+				throw new IOException(e);
+			}
+			written.write(bytes, offset, length);
+		}
+	}
+
+	/* A competition of two leagues of two teams with a season started */
+	private SoccerCompetition competition() throws CompetitionException, LeagueException, TeamException{
+		SoccerCompetition competition = new SoccerCompetition("Test", 2, 2);
+		competition.getLeague(0).registerTeam(new SoccerTeam("Central City", "Speedsters"));
+		competition.getLeague(0).registerTeam(new SoccerTeam("Gotham City", "Dark Knights"));
+		competition.getLeague(1).registerTeam(new SoccerTeam("Metropolis", "Men of Steel"));
+		competition.getLeague(1).registerTeam(new SoccerTeam("Star City", "Archers"));
+		competition.startSeason();
+		competition.getLeague(0).playMatch("Gotham City", 2, "Central City", 0);
+		return competition;
+	}
+
+	@Test
+	/* Testing every message is written in order when the producer blocks on a small ring */
+	public void testBlockKeepsOrder() throws IOException{
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		OutputSink sink = new OutputSink(out, 4, WhenFull.BLOCK, 1);
+		StringBuilder expected = new StringBuilder();
+		for (int line = 0; line < 10000; line++) {
+			sink.println("Line " + line);
+			expected.append("Line " + line).append(System.lineSeparator());
+		}
+		sink.close();
+		assertEquals(expected.toString(), out.toString());
+		assertEquals(0, sink.getNumDropped());
+	}
+
+	@Test
+	/* Testing flush waits until the messages have reached the stream */
+	public void testFlush() throws IOException{
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		OutputSink sink = new OutputSink(out);
+		sink.print("Gotham City");
+		sink.flush();
+		assertEquals("Gotham City", out.toString());
+		sink.close();
+	}
+
+	@Test
+	/* Testing messages are dropped rather than blocking when the stream stalls */
+	public void testDropWhenFull() throws IOException, InterruptedException{
+		StalledStream out = new StalledStream();
+		OutputSink sink = new OutputSink(out, 5, WhenFull.DROP, 1);
+		assertEquals(8, sink.getCapacity());
+		sink.print("x");
+		// Gives the drain thread time to stall flushing the first message
+		Thread.sleep(100);
+		for (int message = 0; message < 100; message++) {
+			sink.print("x");
+		}
+		assertEquals(100 - 8, sink.getNumDropped());
+		out.release.countDown();
+		sink.close();
+		assertEquals(1 + 8, out.written.size());
+	}
+
+	@Test
+	/* Testing one in every sample interval of the messages that find the ring full is kept */
+	public void testSampleWhenFull() throws IOException, InterruptedException{
+		StalledStream out = new StalledStream();
+		OutputSink sink = new OutputSink(out, 8, WhenFull.SAMPLE, 10);
+		sink.print("x");
+		Thread.sleep(100);
+		for (int message = 0; message < 8 + 9; message++) {
+			sink.print("x");
+		}
+		assertEquals(9, sink.getNumDropped());
+		Thread release = new Thread(() -> {
+			try {
+				Thread.sleep(100);
+			} catch (InterruptedException e) {
+			}
+			out.release.countDown();
+		});
+		release.start();
+		// The tenth message to find the ring full waits for space
+		sink.print("y");
+		release.join();
+		sink.close();
+		assertEquals(9, sink.getNumDropped());
+		assertEquals("xxxxxxxxxy", out.written.toString());
+	}
+
+	@Test
+	/* Testing the competition standings written through a sink match those written to a stream */
+	public void testCompetitionStandings() throws CompetitionException, LeagueException, TeamException, IOException{
+		SoccerCompetition competition = competition();
+		ByteArrayOutputStream direct = new ByteArrayOutputStream();
+		competition.displayCompetitionStandings(new PrintStream(direct));
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		OutputSink sink = new OutputSink(out);
+		competition.setOutputSink(sink);
+		competition.displayCompetitionStandings();
+		competition.getLeague(1).displayLeagueTable();
+		sink.close();
+		ByteArrayOutputStream league = new ByteArrayOutputStream();
+		competition.getLeague(1).displayLeagueTable(new PrintStream(league));
+		assertEquals(direct.toString() + league.toString(), out.toString());
+	}
+
+	@Test
+	/* Testing the exceptions caught by the competition are written to its sink */
+	public void testExceptionsToSink() throws CompetitionException, LeagueException, TeamException, IOException{
+		SoccerCompetition competition = competition();
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		OutputSink sink = new OutputSink(out);
+		competition.setOutputSink(sink);
+		competition.startSeason();
+		sink.close();
+		assertTrue(out.toString().startsWith("There is not enough teams registered"));
+		assertTrue(out.toString().contains("asgn1Exceptions.LeagueException"));
+	}
+
+	@Test(expected = IllegalStateException.class)
+	/* Testing if an exception is thrown for a message written after the sink is closed */
+	public void testClosedException() throws IOException{
+		OutputSink sink = new OutputSink(new ByteArrayOutputStream());
+		sink.close();
+		sink.print("Metropolis");
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	/* Testing if an exception is thrown for a ring with no room */
+	public void testCapacityException(){
+		new OutputSink(new ByteArrayOutputStream(), 0, WhenFull.BLOCK, 1);
+	}
+}
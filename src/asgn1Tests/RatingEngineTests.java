@@ -0,0 +1,131 @@
+package asgn1Tests;
+import static org.junit.Assert.*;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.Before;
+import org.junit.Test;
+import asgn1Exceptions.LeagueException;
+import asgn1Exceptions.TeamException;
+import asgn1SoccerCompetition.RatingEngine;
+import asgn1SoccerCompetition.SoccerLeague;
+import asgn1SoccerCompetition.SoccerTeam;
+
+/**
+ * A set of JUnit tests for the asgn1SoccerCompetition.RatingEngine class
+ *
+ * @author Oswald Doring
+ *
+ */
+public class RatingEngineTests {
+
+	SoccerLeague testLeague;
+	RatingEngine testEngine;
+
+	@Before /* Sets up a league of four teams with a rating engine and starts the season */
+	public void setup() throws LeagueException, TeamException{
+		testLeague = new SoccerLeague(4);
+		testLeague.registerTeam(new SoccerTeam("Central City", "Speedsters"));
+		testLeague.registerTeam(new SoccerTeam("Gotham City", "Dark Knights"));
+		testLeague.registerTeam(new SoccerTeam("Metropolis", "Men of Steel"));
+		testLeague.registerTeam(new SoccerTeam("Paradise Island", "Wicked Wonders"));
+		testEngine = new RatingEngine(testLeague);
+		testLeague.startNewSeason();
+	}
+
+	@Test(expected = LeagueException.class)
+	/* Testing if an exception is thrown when a negative parameter is used */
+	public void testNegativeParameterException() throws LeagueException{
+		testEngine.recompute(-1, 100);
+	}
+
+	@Test
+	/* Testing teams start with the initial rating */
+	public void testInitialRating(){
+		assertEquals(RatingEngine.DEFAULT_INITIAL_RATING, testEngine.getRating("Gotham City"), 1e-9);
+	}
+
+	@Test
+	/* Testing a win moves rating from the loser to the winner */
+	public void testWinMovesRating() throws LeagueException{
+		testLeague.playMatch("Gotham City", 1, "Metropolis", 0);
+		assertTrue(testEngine.getRating("Gotham City") > RatingEngine.DEFAULT_INITIAL_RATING);
+		assertEquals(2 * RatingEngine.DEFAULT_INITIAL_RATING,
+				testEngine.getRating("Gotham City") + testEngine.getRating("Metropolis"), 1e-9);
+		assertEquals(1, testEngine.getNumMatches());
+	}
+
+	@Test
+	/* Testing a home draw between equal teams costs the home team rating */
+	public void testHomeDraw() throws LeagueException{
+		testLeague.playMatch("Gotham City", 1, "Metropolis", 1);
+		assertTrue(testEngine.getRating("Gotham City") < RatingEngine.DEFAULT_INITIAL_RATING);
+	}
+
+	@Test
+	/* Testing a batch recompute with the same parameters matches the incremental ratings */
+	public void testRecomputeMatchesIncremental() throws LeagueException{
+		Random random = new Random(302);
+		String[] names = {"Central City", "Gotham City", "Metropolis", "Paradise Island"};
+		for (int match = 0; match < 200; match++) {
+			int home = random.nextInt(4);
+			int away = (home + 1 + random.nextInt(3)) % 4;
+			// A fixture can only be played once a season, so the history spans several seasons
+			if (testLeague.hasPlayed(names[home], names[away])) {
+				testLeague.endSeason();
+				testLeague.startNewSeason();
+			}
+			testLeague.playMatch(names[home], random.nextInt(5), names[away], random.nextInt(5));
+		}
+		double[] incremental = new double[4];
+		for (int team = 0; team < 4; team++) {
+			incremental[team] = testEngine.getRating(names[team]);
+		}
+		testEngine.recompute(RatingEngine.DEFAULT_K, RatingEngine.DEFAULT_HOME_ADVANTAGE);
+		for (int team = 0; team < 4; team++) {
+			assertEquals(incremental[team], testEngine.getRating(names[team]), 1e-6);
+		}
+	}
+
+	@Test
+	/* Testing ratings read and recomputed on another thread while matches are played lose no match */
+	public void testRecomputeDuringMatches() throws LeagueException, TeamException, InterruptedException{
+		SoccerLeague bigLeague = new SoccerLeague(20);
+		for (int team = 0; team < 20; team++) {
+			bigLeague.registerTeam(new SoccerTeam("Team " + team, "Nick " + team));
+		}
+		RatingEngine bigEngine = new RatingEngine(bigLeague);
+		RatingEngine reference = new RatingEngine(bigLeague);
+		bigLeague.startNewSeason();
+		AtomicBoolean done = new AtomicBoolean();
+		AtomicReference<String> failure = new AtomicReference<String>();
+		Thread recomputer = new Thread(() -> {
+			try {
+				while (!done.get()) {
+					bigEngine.recompute(RatingEngine.DEFAULT_K, RatingEngine.DEFAULT_HOME_ADVANTAGE);
+					double expected = bigEngine.getExpectedScore("Team 0", "Team 1");
+					if (expected <= 0 || expected >= 1 || bigEngine.getNumMatches() > 380) {
+						failure.set("Read a rating part way through a match");
+					}
+				}
+			} catch (LeagueException | RuntimeException e) {
+				failure.set(e.toString());
+			}
+		});
+		recomputer.start();
+		for (int home = 0; home < 20; home++) {
+			for (int away = 0; away < 20; away++) {
+				if (home != away) {
+					bigLeague.playMatch("Team " + home, (home + away) % 4, "Team " + away, away % 3);
+				}
+			}
+		}
+		done.set(true);
+		recomputer.join();
+		assertNull(failure.get());
+		assertEquals(380, bigEngine.getNumMatches());
+		for (int team = 0; team < 20; team++) {
+			assertEquals(reference.getRating("Team " + team), bigEngine.getRating("Team " + team), 1e-6);
+		}
+	}
+}
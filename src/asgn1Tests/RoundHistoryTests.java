@@ -0,0 +1,117 @@
+package asgn1Tests;
+import static org.junit.Assert.*;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import org.junit.Before;
+import org.junit.Test;
+import asgn1Exceptions.LeagueException;
+import asgn1Exceptions.TeamException;
+import asgn1SoccerCompetition.RoundHistory;
+import asgn1SoccerCompetition.SoccerLeague;
+import asgn1SoccerCompetition.SoccerTeam;
+import asgn1SoccerCompetition.TeamStanding;
+
+/**
+ * A set of JUnit tests for the asgn1SoccerCompetition.RoundHistory class
+ *
+ * @author Oswald Doring
+ *
+ */
+public class RoundHistoryTests {
+
+	static final int NUM_TEAMS = 8;
+	SoccerLeague testLeague;
+	RoundHistory testHistory;
+	String[] names = new String[NUM_TEAMS];
+
+	@Before /* Sets up a league of eight teams followed by a history with a checkpoint every three rounds */
+	public void setup() throws LeagueException, TeamException{
+		testLeague = new SoccerLeague(NUM_TEAMS);
+		for (int team = 0; team < NUM_TEAMS; team++) {
+			names[team] = "Team " + team;
+			testLeague.registerTeam(new SoccerTeam(names[team], "Nick " + team));
+		}
+		testHistory = new RoundHistory(testLeague, 3, NUM_TEAMS / 2);
+		testLeague.startNewSeason();
+	}
+
+	/* The current standings of the league, ranked */
+	private List<TeamStanding> currentStandings() throws LeagueException{
+		List<TeamStanding> standings = new ArrayList<TeamStanding>();
+		for (String name: names) {
+			standings.add(new TeamStanding(testLeague.getTeamByOfficalName(name)));
+		}
+		Collections.sort(standings);
+		return standings;
+	}
+
+	/* Plays a double round robin by the circle method, recording the standings after every round */
+	private List<List<TeamStanding>> playSeason() throws LeagueException{
+		List<List<TeamStanding>> rounds = new ArrayList<List<TeamStanding>>();
+		rounds.add(currentStandings());
+		Random random = new Random(302);
+		for (int round = 0; round < 2 * (NUM_TEAMS - 1); round++) {
+			for (int pair = 0; pair < NUM_TEAMS / 2; pair++) {
+				int first = pair == 0 ? 0 : 1 + (round + pair - 1) % (NUM_TEAMS - 1);
+				int second = 1 + (round + NUM_TEAMS - 2 - pair) % (NUM_TEAMS - 1);
+				boolean swap = round >= NUM_TEAMS - 1;
+				testLeague.playMatch(names[swap ? second : first], random.nextInt(4), names[swap ? first : second], random.nextInt(4));
+			}
+			rounds.add(currentStandings());
+		}
+		return rounds;
+	}
+
+	@Test
+	/* Testing the standings after every round are rebuilt exactly */
+	public void testStandingsAfterEveryRound() throws LeagueException{
+		List<List<TeamStanding>> rounds = playSeason();
+		assertEquals(rounds.size() - 1, testHistory.getNumRounds());
+		for (int round = 0; round < rounds.size(); round++) {
+			assertEquals(rounds.get(round), testHistory.getStandings(round));
+		}
+	}
+
+	@Test
+	/* Testing a partly played round is not part of the history yet */
+	public void testPartialRound() throws LeagueException{
+		testLeague.playMatch(names[0], 1, names[1], 0);
+		assertEquals(0, testHistory.getNumRounds());
+		assertEquals(1, testHistory.getNumMatches());
+		assertEquals("-----", testHistory.getStandings(0).get(0).getFormString());
+	}
+
+	@Test
+	/* Testing a corrected result changes the standings of the rounds after it */
+	public void testCorrectedResult() throws LeagueException{
+		playSeason();
+		testLeague.correctMatch(names[0], 20, names[NUM_TEAMS - 1], 0);
+		assertEquals(currentStandings(), testHistory.getStandings(testHistory.getNumRounds()));
+		assertEquals(20, testHistory.getStandings(1).get(0).getGoalsScoredSeason());
+		assertEquals(0, testHistory.getStandings(0).get(0).getCompetitionPoints());
+	}
+
+	@Test
+	/* Testing a new season starts a new history */
+	public void testNewSeason() throws LeagueException{
+		playSeason();
+		testLeague.endSeason();
+		testLeague.startNewSeason();
+		assertEquals(0, testHistory.getNumMatches());
+		assertEquals(currentStandings(), testHistory.getStandings(0));
+	}
+
+	@Test(expected = LeagueException.class)
+	/* Testing if an exception is thrown for a round that has not been completed */
+	public void testIncompleteRoundException() throws LeagueException{
+		testHistory.getStandings(1);
+	}
+
+	@Test(expected = LeagueException.class)
+	/* Testing if an exception is thrown when the history is created during a season */
+	public void testSeasonStartedException() throws LeagueException{
+		new RoundHistory(testLeague);
+	}
+}
@@ -0,0 +1,229 @@
+package asgn1Tests;
+import static org.junit.Assert.*;
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.InputStreamReader;
+import java.io.PrintStream;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import asgn1Exceptions.CompetitionException;
+import asgn1Exceptions.LeagueException;
+import asgn1Exceptions.TeamException;
+import asgn1SoccerCompetition.LeagueShardServer;
+import asgn1SoccerCompetition.ShardedCompetition;
+import asgn1SoccerCompetition.SoccerCompetition;
+import asgn1SoccerCompetition.SoccerTeam;
+import asgn1Wizards.CompetitionGenerator;
+
+/**
+ * A set of JUnit tests for the asgn1SoccerCompetition.ShardedCompetition and 
+ * asgn1SoccerCompetition.LeagueShardServer classes
+ *
+ * @author Oswald Doring
+ *
+ */
+public class ShardedCompetitionTests {
+
+	List<LeagueShardServer> servers;
+	List<InetSocketAddress> addresses;
+
+	@Before /* Starts two shard servers on background threads */
+	public void setup() throws Exception{
+		servers = new ArrayList<LeagueShardServer>();
+		addresses = new ArrayList<InetSocketAddress>();
+		for (int shard = 0; shard < 2; shard++) {
+			LeagueShardServer server = new LeagueShardServer(0);
+			Thread thread = new Thread(server);
+			thread.setDaemon(true);
+			thread.start();
+			servers.add(server);
+			addresses.add(new InetSocketAddress("localhost", server.getPort()));
+		}
+	}
+
+	@After /* Stops the shard servers */
+	public void tearDown() throws Exception{
+		for (LeagueShardServer server: servers) {
+			server.close();
+		}
+	}
+
+	/* Plays a generated competition both in this process and across the shards */
+	private void playBoth(SoccerCompetition local, ShardedCompetition sharded, String file) throws Exception{
+		BufferedReader in = new BufferedReader(new StringReader(file));
+		String[] header = in.readLine().split(",");
+		int numTeams = Integer.parseInt(header[1]) * Integer.parseInt(header[2]);
+		for (int team = 0; team < numTeams; team++) {
+			String[] fields = in.readLine().split(",");
+			local.getLeague(Integer.parseInt(fields[0])).registerTeam(new SoccerTeam(fields[1], fields[2]));
+			sharded.registerTeam(Integer.parseInt(fields[0]), fields[1], fields[2]);
+		}
+		local.startSeason();
+		sharded.startSeason();
+		String line = in.readLine();
+		while (line != null) {
+			String[] match = line.split(",");
+			int league = Integer.parseInt(match[0]);
+			local.getLeague(league).playMatch(match[1], Integer.parseInt(match[2]), match[3], Integer.parseInt(match[4]));
+			sharded.playMatch(league, match[1], Integer.parseInt(match[2]), match[3], Integer.parseInt(match[4]));
+			line = in.readLine();
+		}
+	}
+
+	private String generate(int numLeagues, int numTeams) throws Exception{
+		StringWriter out = new StringWriter();
+		new CompetitionGenerator("Sharded", numLeagues, numTeams, 302).write(out);
+		return out.toString();
+	}
+
+	@Test(expected = CompetitionException.class)
+	/* Testing if an exception is thrown when an invalid league is used */
+	public void testInvalidLeagueException() throws Exception{
+		try (ShardedCompetition sharded = new ShardedCompetition("Sharded", 2, 2, addresses)) {
+			sharded.registerTeam(2, "Gotham City", "Dark Knights");
+		}
+	}
+
+	@Test(expected = LeagueException.class)
+	/* Testing if an exception raised by a shard is passed on */
+	public void testShardException() throws Exception{
+		try (ShardedCompetition sharded = new ShardedCompetition("Sharded", 2, 2, addresses)) {
+			sharded.registerTeam(1, "Gotham City", "Dark Knights");
+			sharded.registerTeam(1, "Gotham City", "Dark Knights");
+		}
+	}
+
+	@Test(expected = CompetitionException.class)
+	/* Testing if an exception is thrown when a shard already hosts a league being created */
+	public void testLeagueAlreadyHosted() throws Exception{
+		try (ShardedCompetition sharded = new ShardedCompetition("Sharded", 2, 2, addresses)) {
+			sharded.registerTeam(0, "Gotham City", "Dark Knights");
+			new ShardedCompetition("Again", 2, 2, addresses).close();
+			fail();
+		}
+	}
+
+	@Test
+	/* Testing a match with a line break in a team name is refused without upsetting the shard's answers */
+	public void testLineBreakInMatch() throws Exception{
+		try (ShardedCompetition sharded = new ShardedCompetition("Sharded", 1, 2, addresses)) {
+			sharded.registerTeam(0, "Gotham City", "Dark Knights");
+			sharded.registerTeam(0, "Metropolis", "Supermen");
+			sharded.startSeason();
+			try {
+				sharded.playMatch(0, "Gotham City\nTOP\t0", 2, "Metropolis", 1);
+				fail();
+			} catch (LeagueException e) {
+				// The name would be sent as two commands
+			}
+			sharded.playMatch(0, "Metropolis", 2, "Gotham City", 1);
+			assertEquals("Metropolis", sharded.getTopTeamName(0));
+			assertEquals("Gotham City", sharded.getBottomTeamName(0));
+		}
+	}
+
+	@Test
+	/* Testing a shard keeps its league and teams when another competition fails to create it */
+	public void testLeagueNotReplaced() throws Exception{
+		try (ShardedCompetition sharded = new ShardedCompetition("Sharded", 1, 2, addresses)) {
+			sharded.registerTeam(0, "Gotham City", "Dark Knights");
+			sharded.registerTeam(0, "Metropolis", "Supermen");
+			try {
+				new ShardedCompetition("Again", 1, 2, addresses).close();
+				fail();
+			} catch (CompetitionException e) {
+				// The league is already hosted
+			}
+			sharded.startSeason();
+			sharded.playMatch(0, "Gotham City", 2, "Metropolis", 1);
+			assertEquals("Gotham City", sharded.getTopTeamName(0));
+		}
+	}
+
+	@Test
+	/* Testing the swaps made at the end of a season are undone when a later swap fails */
+	public void testEndSeasonRollsBack() throws Exception{
+		try (ShardedCompetition sharded = new ShardedCompetition("Sharded", 2, 2, addresses)) {
+			sharded.registerTeam(0, "Gotham City", "Dark Knights");
+			sharded.registerTeam(0, "Metropolis", "Supermen");
+			sharded.registerTeam(1, "Gotham City", "Jokers");
+			sharded.registerTeam(1, "Star City", "Arrows");
+			sharded.startSeason();
+			sharded.playMatch(0, "Gotham City", 2, "Metropolis", 1);
+			sharded.playMatch(1, "Gotham City", 3, "Star City", 0);
+			// Metropolis moves down, but Gotham City cannot move up as league 1 already has a team of that name
+			sharded.endSeason();
+			String[] leagues = standings(sharded).split("---- League2 ----");
+			assertTrue(leagues[0].contains("Gotham City\tDark Knights"));
+			assertTrue(leagues[0].contains("Metropolis\tSupermen"));
+			assertTrue(leagues[1].contains("Gotham City\tJokers"));
+			assertTrue(leagues[1].contains("Star City\tArrows"));
+			assertFalse(leagues[1].contains("Metropolis"));
+		}
+	}
+
+	@Test
+	/* Testing a sharded competition matches a competition in one process over two seasons */
+	public void testMatchesSingleProcess() throws Exception{
+		String file = generate(3, 6);
+		SoccerCompetition local = new SoccerCompetition("Sharded", 3, 6);
+		try (ShardedCompetition sharded = new ShardedCompetition("Sharded", 3, 6, addresses)) {
+			playBoth(local, sharded, file);
+			assertEquals(local.getDigest(), sharded.getDigest());
+			assertEquals(standings(local), standings(sharded));
+			for (int league = 0; league < 3; league++) {
+				assertEquals(local.getLeague(league).getTopTeam().getOfficialName(), sharded.getTopTeamName(league));
+				assertEquals(local.getLeague(league).getBottomTeam().getOfficialName(), sharded.getBottomTeamName(league));
+			}
+			local.endSeason();
+			sharded.endSeason();
+			local.startSeason();
+			sharded.startSeason();
+			assertEquals(local.getDigest(), sharded.getDigest());
+			assertEquals(standings(local), standings(sharded));
+		}
+	}
+
+	@Test(timeout = 60000)
+	/* Testing a shard running in another JVM */
+	public void testShardInAnotherProcess() throws Exception{
+		String java = System.getProperty("java.home") + File.separator + "bin" + File.separator + "java";
+		Process process = new ProcessBuilder(java, "-cp", System.getProperty("java.class.path"),
+				LeagueShardServer.class.getName()).redirectErrorStream(true).start();
+		try {
+			BufferedReader out = new BufferedReader(new InputStreamReader(process.getInputStream()));
+			String[] listening = out.readLine().split(" ");
+			int port = Integer.parseInt(listening[listening.length - 1]);
+			List<InetSocketAddress> shards = Arrays.asList(addresses.get(0), new InetSocketAddress("localhost", port));
+			SoccerCompetition local = new SoccerCompetition("Sharded", 2, 4);
+			try (ShardedCompetition sharded = new ShardedCompetition("Sharded", 2, 4, shards)) {
+				playBoth(local, sharded, generate(2, 4));
+				local.endSeason();
+				sharded.endSeason();
+				local.startSeason();
+				sharded.startSeason();
+				assertEquals(local.getDigest(), sharded.getDigest());
+			}
+		} finally {
+			process.destroy();
+		}
+	}
+
+	private String standings(Object competition) throws CompetitionException, LeagueException, TeamException{
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		if (competition instanceof SoccerCompetition) {
+			((SoccerCompetition) competition).displayCompetitionStandings(new PrintStream(bytes, true));
+		} else {
+			((ShardedCompetition) competition).displayCompetitionStandings(new PrintStream(bytes, true));
+		}
+		return bytes.toString();
+	}
+}
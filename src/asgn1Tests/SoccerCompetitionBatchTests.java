@@ -0,0 +1,135 @@
+package asgn1Tests;
+import static org.junit.Assert.*;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Test;
+import asgn1Wizards.CompetitionGenerator;
+import asgn1Wizards.SoccerCompetitionBatch;
+import asgn1Wizards.SoccerCompetitionBatch.CompetitionFile;
+import asgn1Wizards.SoccerCompetitionWizard;
+
+/**
+ * A set of JUnit tests for the asgn1Wizards.SoccerCompetitionBatch class
+ *
+ * @author Oswald Doring
+ *
+ */
+public class SoccerCompetitionBatchTests {
+
+	/* Creates a directory of generated competition files */
+	private File scenarios(int numFiles) throws Exception{
+		File directory = Files.createTempDirectory("scenarios").toFile();
+		directory.deleteOnExit();
+		for (int scenario = 0; scenario < numFiles; scenario++) {
+			File file = new File(directory, "scenario" + scenario + ".txt");
+			file.deleteOnExit();
+			try (FileWriter out = new FileWriter(file)) {
+				new CompetitionGenerator("Scenario " + scenario, 1 + scenario % 3, 4 + scenario, scenario).write(out);
+			}
+		}
+		return directory;
+	}
+
+	/* Runs the batch front end and returns what it printed */
+	private String runMain(String... args){
+		PrintStream console = System.out;
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		System.setOut(new PrintStream(out));
+		try {
+			SoccerCompetitionBatch.main(args);
+		} finally {
+			System.setOut(console);
+		}
+		return out.toString();
+	}
+
+	@Test
+	/* Testing every file of a directory is written as the single file wizard would write it */
+	public void testDirectoryMatchesWizard() throws Exception{
+		File directory = scenarios(6);
+		File[] files = directory.listFiles();
+		List<File> inputs = new ArrayList<File>();
+		for (File file: files) {
+			inputs.add(file);
+		}
+		List<CompetitionFile> results = SoccerCompetitionBatch.processAll(inputs, null, 3);
+		assertEquals(6, results.size());
+		for (CompetitionFile result: results) {
+			result.getOutput().deleteOnExit();
+			assertNull(result.getError());
+			ByteArrayOutputStream expected = new ByteArrayOutputStream();
+			SoccerCompetitionWizard.runCompetition(result.getInput(), new PrintStream(expected));
+			assertEquals(expected.toString(), new String(Files.readAllBytes(result.getOutput().toPath())));
+		}
+	}
+
+	@Test
+	/* Testing the front end writes an output for every file of a directory into the output directory */
+	public void testMainWritesOutputs() throws Exception{
+		File directory = scenarios(3);
+		File output = Files.createTempDirectory("standings").toFile();
+		output.deleteOnExit();
+		String summary = runMain("-o", output.getPath(), "-p", "2", directory.getPath());
+		assertTrue(summary.contains("3 files (0 failed)"));
+		for (File file: directory.listFiles()) {
+			File standings = new File(output, file.getName() + ".standings.txt");
+			standings.deleteOnExit();
+			ByteArrayOutputStream expected = new ByteArrayOutputStream();
+			SoccerCompetitionWizard.runCompetition(file, new PrintStream(expected));
+			assertEquals(expected.toString(), new String(Files.readAllBytes(standings.toPath())));
+		}
+	}
+
+	@Test
+	/* Testing files of the same name in different directories do not both write the same output */
+	public void testSameOutputFails() throws Exception{
+		File first = scenarios(1);
+		File second = scenarios(2);
+		File output = Files.createTempDirectory("standings").toFile();
+		output.deleteOnExit();
+		String summary = runMain("-o", output.getPath(), first.getPath(), second.getPath());
+		assertTrue(summary.contains("3 files (1 failed)"));
+		new File(output, "scenario0.txt.standings.txt").deleteOnExit();
+		new File(output, "scenario1.txt.standings.txt").deleteOnExit();
+		// The first file of each name is written and the later one is reported without being processed
+		for (String line: summary.split("\\R")) {
+			if (line.startsWith(new File(first, "scenario0.txt").getPath())) {
+				assertFalse(line.contains("FAILED"));
+			} else if (line.startsWith(new File(second, "scenario0.txt").getPath())) {
+				assertTrue(line.endsWith("FAILED: Another file is already written to " 
+						+ new File(output, "scenario0.txt.standings.txt").getPath()));
+			}
+		}
+	}
+
+	@Test
+	/* Testing a directory that could not be listed is reported as failed rather than processed */
+	public void testDirectoryInputFails() throws Exception{
+		File directory = scenarios(0);
+		List<File> inputs = new ArrayList<File>();
+		inputs.add(directory);
+		List<CompetitionFile> results = SoccerCompetitionBatch.processAll(inputs, null, 1);
+		assertEquals(1, results.size());
+		assertEquals("The directory could not be listed", results.get(0).getError());
+		assertFalse(results.get(0).getOutput().exists());
+	}
+
+	@Test
+	/* Testing a parallelism that is not a number prints the usage */
+	public void testParallelismNotNumber() throws IOException{
+		assertTrue(runMain("-p", "many", "missing.txt").startsWith("Usage: SoccerCompetitionBatch"));
+	}
+
+	@Test
+	/* Testing a parallelism below one prints the usage */
+	public void testParallelismBelowOne() throws IOException{
+		assertTrue(runMain("-p", "0", "missing.txt").startsWith("Usage: SoccerCompetitionBatch"));
+		assertTrue(runMain("-p", "-4", "missing.txt").startsWith("Usage: SoccerCompetitionBatch"));
+	}
+}
@@ -273,4 +273,84 @@ public class SoccerLeagueTests {
 		assertEquals(testTeamOne, testLeague.getTopTeam());
 		assertEquals(testTeamThree, testLeague.getBottomTeam());
 	}
+	
+	@Test
+	/* Testing a new season resets the statistics of every team */
+	public void testNewSeasonResetsStats() throws LeagueException{
+		testLeague.startNewSeason();
+		testLeague.playMatch("Manchester United", 3, "Gotham City", 0);
+		testLeague.endSeason();
+		testLeague.startNewSeason();
+		assertEquals(0, testTeamOne.getCompetitionPoints());
+		assertEquals(0, testTeamThree.getMatchesLost());
+		assertEquals("-----", testTeamOne.getFormString());
+		testLeague.playMatch("Gotham City", 1, "Manchester United", 1);
+		assertEquals(1, testTeamOne.getCompetitionPoints());
+		assertEquals("D----", testTeamThree.getFormString());
+	}
+	
+	@Test
+	/* Testing a team moved to another league keeps its statistics until that league starts a season */
+	public void testMovedTeamKeepsStats() throws LeagueException{
+		SoccerLeague otherLeague = new SoccerLeague(4);
+		testLeague.startNewSeason();
+		testLeague.playMatch("Manchester United", 3, "Gotham City", 0);
+		testLeague.endSeason();
+		testLeague.startNewSeason();
+		testLeague.endSeason();
+		testLeague.removeTeam(testTeamThree);
+		otherLeague.registerTeam(testTeamThree);
+		assertEquals(0, testTeamThree.getMatchesLost());
+		testLeague.registerTeam(testTeamFive);
+		testLeague.startNewSeason();
+		testLeague.playMatch("Paradise Island", 2, "Central City", 0);
+		testLeague.endSeason();
+		testLeague.removeTeam(testTeamFive);
+		otherLeague.registerTeam(testTeamFive);
+		assertEquals(3, testTeamFive.getCompetitionPoints());
+	}
+	
+	@Test(expected = LeagueException.class)
+	/* Testing if exception is thrown when a home team plays the same away team twice in a season */
+	public void testDuplicateFixtureException() throws LeagueException{
+		testLeague.startNewSeason();
+		testLeague.playMatch("Gotham City", 1, "Metropolis", 0);
+		testLeague.playMatch("Gotham City", 2, "Metropolis", 2);
+	}
+	
+	@Test
+	/* Testing the fixtures remaining are counted for the league and each team */
+	public void testFixturesRemaining() throws LeagueException{
+		testLeague.startNewSeason();
+		assertEquals(12, testLeague.getFixturesRemaining());
+		testLeague.playMatch("Gotham City", 1, "Metropolis", 0);
+		testLeague.playMatch("Metropolis", 1, "Gotham City", 0);
+		assertTrue(testLeague.hasPlayed("Gotham City", "Metropolis"));
+		assertFalse(testLeague.hasPlayed("Gotham City", "Central City"));
+		assertEquals(10, testLeague.getFixturesRemaining());
+		assertEquals(4, testLeague.getFixturesRemaining("Gotham City"));
+		assertEquals(6, testLeague.getFixturesRemaining("Central City"));
+		testLeague.endSeason();
+		testLeague.startNewSeason();
+		assertEquals(12, testLeague.getFixturesRemaining());
+		assertFalse(testLeague.hasPlayed("Gotham City", "Metropolis"));
+	}
+	
+	@Test
+	/* Testing the season ends by itself once every fixture is played */
+	public void testAutoFinish() throws LeagueException{
+		String[] names = {"Manchester United", "Central City", "Gotham City", "Metropolis"};
+		testLeague.setAutoFinish(true);
+		testLeague.startNewSeason();
+		for (String home: names) {
+			for (String away: names) {
+				if (!home.equals(away)) {
+					assertFalse(testLeague.isOffSeason());
+					testLeague.playMatch(home, 1, away, 0);
+				}
+			}
+		}
+		assertTrue(testLeague.isSeasonComplete());
+		assertTrue(testLeague.isOffSeason());
+	}
 }
@@ -0,0 +1,172 @@
+package asgn1Tests;
+import static org.junit.Assert.*;
+import java.util.Random;
+import org.junit.Test;
+import asgn1Exceptions.CompetitionException;
+import asgn1Exceptions.LeagueException;
+import asgn1Exceptions.TeamException;
+import asgn1SoccerCompetition.SoccerCompetition;
+import asgn1SoccerCompetition.SoccerLeague;
+import asgn1SoccerCompetition.SoccerTeam;
+
+/**
+ * A benchmark, written as JUnit tests, that checks the running time of the league and competition operations 
+ * grows no faster than n log n as the number of teams grows from thousands of teams in a league to a million
+ * teams in a competition. Each operation is timed on a small and a large size, taking the best of a
+ * few runs, and the ratio of the times is compared with the ratio n log n predicts, with generous slack
+ * for timing noise. An accidental O(n^2) operation grows far beyond the slack, or hits the test timeout.
+ *
+ * Wall clock ratios depend on the load of the machine, so the benchmark is not part of the unit tests
+ * and is run on its own, on a quiet machine. {@link SoccerScalingTests} checks the same operations by 
+ * counting comparisons instead.
+ *
+ * @author Oswald Doring
+ *
+ */
+public class SoccerScalingBenchmark {
+
+	// The number of teams in the small and large leagues
+	static final int SMALL = 1 << 14;
+	static final int LARGE = 1 << 18;
+	// The number of leagues in the competitions, so the large competition holds a million teams
+	static final int NUM_LEAGUES = 4;
+	// The number of timed runs at each size, of which the fastest is kept
+	static final int RUNS = 3;
+	// How much slower than n log n the large size may be before the test fails
+	static final double SLACK = 4;
+	// Times below this are treated as this, as they are mostly timing noise
+	static final long MIN_NANOS = 2000000;
+
+	@Test(timeout = 120000)
+	/* Testing registering teams grows no faster than n log n */
+	public void testRegisterTeamScaling() throws LeagueException, TeamException{
+		assertScales("registerTeam", timeRegisterTeam(SMALL), timeRegisterTeam(LARGE));
+	}
+
+	@Test(timeout = 120000)
+	/* Testing playing matches grows no faster than n log n */
+	public void testPlayMatchScaling() throws LeagueException, TeamException{
+		assertScales("playMatch", timePlayMatch(SMALL), timePlayMatch(LARGE));
+	}
+
+	@Test(timeout = 120000)
+	/* Testing sorting teams grows no faster than n log n */
+	public void testSortTeamsScaling() throws LeagueException, TeamException{
+		assertScales("sortTeams", timeSortTeams(SMALL), timeSortTeams(LARGE));
+	}
+
+	@Test(timeout = 120000)
+	/* Testing ending the season of a competition grows no faster than n log n */
+	public void testEndSeasonScaling() throws CompetitionException, LeagueException, TeamException{
+		assertScales("endSeason", timeEndSeason(SMALL), timeEndSeason(LARGE));
+	}
+
+	/* Fails if the time at the large size grew faster than n log n from the time at the small size */
+	private void assertScales(String operation, long smallNanos, long largeNanos){
+		double expected = (double) LARGE * Math.log(LARGE) / (SMALL * Math.log(SMALL));
+		double actual = (double) Math.max(largeNanos, MIN_NANOS) / Math.max(smallNanos, MIN_NANOS);
+		assertTrue(operation + " grew " + actual + " times from " + SMALL + " to " + LARGE + " teams",
+				actual <= expected * SLACK);
+	}
+
+	/* Registers every team of a league */
+	private long timeRegisterTeam(int numTeams) throws LeagueException, TeamException{
+		long best = Long.MAX_VALUE;
+		for (int run = 0; run < RUNS; run++) {
+			SoccerTeam[] teams = createTeams(numTeams, 0);
+			SoccerLeague league = new SoccerLeague(numTeams);
+			long start = System.nanoTime();
+			for (SoccerTeam team: teams) {
+				league.registerTeam(team);
+			}
+			best = Math.min(best, System.nanoTime() - start);
+		}
+		return best;
+	}
+
+	/* Plays four matches for every team of a league */
+	private long timePlayMatch(int numTeams) throws LeagueException, TeamException{
+		long best = Long.MAX_VALUE;
+		for (int run = 0; run < RUNS; run++) {
+			SoccerLeague league = createLeague(numTeams, 0);
+			String[] names = new String[numTeams];
+			for (int team = 0; team < numTeams; team++) {
+				names[team] = teamName(0, team);
+			}
+			Random random = new Random(302);
+			long start = System.nanoTime();
+			for (int round = 1; round <= 4; round++) {
+				for (int team = 0; team < numTeams; team++) {
+					league.playMatch(names[team], random.nextInt(5), names[(team + round) % numTeams], random.nextInt(5));
+				}
+			}
+			best = Math.min(best, System.nanoTime() - start);
+		}
+		return best;
+	}
+
+	/* Sorts a league after a round of matches */
+	private long timeSortTeams(int numTeams) throws LeagueException, TeamException{
+		long best = Long.MAX_VALUE;
+		for (int run = 0; run < RUNS; run++) {
+			SoccerLeague league = createLeague(numTeams, 0);
+			playRound(league, 0, numTeams);
+			long start = System.nanoTime();
+			league.sortTeams();
+			best = Math.min(best, System.nanoTime() - start);
+		}
+		return best;
+	}
+
+	/* Ends the season of a competition, including promotion and relegation */
+	private long timeEndSeason(int numTeams) throws CompetitionException, LeagueException, TeamException{
+		long best = Long.MAX_VALUE;
+		for (int run = 0; run < RUNS; run++) {
+			SoccerCompetition competition = new SoccerCompetition("Scaling", NUM_LEAGUES, numTeams);
+			for (int leagueNum = 0; leagueNum < NUM_LEAGUES; leagueNum++) {
+				SoccerLeague league = competition.getLeague(leagueNum);
+				for (SoccerTeam team: createTeams(numTeams, leagueNum)) {
+					league.registerTeam(team);
+				}
+			}
+			competition.startSeason();
+			for (int leagueNum = 0; leagueNum < NUM_LEAGUES; leagueNum++) {
+				playRound(competition.getLeague(leagueNum), leagueNum, numTeams);
+			}
+			long start = System.nanoTime();
+			competition.endSeason();
+			best = Math.min(best, System.nanoTime() - start);
+		}
+		return best;
+	}
+
+	/* Creates a league of teams with its season started */
+	private SoccerLeague createLeague(int numTeams, int leagueNum) throws LeagueException, TeamException{
+		SoccerLeague league = new SoccerLeague(numTeams);
+		for (SoccerTeam team: createTeams(numTeams, leagueNum)) {
+			league.registerTeam(team);
+		}
+		league.startNewSeason();
+		return league;
+	}
+
+	/* Plays one match between neighbouring teams with random scores */
+	private void playRound(SoccerLeague league, int leagueNum, int numTeams) throws LeagueException{
+		Random random = new Random(302);
+		for (int team = 0; team + 1 < numTeams; team += 2) {
+			league.playMatch(teamName(leagueNum, team), random.nextInt(5), teamName(leagueNum, team + 1), random.nextInt(5));
+		}
+	}
+
+	private SoccerTeam[] createTeams(int numTeams, int leagueNum) throws TeamException{
+		SoccerTeam[] teams = new SoccerTeam[numTeams];
+		for (int team = 0; team < numTeams; team++) {
+			teams[team] = new SoccerTeam(teamName(leagueNum, team), "Nick");
+		}
+		return teams;
+	}
+
+	private String teamName(int leagueNum, int team){
+		return "Team " + leagueNum + "-" + team;
+	}
+}
@@ -0,0 +1,164 @@
+package asgn1Tests;
+import static org.junit.Assert.*;
+import java.util.Random;
+import org.junit.Test;
+import asgn1Exceptions.CompetitionException;
+import asgn1Exceptions.LeagueException;
+import asgn1Exceptions.TeamException;
+import asgn1SoccerCompetition.SoccerCompetition;
+import asgn1SoccerCompetition.SoccerLeague;
+import asgn1SoccerCompetition.SoccerTeam;
+
+/**
+ * A set of JUnit tests that check the league and competition operations do no more than n log n work as
+ * the number of teams grows. The work is measured by counting the comparisons and equality checks made on
+ * the teams and the reads of their official names, which is how a search of the team list matches a name.
+ * The count does not depend on the speed or load of the machine, and is compared with n log n at a small 
+ * and a large size. An accidental O(n^2) operation, such as a search of the team list for every match,
+ * exceeds the bound many times over. {@link SoccerScalingBenchmark} times the same operations.
+ *
+ * @author Oswald Doring
+ *
+ */
+public class SoccerScalingTests {
+
+	// The number of teams in the small and large leagues
+	static final int SMALL = 1 << 10;
+	static final int LARGE = 1 << 14;
+	// The number of leagues in the competitions
+	static final int NUM_LEAGUES = 4;
+	// The most operations counted for each team and each doubling of the number of teams
+	static final int BOUND = 8;
+
+	/* A team that counts the comparisons and equality checks made on it and the reads of its official name */
+	private static class CountingTeam extends SoccerTeam {
+		static long operations;
+
+		CountingTeam(String officialName, String nickName) throws TeamException {
+			super(officialName, nickName);
+		}
+
+		@Override
+		public int compareTo(SoccerTeam other) {
+			operations++;
+			return super.compareTo(other);
+		}
+
+		@Override
+		public boolean equals(Object other) {
+			operations++;
+			return super.equals(other);
+		}
+
+		@Override
+		public int hashCode() {
+			return super.hashCode();
+		}
+
+		@Override
+		public String getOfficialName() {
+			operations++;
+			return super.getOfficialName();
+		}
+	}
+
+	@Test
+	/* Testing registering teams does no more than n log n work */
+	public void testRegisterTeamScaling() throws LeagueException, TeamException{
+		for (int numTeams: new int[] {SMALL, LARGE}) {
+			SoccerTeam[] teams = createTeams(numTeams, 0);
+			SoccerLeague league = new SoccerLeague(numTeams);
+			CountingTeam.operations = 0;
+			for (SoccerTeam team: teams) {
+				league.registerTeam(team);
+			}
+			assertScales("registerTeam", numTeams);
+		}
+	}
+
+	@Test
+	/* Testing playing matches does no more than n log n work */
+	public void testPlayMatchScaling() throws LeagueException, TeamException{
+		for (int numTeams: new int[] {SMALL, LARGE}) {
+			SoccerLeague league = createLeague(numTeams, 0);
+			Random random = new Random(302);
+			CountingTeam.operations = 0;
+			for (int round = 1; round <= 4; round++) {
+				for (int team = 0; team < numTeams; team++) {
+					league.playMatch(teamName(0, team), random.nextInt(5), teamName(0, (team + round) % numTeams), random.nextInt(5));
+				}
+			}
+			assertScales("playMatch", numTeams);
+		}
+	}
+
+	@Test
+	/* Testing sorting teams does no more than n log n work */
+	public void testSortTeamsScaling() throws LeagueException, TeamException{
+		for (int numTeams: new int[] {SMALL, LARGE}) {
+			SoccerLeague league = createLeague(numTeams, 0);
+			playRound(league, 0, numTeams);
+			CountingTeam.operations = 0;
+			league.sortTeams();
+			assertScales("sortTeams", numTeams);
+		}
+	}
+
+	@Test
+	/* Testing ending the season of a competition does no more than n log n work */
+	public void testEndSeasonScaling() throws CompetitionException, LeagueException, TeamException{
+		for (int numTeams: new int[] {SMALL, LARGE}) {
+			SoccerCompetition competition = new SoccerCompetition("Scaling", NUM_LEAGUES, numTeams);
+			for (int leagueNum = 0; leagueNum < NUM_LEAGUES; leagueNum++) {
+				SoccerLeague league = competition.getLeague(leagueNum);
+				for (SoccerTeam team: createTeams(numTeams, leagueNum)) {
+					league.registerTeam(team);
+				}
+			}
+			competition.startSeason();
+			for (int leagueNum = 0; leagueNum < NUM_LEAGUES; leagueNum++) {
+				playRound(competition.getLeague(leagueNum), leagueNum, numTeams);
+			}
+			CountingTeam.operations = 0;
+			competition.endSeason();
+			assertScales("endSeason", NUM_LEAGUES * numTeams);
+		}
+	}
+
+	/* Fails if the operations counted since the counter was reset exceed the bound for a number of teams */
+	private void assertScales(String operation, int numTeams){
+		double bound = BOUND * numTeams * (Math.log(numTeams) / Math.log(2));
+		assertTrue(operation + " made " + CountingTeam.operations + " operations for " + numTeams + " teams",
+				CountingTeam.operations <= bound);
+	}
+
+	/* Creates a league of teams with its season started */
+	private SoccerLeague createLeague(int numTeams, int leagueNum) throws LeagueException, TeamException{
+		SoccerLeague league = new SoccerLeague(numTeams);
+		for (SoccerTeam team: createTeams(numTeams, leagueNum)) {
+			league.registerTeam(team);
+		}
+		league.startNewSeason();
+		return league;
+	}
+
+	/* Plays one match between neighbouring teams with random scores */
+	private void playRound(SoccerLeague league, int leagueNum, int numTeams) throws LeagueException{
+		Random random = new Random(302);
+		for (int team = 0; team + 1 < numTeams; team += 2) {
+			league.playMatch(teamName(leagueNum, team), random.nextInt(5), teamName(leagueNum, team + 1), random.nextInt(5));
+		}
+	}
+
+	private SoccerTeam[] createTeams(int numTeams, int leagueNum) throws TeamException{
+		SoccerTeam[] teams = new SoccerTeam[numTeams];
+		for (int team = 0; team < numTeams; team++) {
+			teams[team] = new CountingTeam(teamName(leagueNum, team), "Nick");
+		}
+		return teams;
+	}
+
+	private String teamName(int leagueNum, int team){
+		return "Team " + leagueNum + "-" + team;
+	}
+}
@@ -3,6 +3,7 @@ import static org.junit.Assert.*;
 import org.junit.Before;
 import org.junit.Test;
 import asgn1SoccerCompetition.SportsTeamForm;
+import asgn1SportsUtils.Venue;
 import asgn1SportsUtils.WLD;
 
 /**
@@ -90,4 +91,49 @@ public class SportsTeamFormTests {
 		assertEquals(0, sportsTeamFormTest.getNumGames());
 		assertEquals("-----", sportsTeamFormTest.toString());
 	}
+	
+	@Test 
+	/* Testing the long window keeps the last ten results */
+	public void testLongWindow(){
+		for (int game = 0; game < 12; game++) {
+			sportsTeamFormTest.addResultToForm(game < 4 ? WLD.LOSS : WLD.WIN);
+		}
+		assertEquals("WWWWWWWWLL", sportsTeamFormTest.toString(SportsTeamForm.LONG_WINDOW, Venue.ALL));
+		assertEquals(2, sportsTeamFormTest.getResultCount(WLD.LOSS, SportsTeamForm.LONG_WINDOW, Venue.ALL));
+		assertEquals(0, sportsTeamFormTest.getResultCount(WLD.LOSS, SportsTeamForm.SHORT_WINDOW, Venue.ALL));
+		assertEquals(4, sportsTeamFormTest.getResultCount(WLD.LOSS, SportsTeamForm.SEASON, Venue.ALL));
+	}
+	
+	@Test 
+	/* Testing home and away results are kept apart */
+	public void testHomeAndAwayForm(){
+		sportsTeamFormTest.addResultToForm(WLD.WIN, Venue.HOME);
+		sportsTeamFormTest.addResultToForm(WLD.LOSS, Venue.AWAY);
+		sportsTeamFormTest.addResultToForm(WLD.DRAW, Venue.HOME);
+		sportsTeamFormTest.addResultToForm(WLD.WIN);
+		assertEquals("WDLW-", sportsTeamFormTest.toString());
+		assertEquals("DW---", sportsTeamFormTest.toString(SportsTeamForm.SHORT_WINDOW, Venue.HOME));
+		assertEquals("L----", sportsTeamFormTest.toString(SportsTeamForm.SHORT_WINDOW, Venue.AWAY));
+		assertEquals(2, sportsTeamFormTest.getNumGames(Venue.HOME));
+		assertEquals(4, sportsTeamFormTest.getNumGames());
+	}
+	
+	@Test 
+	/* Testing the winning and unbeaten streaks */
+	public void testStreaks(){
+		sportsTeamFormTest.addResultToForm(WLD.LOSS, Venue.HOME);
+		sportsTeamFormTest.addResultToForm(WLD.WIN, Venue.AWAY);
+		sportsTeamFormTest.addResultToForm(WLD.DRAW, Venue.HOME);
+		sportsTeamFormTest.addResultToForm(WLD.WIN, Venue.AWAY);
+		assertEquals(1, sportsTeamFormTest.getWinStreak(Venue.ALL));
+		assertEquals(3, sportsTeamFormTest.getUnbeatenStreak(Venue.ALL));
+		assertEquals(2, sportsTeamFormTest.getWinStreak(Venue.AWAY));
+		assertEquals(0, sportsTeamFormTest.getWinStreak(Venue.HOME));
+	}
+	
+	@Test(expected = IllegalArgumentException.class)
+	/* Testing if an exception is thrown when the form is asked for over a window it is not kept over */
+	public void testUnknownWindowException(){
+		sportsTeamFormTest.getResultCount(WLD.WIN, 7, Venue.ALL);
+	}
 }
\ No newline at end of file
@@ -0,0 +1,103 @@
+package asgn1Tests;
+import static org.junit.Assert.*;
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import org.junit.Before;
+import org.junit.Test;
+import asgn1Exceptions.LeagueException;
+import asgn1Exceptions.TeamException;
+import asgn1SoccerCompetition.SoccerLeague;
+import asgn1SoccerCompetition.SoccerTeam;
+
+/**
+ * A set of JUnit tests for the rendered league table cache of asgn1SoccerCompetition.SoccerLeague
+ *
+ * @author Oswald Doring
+ *
+ */
+public class StandingsCacheTests {
+
+	SoccerLeague testLeague;
+
+	@Before /* Sets up a league of four teams and starts the season */
+	public void setup() throws LeagueException, TeamException{
+		testLeague = new SoccerLeague(4);
+		testLeague.registerTeam(new SoccerTeam("Central City", "Speedsters"));
+		testLeague.registerTeam(new SoccerTeam("Gotham City", "Dark Knights"));
+		testLeague.registerTeam(new SoccerTeam("Metropolis", "Men of Steel"));
+		testLeague.registerTeam(new SoccerTeam("Paradise Island", "Wicked Wonders"));
+		testLeague.startNewSeason();
+	}
+
+	@Test
+	/* Testing the table is reused while nothing changes */
+	public void testTableReused(){
+		assertSame(testLeague.getLeagueTable(), testLeague.getLeagueTable());
+	}
+
+	@Test
+	/* Testing the table matches the rows of the teams in order */
+	public void testTableMatchesRows() throws LeagueException{
+		testLeague.playMatch("Gotham City", 2, "Metropolis", 1);
+		testLeague.sortTeams();
+		StringBuilder expected = new StringBuilder();
+		String[] order = {"Gotham City", "Central City", "Paradise Island", "Metropolis"};
+		for (String name: order) {
+			expected.append(testLeague.getTeamByOfficalName(name).getTeamDetails()).append(System.lineSeparator());
+		}
+		assertEquals(expected.toString(), testLeague.getLeagueTable());
+	}
+
+	@Test
+	/* Testing a match invalidates the table */
+	public void testMatchInvalidates() throws LeagueException{
+		String before = testLeague.getLeagueTable();
+		testLeague.playMatch("Gotham City", 2, "Metropolis", 1);
+		String after = testLeague.getLeagueTable();
+		assertNotEquals(before, after);
+		assertTrue(after.contains(testLeague.getTeamByOfficalName("Gotham City").getTeamDetails()));
+	}
+
+	@Test
+	/* Testing sorting the teams into a new order invalidates the table */
+	public void testSortInvalidates() throws LeagueException{
+		testLeague.playMatch("Paradise Island", 3, "Central City", 0);
+		String unsorted = testLeague.getLeagueTable();
+		assertTrue(unsorted.startsWith(testLeague.getTeamByOfficalName("Central City").getTeamDetails()));
+		testLeague.sortTeams();
+		String sorted = testLeague.getLeagueTable();
+		assertEquals("Paradise Island", testLeague.getTopTeam().getOfficialName());
+		assertTrue(sorted.startsWith(testLeague.getTopTeam().getTeamDetails()));
+		assertTrue(sorted.endsWith(testLeague.getBottomTeam().getTeamDetails() + System.lineSeparator()));
+	}
+
+	@Test
+	/* Testing a new season invalidates the table */
+	public void testNewSeasonInvalidates() throws LeagueException{
+		String before = testLeague.getLeagueTable();
+		testLeague.playMatch("Gotham City", 2, "Metropolis", 1);
+		testLeague.endSeason();
+		testLeague.startNewSeason();
+		assertEquals(before, testLeague.getLeagueTable());
+		assertFalse(testLeague.getLeagueTable().contains("W----"));
+	}
+
+	@Test
+	/* Testing removing a team invalidates the table */
+	public void testRemoveInvalidates() throws LeagueException, TeamException{
+		testLeague.playMatch("Gotham City", 2, "Metropolis", 1);
+		testLeague.endSeason();
+		testLeague.getLeagueTable();
+		testLeague.removeTeam(testLeague.getTeamByOfficalName("Metropolis"));
+		assertFalse(testLeague.getLeagueTable().contains("Metropolis"));
+	}
+
+	@Test
+	/* Testing the displayed table is the cached table */
+	public void testDisplayLeagueTable() throws LeagueException{
+		testLeague.playMatch("Gotham City", 2, "Metropolis", 1);
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		testLeague.displayLeagueTable(new PrintStream(bytes, true));
+		assertEquals(testLeague.getLeagueTable(), bytes.toString());
+	}
+}
@@ -0,0 +1,187 @@
+package asgn1Tests;
+import static org.junit.Assert.*;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import org.junit.Before;
+import org.junit.Test;
+import asgn1Exceptions.LeagueException;
+import asgn1Exceptions.TeamException;
+import asgn1SoccerCompetition.SoccerLeague;
+import asgn1SoccerCompetition.SoccerTeam;
+import asgn1SoccerCompetition.StandingsDelta;
+import asgn1SoccerCompetition.StandingsMarker;
+
+/**
+ * A set of JUnit tests for the asgn1SoccerCompetition.StandingsDelta class
+ *
+ * @author Oswald Doring
+ *
+ */
+public class StandingsDeltaTests {
+
+	SoccerLeague testLeague;
+
+	@Before /* Sets up a league of four teams and starts the season */
+	public void setup() throws LeagueException, TeamException{
+		testLeague = new SoccerLeague(4);
+		testLeague.registerTeam(new SoccerTeam("Central City", "Speedsters"));
+		testLeague.registerTeam(new SoccerTeam("Gotham City", "Dark Knights"));
+		testLeague.registerTeam(new SoccerTeam("Metropolis", "Men of Steel"));
+		testLeague.registerTeam(new SoccerTeam("Paradise Island", "Wicked Wonders"));
+		testLeague.startNewSeason();
+	}
+
+	@Test(expected = LeagueException.class)
+	/* Testing if an exception is thrown when a marker is used after a new season starts */
+	public void testStaleMarkerException() throws LeagueException{
+		StandingsMarker marker = testLeague.markStandings();
+		testLeague.endSeason();
+		testLeague.startNewSeason();
+		testLeague.standingsDeltaSince(marker);
+	}
+
+	@Test
+	/* Testing a delta with no matches played is empty */
+	public void testEmptyDelta() throws LeagueException{
+		StandingsMarker marker = testLeague.markStandings();
+		assertTrue(testLeague.standingsDeltaSince(marker).isEmpty());
+	}
+
+	@Test
+	/* Testing a single match moves the winner into the promotion zone and the loser into the relegation zone */
+	public void testSingleMatchDelta() throws LeagueException{
+		StandingsMarker marker = testLeague.markStandings();
+		testLeague.playMatch("Metropolis", 2, "Gotham City", 0);
+		StandingsDelta delta = testLeague.standingsDeltaSince(marker);
+		assertEquals(2, delta.getStatChanges().size());
+		assertEquals(0, delta.getStatChanges().get(0).getBefore().getCompetitionPoints());
+		assertEquals("[Metropolis]", delta.getPromotionEntries().toString());
+		assertEquals("[Central City]", delta.getPromotionExits().toString());
+		assertEquals("[Gotham City]", delta.getRelegationEntries().toString());
+		assertEquals("[Paradise Island]", delta.getRelegationExits().toString());
+		// Alphabetical order before the match was Central, Gotham, Metropolis, Paradise
+		assertEquals(4, delta.getRankChanges().size());
+	}
+
+	@Test
+	/* Testing rank changes against a full recomputation of the table over many random matches */
+	public void testRankChangesMatchFullTable() throws LeagueException, TeamException{
+		SoccerLeague bigLeague = new SoccerLeague(30);
+		for (int team = 0; team < 30; team++) {
+			bigLeague.registerTeam(new SoccerTeam("Team " + team, "Nick " + team));
+		}
+		bigLeague.startNewSeason();
+		Random random = new Random(302);
+		for (int round = 0; round < 20; round++) {
+			Map<String, Integer> oldRanks = ranks(bigLeague);
+			StandingsMarker marker = bigLeague.markStandings();
+			for (int match = 0; match < 1 + random.nextInt(4); match++) {
+				int home = random.nextInt(30);
+				int away = (home + 1 + random.nextInt(29)) % 30;
+				bigLeague.playMatch("Team " + home, random.nextInt(5), "Team " + away, random.nextInt(5));
+			}
+			StandingsDelta delta = bigLeague.standingsDeltaSince(marker);
+			Map<String, Integer> newRanks = ranks(bigLeague);
+			int moved = 0;
+			for (String name: newRanks.keySet()) {
+				if (!oldRanks.get(name).equals(newRanks.get(name))) {
+					moved++;
+				}
+			}
+			assertEquals(moved, delta.getRankChanges().size());
+			for (StandingsDelta.RankChange change: delta.getRankChanges()) {
+				assertEquals((int) oldRanks.get(change.getOfficialName()), change.getOldRank());
+				assertEquals((int) newRanks.get(change.getOfficialName()), change.getNewRank());
+			}
+		}
+	}
+
+	@Test
+	/* Testing a held marker still sees every change once the markers taken around it are dropped */
+	public void testDroppedMarkersTrimmed() throws LeagueException, TeamException{
+		SoccerLeague bigLeague = new SoccerLeague(30);
+		for (int team = 0; team < 30; team++) {
+			bigLeague.registerTeam(new SoccerTeam("Team " + team, "Nick " + team));
+		}
+		bigLeague.startNewSeason();
+		StandingsMarker kept = null;
+		Map<String, Integer> keptPoints = new HashMap<String, Integer>();
+		for (int match = 0; match < 400; match++) {
+			if (match == 150) {
+				kept = bigLeague.markStandings();
+				for (int team = 0; team < 30; team++) {
+					keptPoints.put("Team " + team, bigLeague.getTeamByOfficalName("Team " + team).getCompetitionPoints());
+				}
+			} else if (match % 10 == 0) {
+				bigLeague.markStandings();
+				System.gc();
+			}
+			int home = match % 30;
+			int away = (home + 1 + match / 30) % 30;
+			bigLeague.playMatch("Team " + home, match % 4, "Team " + away, match % 3);
+		}
+		StandingsDelta delta = bigLeague.standingsDeltaSince(kept);
+		int changed = 0;
+		for (int team = 0; team < 30; team++) {
+			if (keptPoints.get("Team " + team) != bigLeague.getTeamByOfficalName("Team " + team).getCompetitionPoints()) {
+				changed++;
+			}
+		}
+		int pointChanges = 0;
+		for (StandingsDelta.StatChange change: delta.getStatChanges()) {
+			assertEquals((int) keptPoints.get(change.getAfter().getOfficialName()), change.getBefore().getCompetitionPoints());
+			if (change.getBefore().getCompetitionPoints() != change.getAfter().getCompetitionPoints()) {
+				pointChanges++;
+			}
+		}
+		assertEquals(changed, pointChanges);
+		assertEquals(30, delta.getStatChanges().size());
+	}
+
+	@Test
+	/* Testing the teams ranked by a delta are in the same order as a full sort */
+	public void testDeltaRanksLikeSort() throws LeagueException, TeamException{
+		SoccerLeague bigLeague = new SoccerLeague(40);
+		for (int team = 0; team < 40; team++) {
+			bigLeague.registerTeam(new SoccerTeam("Team " + team, "Nick " + team));
+		}
+		bigLeague.startNewSeason();
+		Random random = new Random(302);
+		for (int round = 0; round < 30; round++) {
+			StandingsMarker marker = bigLeague.markStandings();
+			int home = random.nextInt(40);
+			int away = (home + 1 + random.nextInt(39)) % 40;
+			if (!bigLeague.hasPlayed("Team " + home, "Team " + away)) {
+				bigLeague.playMatch("Team " + home, random.nextInt(5), "Team " + away, random.nextInt(5));
+			}
+			bigLeague.standingsDeltaSince(marker);
+			String[] rows = bigLeague.getLeagueTable().split(System.lineSeparator());
+			for (int rank = 0; rank < rows.length; rank++) {
+				assertTrue(rows[rank].startsWith(bigLeague.getStandings().get(rank).getOfficialName() + "\t"));
+			}
+		}
+	}
+
+	/* Returns the rank of every team in a league */
+	private Map<String, Integer> ranks(SoccerLeague league) throws LeagueException{
+		league.sortTeams();
+		Map<String, Integer> ranks = new HashMap<String, Integer>();
+		List<String> names = new ArrayList<String>();
+		for (int team = 0; team < league.getRegisteredNumTeams(); team++) {
+			names.add("Team " + team);
+		}
+		for (String name: names) {
+			int rank = 0;
+			for (String other: names) {
+				if (league.getTeamByOfficalName(other).compareTo(league.getTeamByOfficalName(name)) < 0) {
+					rank++;
+				}
+			}
+			ranks.put(name, rank);
+		}
+		return ranks;
+	}
+}
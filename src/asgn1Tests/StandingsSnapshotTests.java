@@ -0,0 +1,192 @@
+package asgn1Tests;
+import static org.junit.Assert.*;
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.Before;
+import org.junit.Test;
+import asgn1Exceptions.LeagueException;
+import asgn1Exceptions.TeamException;
+import asgn1SoccerCompetition.MatchRound;
+import asgn1SoccerCompetition.SoccerLeague;
+import asgn1SoccerCompetition.SoccerTeam;
+import asgn1SoccerCompetition.StandingsSnapshot;
+import asgn1SoccerCompetition.TeamStanding;
+
+/**
+ * A set of JUnit tests for the asgn1SoccerCompetition.StandingsSnapshot class and the snapshots published by SoccerLeague
+ *
+ * @author Oswald Doring
+ *
+ */
+public class StandingsSnapshotTests {
+
+	static final int NUM_TEAMS = 4;
+	SoccerLeague testLeague;
+
+	@Before /* Sets up a league of four teams with a season started */
+	public void setup() throws LeagueException, TeamException{
+		testLeague = new SoccerLeague(NUM_TEAMS);
+		testLeague.registerTeam(new SoccerTeam("Central City", "Speedsters"));
+		testLeague.registerTeam(new SoccerTeam("Gotham City", "Dark Knights"));
+		testLeague.registerTeam(new SoccerTeam("Metropolis", "Men of Steel"));
+		testLeague.registerTeam(new SoccerTeam("Star City", "Archers"));
+		testLeague.startNewSeason();
+	}
+
+	@Test(expected = LeagueException.class)
+	/* Testing if an exception is thrown for a snapshot of a league that is not publishing them */
+	public void testNotPublishingException() throws LeagueException{
+		assertFalse(testLeague.isPublishingSnapshots());
+		testLeague.getSnapshot();
+	}
+
+	@Test(expected = LeagueException.class)
+	/* Testing if an exception is thrown for a snapshot once publishing is turned off */
+	public void testTurnedOffException() throws LeagueException{
+		testLeague.setPublishingSnapshots(true);
+		testLeague.setPublishingSnapshots(false);
+		testLeague.getSnapshot();
+	}
+
+	@Test
+	/* Testing a committed round publishes a ranked snapshot without the teams being sorted by the caller */
+	public void testRoundPublishesRankedSnapshot() throws LeagueException{
+		testLeague.setPublishingSnapshots(true);
+		long version = testLeague.getSnapshot().getVersion();
+		MatchRound matchday = testLeague.beginRound();
+		matchday.addResult("Star City", 3, "Central City", 0);
+		matchday.addResult("Gotham City", 1, "Metropolis", 1);
+		matchday.commit();
+		StandingsSnapshot snapshot = testLeague.getSnapshot();
+		assertEquals(version + 1, snapshot.getVersion());
+		assertEquals(2, snapshot.getNumMatches());
+		assertFalse(snapshot.isOffSeason());
+		assertEquals("Star City", snapshot.getTopTeam().getOfficialName());
+		assertEquals("Central City", snapshot.getBottomTeam().getOfficialName());
+		assertEquals(testLeague.getStandings(), snapshot.getStandings());
+		assertEquals(testLeague.getLeagueTable(), snapshot.getLeagueTable());
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		snapshot.displayLeagueTable(new PrintStream(out));
+		assertEquals(snapshot.getLeagueTable(), out.toString());
+	}
+
+	@Test
+	/* Testing matches played or corrected one at a time are only published at the next commit boundary */
+	public void testMatchPublishedAtBoundary() throws LeagueException{
+		testLeague.setPublishingSnapshots(true);
+		StandingsSnapshot snapshot = testLeague.getSnapshot();
+		testLeague.playMatch("Star City", 3, "Central City", 0);
+		testLeague.correctMatch("Star City", 2, "Central City", 0);
+		assertSame(snapshot, testLeague.getSnapshot());
+		testLeague.publishSnapshot();
+		assertEquals(snapshot.getVersion() + 1, testLeague.getSnapshot().getVersion());
+		assertEquals(1, testLeague.getSnapshot().getNumMatches());
+		assertEquals("Star City", testLeague.getSnapshot().getTopTeam().getOfficialName());
+		assertEquals(testLeague.getLeagueTable(), testLeague.getSnapshot().getLeagueTable());
+	}
+
+	@Test(expected = LeagueException.class)
+	/* Testing if an exception is thrown for a snapshot published by a league that is not publishing them */
+	public void testPublishNotPublishingException() throws LeagueException{
+		testLeague.publishSnapshot();
+	}
+
+	@Test
+	/* Testing a published snapshot does not change as the league moves on */
+	public void testSnapshotImmutable() throws LeagueException{
+		testLeague.setPublishingSnapshots(true);
+		testLeague.playMatch("Star City", 3, "Central City", 0);
+		testLeague.publishSnapshot();
+		StandingsSnapshot snapshot = testLeague.getSnapshot();
+		String table = snapshot.getLeagueTable();
+		testLeague.playMatch("Central City", 5, "Gotham City", 0);
+		testLeague.correctMatch("Star City", 0, "Central City", 4);
+		testLeague.publishSnapshot();
+		assertNotSame(snapshot, testLeague.getSnapshot());
+		assertEquals(table, snapshot.getLeagueTable());
+		assertEquals("Star City", snapshot.getTopTeam().getOfficialName());
+		assertEquals(3, snapshot.getTopTeam().getCompetitionPoints());
+		assertEquals("Central City", testLeague.getSnapshot().getTopTeam().getOfficialName());
+	}
+
+	@Test(expected = UnsupportedOperationException.class)
+	/* Testing if an exception is thrown for a change to the standings of a snapshot */
+	public void testStandingsReadOnlyException() throws LeagueException{
+		testLeague.setPublishingSnapshots(true);
+		List<TeamStanding> standings = testLeague.getSnapshot().getStandings();
+		standings.remove(0);
+	}
+
+	@Test
+	/* Testing only the last match of a season that finishes by itself publishes a snapshot, which is off season */
+	public void testAutoFinishSnapshot() throws LeagueException{
+		testLeague.setPublishingSnapshots(true);
+		testLeague.setAutoFinish(true);
+		String[] names = {"Central City", "Gotham City", "Metropolis", "Star City"};
+		for (String home: names) {
+			for (String away: names) {
+				if (!home.equals(away)) {
+					assertFalse(testLeague.getSnapshot().isOffSeason());
+					assertEquals(0, testLeague.getSnapshot().getNumMatches());
+					testLeague.playMatch(home, 1, away, 0);
+				}
+			}
+		}
+		assertTrue(testLeague.getSnapshot().isOffSeason());
+		assertEquals(12, testLeague.getSnapshot().getNumMatches());
+	}
+
+	@Test
+	/* Testing readers on other threads only ever see whole, ranked rounds while rounds are committed */
+	public void testConcurrentReaders() throws InterruptedException, LeagueException{
+		testLeague.setPublishingSnapshots(true);
+		AtomicReference<String> failure = new AtomicReference<String>();
+		Thread[] readers = new Thread[4];
+		for (int reader = 0; reader < readers.length; reader++) {
+			readers[reader] = new Thread(() -> {
+				long lastVersion = 0;
+				try {
+					StandingsSnapshot snapshot;
+					do {
+						snapshot = testLeague.getSnapshot();
+						if (snapshot.getVersion() < lastVersion) {
+							failure.set("Saw an older snapshot");
+						}
+						lastVersion = snapshot.getVersion();
+						List<TeamStanding> standings = snapshot.getStandings();
+						for (int team = 0; team < standings.size(); team++) {
+							if (standings.get(team).getMatchesPlayed() * NUM_TEAMS != snapshot.getNumMatches() * 2) {
+								failure.set("Saw part of a round");
+							} else if (team > 0 && standings.get(team - 1).compareTo(standings.get(team)) > 0) {
+								failure.set("Saw unranked standings");
+							}
+						}
+					} while (snapshot.getNumMatches() < 6 * NUM_TEAMS / 2 && failure.get() == null);
+				} catch (LeagueException e) {
+					failure.set(e.getMessage());
+				}
+			});
+			readers[reader].start();
+		}
+		// Each pair of teams plays home and away over six rounds of two matches
+		int[][] pairs = {{0, 1, 2, 3}, {0, 2, 1, 3}, {0, 3, 1, 2}};
+		String[] names = {"Central City", "Gotham City", "Metropolis", "Star City"};
+		for (int round = 0; round < 6; round++) {
+			int[] pair = pairs[round % 3];
+			MatchRound matchday = testLeague.beginRound();
+			for (int match = 0; match < 4; match += 2) {
+				int home = round < 3 ? pair[match] : pair[match + 1];
+				int away = round < 3 ? pair[match + 1] : pair[match];
+				matchday.addResult(names[home], (round + match) % 4, names[away], round % 2);
+			}
+			matchday.commit();
+		}
+		for (Thread reader: readers) {
+			reader.join();
+		}
+		assertNull(failure.get());
+		assertEquals(12, testLeague.getSnapshot().getNumMatches());
+	}
+}
@@ -0,0 +1,136 @@
+package asgn1Tests;
+import static org.junit.Assert.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.junit.Before;
+import org.junit.Test;
+import asgn1Exceptions.CompetitionException;
+import asgn1Exceptions.LeagueException;
+import asgn1Exceptions.TeamException;
+import asgn1SoccerCompetition.SoccerCompetition;
+import asgn1SoccerCompetition.SoccerLeague;
+import asgn1SoccerCompetition.SoccerTeam;
+
+/**
+ * A set of JUnit tests for the secondary indexes of SoccerLeague and SoccerCompetition
+ *
+ * @author Oswald Doring
+ *
+ */
+public class TeamIndexTests {
+
+	SoccerLeague testLeague;
+
+	@Before /* Sets up a league of four teams, two of which share a nick name, and plays a match */
+	public void setup() throws LeagueException, TeamException{
+		testLeague = new SoccerLeague(4);
+		testLeague.registerTeam(new SoccerTeam("Central City", "Speedsters"));
+		testLeague.registerTeam(new SoccerTeam("Gotham City", "Dark Knights"));
+		testLeague.registerTeam(new SoccerTeam("Metropolis", "Men of Steel"));
+		testLeague.registerTeam(new SoccerTeam("Star City", "Speedsters"));
+		testLeague.startNewSeason();
+		testLeague.playMatch("Gotham City", 3, "Metropolis", 1);
+	}
+
+	/* The official names of teams */
+	private List<String> names(List<SoccerTeam> teams){
+		List<String> names = new ArrayList<String>();
+		for (SoccerTeam team: teams) {
+			names.add(team.getOfficialName());
+		}
+		return names;
+	}
+
+	@Test
+	/* Testing teams are found by nick name */
+	public void testNickName() throws LeagueException{
+		assertEquals(2, testLeague.getTeamsByNickName("Speedsters").size());
+		assertEquals("Metropolis", testLeague.getTeamsByNickName("Men of Steel").get(0).getOfficialName());
+		assertTrue(testLeague.getTeamsByNickName("Wicked Wonders").isEmpty());
+	}
+
+	@Test
+	/* Testing teams are found by points, including teams that have not played */
+	public void testPointsRange(){
+		assertEquals(List.of("Gotham City"), names(testLeague.getTeamsByPoints(1, 3)));
+		assertEquals(List.of("Central City", "Star City", "Metropolis"), names(testLeague.getTeamsByPoints(0, 0)));
+		assertTrue(testLeague.getTeamsByPoints(4, 100).isEmpty());
+		assertTrue(testLeague.getTeamsByPoints(3, 0).isEmpty());
+	}
+
+	@Test
+	/* Testing teams are found by a negative goal difference */
+	public void testGoalDifferenceRange(){
+		assertEquals(List.of("Metropolis"), names(testLeague.getTeamsByGoalDifference(Integer.MIN_VALUE, -1)));
+		assertEquals(List.of("Gotham City"), names(testLeague.getTeamsByGoalDifference(1, Integer.MAX_VALUE)));
+	}
+
+	@Test
+	/* Testing the indexes follow corrections, new seasons and removed teams */
+	public void testIndexesFollowChanges() throws LeagueException{
+		testLeague.correctMatch("Gotham City", 1, "Metropolis", 1);
+		assertEquals(List.of("Gotham City", "Metropolis"), names(testLeague.getTeamsByPoints(1, 1)));
+		testLeague.endSeason();
+		testLeague.startNewSeason();
+		assertEquals(4, testLeague.getTeamsByPoints(0, 0).size());
+		assertTrue(testLeague.getTeamsByPoints(1, 3).isEmpty());
+		testLeague.endSeason();
+		testLeague.removeTeam(testLeague.getTeamByOfficalName("Star City"));
+		assertEquals(List.of("Central City"), names(testLeague.getTeamsByNickName("Speedsters")));
+		assertEquals(3, testLeague.getTeamsByGoalDifference(-5, 5).size());
+	}
+
+	@Test
+	/* Testing a fork keeps its own indexes */
+	public void testFork() throws LeagueException{
+		SoccerLeague fork = testLeague.fork();
+		fork.playMatch("Central City", 2, "Star City", 0);
+		assertEquals(2, fork.getTeamsByPoints(3, 3).size());
+		assertEquals(1, testLeague.getTeamsByPoints(3, 3).size());
+	}
+
+	@Test
+	/* Testing range queries agree with a scan of every team after many matches */
+	public void testAgreesWithScan() throws LeagueException, TeamException{
+		SoccerLeague league = new SoccerLeague(20);
+		for (int team = 0; team < 20; team++) {
+			league.registerTeam(new SoccerTeam("Team " + team, "Nick " + team % 3));
+		}
+		league.startNewSeason();
+		Random random = new Random(302);
+		for (int home = 0; home < 20; home++) {
+			for (int away = 0; away < 20; away++) {
+				if (home != away && random.nextBoolean()) {
+					league.playMatch("Team " + home, random.nextInt(5), "Team " + away, random.nextInt(5));
+				}
+			}
+		}
+		for (int min = -5; min < 60; min += 7) {
+			int count = 0;
+			for (int team = 0; team < 20; team++) {
+				int points = league.getTeamByOfficalName("Team " + team).getCompetitionPoints();
+				count += points >= min && points <= min + 10 ? 1 : 0;
+			}
+			assertEquals(count, league.getTeamsByPoints(min, min + 10).size());
+		}
+	}
+
+	@Test
+	/* Testing the competition finds teams across its leagues after promotion and relegation */
+	public void testCompetition() throws CompetitionException, LeagueException, TeamException{
+		SoccerCompetition competition = new SoccerCompetition("Test", 2, 2);
+		competition.getLeague(0).registerTeam(new SoccerTeam("Central City", "Speedsters"));
+		competition.getLeague(0).registerTeam(new SoccerTeam("Gotham City", "Dark Knights"));
+		competition.getLeague(1).registerTeam(new SoccerTeam("Metropolis", "Men of Steel"));
+		competition.getLeague(1).registerTeam(new SoccerTeam("Star City", "Speedsters"));
+		competition.startSeason();
+		competition.getLeague(0).playMatch("Gotham City", 2, "Central City", 0);
+		competition.getLeague(1).playMatch("Star City", 2, "Metropolis", 0);
+		assertEquals(List.of("Gotham City", "Star City"), names(competition.getTeamsByPoints(3, 3)));
+		competition.endSeason();
+		assertEquals(List.of("Star City"), names(competition.getLeague(0).getTeamsByNickName("Speedsters")));
+		assertEquals(2, competition.getTeamsByNickName("Speedsters").size());
+		assertEquals(List.of("Central City", "Metropolis"), names(competition.getLeague(1).getTeamsByGoalDifference(-2, -2)));
+	}
+}
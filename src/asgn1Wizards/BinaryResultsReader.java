@@ -0,0 +1,165 @@
+package asgn1Wizards;
+
+import java.io.DataInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+
+import asgn1Exceptions.CompetitionException;
+import asgn1Exceptions.LeagueException;
+import asgn1Exceptions.TeamException;
+import asgn1SoccerCompetition.SoccerCompetition;
+import asgn1SoccerCompetition.SoccerLeague;
+import asgn1SoccerCompetition.SoccerTeam;
+import asgn1SportsUtils.Varint;
+
+/**
+ * Reads competition files written in the binary results format described by {@link BinaryResultsWriter}.
+ * The header and team dictionary are read when the reader is created. The matches are then streamed
+ * straight into a {@link SoccerCompetition}, looking up each team name in the dictionary by id rather
+ * than parsing it from the file.
+ *
+ */
+public class BinaryResultsReader implements AutoCloseable {
+
+	private final InputStream in;
+	private final String competitionName;
+	private final int numLeagues;
+	private final int numTeams;
+	private final int[] teamLeagues;
+	private final String[] officialNames;
+	private final String[] nickNames;
+
+	/**
+	 * Reads the header and team dictionary of a binary results file.
+	 *
+	 * @param in The stream positioned at the start of the file. It should be buffered.
+	 * @throws IOException if the stream cannot be read or does not hold a binary results file.
+	 */
+	public BinaryResultsReader(InputStream in) throws IOException {
+		this.in = in;
+		byte[] magic = new byte[BinaryResultsWriter.MAGIC.length];
+		new DataInputStream(in).readFully(magic);
+		if (!Arrays.equals(magic, BinaryResultsWriter.MAGIC)) {
+			throw new IOException("This is not a binary results file");
+		}
+		competitionName = Varint.readString(in);
+		numLeagues = readNumber();
+		numTeams = readNumber();
+		int dictionarySize = readNumber();
+		teamLeagues = new int[dictionarySize];
+		officialNames = new String[dictionarySize];
+		nickNames = new String[dictionarySize];
+		for (int id = 0; id < dictionarySize; id++) {
+			teamLeagues[id] = readNumber();
+			officialNames[id] = Varint.readString(in);
+			nickNames[id] = Varint.readString(in);
+		}
+	}
+
+	/**
+	 * Specifies if a file starts with the magic number of the binary results format.
+	 *
+	 * @param file The file to check.
+	 * @return True if the file is a binary results file, false otherwise.
+	 * @throws IOException if the file cannot be read.
+	 */
+	public static boolean isBinary(File file) throws IOException {
+		byte[] magic = new byte[BinaryResultsWriter.MAGIC.length];
+		try (FileInputStream in = new FileInputStream(file)) {
+			int read = 0;
+			while (read < magic.length) {
+				int count = in.read(magic, read, magic.length - read);
+				if (count < 0) {
+					return false;
+				}
+				read += count;
+			}
+		}
+		return Arrays.equals(magic, BinaryResultsWriter.MAGIC);
+	}
+
+	/**
+	 * Returns the number of leagues in the competition.
+	 * @return The number of leagues.
+	 */
+	public int getNumLeagues() {
+		return numLeagues;
+	}
+
+	/**
+	 * Creates the competition described by the header and registers every team in the dictionary.
+	 *
+	 * @return The new competition.
+	 * @throws TeamException if a team in the dictionary has an empty name.
+	 * @throws LeagueException if a team cannot be registered to its league.
+	 * @throws CompetitionException if a team belongs to a league that does not exist.
+	 */
+	public SoccerCompetition createCompetition() throws TeamException, LeagueException, CompetitionException {
+		SoccerCompetition sc = new SoccerCompetition(competitionName, numLeagues, numTeams);
+		for (int id = 0; id < officialNames.length; id++) {
+			sc.getLeague(teamLeagues[id]).registerTeam(new SoccerTeam(officialNames[id], nickNames[id]));
+		}
+		return sc;
+	}
+
+	/**
+	 * Plays every match remaining in the file in a competition created by {@link #createCompetition()}.
+	 *
+	 * @param sc The competition to play the matches in.
+	 * @return The number of matches played.
+	 * @throws IOException if the stream cannot be read or refers to a team that is not in the dictionary.
+	 * @throws LeagueException if a match cannot be played.
+	 * @throws CompetitionException if a match belongs to a league that does not exist.
+	 */
+	public int playResults(SoccerCompetition sc) throws IOException, LeagueException, CompetitionException {
+		SoccerLeague[] leagues = new SoccerLeague[numLeagues];
+		for (int leagueNum = 0; leagueNum < numLeagues; leagueNum++) {
+			leagues[leagueNum] = sc.getLeague(leagueNum);
+		}
+		int matches = 0;
+		int league = Varint.read(in);
+		while (league >= 0) {
+			int homeTeam = readTeam();
+			int homeGoals = readNumber();
+			int awayTeam = readTeam();
+			int awayGoals = readNumber();
+			if (league >= numLeagues) {
+				throw new CompetitionException("Invalid league number");
+			}
+			leagues[league].playMatch(officialNames[homeTeam], homeGoals, officialNames[awayTeam], awayGoals);
+			matches++;
+			league = Varint.read(in);
+		}
+		return matches;
+	}
+
+	/**
+	 * Closes the underlying stream.
+	 *
+	 * @throws IOException if the stream cannot be closed.
+	 */
+	public void close() throws IOException {
+		in.close();
+	}
+
+	/* Reads a number that must be present */
+	private int readNumber() throws IOException {
+		int value = Varint.read(in);
+		if (value < 0) {
+			throw new IOException("The binary results file is truncated");
+		}
+		return value;
+	}
+
+	/* Reads a team id and checks it is in the dictionary */
+	private int readTeam() throws IOException {
+		int id = readNumber();
+		if (id >= officialNames.length) {
+			throw new IOException("Team id " + id + " is not in the dictionary");
+		}
+		return id;
+	}
+}
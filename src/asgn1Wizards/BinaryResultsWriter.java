@@ -0,0 +1,194 @@
+package asgn1Wizards;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.FileOutputStream;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.HashMap;
+
+import asgn1SportsUtils.Varint;
+
+/**
+ * Writes competition files in the compact binary results format. A binary file holds the same
+ * information as the comma separated files read by {@link SoccerCompetitionWizard}, but every team
+ * name is written once, in a dictionary at the start of the file, and matches refer to teams by
+ * their position in that dictionary. The layout is:
+ *
+ * <pre>
+ * magic "SCR1"
+ * competition name, number of leagues, number of teams per league
+ * team count, then for each team: league number, official name, nick name
+ * then for each match until the end of the file: league number, home team id, home goals, away team id, away goals
+ * </pre>
+ *
+ * Numbers are written as varints and names as varint lengths followed by UTF-8 bytes (see {@link Varint}).
+ * Team ids are indexes into the dictionary, starting at 0.
+ *
+ * The main method converts an existing comma separated file: BinaryResultsWriter input.txt output.scr
+ *
+ */
+public class BinaryResultsWriter implements AutoCloseable {
+
+	final static byte[] MAGIC = {'S', 'C', 'R', '1'};
+	// The most goals a team is accepted as scoring in a match
+	final static int MAX_GOALS = 20;
+
+	private final OutputStream out;
+	private final int numLeagues;
+	private final int expectedTeams;
+	private final HashMap<String, Integer> teamIds = new HashMap<String, Integer>();
+
+	/**
+	 * Starts a binary results file by writing its header.
+	 *
+	 * @param out The stream to write to.
+	 * @param competitionName The name of the competition.
+	 * @param numLeagues The number of leagues in the competition.
+	 * @param numTeams The number of teams in each league.
+	 * @throws IOException if the stream cannot be written to, or if the number of leagues or teams is negative.
+	 */
+	public BinaryResultsWriter(OutputStream out, String competitionName, int numLeagues, int numTeams) throws IOException {
+		if (numLeagues < 0 || numTeams < 0) {
+			throw new IOException("The number of leagues and teams must not be negative");
+		}
+		this.out = out;
+		this.numLeagues = numLeagues;
+		this.expectedTeams = numLeagues * numTeams;
+		out.write(MAGIC);
+		Varint.writeString(out, competitionName);
+		Varint.write(out, numLeagues);
+		Varint.write(out, numTeams);
+		Varint.write(out, expectedTeams);
+	}
+
+	/**
+	 * Adds a team to the dictionary. Every team must be added before the first match is written.
+	 *
+	 * @param leagueNum The league the team is registered to (indexed from 0).
+	 * @param officialName The official name of the team.
+	 * @param nickName The nick name of the team.
+	 * @throws IOException if the stream cannot be written to, if the dictionary is already full or if the
+	 * league is not in the competition.
+	 */
+	public void writeTeam(int leagueNum, String officialName, String nickName) throws IOException {
+		if (teamIds.size() == expectedTeams) {
+			throw new IOException("The team dictionary is already full");
+		}
+		checkLeague(leagueNum);
+		// Names are only unique within a league, so the dictionary is keyed on both
+		teamIds.put(leagueNum + SoccerCompetitionWizard.COMMA + officialName, teamIds.size());
+		Varint.write(out, leagueNum);
+		Varint.writeString(out, officialName);
+		Varint.writeString(out, nickName);
+	}
+
+	/**
+	 * Writes the result of a match between two teams in the dictionary.
+	 *
+	 * @param leagueNum The league the match was played in.
+	 * @param homeTeam The official name of the home team.
+	 * @param homeGoals The number of goals scored by the home team.
+	 * @param awayTeam The official name of the away team.
+	 * @param awayGoals The number of goals scored by the away team.
+	 * @throws IOException if the stream cannot be written to, if either team is not in the dictionary or if
+	 * either number of goals is outside 0 to 20.
+	 */
+	public void writeMatch(int leagueNum, String homeTeam, int homeGoals, String awayTeam, int awayGoals) throws IOException {
+		if (teamIds.size() != expectedTeams) {
+			throw new IOException("Every team must be written before the first match");
+		} else if (homeGoals < 0 || homeGoals > MAX_GOALS || awayGoals < 0 || awayGoals > MAX_GOALS) {
+			throw new IOException("The score " + homeGoals + "-" + awayGoals + " is outside 0 to " + MAX_GOALS + " goals");
+		}
+		Varint.write(out, leagueNum);
+		Varint.write(out, teamId(leagueNum, homeTeam));
+		Varint.write(out, homeGoals);
+		Varint.write(out, teamId(leagueNum, awayTeam));
+		Varint.write(out, awayGoals);
+	}
+
+	/**
+	 * Flushes and closes the underlying stream.
+	 *
+	 * @throws IOException if the stream cannot be closed.
+	 */
+	public void close() throws IOException {
+		out.close();
+	}
+
+	/**
+	 * Converts a comma separated competition file, as read by {@link SoccerCompetitionWizard}, to the binary format.
+	 *
+	 * @param csv The reader positioned at the start of the comma separated file.
+	 * @param out The stream to write the binary file to. It is closed once the conversion is complete.
+	 * @return The number of matches converted.
+	 * @throws IOException if either file cannot be accessed or the comma separated file is malformed.
+	 */
+	public static int convert(BufferedReader csv, OutputStream out) throws IOException {
+		try {
+			return convertLines(csv, out);
+		} catch (NumberFormatException | ArrayIndexOutOfBoundsException e) {
+			throw new IOException("The comma separated file is malformed: " + e.getMessage(), e);
+		}
+	}
+
+	/* Converts a comma separated competition file, leaving malformed lines to throw unchecked exceptions */
+	private static int convertLines(BufferedReader csv, OutputStream out) throws IOException {
+		String line = csv.readLine();
+		String[] compArr = line.split(SoccerCompetitionWizard.COMMA);
+		int numLeagues = Integer.parseInt(compArr[1]);
+		int numTeams = Integer.parseInt(compArr[2]);
+		int matches = 0;
+		try (BinaryResultsWriter writer = new BinaryResultsWriter(out, compArr[0], numLeagues, numTeams)) {
+			for (int i = 0; i < numLeagues * numTeams; i++) {
+				String[] teamArr = csv.readLine().split(SoccerCompetitionWizard.COMMA);
+				writer.writeTeam(Integer.parseInt(teamArr[0]), teamArr[1], teamArr[2]);
+			}
+			line = csv.readLine();
+			while (line != null) {
+				String[] gameArr = line.split(SoccerCompetitionWizard.COMMA);
+				writer.writeMatch(Integer.parseInt(gameArr[0]), gameArr[1], Integer.parseInt(gameArr[2]),
+						gameArr[3], Integer.parseInt(gameArr[4]));
+				matches++;
+				line = csv.readLine();
+			}
+		}
+		return matches;
+	}
+
+	/**
+	 * Converts a comma separated competition file to the binary format.
+	 *
+	 * @param args The comma separated file to read and the binary file to write.
+	 */
+	public static void main(String[] args) {
+		if (args.length != 2) {
+			System.out.println("Usage: BinaryResultsWriter input.txt output.scr");
+			return;
+		}
+		try (BufferedReader csv = new BufferedReader(new FileReader(args[0]))) {
+			int matches = convert(csv, new BufferedOutputStream(new FileOutputStream(args[1])));
+			System.out.println("Converted " + matches + " matches to " + args[1]);
+		} catch (Exception e) {
+			System.out.println(e.getMessage());
+			e.printStackTrace();
+		}
+	}
+
+	/* Checks a league number is one of the competition's leagues */
+	private void checkLeague(int leagueNum) throws IOException {
+		if (leagueNum < 0 || leagueNum >= numLeagues) {
+			throw new IOException("League " + leagueNum + " is not in the competition");
+		}
+	}
+
+	/* Looks up the dictionary id of a team */
+	private int teamId(int leagueNum, String officialName) throws IOException {
+		Integer id = teamIds.get(leagueNum + SoccerCompetitionWizard.COMMA + officialName);
+		if (id == null) {
+			throw new IOException("Team " + officialName + " is not registered to league " + leagueNum);
+		}
+		return id;
+	}
+}
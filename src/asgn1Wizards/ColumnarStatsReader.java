@@ -0,0 +1,265 @@
+package asgn1Wizards;
+
+import java.io.DataInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.IntStream;
+
+/**
+ * Reads the columnar statistics files written by {@link ColumnarStatsWriter}. The file is memory mapped
+ * and each column is read in place as a view of its ints, so no rows or teams are built. Sums over a
+ * column, in total or grouped by another column, scan the rows in parallel in fixed size chunks, with
+ * each chunk summed into its own totals before the totals are merged.
+ *
+ * The main method prints the points of every team summed over all seasons and divisions:
+ * ColumnarStatsReader stats.scs
+ *
+ */
+public class ColumnarStatsReader {
+
+	// The number of rows scanned by one task
+	final static int CHUNK_ROWS = 1 << 16;
+
+	private final int numRows;
+	private final LinkedHashMap<String, IntBuffer> columns = new LinkedHashMap<String, IntBuffer>();
+	private final HashMap<String, String[]> strings = new HashMap<String, String[]>();
+
+	/**
+	 * Maps a columnar statistics file and reads its directory. The mapping stays valid after the file
+	 * is closed, until the reader is no longer used.
+	 *
+	 * @param file The file to read.
+	 * @throws IOException if the file cannot be read or is not a columnar statistics file.
+	 */
+	public ColumnarStatsReader(File file) throws IOException {
+		MappedByteBuffer map;
+		try (RandomAccessFile in = new RandomAccessFile(file, "r"); FileChannel channel = in.getChannel()) {
+			if (channel.size() < 2 * ColumnarStatsWriter.MAGIC.length + Long.BYTES || channel.size() > Integer.MAX_VALUE) {
+				throw new IOException("Not a columnar statistics file");
+			}
+			map = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+		}
+		checkMagic(map, 0);
+		int end = map.limit() - ColumnarStatsWriter.MAGIC.length;
+		checkMagic(map, end);
+		long directory = map.getLong(end - Long.BYTES);
+		if (directory < ColumnarStatsWriter.MAGIC.length || directory > end - Long.BYTES) {
+			throw new IOException("Not a columnar statistics file");
+		}
+		DataInputStream in = new DataInputStream(new ByteBufferInput(map.duplicate().position((int) directory)));
+		numRows = in.readInt();
+		int numColumns = in.readInt();
+		for (int column = 0; column < numColumns; column++) {
+			String name = in.readUTF();
+			byte type = in.readByte();
+			int offset = (int) in.readLong();
+			columns.put(name, map.duplicate().position(offset).limit(offset + numRows * Integer.BYTES).slice().asIntBuffer());
+			if (type == ColumnarStatsWriter.TEXT_COLUMN) {
+				int stringOffset = (int) in.readLong();
+				String[] values = new String[in.readInt()];
+				DataInputStream text = new DataInputStream(new ByteBufferInput(map.duplicate().position(stringOffset)));
+				for (int position = 0; position < values.length; position++) {
+					values[position] = text.readUTF();
+				}
+				strings.put(name, values);
+			} else if (type != ColumnarStatsWriter.INT_COLUMN) {
+				throw new IOException("Column " + name + " has an unknown type " + type);
+			}
+		}
+	}
+
+	/**
+	 * Returns the number of rows, one for each team in each season.
+	 *
+	 * @return The number of rows.
+	 */
+	public int getNumRows() {
+		return numRows;
+	}
+
+	/**
+	 * Returns the names of the columns, in the order they are stored.
+	 *
+	 * @return A read-only list of the column names.
+	 */
+	public List<String> getColumnNames() {
+		return Collections.unmodifiableList(new ArrayList<String>(columns.keySet()));
+	}
+
+	/**
+	 * Returns the value of an int column in a row.
+	 *
+	 * @param column The name of the column.
+	 * @param row The row (indexed from 0).
+	 * @return The value.
+	 */
+	public int getInt(String column, int row) {
+		return column(column).get(row);
+	}
+
+	/**
+	 * Returns the value of a text column in a row.
+	 *
+	 * @param column The name of the column.
+	 * @param row The row (indexed from 0).
+	 * @return The value.
+	 */
+	public String getString(String column, int row) {
+		return strings(column)[column(column).get(row)];
+	}
+
+	/**
+	 * Sums an int column over every row.
+	 *
+	 * @param column The name of the column.
+	 * @return The total.
+	 */
+	public long sum(String column) {
+		IntBuffer values = column(column);
+		return chunks().mapToLong(chunk -> {
+			long total = 0;
+			for (int row = chunk * CHUNK_ROWS; row < Math.min(numRows, (chunk + 1) * CHUNK_ROWS); row++) {
+				total += values.get(row);
+			}
+			return total;
+		}).sum();
+	}
+
+	/**
+	 * Sums an int column for each value of an int column, such as the goals scored in each season or division.
+	 *
+	 * @param groupColumn The name of the column to group by.
+	 * @param column The name of the column to sum.
+	 * @return The total for each value of the group column, in order of the values.
+	 */
+	public Map<Integer, Long> sumBy(String groupColumn, String column) {
+		IntBuffer groups = column(groupColumn);
+		IntBuffer values = column(column);
+		HashMap<Integer, Long> totals = chunks().mapToObj(chunk -> {
+			HashMap<Integer, Long> chunkTotals = new HashMap<Integer, Long>();
+			for (int row = chunk * CHUNK_ROWS; row < Math.min(numRows, (chunk + 1) * CHUNK_ROWS); row++) {
+				chunkTotals.merge(groups.get(row), (long) values.get(row), Long::sum);
+			}
+			return chunkTotals;
+		}).reduce(new HashMap<Integer, Long>(), (first, second) -> {
+			HashMap<Integer, Long> merged = new HashMap<Integer, Long>(first);
+			second.forEach((group, total) -> merged.merge(group, total, Long::sum));
+			return merged;
+		});
+		return new TreeMap<Integer, Long>(totals);
+	}
+
+	/**
+	 * Sums an int column for each value of a text column, such as the points of each team across every
+	 * season and division.
+	 *
+	 * @param groupColumn The name of the text column to group by.
+	 * @param column The name of the column to sum.
+	 * @return The total for each value of the group column, in the order the values first appear.
+	 */
+	public Map<String, Long> sumByString(String groupColumn, String column) {
+		IntBuffer groups = column(groupColumn);
+		IntBuffer values = column(column);
+		String[] names = strings(groupColumn);
+		long[] totals = chunks().mapToObj(chunk -> {
+			long[] chunkTotals = new long[names.length];
+			for (int row = chunk * CHUNK_ROWS; row < Math.min(numRows, (chunk + 1) * CHUNK_ROWS); row++) {
+				chunkTotals[groups.get(row)] += values.get(row);
+			}
+			return chunkTotals;
+		}).reduce(new long[names.length], (first, second) -> {
+			long[] merged = Arrays.copyOf(first, first.length);
+			for (int position = 0; position < merged.length; position++) {
+				merged[position] += second[position];
+			}
+			return merged;
+		});
+		LinkedHashMap<String, Long> byName = new LinkedHashMap<String, Long>();
+		for (int position = 0; position < names.length; position++) {
+			byName.put(names[position], totals[position]);
+		}
+		return byName;
+	}
+
+	/**
+	 * Prints the points of every team summed over every season and division.
+	 *
+	 * @param args The file to read.
+	 */
+	public static void main(String[] args) {
+		try {
+			ColumnarStatsReader reader = new ColumnarStatsReader(new File(args[0]));
+			for (Map.Entry<String, Long> team: reader.sumByString("team", "points").entrySet()) {
+				System.out.println(team.getKey() + '\t' + team.getValue());
+			}
+		} catch (Exception e) {
+			System.out.println(e.getMessage());
+			e.printStackTrace();
+		}
+	}
+
+	/* The chunks of rows scanned in parallel */
+	private IntStream chunks() {
+		return IntStream.range(0, (numRows + CHUNK_ROWS - 1) / CHUNK_ROWS).parallel();
+	}
+
+	private IntBuffer column(String name) {
+		IntBuffer column = columns.get(name);
+		if (column == null) {
+			throw new IllegalArgumentException("There is no column " + name);
+		}
+		return column;
+	}
+
+	private String[] strings(String name) {
+		String[] values = strings.get(name);
+		if (values == null) {
+			throw new IllegalArgumentException("Column " + name + " is not a text column");
+		}
+		return values;
+	}
+
+	private static void checkMagic(ByteBuffer map, int offset) throws IOException {
+		for (int position = 0; position < ColumnarStatsWriter.MAGIC.length; position++) {
+			if (map.get(offset + position) != ColumnarStatsWriter.MAGIC[position]) {
+				throw new IOException("Not a columnar statistics file");
+			}
+		}
+	}
+
+	/* Reads a mapped buffer as a stream, for the directory and strings */
+	private static final class ByteBufferInput extends InputStream {
+		private final ByteBuffer buffer;
+
+		ByteBufferInput(ByteBuffer buffer) {
+			this.buffer = buffer;
+		}
+
+		public int read() {
+			return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+		}
+
+		public int read(byte[] bytes, int offset, int length) {
+			if (!buffer.hasRemaining()) {
+				return -1;
+			}
+			length = Math.min(length, buffer.remaining());
+			buffer.get(bytes, offset, length);
+			return length;
+		}
+	}
+}
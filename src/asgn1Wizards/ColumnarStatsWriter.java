@@ -0,0 +1,188 @@
+package asgn1Wizards;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+
+import asgn1Exceptions.CompetitionException;
+import asgn1SoccerCompetition.SoccerCompetition;
+import asgn1SoccerCompetition.SoccerLeague;
+import asgn1SoccerCompetition.TeamStanding;
+
+/**
+ * Exports the statistics of every team at the end of each season in a self-describing columnar file,
+ * for analysis in external tools and by {@link ColumnarStatsReader}. There is one row for each team in
+ * each season, and each column is stored contiguously so that it can be memory mapped and scanned on
+ * its own. The columns are:
+ *
+ * <pre>
+ * season, division (the league number, indexed from 0), team (official name), points, won, drawn,
+ * lost, goalsFor, goalsAgainst (as shown in the league table) and form (the last five results)
+ * </pre>
+ *
+ * The layout is:
+ *
+ * <pre>
+ * magic "SCS1"
+ * for each column: the value of every row as a 4 byte big-endian int, the position of its string for text columns
+ * for each text column: its strings in modified UTF-8 (see {@link java.io.DataOutput#writeUTF(String)})
+ * directory: number of rows, number of columns, then for each column its name, its type (0 for ints,
+ *   1 for text) and the offset of its values, and for a text column the offset and number of its strings
+ * the offset of the directory as an 8 byte long, then magic "SCS1"
+ * </pre>
+ *
+ * The directory is at the end so that the file is written in one pass; a reader finds it from the last 12 bytes.
+ *
+ */
+public class ColumnarStatsWriter {
+
+	final static byte[] MAGIC = {'S', 'C', 'S', '1'};
+	final static byte INT_COLUMN = 0;
+	final static byte TEXT_COLUMN = 1;
+	final static String[] COLUMNS = {"season", "division", "team", "points", "won", "drawn", "lost", "goalsFor",
+			"goalsAgainst", "form"};
+	final static int TEAM = 2;
+	final static int FORM = 9;
+
+	private int numRows;
+	private int[][] columns = new int[COLUMNS.length][64];
+	// The strings of each text column, in order of their positions, and the positions by string
+	private final List<List<String>> strings = new ArrayList<List<String>>();
+	private final List<HashMap<String, Integer>> positions = new ArrayList<HashMap<String, Integer>>();
+
+	/**
+	 * Creates an export with no rows.
+	 */
+	public ColumnarStatsWriter() {
+		for (int column = 0; column < COLUMNS.length; column++) {
+			strings.add(new ArrayList<String>());
+			positions.add(new HashMap<String, Integer>());
+		}
+	}
+
+	/**
+	 * Adds a row for every team of every league of a competition. This should be called once the
+	 * matches of a season have been played, before the season ends and teams are moved between leagues.
+	 *
+	 * @param season The number of the season.
+	 * @param competition The competition to export.
+	 * @throws CompetitionException if the competition's leagues cannot be read.
+	 */
+	public void addSeason(int season, SoccerCompetition competition) throws CompetitionException {
+		for (int division = 0; division < competition.getNumLeagues(); division++) {
+			addSeason(season, division, competition.getLeague(division));
+		}
+	}
+
+	/**
+	 * Adds a row for every team of a league.
+	 *
+	 * @param season The number of the season.
+	 * @param division The number of the league in its competition.
+	 * @param league The league to export.
+	 */
+	public void addSeason(int season, int division, SoccerLeague league) {
+		for (TeamStanding standing: league.getStandings()) {
+			if (numRows == columns[0].length) {
+				for (int column = 0; column < COLUMNS.length; column++) {
+					columns[column] = Arrays.copyOf(columns[column], numRows * 2);
+				}
+			}
+			columns[0][numRows] = season;
+			columns[1][numRows] = division;
+			columns[TEAM][numRows] = position(TEAM, standing.getOfficialName());
+			columns[3][numRows] = standing.getCompetitionPoints();
+			columns[4][numRows] = standing.getMatchesWon();
+			columns[5][numRows] = standing.getMatchesDrawn();
+			columns[6][numRows] = standing.getMatchesLost();
+			columns[7][numRows] = standing.getGoalsScoredSeason();
+			columns[8][numRows] = standing.getGoalsConcededSeason();
+			columns[FORM][numRows] = position(FORM, standing.getFormString());
+			numRows++;
+		}
+	}
+
+	/**
+	 * Returns the number of rows added.
+	 *
+	 * @return The number of rows.
+	 */
+	public int getNumRows() {
+		return numRows;
+	}
+
+	/**
+	 * Writes the rows added so far.
+	 *
+	 * @param stream The stream to write to. It is not closed.
+	 * @throws IOException if the stream cannot be written to.
+	 */
+	public void write(OutputStream stream) throws IOException {
+		DataOutputStream out = new DataOutputStream(new BufferedOutputStream(stream));
+		out.write(MAGIC);
+		long[] offsets = new long[COLUMNS.length];
+		for (int column = 0; column < COLUMNS.length; column++) {
+			offsets[column] = out.size();
+			for (int row = 0; row < numRows; row++) {
+				out.writeInt(columns[column][row]);
+			}
+		}
+		long[] stringOffsets = new long[COLUMNS.length];
+		for (int column = 0; column < COLUMNS.length; column++) {
+			stringOffsets[column] = out.size();
+			for (String string: strings.get(column)) {
+				out.writeUTF(string);
+			}
+		}
+		long directory = out.size();
+		// DataOutputStream stops counting at the largest int, after which the offsets would be wrong
+		if (directory == Integer.MAX_VALUE) {
+			throw new IOException("The export is too large for a single file");
+		}
+		out.writeInt(numRows);
+		out.writeInt(COLUMNS.length);
+		for (int column = 0; column < COLUMNS.length; column++) {
+			boolean text = column == TEAM || column == FORM;
+			out.writeUTF(COLUMNS[column]);
+			out.writeByte(text ? TEXT_COLUMN : INT_COLUMN);
+			out.writeLong(offsets[column]);
+			if (text) {
+				out.writeLong(stringOffsets[column]);
+				out.writeInt(strings.get(column).size());
+			}
+		}
+		out.writeLong(directory);
+		out.write(MAGIC);
+		out.flush();
+	}
+
+	/**
+	 * Writes the rows added so far to a file.
+	 *
+	 * @param file The file to write.
+	 * @throws IOException if the file cannot be written.
+	 */
+	public void write(File file) throws IOException {
+		try (OutputStream out = new FileOutputStream(file)) {
+			write(out);
+		}
+	}
+
+	/* Returns the position of a string of a text column, adding it the first time it is seen */
+	private int position(int column, String string) {
+		Integer position = positions.get(column).get(string);
+		if (position == null) {
+			position = strings.get(column).size();
+			strings.get(column).add(string);
+			positions.get(column).put(string, position);
+		}
+		return position;
+	}
+}
@@ -0,0 +1,223 @@
+package asgn1Wizards;
+
+import java.io.BufferedWriter;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.SplittableRandom;
+
+import asgn1Exceptions.CompetitionException;
+
+/**
+ * Generates synthetic competition files in the comma separated format read by
+ * {@link SoccerCompetitionWizard}, for load testing. A file holds the header line, every team of every
+ * league and then the matches of a double round robin season, in which every pair of teams in a league
+ * may meet once at each team's home ground.
+ *
+ * The fixtures are produced round by round with the circle method, so each team plays at most once per
+ * round, and the rounds of every league are interleaved. Each fixture is played with a configurable
+ * probability and the goals scored by each side follow a Poisson distribution with a configurable mean,
+ * truncated at {@link #MAX_GOALS} so that every result is accepted when the file is replayed.
+ * The same settings and seed always produce the same file. Fixtures and teams are computed from their
+ * positions rather than stored, so files of any size are written in constant memory.
+ *
+ * The main method writes a file: CompetitionGenerator output.txt leagues teams [seed] [completeness]
+ * [home goal mean] [away goal mean], where an output of - writes to the standard output.
+ *
+ */
+public class CompetitionGenerator {
+
+	// The default settings
+	public static final long DEFAULT_SEED = 302;
+	public static final double DEFAULT_COMPLETENESS = 1;
+	public static final double DEFAULT_HOME_GOAL_MEAN = 1.5;
+	public static final double DEFAULT_AWAY_GOAL_MEAN = 1.1;
+	// The most goals a team is accepted as scoring in a match
+	public static final int MAX_GOALS = 20;
+
+	private final String competitionName;
+	private final int numLeagues;
+	private final int numTeams;
+	private final long seed;
+	private double completeness = DEFAULT_COMPLETENESS;
+	private double homeGoalMean = DEFAULT_HOME_GOAL_MEAN;
+	private double awayGoalMean = DEFAULT_AWAY_GOAL_MEAN;
+
+	/**
+	 * Creates a generator for a competition in which every fixture is played, with the default goal means.
+	 *
+	 * @param competitionName The name of the competition, which cannot contain a comma.
+	 * @param numLeagues The number of leagues in the competition.
+	 * @param numTeams The number of teams in each league.
+	 * @param seed The seed of the random results.
+	 * @throws CompetitionException if the name contains a comma, there are no leagues or there are fewer than two teams per league.
+	 */
+	public CompetitionGenerator(String competitionName, int numLeagues, int numTeams, long seed) throws CompetitionException {
+		if (competitionName.contains(SoccerCompetitionWizard.COMMA)) {
+			throw new CompetitionException("The competition name cannot contain a comma!");
+		} else if (numLeagues < 1 || numTeams < 2) {
+			throw new CompetitionException("A competition needs at least one league of two teams!");
+		}
+		this.competitionName = competitionName;
+		this.numLeagues = numLeagues;
+		this.numTeams = numTeams;
+		this.seed = seed;
+	}
+
+	/**
+	 * Sets the probability that each fixture of the season is played.
+	 *
+	 * @param completeness The probability, from 0 (no matches) to 1 (every fixture).
+	 * @throws CompetitionException if the probability is outside 0 to 1.
+	 */
+	public void setCompleteness(double completeness) throws CompetitionException {
+		if (!(completeness >= 0 && completeness <= 1)) {
+			throw new CompetitionException("The fixture completeness must be between 0 and 1!");
+		}
+		this.completeness = completeness;
+	}
+
+	/**
+	 * Sets the mean number of goals scored by the home and away teams.
+	 *
+	 * @param homeGoalMean The mean goals of the home team.
+	 * @param awayGoalMean The mean goals of the away team.
+	 * @throws CompetitionException if either mean is negative or larger than 20.
+	 */
+	public void setGoalMeans(double homeGoalMean, double awayGoalMean) throws CompetitionException {
+		// Large means would underflow the Poisson sampler
+		if (!(homeGoalMean >= 0 && homeGoalMean <= 20 && awayGoalMean >= 0 && awayGoalMean <= 20)) {
+			throw new CompetitionException("The goal means must be between 0 and 20!");
+		}
+		this.homeGoalMean = homeGoalMean;
+		this.awayGoalMean = awayGoalMean;
+	}
+
+	/**
+	 * Returns the official name of a generated team. Names are unique across the whole competition,
+	 * so teams can be promoted and relegated between leagues.
+	 *
+	 * @param leagueNum The league of the team (indexed from 0).
+	 * @param team The position of the team in its league (indexed from 0).
+	 * @return The official name of the team.
+	 */
+	public String getOfficialName(int leagueNum, int team) {
+		return "City " + (leagueNum * (long) numTeams + team);
+	}
+
+	/**
+	 * Writes the competition file. The writer is flushed but not closed.
+	 *
+	 * @param out The writer to write the file to.
+	 * @return The number of matches written.
+	 * @throws IOException if the writer cannot be written to.
+	 */
+	public long write(Writer out) throws IOException {
+		SplittableRandom random = new SplittableRandom(seed);
+		out.write(competitionName + SoccerCompetitionWizard.COMMA + numLeagues + SoccerCompetitionWizard.COMMA + numTeams + "\n");
+		for (int leagueNum = 0; leagueNum < numLeagues; leagueNum++) {
+			for (int team = 0; team < numTeams; team++) {
+				out.write(leagueNum + SoccerCompetitionWizard.COMMA + getOfficialName(leagueNum, team)
+						+ SoccerCompetitionWizard.COMMA + " Citizens " + (leagueNum * (long) numTeams + team) + "\n");
+			}
+		}
+		// An odd number of teams is paired with a missing team, which gives one team a bye each round
+		int slots = numTeams + (numTeams & 1);
+		int roundsPerLeg = slots - 1;
+		long matches = 0;
+		for (int round = 0; round < 2 * roundsPerLeg; round++) {
+			boolean secondLeg = round >= roundsPerLeg;
+			int legRound = round % roundsPerLeg;
+			for (int leagueNum = 0; leagueNum < numLeagues; leagueNum++) {
+				for (int pair = 0; pair < slots / 2; pair++) {
+					int first;
+					int second;
+					if (pair == 0) {
+						// The last slot stays still while the others rotate around it
+						first = slots - 1;
+						second = legRound;
+					} else {
+						first = (legRound + pair) % roundsPerLeg;
+						second = (legRound + roundsPerLeg - pair) % roundsPerLeg;
+					}
+					if (first >= numTeams || second >= numTeams) {
+						continue;
+					}
+					// Alternates which team of a pair is at home, and swaps them in the second leg
+					boolean swap = ((legRound + pair) & 1) == 1 ^ secondLeg;
+					int home = swap ? second : first;
+					int away = swap ? first : second;
+					if (random.nextDouble() < completeness) {
+						out.write(leagueNum + SoccerCompetitionWizard.COMMA + getOfficialName(leagueNum, home)
+								+ SoccerCompetitionWizard.COMMA + poisson(random, homeGoalMean)
+								+ SoccerCompetitionWizard.COMMA + getOfficialName(leagueNum, away)
+								+ SoccerCompetitionWizard.COMMA + poisson(random, awayGoalMean) + "\n");
+						matches++;
+					}
+				}
+			}
+		}
+		out.flush();
+		return matches;
+	}
+
+	/**
+	 * Writes a competition file from the command line.
+	 *
+	 * @param args The output file, number of leagues, number of teams and optionally the seed,
+	 * fixture completeness and home and away goal means.
+	 */
+	public static void main(String[] args) {
+		if (args.length < 3) {
+			System.out.println("Usage: CompetitionGenerator output.txt leagues teams [seed] [completeness] [home goal mean] [away goal mean]");
+			return;
+		}
+		try {
+			long seed = args.length > 3 ? Long.parseLong(args[3]) : DEFAULT_SEED;
+			CompetitionGenerator generator = new CompetitionGenerator("Generated Competition",
+					Integer.parseInt(args[1]), Integer.parseInt(args[2]), seed);
+			if (args.length > 4) {
+				generator.setCompleteness(Double.parseDouble(args[4]));
+			}
+			if (args.length > 6) {
+				generator.setGoalMeans(Double.parseDouble(args[5]), Double.parseDouble(args[6]));
+			}
+			boolean toConsole = args[0].equals("-");
+			Writer out = new BufferedWriter(new OutputStreamWriter(
+					toConsole ? System.out : new FileOutputStream(args[0]), StandardCharsets.UTF_8), 1 << 16);
+			try {
+				long matches = generator.write(out);
+				if (!toConsole) {
+					System.out.println("Generated " + matches + " matches to " + args[0]);
+				}
+			} finally {
+				if (!toConsole) {
+					out.close();
+				}
+			}
+		} catch (Exception e) {
+			System.out.println(e.getMessage());
+			e.printStackTrace();
+		}
+	}
+
+	/* 
+	 * Samples a Poisson distributed number of goals by multiplying uniform numbers until they drop below e^-mean,
+	 * sampling again whenever more than the most goals accepted are drawn
+	 */
+	private static int poisson(SplittableRandom random, double mean) {
+		double limit = Math.exp(-mean);
+		int goals;
+		do {
+			goals = 0;
+			double product = random.nextDouble();
+			while (product > limit && goals <= MAX_GOALS) {
+				goals++;
+				product *= random.nextDouble();
+			}
+		} while (goals > MAX_GOALS);
+		return goals;
+	}
+}
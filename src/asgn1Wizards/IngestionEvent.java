@@ -0,0 +1,35 @@
+package asgn1Wizards;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * The Java Flight Recorder event of a competition file read and simulated by
+ * {@link SoccerCompetitionWizard}. Its fields are only set if it is enabled in a running recording.
+ *
+ */
+@Name("asgn1.FileIngested")
+@Label("Competition File Ingested")
+@Description("A competition file read and its first season simulated")
+@Category("Soccer Competition")
+final class IngestionEvent extends Event {
+	@Label("File")
+	String file;
+	@Label("Format")
+	@Description("binary or text")
+	String format;
+	@Label("Size")
+	@DataAmount
+	long bytes;
+	@Label("Leagues")
+	int leagues;
+	@Label("Teams per League")
+	int teams;
+	@Label("Matches")
+	@Description("The number of results read from the file")
+	int matches;
+}
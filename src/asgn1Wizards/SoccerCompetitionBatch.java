@@ -0,0 +1,230 @@
+package asgn1Wizards;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * A non-interactive front end that processes many competition files in one run. Each file is
+ * simulated independently by {@link SoccerCompetitionWizard#runCompetition(File, PrintStream)}
+ * on a work-stealing pool and its standings are written to its own output file. A timing summary
+ * for every file and for the whole batch is printed once all files have been processed.
+ *
+ * Usage: SoccerCompetitionBatch [-o outputDirectory] [-p parallelism] file-or-directory...
+ *
+ * Directories contribute every visible regular file they directly contain, apart from earlier outputs.
+ * Without -o each output is written next to its input as name.standings.txt. A directory that cannot be
+ * listed, and a file whose output would overwrite the output of an earlier file, are reported as failed.
+ *
+ */
+public class SoccerCompetitionBatch {
+
+	final static String OUTPUT_SUFFIX = ".standings.txt";
+	final static String USAGE = "Usage: SoccerCompetitionBatch [-o outputDirectory] [-p parallelism] file-or-directory...";
+
+	/**
+	 * Runs the batch described by the command line arguments.
+	 *
+	 * @param args The options and the files or directories to process.
+	 */
+	public static void main(String[] args) {
+		File outputDirectory = null;
+		int parallelism = Runtime.getRuntime().availableProcessors();
+		List<File> inputs = new ArrayList<File>();
+		for (int i = 0; i < args.length; i++) {
+			if (args[i].equals("-o") && i + 1 < args.length) {
+				outputDirectory = new File(args[++i]);
+			} else if (args[i].equals("-p") && i + 1 < args.length) {
+				parallelism = parseParallelism(args[++i]);
+				if (parallelism < 1) {
+					System.out.println(USAGE);
+					return;
+				}
+			} else {
+				addInputs(new File(args[i]), inputs);
+			}
+		}
+		if (inputs.isEmpty()) {
+			System.out.println(USAGE);
+			return;
+		}
+		if (outputDirectory != null) {
+			outputDirectory.mkdirs();
+		}
+		List<CompetitionFile> results = processAll(inputs, outputDirectory, parallelism);
+		printSummary(results, System.out);
+	}
+
+	/**
+	 * Processes a set of competition files in parallel. A directory among the inputs, which could not be
+	 * listed, and a file with the same output as an earlier file are not processed and are reported as 
+	 * failed, so that no two tasks write the same output.
+	 *
+	 * @param inputs The competition files to process.
+	 * @param outputDirectory The directory to write the standings to, or null to write them next to each input.
+	 * @param parallelism The number of worker threads to use.
+	 * @return The outcome of every file, in the same order as the inputs.
+	 */
+	public static List<CompetitionFile> processAll(List<File> inputs, File outputDirectory, int parallelism) {
+		List<CompetitionFile> results = new ArrayList<CompetitionFile>();
+		List<CompetitionFile> tasks = new ArrayList<CompetitionFile>();
+		Set<File> outputs = new HashSet<File>();
+		for (File input : inputs) {
+			File output = new File(outputDirectory == null ? input.getAbsoluteFile().getParentFile() : outputDirectory,
+					input.getName() + OUTPUT_SUFFIX);
+			CompetitionFile result = new CompetitionFile(input, output);
+			if (input.isDirectory()) {
+				result.error = "The directory could not be listed";
+			} else if (!outputs.add(output.getAbsoluteFile().toPath().normalize().toFile())) {
+				result.error = "Another file is already written to " + output.getPath();
+			} else {
+				tasks.add(result);
+			}
+			results.add(result);
+		}
+		ForkJoinPool pool = new ForkJoinPool(Math.max(1, parallelism));
+		long start = System.nanoTime();
+		try {
+			pool.invoke(new RecursiveAction() {
+				private static final long serialVersionUID = 1L;
+
+				@Override
+				protected void compute() {
+					invokeAll(tasks);
+				}
+			});
+		} finally {
+			pool.shutdown();
+		}
+		long elapsed = System.nanoTime() - start;
+		for (CompetitionFile result : results) {
+			result.batchNanos = elapsed;
+		}
+		return results;
+	}
+
+	/**
+	 * Writes the time taken by every file and by the batch as a whole.
+	 *
+	 * @param results The outcomes returned by {@link #processAll(List, File, int)}.
+	 * @param out The stream to write the summary to.
+	 */
+	public static void printSummary(List<CompetitionFile> results, PrintStream out) {
+		long busy = 0;
+		long wall = 0;
+		int failed = 0;
+		out.println("File" + '\t' + "Millis" + '\t' + "Result");
+		for (CompetitionFile result : results) {
+			busy += result.nanos;
+			wall = result.batchNanos;
+			if (result.error != null) {
+				failed++;
+			}
+			out.println(result.input.getPath() + '\t' + millis(result.nanos) + '\t'
+					+ (result.error == null ? result.output.getPath() : "FAILED: " + result.error));
+		}
+		out.println(results.size() + " files (" + failed + " failed) in " + millis(wall) + " ms, "
+				+ millis(busy) + " ms of processing");
+	}
+
+	/* Adds a file, or the competition files inside a directory, to the inputs */
+	private static void addInputs(File path, List<File> inputs) {
+		if (path.isDirectory()) {
+			File[] files = path.listFiles();
+			if (files == null) {
+				// The directory is reported as failed by processAll
+				inputs.add(path);
+				return;
+			}
+			Arrays.sort(files);
+			for (File file : files) {
+				if (file.isFile() && !file.isHidden() && !file.getName().endsWith(OUTPUT_SUFFIX)) {
+					inputs.add(file);
+				}
+			}
+		} else {
+			inputs.add(path);
+		}
+	}
+
+	/* Reads the number of worker threads, or returns 0 if it is not a number */
+	private static int parseParallelism(String value) {
+		try {
+			return Integer.parseInt(value);
+		} catch (NumberFormatException e) {
+			return 0;
+		}
+	}
+
+	/* Formats a duration in nanoseconds as milliseconds */
+	private static String millis(long nanos) {
+		return String.format("%.1f", nanos / 1e6);
+	}
+
+	/**
+	 * A single competition file of a batch, processed as an independent task of the pool.
+	 */
+	public static class CompetitionFile extends RecursiveAction {
+		private static final long serialVersionUID = 1L;
+		private final File input;
+		private final File output;
+		private long nanos;
+		private long batchNanos;
+		private String error;
+
+		CompetitionFile(File input, File output) {
+			this.input = input;
+			this.output = output;
+		}
+
+		@Override
+		protected void compute() {
+			long start = System.nanoTime();
+			try (PrintStream out = new PrintStream(new FileOutputStream(output))) {
+				SoccerCompetitionWizard.runCompetition(input, out);
+			} catch (Exception e) {
+				error = String.valueOf(e.getMessage());
+			}
+			nanos = System.nanoTime() - start;
+		}
+
+		/**
+		 * Returns the competition file that was processed.
+		 * @return The input file.
+		 */
+		public File getInput() {
+			return input;
+		}
+
+		/**
+		 * Returns the file the standings were written to.
+		 * @return The output file.
+		 */
+		public File getOutput() {
+			return output;
+		}
+
+		/**
+		 * Returns the time taken to process the file.
+		 * @return The processing time in nanoseconds.
+		 */
+		public long getNanos() {
+			return nanos;
+		}
+
+		/**
+		 * Returns why the file could not be processed.
+		 * @return The error message, or null if the file was processed successfully.
+		 */
+		public String getError() {
+			return error;
+		}
+	}
+}
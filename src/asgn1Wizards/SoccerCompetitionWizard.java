@@ -2,8 +2,12 @@ package asgn1Wizards;
 
 
 
+import java.io.BufferedInputStream;
 import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
 import java.io.FileReader;
+import java.io.PrintStream;
 import java.util.Scanner;
 
 import asgn1SoccerCompetition.SoccerCompetition;
@@ -25,12 +29,78 @@ public class SoccerCompetitionWizard {
 	final static String COMMA = ",";
 	
 	public static void main(String[] args) {
+		if (args.length > 0) {
+			// Files or directories on the command line are processed without prompting
+			SoccerCompetitionBatch.main(args);
+			return;
+		}
         try {
             Scanner scanner = new Scanner(System.in);
             System.out.println("Enter the Data file name");
             String filename = scanner.next();
-            BufferedReader br = new BufferedReader(new FileReader(filename));
+            runCompetition(new File(filename), System.out);
+        } catch (Exception e){
+        	System.out.println(e.getMessage());
+        	e.printStackTrace();
+        }
+	}
 
+	/**
+	 * Reads a competition file in either the comma separated format or the binary results format
+	 * written by {@link BinaryResultsWriter}, and simulates it as described by 
+	 * {@link #runCompetition(BufferedReader, PrintStream)}.
+	 * 
+	 * @param file The competition file.
+	 * @param out The stream to write the standings to.
+	 * @throws Exception if the file cannot be read or describes an invalid competition.
+	 */
+	public static void runCompetition(File file, PrintStream out) throws Exception {
+		IngestionEvent event = new IngestionEvent();
+		event.begin();
+		if (BinaryResultsReader.isBinary(file)) {
+			try (BinaryResultsReader reader = new BinaryResultsReader(new BufferedInputStream(new FileInputStream(file)))) {
+				SoccerCompetition sc = reader.createCompetition();
+				beginSeason(sc, out);
+				int matches = reader.playResults(sc);
+				if (event.isEnabled()) {
+					event.format = "binary";
+					event.leagues = reader.getNumLeagues();
+					event.teams = sc.getLeague(0).getRequiredNumTeams();
+					event.matches = matches;
+				}
+				finishSeason(sc, reader.getNumLeagues(), out);
+			}
+		} else {
+			try (BufferedReader br = new BufferedReader(new FileReader(file))) {
+				runCompetition(br, out, event);
+			}
+		}
+		if (event.shouldCommit()) {
+			event.file = file.getPath();
+			event.bytes = file.length();
+			event.commit();
+		}
+	}
+
+	/**
+	 * Reads a competition file, simulates its first season and writes the standings before the season,
+	 * at the end of the season and at the beginning of the next season.
+	 * 
+	 * @param br The reader positioned at the start of the competition file.
+	 * @param out The stream to write the standings to.
+	 * @throws Exception if the file cannot be read or describes an invalid competition.
+	 */
+	public static void runCompetition(BufferedReader br, PrintStream out) throws Exception {
+		IngestionEvent event = new IngestionEvent();
+		event.begin();
+		runCompetition(br, out, event);
+		if (event.shouldCommit()) {
+			event.commit();
+		}
+	}
+
+	/* Simulates a comma separated competition file, recording its size in an event that has been begun */
+	private static void runCompetition(BufferedReader br, PrintStream out, IngestionEvent event) throws Exception {
             // create competition
         	String line = br.readLine();
        	    String[] compArr = line.split(COMMA);
@@ -50,14 +120,12 @@ public class SoccerCompetitionWizard {
         		sc.getLeague(leagueNum).registerTeam(team);
         	}
         	
-        	sc.startSeason();
-        	System.out.println("");
-        	System.out.println("Initial Standings - Season 1");
-        	sc.displayCompetitionStandings();	
+        	beginSeason(sc, out);
 
     		line = br.readLine();
 
        	    // do results
+       	    int matches = 0;
        	    while (line != null) {
         		String[] gameArr = line.split(COMMA);
         		int league = Integer.parseInt(gameArr[0]);
@@ -66,30 +134,42 @@ public class SoccerCompetitionWizard {
         		String awayTeam = gameArr[3];
         		int awayGoals = Integer.parseInt(gameArr[4]);
         		sc.getLeague(league).playMatch(homeTeam, homeGoals, awayTeam, awayGoals);        		
+       	        matches++;
        	        line = br.readLine();
        	     }
-       	    
-        	System.out.println("");       	    
-        	System.out.println("Final Standings - Season 1");
-       	    sc.displayCompetitionStandings();
-
-         	for(int i=0; i < numLeagues; i++){
-        		System.out.println("The premiers of Division " + (i+1) + " are the " + sc.getLeague(i).getTopTeam().getNickName());
-        		System.out.println("The wooden spooners of Division  " + (i+1) + " are the " + sc.getLeague(i).getBottomTeam().getNickName());
-			
-        	}
-        
-        	sc.endSeason();
-        	sc.startSeason();
+       	    if (event.isEnabled()) {
+       	    	event.format = "text";
+       	    	event.leagues = numLeagues;
+       	    	event.teams = numTeams;
+       	    	event.matches = matches;
+       	    }
+       	    finishSeason(sc, numLeagues, out);
+	}
 
-        	System.out.println("");
-        	System.out.println("Initial Standings - Season 2");
-        	sc.displayCompetitionStandings();
+	/* Starts the first season and writes the initial standings */
+	private static void beginSeason(SoccerCompetition sc, PrintStream out) {
+		sc.startSeason();
+		out.println("");
+		out.println("Initial Standings - Season 1");
+		sc.displayCompetitionStandings(out);
+	}
 
-        	
-        } catch (Exception e){
-        	System.out.println(e.getMessage());
-        	e.printStackTrace();
-        }
+	/* Writes the final standings, ends the season and writes the standings at the start of the next season */
+	private static void finishSeason(SoccerCompetition sc, int numLeagues, PrintStream out) throws Exception {
+		out.println("");
+		out.println("Final Standings - Season 1");
+		sc.displayCompetitionStandings(out);
+
+		for(int i=0; i < numLeagues; i++){
+			out.println("The premiers of Division " + (i+1) + " are the " + sc.getLeague(i).getTopTeam().getNickName());
+			out.println("The wooden spooners of Division  " + (i+1) + " are the " + sc.getLeague(i).getBottomTeam().getNickName());
+		}
+
+		sc.endSeason();
+		sc.startSeason();
+
+		out.println("");
+		out.println("Initial Standings - Season 2");
+		sc.displayCompetitionStandings(out);
 	}
 }